@@ -0,0 +1,60 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import de.telekom.phonenumbernormalizer.PhoneNumberAreaLabel;
+import de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl;
+import de.telekom.phonenumbernormalizer.StandalonePhoneNumberAreaLabel;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Measures the labeling of E164 numbers with the default label data of {@link PhoneNumberAreaLabelImpl} - the Spring bean, whose
+ * results are compared between releases - and of {@link StandalonePhoneNumberAreaLabel}.
+ */
+@State(Scope.Benchmark)
+public class AreaLabelBenchmark {
+
+    @Param({"BEAN", "STANDALONE"})
+    public String implementation;
+
+    private PhoneNumberAreaLabel areaLabel;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        if ("STANDALONE".equals(implementation)) {
+            areaLabel = StandalonePhoneNumberAreaLabel.builder().build();
+        } else {
+            PhoneNumberAreaLabelImpl bean = new PhoneNumberAreaLabelImpl();
+            bean.initFile();
+            areaLabel = bean;
+        }
+    }
+
+    @Benchmark
+    public Optional<String> getLocationByE164Number(InputCursor cursor) {
+        return areaLabel.getLocationByE164Number(cursor.next(InputMix.E164_NUMBERS));
+    }
+
+}
@@ -0,0 +1,117 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.telekom.phonenumbernormalizer.StandalonePhoneNumberAreaLabel;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelResourceIndex;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelSnapshot;
+import de.telekom.phonenumbernormalizer.arealabels.LabelSource;
+import de.telekom.phonenumbernormalizer.arealabels.MemoryEstimate;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Measures the loading of all bundled area labels from the binary snapshot compared to parsing the same JSON files,
+ * which are copied to a temporary folder, so they are not replaced by the snapshot.
+ * <p>
+ * The allocation rate of the GC profiler shows the garbage of one load. The sizes, which are not measured by JMH - the snapshot and JSON files
+ * as well as the retained heap of the loaded labels compared to one hash map per region (how the labels have been held before the label pool) -
+ * are printed once at the end of each trial.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class AreaLabelFootprintBenchmark {
+
+    @Param({"SNAPSHOT", "JSON"})
+    public String source;
+
+    private Path jsonFolder;
+
+    private LabelSource countryLabelSource;
+
+    private final List<LabelSource> nationalLabelSources = new ArrayList<>();
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        ClassLoader classLoader = StandalonePhoneNumberAreaLabel.class.getClassLoader();
+        jsonFolder = Files.createTempDirectory("arealabels");
+        countryLabelSource = LabelSource.of(copy(classLoader, AreaLabelSnapshot.COUNTRY_LABELS));
+        for (String filename : AreaLabelResourceIndex.load(classLoader).getFilenames()) {
+            nationalLabelSources.add(LabelSource.of(copy(classLoader, AreaLabelSnapshot.NATIONAL_LABELS_FOLDER + filename)));
+        }
+    }
+
+    private Path copy(ClassLoader classLoader, String resource) throws IOException {
+        Path target = jsonFolder.resolve(resource);
+        Files.createDirectories(target.getParent());
+        try (InputStream in = classLoader.getResourceAsStream(resource)) {
+            Files.copy(in, target);
+        }
+        return target;
+    }
+
+    @Benchmark
+    public StandalonePhoneNumberAreaLabel load() throws IOException {
+        StandalonePhoneNumberAreaLabel.Builder builder = StandalonePhoneNumberAreaLabel.builder();
+        if ("JSON".equals(source)) {
+            builder.countryLabels(countryLabelSource).nationalLabels(nationalLabelSources.toArray(new LabelSource[0]));
+        }
+        return builder.build();
+    }
+
+    @TearDown(Level.Trial)
+    public void report() throws IOException {
+        long snapshotBytes;
+        try (InputStream in = StandalonePhoneNumberAreaLabel.class.getClassLoader().getResourceAsStream(AreaLabelSnapshot.RESOURCE)) {
+            snapshotBytes = in.readAllBytes().length;
+        }
+        long jsonBytes = 0;
+        long hashMapBytes = 0;
+        ObjectMapper mapper = new ObjectMapper();
+        try (Stream<Path> files = Files.walk(jsonFolder)) {
+            for (Path file : (Iterable<Path>) files.filter(Files::isRegularFile)::iterator) {
+                jsonBytes += Files.size(file);
+                hashMapBytes += MemoryEstimate.stringMap((Map<?, ?>) mapper.readValue(file.toFile(), List.class).get(0));
+            }
+        }
+        System.out.printf("%nsnapshot: %d bytes, JSON files: %d bytes%n", snapshotBytes, jsonBytes);
+        System.out.printf("retained heap: %d bytes, as hash maps: %d bytes%n", load().getRetainedLabelBytes(), hashMapBytes);
+
+        try (Stream<Path> files = Files.walk(jsonFolder)) {
+            for (Path file : (Iterable<Path>) files.sorted(Comparator.reverseOrder())::iterator) {
+                Files.delete(file);
+            }
+        }
+    }
+
+}
@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Runs the benchmarks of this module with the settings we compare releases with:
+ * <ul>
+ *     <li>throughput, average time and sampled time (for the p99 latency) in one run</li>
+ *     <li>allocation rate via the {@link GCProfiler}</li>
+ *     <li>with 1, N/2 and N threads, where N is the number of available processors</li>
+ *     <li>except the {@link BulkNormalizerBenchmark}, which is run with one thread but a pool parallelism of 1, 2, 4, ... N</li>
+ * </ul>
+ * An optional first argument is used as regular expression to select the benchmarks, e.g. "NormalizerBenchmark".
+ */
+public class BenchmarkRunner {
+
+    private BenchmarkRunner() {
+        throw new IllegalStateException("BenchmarkRunner is a Utility class");
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        String include = args.length > 0 ? args[0] : BenchmarkRunner.class.getPackageName() + ".*Benchmark";
+        int processors = Runtime.getRuntime().availableProcessors();
+
+        for (int threads : threadCounts(processors)) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(include)
+                    .exclude(BulkNormalizerBenchmark.class.getSimpleName())
+                    .mode(Mode.Throughput)
+                    .mode(Mode.AverageTime)
+                    .mode(Mode.SampleTime)
+                    .threads(threads)
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(2))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(2))
+                    .addProfiler(GCProfiler.class)
+                    .result("jmh-result-" + threads + "-threads.json")
+                    .resultFormat(ResultFormatType.JSON);
+            new Runner(options.build()).run();
+        }
+
+        // the bulk normalizer has its own workers - its scalability is measured by the pool parallelism:
+        if (BulkNormalizerBenchmark.class.getName().matches(".*" + include + ".*")) {
+            ChainedOptionsBuilder options = new OptionsBuilder()
+                    .include(BulkNormalizerBenchmark.class.getSimpleName())
+                    .mode(Mode.Throughput)
+                    .threads(1)
+                    .param("parallelism", BulkNormalizerBenchmark.parallelisms(processors))
+                    .forks(1)
+                    .warmupIterations(3)
+                    .warmupTime(TimeValue.seconds(2))
+                    .measurementIterations(5)
+                    .measurementTime(TimeValue.seconds(2))
+                    .addProfiler(GCProfiler.class)
+                    .result("jmh-result-bulk-scalability.json")
+                    .resultFormat(ResultFormatType.JSON);
+            new Runner(options.build()).run();
+        }
+    }
+
+    /**
+     * Calculates the distinct thread counts 1, N/2 and N.
+     *
+     * @param processors N - the number of available processors
+     * @return ascending thread counts without duplicates (e.g. only 1 for a single core)
+     */
+    static Set<Integer> threadCounts(int processors) {
+        Set<Integer> result = new TreeSet<>();
+        result.add(1);
+        result.add(Math.max(1, processors / 2));
+        result.add(Math.max(1, processors));
+        return result;
+    }
+
+}
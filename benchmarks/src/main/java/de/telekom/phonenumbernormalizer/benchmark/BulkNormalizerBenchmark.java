@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizer;
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl;
+import de.telekom.phonenumbernormalizer.bulk.BulkNormalizationResult;
+import de.telekom.phonenumbernormalizer.bulk.BulkNormalizer;
+import de.telekom.phonenumbernormalizer.bulk.BulkProgressListener;
+import de.telekom.phonenumbernormalizer.bulk.NormalizationRecord;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Scalability of the {@link BulkNormalizer} - one caller thread normalizing {@link BulkNormalizerBenchmark#RECORDS}
+ * records of the {@link InputMix#MIXED} set on a pool with the given parallelism.
+ * <p>
+ * The score is given per record, so the throughput of each parallelism could be compared directly. It should rise
+ * close to linearly up to the number of cores. The {@link BenchmarkRunner} runs it with a parallelism of 1, 2, 4, ... N.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class BulkNormalizerBenchmark {
+
+    static final int RECORDS = 100_000;
+
+    /**
+     * Consecutive records sharing one device context - like the contacts of one subscriber.
+     */
+    private static final int RECORDS_PER_CONTEXT = 20;
+
+    private static final String[] NDCS = {"203", "30", "228", "6151", "40", "89", "201", "69"};
+
+    @Param({"1"})
+    public int parallelism;
+
+    private ForkJoinPool pool;
+
+    private BulkNormalizer bulkNormalizer;
+
+    private NormalizationRecord[] records;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        PhoneNumberNormalizer normalizer = new PhoneNumberNormalizerImpl();
+        normalizer.setFallbackRegionCode("DE");
+        pool = new ForkJoinPool(parallelism);
+        bulkNormalizer = new BulkNormalizer(normalizer, pool, BulkNormalizer.DEFAULT_BATCH_SIZE);
+
+        String[] numbers = InputMix.MIXED.getNumbers();
+        records = new NormalizationRecord[RECORDS];
+        DeviceContext deviceContext = null;
+        for (int i = 0; i < RECORDS; i++) {
+            if (i % RECORDS_PER_CONTEXT == 0) {
+                deviceContext = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49",
+                        NDCS[(i / RECORDS_PER_CONTEXT) % NDCS.length]);
+            }
+            records[i] = new NormalizationRecord(numbers[i % numbers.length], deviceContext);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        pool.shutdown();
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(RECORDS)
+    public BulkNormalizationResult normalizeRecords() {
+        return bulkNormalizer.normalizeRecords(records, BulkProgressListener.NONE);
+    }
+
+    /**
+     * Calculates the parallelisms 1, 2, 4, ... and N.
+     *
+     * @param processors N - the number of available processors
+     * @return ascending parallelisms without duplicates
+     */
+    static String[] parallelisms(int processors) {
+        Set<Integer> result = new TreeSet<>();
+        for (int p = 1; p < processors; p *= 2) {
+            result.add(p);
+        }
+        result.add(Math.max(1, processors));
+        return result.stream().map(String::valueOf).toArray(String[]::new);
+    }
+
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber;
+import de.telekom.phonenumbernormalizer.StandalonePhoneNumberAreaLabel;
+import de.telekom.phonenumbernormalizer.numberplans.PhoneLibWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.io.IOException;
+import java.util.Optional;
+
+/**
+ * Measures the cost of junk, which is rejected by the parser of Google's LibPhoneNumber.
+ * <p>
+ * The "parser" benchmarks call the parser directly and catch its exception, like the library did before the
+ * {@link de.telekom.phonenumbernormalizer.numberplans.ParsePrecheck} - the other benchmarks use the library, which
+ * rejects these inputs without the parser. Their average time should differ by at least an order of magnitude.
+ * </p>
+ */
+@State(Scope.Benchmark)
+public class GarbageInputBenchmark {
+
+    private static final PhoneNumberUtil PHONE_UTIL = PhoneNumberUtil.getInstance();
+
+    private StandalonePhoneNumberAreaLabel areaLabel;
+
+    @Setup(Level.Trial)
+    public void setup() throws IOException {
+        areaLabel = StandalonePhoneNumberAreaLabel.builder().build();
+    }
+
+    @Benchmark
+    public PhoneLibWrapper constructWrapper(InputCursor cursor) {
+        return new PhoneLibWrapper(cursor.next(InputMix.UNPARSEABLE_NUMBERS), "DE");
+    }
+
+    @Benchmark
+    public Phonenumber.PhoneNumber parser(InputCursor cursor) {
+        return parse(cursor.next(InputMix.UNPARSEABLE_NUMBERS), "DE");
+    }
+
+    @Benchmark
+    public Optional<String> getLocationByE164Number(InputCursor cursor) {
+        return areaLabel.getLocationByE164Number(cursor.next(InputMix.UNPARSEABLE_E164_NUMBERS));
+    }
+
+    @Benchmark
+    public Phonenumber.PhoneNumber parserE164(InputCursor cursor) {
+        return parse(cursor.next(InputMix.UNPARSEABLE_E164_NUMBERS), "");
+    }
+
+    private static Phonenumber.PhoneNumber parse(String number, String regionCode) {
+        try {
+            return PHONE_UTIL.parse(number, regionCode);
+        } catch (NumberParseException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,43 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Thread local position within an input set, so each benchmark thread walks through all inputs without sharing a counter.
+ */
+@State(Scope.Thread)
+public class InputCursor {
+
+    private int index = 0;
+
+    /**
+     * Returns the next input and moves the cursor - restarting at the beginning when the end is reached.
+     *
+     * @param inputs the input set to walk through
+     * @return next input of the set
+     */
+    public String next(String[] inputs) {
+        if (index >= inputs.length) {
+            index = 0;
+        }
+        return inputs[index++];
+    }
+
+}
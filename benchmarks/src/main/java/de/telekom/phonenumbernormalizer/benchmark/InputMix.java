@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Realistic German input sets used by all benchmarks, so results of different benchmarks are comparable.
+ * <p>
+ * {@link InputMix#MIXED} is weighted like the traffic of a German fixed-line ingest path: mostly numbers with NAC and
+ * local numbers without NDC, some international numbers and only a few short numbers and garbage.
+ * </p>
+ */
+public enum InputMix {
+
+    /**
+     * Local numbers dialled without NDC - need the NDC of the device context to become E164.
+     */
+    LOCAL("556677", "20355555", "5566778", "3012345", "998877", "55667788990", "1181", "118101"),
+
+    /**
+     * National numbers with National Access Code (NAC) "0" - fixed-line and mobile.
+     */
+    NAC("0203556677", "030 12345678", "(0228) 181-0", "0176 3 0 6 9 6544", "01511234567", "0201115", "06151/123456", "040-555666"),
+
+    /**
+     * International numbers, either with IDP "00" or already with leading "+".
+     */
+    INTERNATIONAL("004017630696543", "0040 176 3 0 6 9 6542", "0049 30 12345678", "+4930123456", "+49 (228) 1810",
+            "0033 1 23456789", "+12015550123", "00390203556677"),
+
+    /**
+     * German short numbers and DECT internal numbers.
+     */
+    SHORT("110", "112", "115", "116000", "11880", "118000", "*61", "**1"),
+
+    /**
+     * Junk typed into number fields - empty, letters, overly long digit runs.
+     */
+    GARBAGE("", " ", "Max Mustermann", "n/a", "-", "1", "123456789012345678901234567890", "+"),
+
+    /**
+     * Weighted mix of the other sets (see class description).
+     */
+    MIXED();
+
+    /**
+     * E164 formatted numbers used for the area label benchmarks - including some with unknown national prefixes and garbage.
+     */
+    static final String[] E164_NUMBERS = {
+            "+492015551235", "+4930123456", "+4961511234567", "+496041551235", "+4922818100", "+4917630696544",
+            "+12055550123", "+12395550123", "+74951234567", "+445555", "+49112", "+491", "+49", "+4"
+    };
+
+    /**
+     * Junk, which still contains digits, so it is handed to the parser of Google's LibPhoneNumber for region "DE" - and rejected by it.
+     */
+    static final String[] UNPARSEABLE_NUMBERS = {
+            "1", "0", "00", "0049", "004", "0083123456", "00999123456", "123456789012345678901234567890",
+            "0049123456789012345678901", "00491"
+    };
+
+    /**
+     * Junk with leading "+", which is rejected by the parser of Google's LibPhoneNumber.
+     */
+    static final String[] UNPARSEABLE_E164_NUMBERS = {
+            "+1", "+49", "+4", "+491", "+0123456", "+999123456", "+4912345678901234567890", "+83"
+    };
+
+    private final String[] numbers;
+
+    InputMix(String... numbers) {
+        this.numbers = numbers;
+    }
+
+    /**
+     * Returns the numbers of this input set.
+     *
+     * @return numbers to be used as benchmark input - never empty
+     */
+    public String[] getNumbers() {
+        if (this != MIXED) {
+            return numbers;
+        }
+        List<String> mix = new ArrayList<>();
+        addWeighted(mix, NAC, 4);
+        addWeighted(mix, LOCAL, 3);
+        addWeighted(mix, INTERNATIONAL, 2);
+        addWeighted(mix, SHORT, 1);
+        addWeighted(mix, GARBAGE, 1);
+        return mix.toArray(new String[0]);
+    }
+
+    private static void addWeighted(List<String> mix, InputMix set, int weight) {
+        for (int i = 0; i < weight; i++) {
+            mix.addAll(List.of(set.numbers));
+        }
+    }
+
+}
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizer;
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures both normalization entry points of {@link PhoneNumberNormalizerImpl} for each {@link InputMix}.
+ */
+@State(Scope.Benchmark)
+public class NormalizerBenchmark {
+
+    @Param({"LOCAL", "NAC", "INTERNATIONAL", "SHORT", "GARBAGE", "MIXED"})
+    public InputMix inputMix;
+
+    private String[] numbers;
+
+    private PhoneNumberNormalizer normalizer;
+
+    /**
+     * German fixed-line access in Duisburg - the most common context in our ingest path.
+     */
+    private DeviceContext deviceContext;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        numbers = inputMix.getNumbers();
+        normalizer = new PhoneNumberNormalizerImpl();
+        normalizer.setFallbackRegionCode("DE");
+        deviceContext = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203");
+    }
+
+    @Benchmark
+    public String normalizeWithDeviceContext(InputCursor cursor) {
+        return normalizer.normalizePhoneNumber(cursor.next(numbers), deviceContext);
+    }
+
+    @Benchmark
+    public String normalizeWithRegionCode(InputCursor cursor) {
+        return normalizer.normalizePhoneNumber(cursor.next(numbers), "DE");
+    }
+
+}
@@ -0,0 +1,62 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import de.telekom.phonenumbernormalizer.numberplans.NumberPlan;
+import de.telekom.phonenumbernormalizer.numberplans.NumberPlanFactory;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+import java.util.Arrays;
+
+/**
+ * Measures the short number detection of the German fixed-line {@link NumberPlan}, which is done on every context aware normalization.
+ */
+@State(Scope.Benchmark)
+public class NumberPlanBenchmark {
+
+    @Param({"LOCAL", "NAC", "SHORT", "MIXED"})
+    public InputMix inputMix;
+
+    /**
+     * The number plan gets the dialable number, so the inputs are reduced to dialable characters once in the setup.
+     */
+    private String[] dialableNumbers;
+
+    private NumberPlan numberPlan;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        dialableNumbers = Arrays.stream(inputMix.getNumbers())
+                .map(PhoneNumberUtil::normalizeDiallableCharsOnly)
+                .filter(number -> !number.isEmpty())
+                .toArray(String[]::new);
+        numberPlan = NumberPlanFactory.INSTANCE.getNumberPlan(DeviceContextLineType.FIXEDLINE, "49");
+    }
+
+    @Benchmark
+    public boolean isMatchingShortNumber(InputCursor cursor) {
+        return numberPlan.isMatchingShortNumber(cursor.next(dialableNumbers));
+    }
+
+}
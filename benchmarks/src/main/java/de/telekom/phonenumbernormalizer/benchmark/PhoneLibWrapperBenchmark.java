@@ -0,0 +1,53 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.benchmark;
+
+
+import de.telekom.phonenumbernormalizer.numberplans.PhoneLibWrapper;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Measures the construction of a {@link PhoneLibWrapper}, which includes the metadata lookup and the parsing by Google's LibPhoneNumber.
+ */
+@State(Scope.Benchmark)
+public class PhoneLibWrapperBenchmark {
+
+    @Param({"LOCAL", "NAC", "INTERNATIONAL", "SHORT", "GARBAGE", "MIXED"})
+    public InputMix inputMix;
+
+    private String[] numbers;
+
+    @Setup(Level.Trial)
+    public void setup() {
+        numbers = inputMix.getNumbers();
+    }
+
+    @Benchmark
+    public PhoneLibWrapper constructWithRegionCode(InputCursor cursor) {
+        return new PhoneLibWrapper(cursor.next(numbers), "DE");
+    }
+
+    @Benchmark
+    public PhoneLibWrapper constructWithoutRegionCode(InputCursor cursor) {
+        return new PhoneLibWrapper(cursor.next(numbers), null);
+    }
+
+}
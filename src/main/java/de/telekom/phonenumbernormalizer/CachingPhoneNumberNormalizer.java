@@ -0,0 +1,535 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+import de.telekom.phonenumbernormalizer.cache.CacheStatistics;
+import de.telekom.phonenumbernormalizer.cache.SegmentedLruCache;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextMapper;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber;
+import de.telekom.phonenumbernormalizer.numberplans.FastPathMode;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Conditional;
+import org.springframework.context.annotation.Primary;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.UnaryOperator;
+
+/**
+ * Decorator of a {@link PhoneNumberNormalizer}, which caches the normalization results of the most used numbers.
+ * <p>
+ * Results are cached by the raw number and either the region code or the values of the {@link DeviceContext}, which
+ * have an impact on the normalization. The cache is bounded by {@link SegmentedLruCache} and invalidated with each call
+ * of {@link PhoneNumberNormalizer#setFallbackRegionCode(String)}. Results of a {@link PhoneNumberNormalizerImpl} delegate
+ * are also not returned anymore, after its {@link PhoneNumberNormalizerImpl#setDeFastPathMode(FastPathMode)} has been changed.
+ * </p>
+ * <p>
+ * With a {@link PhoneNumberNormalizerImpl} delegate, the cache is also shared by all {@link NormalizerProfile}s built on it -
+ * their results are cached by the fallback region of the profile in addition.
+ * </p>
+ * <p>
+ * Configured by the properties (both are optional):
+ * </p>
+ * <ul>
+ *     <li>service.normalizerCache.maximumSize: maximum number of cached results - 0 (default) disables the cache</li>
+ *     <li>service.normalizerCache.concurrencyLevel: expected number of concurrently normalizing threads - default 16</li>
+ * </ul>
+ * <p>
+ * It is only registered as (primary) Spring bean, if the maximum size is positive - so without opting in the injected normalizer is not changed.
+ * </p>
+ */
+@Component
+@Primary
+@Conditional(NormalizerCacheCondition.class)
+public class CachingPhoneNumberNormalizer implements PhoneNumberNormalizer, FallbackRegionNormalizer {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(CachingPhoneNumberNormalizer.class);
+
+    /**
+     * Default for the expected number of concurrently normalizing threads
+     */
+    public static final int DEFAULT_CONCURRENCY_LEVEL = 16;
+
+    private static final CacheStatistics DISABLED_STATISTICS = new CacheStatistics(0, 0, 0, 0);
+
+    /**
+     * Region key of a {@link NormalizerProfile} without fallback region
+     */
+    private static final String NO_PROFILE_REGION = "";
+
+    /**
+     * The normalizer doing the real work for cache misses
+     */
+    private final PhoneNumberNormalizer delegate;
+
+    /**
+     * The result cache or null if caching is disabled
+     */
+    private final SegmentedLruCache<CacheKey, String> cache;
+
+    /**
+     * Is part of each key, so results calculated with an outdated fallback region code are never returned - even if
+     * they are added after {@link SegmentedLruCache#invalidateAll()}
+     *
+     * @see CachingPhoneNumberNormalizer#generation()
+     */
+    private volatile int generation = 0;
+
+    /**
+     * The delegate, if it is a {@link PhoneNumberNormalizerImpl} - otherwise null. It could change its results by
+     * {@link PhoneNumberNormalizerImpl#setDeFastPathMode(FastPathMode)} and could normalize for the fallback region of a {@link NormalizerProfile}.
+     */
+    private final PhoneNumberNormalizerImpl delegateImpl;
+
+    /**
+     * Creates a caching normalizer with {@link CachingPhoneNumberNormalizer#DEFAULT_CONCURRENCY_LEVEL}.
+     * @param delegate normalizer to be used for numbers, which are not cached
+     * @param maximumSize maximum number of cached results - if not positive, nothing is cached
+     */
+    public CachingPhoneNumberNormalizer(PhoneNumberNormalizer delegate, int maximumSize) {
+        this(delegate, maximumSize, DEFAULT_CONCURRENCY_LEVEL);
+    }
+
+    /**
+     * Creates a caching normalizer.
+     * @param delegate normalizer to be used for numbers, which are not cached
+     * @param maximumSize maximum number of cached results - if not positive, nothing is cached
+     * @param concurrencyLevel expected number of concurrently normalizing threads
+     */
+    @Autowired
+    public CachingPhoneNumberNormalizer(PhoneNumberNormalizerImpl delegate,
+                                        @Value("${service.normalizerCache.maximumSize:0}") int maximumSize,
+                                        @Value("${service.normalizerCache.concurrencyLevel:" + DEFAULT_CONCURRENCY_LEVEL + "}") int concurrencyLevel) {
+        this((PhoneNumberNormalizer) delegate, maximumSize, concurrencyLevel);
+    }
+
+    private CachingPhoneNumberNormalizer(PhoneNumberNormalizer delegate, int maximumSize, int concurrencyLevel) {
+        this.delegate = Objects.requireNonNull(delegate);
+        this.delegateImpl = delegate instanceof PhoneNumberNormalizerImpl ? (PhoneNumberNormalizerImpl) delegate : null;
+        if (maximumSize > 0) {
+            LOGGER.debug("caching up to {} normalization results", maximumSize);
+            this.cache = new SegmentedLruCache<>(maximumSize, Math.max(1, concurrencyLevel));
+        } else {
+            LOGGER.debug("normalization cache disabled");
+            this.cache = null;
+        }
+    }
+
+    /**
+     * @return generation of the keys to be used now - combining {@link CachingPhoneNumberNormalizer#generation} with the current fast path mode of the delegate
+     */
+    private int generation() {
+        if (delegateImpl == null) {
+            return generation;
+        }
+        return generation * FastPathMode.values().length + delegateImpl.getDeFastPathMode().ordinal();
+    }
+
+    @Override
+    public synchronized void setFallbackRegionCode(String fallBackRegionCode) {
+        delegate.setFallbackRegionCode(fallBackRegionCode);
+        if (cache != null) {
+            generation++;
+            cache.invalidateAll();
+        }
+    }
+
+    @Override
+    public String normalizePhoneNumber(String number, DeviceContext deviceContext) {
+        if (cache == null || number == null) {
+            return delegate.normalizePhoneNumber(number, deviceContext);
+        }
+        return cache.get(new CacheKey(number, ContextKey.of(deviceContext, null), generation()),
+                key -> delegate.normalizePhoneNumber(number, deviceContext));
+    }
+
+    @Override
+    public String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext) {
+        if (cache == null || number == null) {
+            return delegate.normalizePhoneNumberByCompiledContext(number, compiledDeviceContext);
+        }
+        return cache.get(new CacheKey(number, ContextKey.of(compiledDeviceContext, null), generation()),
+                key -> delegate.normalizePhoneNumberByCompiledContext(number, compiledDeviceContext));
+    }
+
+    @Override
+    public List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext) {
+        if (cache == null) {
+            return delegate.normalizePhoneNumbers(numbers, deviceContext);
+        }
+        return this.normalizeBatch(numbers, deviceContext, null, missingNumbers -> delegate.normalizePhoneNumbers(missingNumbers, deviceContext));
+    }
+
+    /**
+     * Looks up each number of a batch in the cache and normalizes only the misses - as one batch.
+     * @param numbers plain numbers to normalize
+     * @param deviceContext information from which all numbers are dialled
+     * @param regionKey {@link CachingPhoneNumberNormalizer#profileRegionKey(String)} of a {@link NormalizerProfile} or null for the fallback region of the delegate
+     * @param normalizer normalizing the missed numbers as one batch
+     * @return normalized numbers in the order of the given numbers - an empty list if numbers is null
+     */
+    private List<String> normalizeBatch(List<String> numbers, DeviceContext deviceContext, String regionKey,
+                                        UnaryOperator<List<String>> normalizer) {
+        if (numbers == null) {
+            return Collections.emptyList();
+        }
+        // the device context is the same for the whole batch, so its key is only evaluated once:
+        ContextKey contextKey = ContextKey.of(deviceContext, regionKey);
+        int currentGeneration = generation();
+
+        List<String> result = new ArrayList<>(numbers.size());
+        List<Integer> missingIndexes = new ArrayList<>();
+        List<String> missingNumbers = new ArrayList<>();
+        for (String number : numbers) {
+            String normalized = number == null ? null : cache.getIfPresent(new CacheKey(number, contextKey, currentGeneration));
+            if (normalized == null) {
+                missingIndexes.add(result.size());
+                missingNumbers.add(number);
+            }
+            result.add(normalized);
+        }
+        if (!missingNumbers.isEmpty()) {
+            // the misses are normalized as one batch, so the delegate also evaluates the device context only once
+            List<String> normalizedNumbers = normalizer.apply(missingNumbers);
+            for (int i = 0; i < missingNumbers.size(); i++) {
+                String number = missingNumbers.get(i);
+                String normalized = normalizedNumbers.get(i);
+                result.set(missingIndexes.get(i), normalized);
+                if (number != null && normalized != null) {
+                    cache.put(new CacheKey(number, contextKey, currentGeneration), normalized);
+                }
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public String normalizePhoneNumber(String number, String regionCode) {
+        if (cache == null || number == null) {
+            return delegate.normalizePhoneNumber(number, regionCode);
+        }
+        return cache.get(new CacheKey(number, regionCode, generation()),
+                key -> delegate.normalizePhoneNumber(number, regionCode));
+    }
+
+    /**
+     * Reducing a dialable number again does not change it, so it shares the cached results with the same raw number.
+     */
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext) {
+        if (cache == null || number == null || number.getNumber() == null) {
+            return delegate.normalizeDialableNumber(number, deviceContext);
+        }
+        return cache.get(new CacheKey(number.getNumber(), ContextKey.of(deviceContext, null), generation()),
+                key -> delegate.normalizeDialableNumber(number, deviceContext));
+    }
+
+    /**
+     * Reducing a dialable number again does not change it, so it shares the cached results with the same raw number.
+     */
+    @Override
+    public String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext) {
+        if (cache == null || number == null || number.getNumber() == null) {
+            return delegate.normalizeDialableNumberByCompiledContext(number, compiledDeviceContext);
+        }
+        return cache.get(new CacheKey(number.getNumber(), ContextKey.of(compiledDeviceContext, null), generation()),
+                key -> delegate.normalizeDialableNumberByCompiledContext(number, compiledDeviceContext));
+    }
+
+    /**
+     * Reducing a dialable number again does not change it, so it shares the cached results with the same raw number.
+     */
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, String regionCode) {
+        if (cache == null || number == null || number.getNumber() == null) {
+            return delegate.normalizeDialableNumber(number, regionCode);
+        }
+        return cache.get(new CacheKey(number.getNumber(), regionCode, generation()),
+                key -> delegate.normalizeDialableNumber(number, regionCode));
+    }
+
+    /**
+     * Results are not cached - they are only needed by callers, which process each number once.
+     */
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext) {
+        return delegate.normalizePhoneNumberToResult(number, deviceContext);
+    }
+
+    /**
+     * Results are not cached - they are only needed by callers, which process each number once.
+     */
+    @Override
+    public NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext) {
+        return delegate.normalizePhoneNumberByCompiledContextToResult(number, compiledDeviceContext);
+    }
+
+    /**
+     * Results are not cached - they are only needed by callers, which process each number once.
+     */
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, String regionCode) {
+        return delegate.normalizePhoneNumberToResult(number, regionCode);
+    }
+
+    /**
+     * Results of a profile must never be shared with the ones of the delegate - not even for a profile without fallback region.
+     * @param fallbackRegionCode fallback region of a {@link NormalizerProfile} - null if it has none
+     * @return region part of the keys for the results of the profile
+     */
+    private static String profileRegionKey(String fallbackRegionCode) {
+        return fallbackRegionCode == null ? NO_PROFILE_REGION : fallbackRegionCode;
+    }
+
+    /**
+     * @return if {@link NormalizerProfile}s could be built on this cache, because its delegate is a {@link PhoneNumberNormalizerImpl}
+     */
+    boolean isProfileCapable() {
+        return delegateImpl != null;
+    }
+
+    /**
+     * @return the delegate normalizing for the fallback region of a {@link NormalizerProfile}
+     * @throws UnsupportedOperationException if the delegate is not a {@link PhoneNumberNormalizerImpl}
+     */
+    private PhoneNumberNormalizerImpl profileDelegate() {
+        if (delegateImpl == null) {
+            throw new UnsupportedOperationException("normalizing for another fallback region needs a PhoneNumberNormalizerImpl delegate");
+        }
+        return delegateImpl;
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public String normalizePhoneNumber(String number, DeviceContext deviceContext, String fallbackRegionCode) {
+        if (cache == null || number == null) {
+            return profileDelegate().normalizeToResult(DialableNumber.of(number), deviceContext, fallbackRegionCode).getNumber();
+        }
+        return cache.get(new CacheKey(number, ContextKey.of(deviceContext, profileRegionKey(fallbackRegionCode)), generation()),
+                key -> profileDelegate().normalizeToResult(DialableNumber.of(number), deviceContext, fallbackRegionCode).getNumber());
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizePhoneNumberByCompiledContext(String, CompiledDeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        if (cache == null || number == null) {
+            return profileDelegate().normalizeToResult(DialableNumber.of(number), compiledDeviceContext, fallbackRegionCode).getNumber();
+        }
+        return cache.get(new CacheKey(number, ContextKey.of(compiledDeviceContext, profileRegionKey(fallbackRegionCode)), generation()),
+                key -> profileDelegate().normalizeToResult(DialableNumber.of(number), compiledDeviceContext, fallbackRegionCode).getNumber());
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizePhoneNumbers(List, DeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext, String fallbackRegionCode) {
+        if (cache == null) {
+            return profileDelegate().normalizePhoneNumbers(numbers, deviceContext, fallbackRegionCode);
+        }
+        return this.normalizeBatch(numbers, deviceContext, profileRegionKey(fallbackRegionCode),
+                missingNumbers -> profileDelegate().normalizePhoneNumbers(missingNumbers, deviceContext, fallbackRegionCode));
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizeDialableNumber(DialableNumber, DeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext, String fallbackRegionCode) {
+        if (cache == null || number == null || number.getNumber() == null) {
+            return profileDelegate().normalizeToResult(number, deviceContext, fallbackRegionCode).getNumber();
+        }
+        return cache.get(new CacheKey(number.getNumber(), ContextKey.of(deviceContext, profileRegionKey(fallbackRegionCode)), generation()),
+                key -> profileDelegate().normalizeToResult(number, deviceContext, fallbackRegionCode).getNumber());
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizeDialableNumberByCompiledContext(DialableNumber, CompiledDeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        if (cache == null || number == null || number.getNumber() == null) {
+            return profileDelegate().normalizeToResult(number, compiledDeviceContext, fallbackRegionCode).getNumber();
+        }
+        return cache.get(new CacheKey(number.getNumber(), ContextKey.of(compiledDeviceContext, profileRegionKey(fallbackRegionCode)), generation()),
+                key -> profileDelegate().normalizeToResult(number, compiledDeviceContext, fallbackRegionCode).getNumber());
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizePhoneNumberToResult(String, DeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext, String fallbackRegionCode) {
+        return profileDelegate().normalizeToResult(DialableNumber.of(number), deviceContext, fallbackRegionCode);
+    }
+
+    /**
+     * Same as {@link CachingPhoneNumberNormalizer#normalizePhoneNumberByCompiledContextToResult(String, CompiledDeviceContext)}, but for the fallback region of a {@link NormalizerProfile}.
+     */
+    @Override
+    public NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        return profileDelegate().normalizeToResult(DialableNumber.of(number), compiledDeviceContext, fallbackRegionCode);
+    }
+
+    /**
+     * Removes all cached results - the statistic counters are kept.
+     */
+    public void invalidateAll() {
+        if (cache != null) {
+            cache.invalidateAll();
+        }
+    }
+
+    /**
+     * @return snapshot of hit, miss and eviction counters - all zero if the cache is disabled
+     */
+    public CacheStatistics getStatistics() {
+        return cache == null ? DISABLED_STATISTICS : cache.getStatistics();
+    }
+
+    /**
+     * The values of a {@link DeviceContext}, which have an impact on the normalization:
+     * <ul>
+     *     <li>the normalized country calling code and national destination code, because invalid values are treated like unknown ones</li>
+     *     <li>the original line-type, but only if CC and NDC are known, because only then its number plan is used</li>
+     *     <li>the fallback region of a {@link NormalizerProfile} - null for the one of the delegate, which is covered by the generation of the key</li>
+     * </ul>
+     */
+    private static final class ContextKey {
+
+        private final DeviceContextLineType lineType;
+
+        private final String countryCode;
+
+        private final String nationalDestinationCode;
+
+        private final String regionKey;
+
+        private ContextKey(DeviceContextLineType lineType, String countryCode, String nationalDestinationCode, String regionKey) {
+            this.lineType = lineType;
+            this.countryCode = countryCode;
+            this.nationalDestinationCode = nationalDestinationCode;
+            this.regionKey = regionKey;
+        }
+
+        /**
+         * @param regionKey {@link CachingPhoneNumberNormalizer#profileRegionKey(String)} of a {@link NormalizerProfile} - or null for the fallback region of the delegate
+         */
+        static ContextKey of(DeviceContext deviceContext, String regionKey) {
+            DeviceContext normalizedDeviceContext = DeviceContextMapper.normalized(deviceContext);
+            String countryCode = normalizedDeviceContext.getCountryCode();
+            String nationalDestinationCode = normalizedDeviceContext.getNationalDestinationCode();
+            boolean isFullyKnown = !DeviceContext.UNKNOWN_VALUE.equals(countryCode) && !DeviceContext.UNKNOWN_VALUE.equals(nationalDestinationCode);
+            // a null line-type is not normalized by the normalizer, so it has to be kept different to UNKNOWN
+            return new ContextKey(isFullyKnown ? deviceContext.getLineType() : null, countryCode, nationalDestinationCode, regionKey);
+        }
+
+        /**
+         * Same key as for the original device context, but from the already normalized values - so compiled and not compiled contexts share their results.
+         */
+        static ContextKey of(CompiledDeviceContext compiledDeviceContext, String regionKey) {
+            if (compiledDeviceContext == null) {
+                return new ContextKey(null, DeviceContext.UNKNOWN_VALUE, DeviceContext.UNKNOWN_VALUE, regionKey);
+            }
+            boolean isFullyKnown = compiledDeviceContext.hasCountryCode() && compiledDeviceContext.hasNationalDestinationCode();
+            return new ContextKey(isFullyKnown ? compiledDeviceContext.getLineType() : null,
+                    compiledDeviceContext.getCountryCode(), compiledDeviceContext.getNationalDestinationCode(), regionKey);
+        }
+
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof ContextKey)) {
+                return false;
+            }
+            ContextKey that = (ContextKey) o;
+            return lineType == that.lineType && countryCode.equals(that.countryCode) && nationalDestinationCode.equals(that.nationalDestinationCode)
+                    && Objects.equals(regionKey, that.regionKey);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(lineType, countryCode, nationalDestinationCode, regionKey);
+        }
+    }
+
+    /**
+     * Key of a cached result - the raw number with either a {@link ContextKey} or a region code.
+     */
+    private static final class CacheKey {
+
+        private final String number;
+
+        private final ContextKey contextKey;
+
+        private final String regionCode;
+
+        private final int generation;
+
+        private final int hash;
+
+        CacheKey(String number, ContextKey contextKey, int generation) {
+            this(number, contextKey, null, generation);
+        }
+
+        CacheKey(String number, String regionCode, int generation) {
+            this(number, null, regionCode, generation);
+        }
+
+        private CacheKey(String number, ContextKey contextKey, String regionCode, int generation) {
+            this.number = number;
+            this.contextKey = contextKey;
+            this.regionCode = regionCode;
+            this.generation = generation;
+            this.hash = 31 * (31 * (31 * number.hashCode() + Objects.hashCode(contextKey)) + Objects.hashCode(regionCode)) + generation;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof CacheKey)) {
+                return false;
+            }
+            CacheKey that = (CacheKey) o;
+            return hash == that.hash && generation == that.generation && number.equals(that.number)
+                    && Objects.equals(contextKey, that.contextKey) && Objects.equals(regionCode, that.regionCode);
+        }
+
+        @Override
+        public int hashCode() {
+            return hash;
+        }
+    }
+
+}
@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import de.telekom.phonenumbernormalizer.numberplans.NumberPlan;
+
+/**
+ * A {@link DeviceContext} evaluated once for all numbers dialled from it - like the numbers of one subscriber line.
+ * <p>
+ * The evaluation of a {@link DeviceContext} is independent of the number to be normalized: validating its values like
+ * {@link de.telekom.phonenumbernormalizer.dto.DeviceContextMapper#normalized(DeviceContext)}, looking up the region code
+ * and its metadata for the Country Calling Code and the {@link NumberPlan} for line-type and Country Calling Code.
+ * A compiled context is immutable, so it could be cached and shared between threads and {@link NormalizerProfile}s -
+ * the fallback region is not part of it.
+ * </p>
+ * <p>
+ * Later changes of the given {@link DeviceContext} are not reflected, compile it again instead.
+ * </p>
+ *
+ * @see PhoneNumberNormalizer#normalizePhoneNumberByCompiledContext(String, CompiledDeviceContext)
+ */
+public interface CompiledDeviceContext {
+
+    /**
+     * Evaluates the device context.
+     * @param deviceContext information like CC, NDC and {@link DeviceContextLineType} from which the numbers are dialled - might be null
+     * @return the immutable evaluation of the device context
+     */
+    static CompiledDeviceContext of(DeviceContext deviceContext) {
+        return new CompiledDeviceContextImpl(deviceContext);
+    }
+
+    /**
+     * @return a copy of the original device context, which has been compiled - might be null
+     */
+    DeviceContext getDeviceContext();
+
+    /**
+     * @return the line-type of the original device context - might be null
+     */
+    DeviceContextLineType getLineType();
+
+    /**
+     * @return the digits of the Country Calling Code or {@link DeviceContext#UNKNOWN_VALUE}
+     */
+    String getCountryCode();
+
+    /**
+     * @return the digits of the National Destination Code or {@link DeviceContext#UNKNOWN_VALUE}
+     */
+    String getNationalDestinationCode();
+
+    /**
+     * @return if the device context provides a valid Country Calling Code
+     */
+    boolean hasCountryCode();
+
+    /**
+     * @return if the device context provides a valid National Destination Code
+     */
+    boolean hasNationalDestinationCode();
+
+    /**
+     * @return ISO2 code of the region for the Country Calling Code, "ZZ" if the code is not assigned or null if the device context has no Country Calling Code
+     */
+    String getRegionCode();
+
+    /**
+     * @return the National Access Code (aka trunk code) of the region or null if the region does not use one
+     */
+    String getNationalAccessCode();
+
+    /**
+     * @return the number plan for line-type and Country Calling Code - null if none is available or the device context has no Country Calling Code and NDC
+     */
+    NumberPlan getNumberPlan();
+}
@@ -0,0 +1,165 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import com.google.i18n.phonenumbers.Phonemetadata;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextMapper;
+import de.telekom.phonenumbernormalizer.numberplans.DeNumberPlanFastPath;
+import de.telekom.phonenumbernormalizer.numberplans.NumberPlan;
+import de.telekom.phonenumbernormalizer.numberplans.NumberPlanFactory;
+import de.telekom.phonenumbernormalizer.numberplans.PhoneLibWrapper;
+
+/**
+ * Concrete implementation of {@link CompiledDeviceContext}, which additionally keeps the region metadata for {@link PhoneNumberNormalizerImpl}.
+ */
+final class CompiledDeviceContextImpl implements CompiledDeviceContext {
+
+    /**
+     * Copy of the original values of the device context - it is never handed out, so later changes of the given device context are not reflected.
+     */
+    private final DeviceContext deviceContext;
+
+    /**
+     * The original line-type - it is not normalized, so {@link NumberPlanFactory} gets the same value as without compilation.
+     */
+    private final DeviceContextLineType lineType;
+
+    private final String countryCode;
+
+    private final String nationalDestinationCode;
+
+    private final String regionCode;
+
+    private final Phonemetadata.PhoneMetadata metadata;
+
+    private final NumberPlan numberPlan;
+
+    CompiledDeviceContextImpl(DeviceContext deviceContext) {
+        this.deviceContext = copy(deviceContext);
+        this.lineType = deviceContext == null ? null : deviceContext.getLineType();
+        DeviceContext normalizedDeviceContext = DeviceContextMapper.normalized(this.deviceContext);
+        this.countryCode = normalizedDeviceContext.getCountryCode();
+        this.nationalDestinationCode = normalizedDeviceContext.getNationalDestinationCode();
+        if (hasCountryCode()) {
+            this.regionCode = PhoneLibWrapper.getRegionCodeForCountryCode(this.countryCode);
+            this.metadata = PhoneLibWrapper.getMetadataForRegion(this.regionCode);
+        } else {
+            this.regionCode = null;
+            this.metadata = null;
+        }
+        if (hasCountryCode() && hasNationalDestinationCode()) {
+            // only necessary for the normalization with NDC, which is only used if CC and NDC are known - then the normalized CC is the original one
+            this.numberPlan = NumberPlanFactory.INSTANCE.getNumberPlan(this.lineType, this.countryCode);
+        } else {
+            this.numberPlan = null;
+        }
+    }
+
+    /**
+     * Returns the given handle, if it has been created by {@link CompiledDeviceContext#of(DeviceContext)} - otherwise its device context is compiled again.
+     * @param compiledDeviceContext any implementation of {@link CompiledDeviceContext} - might be null
+     * @return the concrete implementation - never null
+     */
+    static CompiledDeviceContextImpl of(CompiledDeviceContext compiledDeviceContext) {
+        if (compiledDeviceContext instanceof CompiledDeviceContextImpl) {
+            return (CompiledDeviceContextImpl) compiledDeviceContext;
+        }
+        return new CompiledDeviceContextImpl(compiledDeviceContext == null ? null : compiledDeviceContext.getDeviceContext());
+    }
+
+    /**
+     * @param deviceContext device context of the caller - might be null
+     * @return a copy of its values, which could not be changed by the caller - or null
+     */
+    private static DeviceContext copy(DeviceContext deviceContext) {
+        if (deviceContext == null) {
+            return null;
+        }
+        return new DeviceContextDto(deviceContext.getLineType(), deviceContext.getCountryCode(), deviceContext.getNationalDestinationCode());
+    }
+
+    /**
+     * @return a new copy of the original values - changing it does not change this compiled context
+     */
+    @Override
+    public DeviceContext getDeviceContext() {
+        return copy(deviceContext);
+    }
+
+    @Override
+    public DeviceContextLineType getLineType() {
+        return lineType;
+    }
+
+    @Override
+    public String getCountryCode() {
+        return countryCode;
+    }
+
+    @Override
+    public String getNationalDestinationCode() {
+        return nationalDestinationCode;
+    }
+
+    @Override
+    public boolean hasCountryCode() {
+        return !DeviceContext.UNKNOWN_VALUE.equals(countryCode);
+    }
+
+    @Override
+    public boolean hasNationalDestinationCode() {
+        return !DeviceContext.UNKNOWN_VALUE.equals(nationalDestinationCode);
+    }
+
+    @Override
+    public String getRegionCode() {
+        return regionCode;
+    }
+
+    @Override
+    public String getNationalAccessCode() {
+        return metadata != null && metadata.hasNationalPrefix() ? metadata.getNationalPrefix() : null;
+    }
+
+    @Override
+    public NumberPlan getNumberPlan() {
+        return numberPlan;
+    }
+
+    /**
+     * @return metadata of the region or null if the device context has no Country Calling Code
+     */
+    Phonemetadata.PhoneMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return if the number is dialled from Germany with known NDC and a number plan is used - the only context the {@link DeNumberPlanFastPath} could handle
+     */
+    boolean isDeFastPathApplicable() {
+        return hasNationalDestinationCode() && numberPlan != null && DeNumberPlanFastPath.REGION_CODE.equals(regionCode);
+    }
+
+    @Override
+    public String toString() {
+        return "CompiledDeviceContext{lineType=" + getLineType() + ", countryCode=" + countryCode
+                + ", nationalDestinationCode=" + nationalDestinationCode + ", regionCode=" + regionCode + "}";
+    }
+}
@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber;
+
+import java.util.List;
+
+/**
+ * Normalizer, which could use a given fallback region instead of its own one - so a {@link NormalizerProfile} could be built on it.
+ */
+interface FallbackRegionNormalizer extends ReadOnlyPhoneNumberNormalizer {
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    String normalizePhoneNumber(String number, DeviceContext deviceContext, String fallbackRegionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberByCompiledContext(String, CompiledDeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumbers(List, DeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext, String fallbackRegionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizeDialableNumber(DialableNumber, DeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext, String fallbackRegionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizeDialableNumberByCompiledContext(DialableNumber, CompiledDeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberToResult(String, DeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext, String fallbackRegionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberByCompiledContextToResult(String, CompiledDeviceContext)}, but with the given fallback region - a valid ISO2 code or null for none.
+     */
+    NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode);
+
+}
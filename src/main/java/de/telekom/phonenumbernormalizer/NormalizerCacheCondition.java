@@ -0,0 +1,36 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+import org.springframework.context.annotation.Condition;
+import org.springframework.context.annotation.ConditionContext;
+import org.springframework.core.type.AnnotatedTypeMetadata;
+
+/**
+ * Registers the {@link CachingPhoneNumberNormalizer} as Spring bean only, if its cache is enabled by a positive
+ * service.normalizerCache.maximumSize - otherwise {@link PhoneNumberNormalizerImpl} stays the only {@link PhoneNumberNormalizer} bean.
+ */
+class NormalizerCacheCondition implements Condition {
+
+    static final String MAXIMUM_SIZE_PROPERTY = "service.normalizerCache.maximumSize";
+
+    @Override
+    public boolean matches(ConditionContext context, AnnotatedTypeMetadata metadata) {
+        Integer maximumSize = context.getEnvironment().getProperty(MAXIMUM_SIZE_PROPERTY, Integer.class, 0);
+        return maximumSize > 0;
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.time.Duration;
+
+/**
+ * Applies the diagnostics properties once to the process wide {@link NormalizerDiagnostics#INSTANCE}.
+ * <p>
+ * The diagnostics are shared by all normalizers, so they are not configured by each {@link PhoneNumberNormalizerImpl} -
+ * otherwise any further normalizer would silently reset the logging and masking chosen by the application.
+ * Without Spring the setters of {@link NormalizerDiagnostics#INSTANCE} are used directly.
+ * </p>
+ */
+@Component
+public class NormalizerDiagnosticsConfigurer {
+
+    /**
+     * If each record, which could not be normalized, should be logged (optional property - default false).
+     *
+     * @see NormalizerDiagnostics#setPerRecordLogging(boolean)
+     */
+    @Value("${service.normalizer.diagnostics.perRecordLogging:false}")
+    boolean perRecordLogging = false;
+
+    /**
+     * If the example numbers of the diagnostics should be masked (optional property - default true).
+     *
+     * @see NormalizerDiagnostics#setMaskSamples(boolean)
+     */
+    @Value("${service.normalizer.diagnostics.maskSamples:true}")
+    boolean maskSamples = true;
+
+    /**
+     * Minimal seconds between two logged summaries of the diagnostics - 0 disables them (optional property - default 60).
+     *
+     * @see NormalizerDiagnostics#setSummaryInterval(Duration)
+     */
+    @Value("${service.normalizer.diagnostics.summaryIntervalSeconds:60}")
+    long summaryIntervalSeconds = NormalizerDiagnostics.DEFAULT_SUMMARY_INTERVAL.getSeconds();
+
+    /**
+     * Applying the diagnostics properties to {@link NormalizerDiagnostics#INSTANCE}
+     */
+    @PostConstruct
+    public void configureDiagnostics() {
+        NormalizerDiagnostics.INSTANCE.setPerRecordLogging(perRecordLogging);
+        NormalizerDiagnostics.INSTANCE.setMaskSamples(maskSamples);
+        NormalizerDiagnostics.INSTANCE.setSummaryInterval(Duration.ofSeconds(summaryIntervalSeconds));
+    }
+}
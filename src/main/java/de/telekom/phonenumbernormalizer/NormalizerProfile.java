@@ -0,0 +1,136 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber;
+
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Immutable {@link ReadOnlyPhoneNumberNormalizer} with a fixed fallback region - e.g. for one tenant of a multi-tenant service.
+ * <p>
+ * All profiles built on a {@link CachingPhoneNumberNormalizer} share its {@link PhoneNumberNormalizerImpl} and its cache (metadata
+ * and number plans are static anyway), only the fallback region is kept by the profile - and is part of the keys of its cached results.
+ * Since all fields are final and the fallback region could not be changed, a profile could be published to any thread without
+ * synchronization and used concurrently with other profiles.
+ * </p>
+ * @see NormalizerProfileRegistry
+ */
+public final class NormalizerProfile implements ReadOnlyPhoneNumberNormalizer {
+
+    private final FallbackRegionNormalizer normalizer;
+
+    private final String fallbackRegionCode;
+
+    private NormalizerProfile(FallbackRegionNormalizer normalizer, String fallbackRegionCode) {
+        this.normalizer = normalizer;
+        this.fallbackRegionCode = fallbackRegionCode;
+    }
+
+    /**
+     * Creates a profile for a fallback region without caching its results.
+     * @param normalizer the normalizer, whose logic and state is shared - its own fallback region is not used
+     * @param fallbackRegionCode ISO2 code of the country used if the {@link DeviceContext} does not indicate one - an invalid code is the same as none
+     * @return the immutable profile
+     *
+     * @see PhoneNumberNormalizer#setFallbackRegionCode(String)
+     */
+    public static NormalizerProfile of(PhoneNumberNormalizerImpl normalizer, String fallbackRegionCode) {
+        return new NormalizerProfile(Objects.requireNonNull(normalizer, "normalizer"), PhoneNumberNormalizerImpl.validFallbackRegionCode(fallbackRegionCode));
+    }
+
+    /**
+     * Creates a profile for a fallback region, which shares the cached results with all other profiles built on the same cache.
+     * @param normalizer the caching normalizer, whose {@link PhoneNumberNormalizerImpl} delegate and cache is shared - its own fallback region is not used
+     * @param fallbackRegionCode ISO2 code of the country used if the {@link DeviceContext} does not indicate one - an invalid code is the same as none
+     * @return the immutable profile
+     * @throws IllegalArgumentException if the delegate of the caching normalizer is not a {@link PhoneNumberNormalizerImpl}
+     *
+     * @see PhoneNumberNormalizer#setFallbackRegionCode(String)
+     */
+    public static NormalizerProfile of(CachingPhoneNumberNormalizer normalizer, String fallbackRegionCode) {
+        if (!Objects.requireNonNull(normalizer, "normalizer").isProfileCapable()) {
+            throw new IllegalArgumentException("profiles need a caching normalizer with a PhoneNumberNormalizerImpl delegate");
+        }
+        return new NormalizerProfile(normalizer, PhoneNumberNormalizerImpl.validFallbackRegionCode(fallbackRegionCode));
+    }
+
+    /**
+     * @return ISO2 code of the fallback region or null if none is used
+     */
+    public String getFallbackRegionCode() {
+        return fallbackRegionCode;
+    }
+
+    @Override
+    public String normalizePhoneNumber(String number, DeviceContext deviceContext) {
+        return normalizer.normalizePhoneNumber(number, deviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext) {
+        return normalizer.normalizePhoneNumberByCompiledContext(number, compiledDeviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext) {
+        return normalizer.normalizePhoneNumbers(numbers, deviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizePhoneNumber(String number, String regionCode) {
+        return normalizer.normalizePhoneNumber(number, regionCode);
+    }
+
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext) {
+        return normalizer.normalizeDialableNumber(number, deviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext) {
+        return normalizer.normalizeDialableNumberByCompiledContext(number, compiledDeviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, String regionCode) {
+        return normalizer.normalizeDialableNumber(number, regionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext) {
+        return normalizer.normalizePhoneNumberToResult(number, deviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext) {
+        return normalizer.normalizePhoneNumberByCompiledContextToResult(number, compiledDeviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, String regionCode) {
+        return normalizer.normalizePhoneNumberToResult(number, regionCode);
+    }
+
+    @Override
+    public String toString() {
+        return "NormalizerProfile{fallbackRegionCode=" + fallbackRegionCode + "}";
+    }
+}
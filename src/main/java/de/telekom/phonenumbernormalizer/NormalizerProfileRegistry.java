@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import jakarta.annotation.PostConstruct;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the {@link NormalizerProfile} of each tenant by a constant time lookup without locking.
+ * <p>
+ * Profiles are created once per fallback region and shared by all tenants with the same region. Tenants could be
+ * registered at any time; optionally at startup by the property service.normalizer.profiles, which is a comma
+ * separated list of tenant=region pairs like "tenantA=DE,tenantB=AT".
+ * </p>
+ * <p>
+ * All profiles are built on one {@link CachingPhoneNumberNormalizer} - the Spring bean if the cache is enabled - so they share its cached results.
+ * </p>
+ */
+@Component
+public class NormalizerProfileRegistry {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NormalizerProfileRegistry.class);
+
+    /**
+     * Key of the profile without fallback region - a {@link ConcurrentHashMap} can't store null keys.
+     */
+    private static final String NO_FALLBACK_REGION = "";
+
+    private final CachingPhoneNumberNormalizer normalizer;
+
+    private final Map<String, NormalizerProfile> profilesByRegion = new ConcurrentHashMap<>();
+
+    private final Map<String, NormalizerProfile> profilesByTenant = new ConcurrentHashMap<>();
+
+    /**
+     * tenant=region pairs registered at startup (optional property).
+     *
+     * @see NormalizerProfileRegistry#registerConfiguredTenants()
+     */
+    @Value("${service.normalizer.profiles:}")
+    String[] configuredTenants;
+
+    /**
+     * Creates a registry, whose profiles do not cache their results.
+     * @param normalizer the normalizer, whose logic and state is shared by all profiles
+     */
+    public NormalizerProfileRegistry(PhoneNumberNormalizerImpl normalizer) {
+        this(new CachingPhoneNumberNormalizer(Objects.requireNonNull(normalizer, "normalizer"), 0));
+    }
+
+    /**
+     * Creates a registry, whose profiles share the cache of the given normalizer.
+     * @param normalizer the caching normalizer, whose {@link PhoneNumberNormalizerImpl} delegate and cache is shared by all profiles
+     * @throws IllegalArgumentException if the delegate of the caching normalizer is not a {@link PhoneNumberNormalizerImpl}
+     */
+    public NormalizerProfileRegistry(CachingPhoneNumberNormalizer normalizer) {
+        this.normalizer = Objects.requireNonNull(normalizer, "normalizer");
+        if (!normalizer.isProfileCapable()) {
+            throw new IllegalArgumentException("profiles need a caching normalizer with a PhoneNumberNormalizerImpl delegate");
+        }
+    }
+
+    /**
+     * Spring constructor using the cache bean if it is enabled.
+     * @param normalizer the normalizer, whose logic and state is shared by all profiles
+     * @param cachingNormalizer provides the cache bean - which is only available if the cache is enabled
+     *
+     * @see NormalizerCacheCondition
+     */
+    @Autowired
+    NormalizerProfileRegistry(PhoneNumberNormalizerImpl normalizer, ObjectProvider<CachingPhoneNumberNormalizer> cachingNormalizer) {
+        this(cachingNormalizer.getIfAvailable(() -> new CachingPhoneNumberNormalizer(normalizer, 0)));
+    }
+
+    /**
+     * Registering the tenants of {@link NormalizerProfileRegistry#configuredTenants}
+     * @throws IllegalArgumentException if an entry is not a tenant=region pair
+     */
+    @PostConstruct
+    public void registerConfiguredTenants() {
+        if (configuredTenants == null) {
+            return;
+        }
+        for (String entry : configuredTenants) {
+            if (entry.isBlank()) {
+                continue;
+            }
+            int separator = entry.indexOf('=');
+            if (separator <= 0) {
+                throw new IllegalArgumentException("service.normalizer.profiles entry is not a tenant=region pair: " + entry);
+            }
+            this.register(entry.substring(0, separator).trim(), entry.substring(separator + 1).trim());
+        }
+    }
+
+    /**
+     * Returns the shared profile of a fallback region - creating it with the first request.
+     * @param fallbackRegionCode ISO2 code of the fallback region - an invalid code or null is the same as none
+     * @return the profile for the region
+     */
+    public NormalizerProfile getProfileForRegion(String fallbackRegionCode) {
+        String regionCode = PhoneNumberNormalizerImpl.validFallbackRegionCode(fallbackRegionCode);
+        return profilesByRegion.computeIfAbsent(regionCode == null ? NO_FALLBACK_REGION : regionCode,
+                key -> NormalizerProfile.of(normalizer, regionCode));
+    }
+
+    /**
+     * Registers a tenant or replaces the registration of it.
+     * @param tenantKey key of the tenant
+     * @param fallbackRegionCode ISO2 code of the fallback region of the tenant - an invalid code or null is the same as none
+     * @return the profile of the tenant
+     */
+    public NormalizerProfile register(String tenantKey, String fallbackRegionCode) {
+        Objects.requireNonNull(tenantKey, "tenantKey");
+        NormalizerProfile profile = this.getProfileForRegion(fallbackRegionCode);
+        profilesByTenant.put(tenantKey, profile);
+        LOGGER.debug("registered tenant {} with {}", tenantKey, profile);
+        return profile;
+    }
+
+    /**
+     * @param tenantKey key of the tenant
+     * @return if the tenant has been registered
+     */
+    public boolean unregister(String tenantKey) {
+        return profilesByTenant.remove(tenantKey) != null;
+    }
+
+    /**
+     * @param tenantKey key of the tenant
+     * @return the profile of the tenant or null if it is not registered
+     */
+    public NormalizerProfile getProfile(String tenantKey) {
+        return tenantKey == null ? null : profilesByTenant.get(tenantKey);
+    }
+
+    /**
+     * @return keys of all registered tenants
+     */
+    public Set<String> getTenantKeys() {
+        return Collections.unmodifiableSet(profilesByTenant.keySet());
+    }
+}
@@ -17,6 +17,8 @@ package de.telekom.phonenumbernormalizer;
 
 
 import java.util.Optional;
+import java.util.SortedMap;
+import java.util.TreeMap;
 
 /**
  * An interface for dependency injection - for direct use within your code just use {@link PhoneNumberAreaLabel}
@@ -31,6 +33,22 @@ public interface PhoneNumberAreaLabel {
      */
     Optional<String> getLocationByE164Number(String e164number);
 
+    /**
+     * Get a location name for the parts of an already parsed or normalized number - without parsing it again
+     * <p>
+     * The default implementation labels the E164 number of the parts by {@link PhoneNumberAreaLabel#getLocationByE164Number(String)}.
+     * </p>
+     *
+     * @param countryCode Country Calling Code like 49 (for number +4961511234567)
+     * @param nationalNumber national number without leading zeros like 61511234567 (for number +4961511234567)
+     * @return nullable optional with either a national label or if non is available a country label
+     *
+     * @see de.telekom.phonenumbernormalizer.dto.NormalizationResult
+     */
+    default Optional<String> getLocationByCountryCodeAndNationalNumber(int countryCode, long nationalNumber) {
+        return this.getLocationByE164Number("+" + countryCode + nationalNumber);
+    }
+
     /**
      * Get a location name for a nationalnumber and region code
      *
@@ -40,6 +58,21 @@ public interface PhoneNumberAreaLabel {
      */
     Optional<String> getLocationByNationalNumberAndRegionCode(String nationalNumber, String regionCode);
 
+    /**
+     * Get all number prefixes (similar to NDC, but without NAC) and their location names, which start with a given prefix
+     *
+     * <p>
+     * The default implementation - for area labels, which can't list their prefixes - returns an empty map.
+     * </p>
+     *
+     * @param nationalNumberPrefix number prefix without the country prefix like 6 (for all NDCs starting with 6), an empty prefix returns all entries
+     * @param regionCode region code for the number plan like de, us
+     * @return sorted map of number prefixes to their location names - empty if there is none
+     */
+    default SortedMap<String, String> getLocationsByNationalNumberPrefixAndRegionCode(String nationalNumberPrefix, String regionCode) {
+        return new TreeMap<>();
+    }
+
     /**
      * Get country name string by country code
      *
@@ -16,26 +16,28 @@
 package de.telekom.phonenumbernormalizer;
 
 
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.google.i18n.phonenumbers.NumberParseException;
-import com.google.i18n.phonenumbers.PhoneNumberUtil;
-import com.google.i18n.phonenumbers.Phonenumber;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelSnapshot;
+import de.telekom.phonenumbernormalizer.arealabels.LabelSource;
 
 import lombok.RequiredArgsConstructor;
-import org.slf4j.Logger;
-import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.core.io.ClassPathResource;
 import org.springframework.core.io.Resource;
+import org.springframework.core.io.UrlResource;
 import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
 import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Component;
 
 
 import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 import java.io.IOException;
-import java.util.*;
-import java.util.regex.Pattern;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
 
 /**
  * Concrete implementation of {@link PhoneNumberAreaLabel}, which is using per default provided label configuration from resources folder:
@@ -46,12 +48,11 @@ import java.util.regex.Pattern;
  *     <li>RU-NDC: Country separation "Russland" &amp; "Kasachstan"</li>
  *     <li>US-NDC: For US and CA just the state names</li>
  * </ul>
+ * This Spring bean only adapts properties and resources to {@link StandalonePhoneNumberAreaLabel}, which could be used without Spring.
  */
 @RequiredArgsConstructor
 @Component
-public class PhoneNumberAreaLabelImpl implements PhoneNumberAreaLabel {
-
-    private static final Logger LOGGER = LoggerFactory.getLogger(PhoneNumberAreaLabelImpl.class);
+public class PhoneNumberAreaLabelImpl extends StandalonePhoneNumberAreaLabel {
 
     /**
      * Array of full (path + filename + extension) files, where:<br/>
@@ -68,161 +69,121 @@ public class PhoneNumberAreaLabelImpl implements PhoneNumberAreaLabel {
     @Value("classpath:${service.areaLabel.countryLabels}")
     Resource countryCodeResource;
 
-
     /**
-     * First key is the region code represented by an ISO2 country code of (the main) country.<br/>
-     * Second key (key of the inner HashMap) is the phone number prefix (similar to NDC, but without NAC).<br/>
-     * Value of the inner HashMap is corresponding label.
-     *
-     * @see PhoneNumberAreaLabelImpl#numberPlanResources
-     *
+     * Sets if the national labels of a region are loaded with its first lookup instead of at startup (optional property - default false).
+     * @param lazyLoading true to load the labels on demand
      */
-    private HashMap<String, HashMap<?, ?>> areaCodes;
-
+    @Override
+    @Value("${service.areaLabel.lazyLoading:false}")
+    public void setLazyLoading(boolean lazyLoading) {
+        super.setLazyLoading(lazyLoading);
+    }
 
     /**
-     * Each key is the Country Calling Code (without "+" or IDP) and the value its corresponding label.
-     *
-     * @see PhoneNumberAreaLabelImpl#countryCodeResource
+     * Sets the regions (like "DE,AT"), whose national labels are loaded at startup - even if they are lazily loaded (optional property).
+     * @param preloadRegions ISO2 codes of the regions like "DE"
      */
-    private HashMap<?, ?> internationalCountryCodes;
+    @Override
+    @Value("${service.areaLabel.preloadRegions:}")
+    public void setPreloadRegions(String... preloadRegions) {
+        super.setPreloadRegions(preloadRegions);
+    }
 
     /**
-     * <ul>
-     * <li>Loading {@link PhoneNumberAreaLabelImpl#internationalCountryCodes} from {@link PhoneNumberAreaLabelImpl#countryCodeResource}</li>
-     * <li>Loading {@link PhoneNumberAreaLabelImpl#areaCodes} from {@link PhoneNumberAreaLabelImpl#numberPlanResources}</li>
-     * </ul>
+     * Sets the directory of area label files (with the same layout as the bundled resources), which replace the configured resources and
+     * are reloaded, when they are changed (optional property).
+     * @param labelDirectory path of the directory or blank to use the configured resources
+     *
+     * @see StandalonePhoneNumberAreaLabel#watchDirectory(Path)
      */
-    @PostConstruct
-    public void initFile() {
-
-        ClassLoader cl = this.getClass().getClassLoader();
-        // if no resources are given, the default once are used:
-        if (countryCodeResource == null) {
-            countryCodeResource = new ClassPathResource("arealabels/international_country_codes.json", cl);
-        }
-
-        if (numberPlanResources == null || numberPlanResources.length==0) {
-            ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(cl);
-            try {
-                numberPlanResources = resolver.getResources("classpath:arealabels/nationallabels/*.json");
-            } catch (IOException e) {
-                e.printStackTrace();
-            }
-        }
-
-        try {
-            LOGGER.debug("init code files");
-            LOGGER.debug("read international country codes");
-            this.internationalCountryCodes = this.initResource(countryCodeResource);
-            LOGGER.debug("read number plans folder");
-            this.areaCodes = new HashMap<>();
-            for (Resource res : numberPlanResources) {
-                String filename = res.getFilename();
-                if (filename!=null) {
-                    LOGGER.debug("read number plan file: {}", filename);
-                    String prefix = this.getFilePrefix(filename).toUpperCase(Locale.ROOT);
-                    LOGGER.debug("add prefix: {}", prefix);
-                    this.areaCodes.put(prefix, this.initResource(res));
-                }
-            }
-        } catch (Exception e) {
-            LOGGER.error("init file failed");
-            LOGGER.error("{}", e.getMessage());
-        }
+    @Value("${service.areaLabel.directory:}")
+    void configureLabelDirectory(String labelDirectory) {
+        this.setLabelDirectory(labelDirectory == null || labelDirectory.isBlank() ? null : Path.of(labelDirectory));
     }
 
     @Override
-    public Optional<String> getLocationByNationalNumberAndRegionCode(String nationalNumber, String regionCode) {
-        regionCode = regionCode.toUpperCase(Locale.ROOT);
-        if (Objects.nonNull(this.areaCodes) && !this.areaCodes.containsKey(regionCode)) {
-            LOGGER.debug("no number plan for regioncode: {} available", regionCode);
-            return Optional.empty();
-        }
-        String locationName = this.getLabelForNDCasNumberPrefixinPlan(nationalNumber, this.areaCodes.get(regionCode));
-
-        return Optional.ofNullable(locationName);
+    @PostConstruct
+    public void initFile() {
+        super.initFile();
     }
 
     @Override
-    public Optional<String> getCountryNameByCountryCode(String countryCode) {
-        if (Objects.isNull(this.internationalCountryCodes)) {
-            return Optional.empty();
-        }
-        return Optional.ofNullable((String) this.internationalCountryCodes.get(countryCode));
+    @PreDestroy
+    public synchronized void closeDirectoryWatcher() {
+        super.closeDirectoryWatcher();
     }
 
+    /**
+     * @return {@link PhoneNumberAreaLabelImpl#countryCodeResource} - set to the bundled file, if none is configured
+     */
     @Override
-    public Optional<String> getLocationByE164Number(String e164number) {
-        // be sure number is E164 normalized (leading +) ... and not fallback to dialable, where area information might be missing
-        String resultLabel = null;
-        if ((e164number.length()>0) && (e164number.charAt(0) == '+')) {
-            PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
-            try {
-                Phonenumber.PhoneNumber pn = phoneUtil.parse(e164number, "");
-
-                Optional<String> locationName = Optional.empty();
-
-                if (pn!=null) {
-                    String regionCode=phoneUtil.getRegionCodeForCountryCode(pn.getCountryCode());
-                    locationName = this.getLocationByNationalNumberAndRegionCode(String.valueOf(pn.getNationalNumber()), regionCode);
-                    if (locationName.isEmpty()) {
-                        return this.getCountryNameByCountryCode(String.valueOf(pn.getCountryCode()));
-                    }
-                }
-
-                return locationName;
-            } catch (NumberParseException e) {
-                LOGGER.warn("could not parse normalize number: {}", e164number);
-                LOGGER.warn(e.getMessage(), e);
-                // removing leading "+"
-                String tooShortNumber = e164number.substring(1);
-                for (int i=tooShortNumber.length();i>0;i--)
-                {
-                    Optional<String> tempResult = this.getCountryNameByCountryCode(tooShortNumber.substring(0,i));
-                    if (tempResult.isPresent()) {
-                        resultLabel = tempResult.get();
-                    }
-                }
-            }
+    protected LabelSource getCountryLabelSource() {
+        if (countryCodeResource == null) {
+            countryCodeResource = new ClassPathResource(AreaLabelSnapshot.COUNTRY_LABELS, this.getClass().getClassLoader());
         }
-        return Optional.ofNullable(resultLabel);
+        return new ResourceLabelSource(countryCodeResource);
     }
 
     /**
-     * Returns the "main" file name - before the first ".", to exclude the extension.
-     * @param filename where the extension should be removed
-     * @return part before the first "."
+     * @return {@link PhoneNumberAreaLabelImpl#numberPlanResources} or null if none are configured
      */
-    private String getFilePrefix(String filename) {
-        return filename.split(Pattern.quote("."))[0];
+    @Override
+    protected List<LabelSource> getNationalLabelSources() {
+        if (numberPlanResources == null || numberPlanResources.length == 0) {
+            return null;
+        }
+        return Arrays.stream(numberPlanResources).map(ResourceLabelSource::new).collect(Collectors.toList());
     }
 
     /**
-     * Reads a resource (JSON Array of one Object into a HashMap of that object attributes).
-     * @param res JSON to be loaded
-     * @return Number prefix mapped to label
-     * @throws IOException if there is a problem with the given resource
+     * Keeps the found files as {@link PhoneNumberAreaLabelImpl#numberPlanResources} and falls back to a classpath scan, if they could not be found by an index.
      */
-    private HashMap<?, ?> initResource(Resource res) throws IOException {
-        ObjectMapper mapper = new ObjectMapper();
-        return (HashMap<?, ?>) mapper.readValue(res.getInputStream(), List.class).get(0);
+    @Override
+    protected List<LabelSource> findBundledNationalLabelSources(ClassLoader classLoader) throws IOException {
+        List<LabelSource> sources = super.findBundledNationalLabelSources(classLoader);
+        if (sources != null) {
+            numberPlanResources = sources.stream().map(source -> new UrlResource(source.getUrl())).toArray(Resource[]::new);
+            return sources;
+        }
+        ResourcePatternResolver resolver = new PathMatchingResourcePatternResolver(classLoader);
+        numberPlanResources = resolver.getResources("classpath:" + AreaLabelSnapshot.NATIONAL_LABELS_FOLDER + "*.json");
+        return this.getNationalLabelSources();
     }
 
     /**
-     * Returns the label (value) for a NDC, if the number in national format starts with it.<br/>
-     * If multiple NAC matches as number prefix, the longest one will be taken.
-     * @param nationalNumber without NAC
-     * @param plan maps NDC to Label
-     * @return a label specifying the NDC location / area (might be city, state or country)
+     * Spring resource as source of a label file.
      */
-    private String getLabelForNDCasNumberPrefixinPlan(String nationalNumber, Map<?, ?> plan) {
-        for (int i = nationalNumber.length(); i > 0; i--) {
-            String key = nationalNumber.substring(0, i);
-            if (plan.containsKey(key)) {
-                return plan.get(key).toString();
+    private static final class ResourceLabelSource implements LabelSource {
+
+        private final Resource resource;
+
+        private ResourceLabelSource(Resource resource) {
+            this.resource = resource;
+        }
+
+        @Override
+        public String getFilename() {
+            return resource.getFilename();
+        }
+
+        @Override
+        public URL getUrl() {
+            try {
+                return resource.getURL();
+            } catch (IOException e) {
+                // e.g. a resource which is not available as URL - like a byte array
+                return null;
             }
         }
-        return null;
+
+        @Override
+        public InputStream openStream() throws IOException {
+            return resource.getInputStream();
+        }
+
+        @Override
+        public String toString() {
+            return resource.getDescription();
+        }
     }
 }
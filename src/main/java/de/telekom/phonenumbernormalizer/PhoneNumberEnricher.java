@@ -0,0 +1,56 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.LabeledPhoneNumber;
+
+/**
+ * An interface for dependency injection - for direct use within your code just use {@link PhoneNumberEnricherImpl}.
+ * <p>
+ * Combines {@link PhoneNumberNormalizer} and {@link PhoneNumberAreaLabel}, so the label is looked up by the parts of the
+ * normalized number and the number is not parsed a second time.
+ * </p>
+ */
+public interface PhoneNumberEnricher {
+
+    /**
+     * Normalizes the number and labels the result.
+     * <p>
+     * The label is the same as {@link PhoneNumberAreaLabel#getLocationByE164Number(String)} of the normalized number.
+     * </p>
+     * @param number plain number to normalize
+     * @param deviceContext information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
+     * @return the normalization result and the label of the E164 formatted number
+     *
+     * @see PhoneNumberNormalizer#normalizePhoneNumberToResult(String, DeviceContext)
+     */
+    LabeledPhoneNumber normalizeAndLabel(String number, DeviceContext deviceContext);
+
+    /**
+     * Normalizes the number within the number plan of the region and labels the result.
+     * <p>
+     * The label is the same as {@link PhoneNumberAreaLabel#getLocationByE164Number(String)} of the normalized number.
+     * </p>
+     * @param number plain number to normalize
+     * @param regionCode ISO2 code of the country, which number-plan is used for normalization
+     * @return the normalization result and the label of the E164 formatted number
+     *
+     * @see PhoneNumberNormalizer#normalizePhoneNumberToResult(String, String)
+     */
+    LabeledPhoneNumber normalizeAndLabel(String number, String regionCode);
+}
@@ -0,0 +1,66 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.LabeledPhoneNumber;
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import lombok.RequiredArgsConstructor;
+import org.springframework.stereotype.Component;
+
+/**
+ * Concrete implementation of {@link PhoneNumberEnricher}, which labels E164 results of the normalizer by their CC and
+ * national number via {@link PhoneNumberAreaLabel#getLocationByCountryCodeAndNationalNumber(int, long)}.
+ * <p>
+ * Only numbers given already with "+" ({@link NormalizationKind#SPECIAL_FORMAT}) are labeled by their E164 string, because
+ * the normalizer does not split them.
+ * </p>
+ */
+@RequiredArgsConstructor
+@Component
+public class PhoneNumberEnricherImpl implements PhoneNumberEnricher {
+
+    private final PhoneNumberNormalizer normalizer;
+
+    private final PhoneNumberAreaLabel areaLabel;
+
+    @Override
+    public LabeledPhoneNumber normalizeAndLabel(String number, DeviceContext deviceContext) {
+        return this.label(normalizer.normalizePhoneNumberToResult(number, deviceContext));
+    }
+
+    @Override
+    public LabeledPhoneNumber normalizeAndLabel(String number, String regionCode) {
+        return this.label(normalizer.normalizePhoneNumberToResult(number, regionCode));
+    }
+
+    /**
+     * Adds the label to a normalization result.
+     * @param result result of the normalizer
+     * @return the result with its label - if it is E164 formatted
+     */
+    private LabeledPhoneNumber label(NormalizationResult result) {
+        String label = null;
+        if (result.isE164()) {
+            label = areaLabel.getLocationByCountryCodeAndNationalNumber(result.getCountryCode(), result.getNationalNumber()).orElse(null);
+        } else if (result.getKind() == NormalizationKind.SPECIAL_FORMAT && result.getNumber().startsWith("+")) {
+            label = areaLabel.getLocationByE164Number(result.getNumber()).orElse(null);
+        }
+        return new LabeledPhoneNumber(result, label);
+    }
+}
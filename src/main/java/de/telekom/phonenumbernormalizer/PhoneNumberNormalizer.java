@@ -21,7 +21,7 @@ import de.telekom.phonenumbernormalizer.dto.DeviceContext;
 /**
  * An interface for dependency injection - for direct use within your code just use {@link PhoneNumberNormalizerImpl}.
  */
-public interface PhoneNumberNormalizer {
+public interface PhoneNumberNormalizer extends ReadOnlyPhoneNumberNormalizer {
 
     /**
      * Sets the ISO2 country code, which is used if the {@link DeviceContext} does not indicate one.
@@ -32,28 +32,4 @@ public interface PhoneNumberNormalizer {
      * @see PhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)
      */
     void setFallbackRegionCode(String fallBackRegionCode);
-
-    /**
-     * Normalizes the number using Google's LibPhoneNumber with some additions to compensate.
-     * <p>
-     * Preferable to {@link PhoneNumberNormalizer#normalizePhoneNumber(String, String)}, because default NDC can be provided, so that more compensation for generating a valid E164 can be done.
-     * </p>
-     * @param number plain number to normalize
-     * @param deviceContext  information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
-     * @return E164 formatted phone number or at least a dialable version of the number
-     *
-     * @see PhoneNumberNormalizer#setFallbackRegionCode(String)
-     */
-    String normalizePhoneNumber(String number, DeviceContext deviceContext);
-
-    /**
-     * Normalizes the number using Google's LibPhoneNumber with some additions to compensate.
-     * <p>
-     * Not as powerful as {@link PhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, because no default NDC can be set.
-     * </p>
-     * @param number plain number to normalize
-     * @param regionCode ISO2 code of the country, which number-plan is used for normalization
-     * @return E164 formatted phone number or at least a dialable version of the number
-     */
-    String normalizePhoneNumber(String number, String regionCode);
 }
@@ -15,41 +15,140 @@
  */
 package de.telekom.phonenumbernormalizer;
 
+import com.google.i18n.phonenumbers.Phonenumber;
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics;
 import de.telekom.phonenumbernormalizer.dto.DeviceContext;
-import de.telekom.phonenumbernormalizer.dto.DeviceContextMapper;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import de.telekom.phonenumbernormalizer.jfr.NormalizationEvent;
+import de.telekom.phonenumbernormalizer.metrics.NormalizationMetricsListener;
+import de.telekom.phonenumbernormalizer.numberplans.DeNumberPlanFastPath;
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber;
+import de.telekom.phonenumbernormalizer.numberplans.FastPathMode;
 import de.telekom.phonenumbernormalizer.numberplans.PhoneLibWrapper;
 import de.telekom.phonenumbernormalizer.numberplans.NumberPlan;
-import de.telekom.phonenumbernormalizer.numberplans.NumberPlanFactory;
+import de.telekom.phonenumbernormalizer.numberplans.RegionMetadataRegistry;
 import lombok.RequiredArgsConstructor;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import jakarta.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
 
 /**
  *  Concrete implementation of {@link PhoneNumberNormalizer} using {@link PhoneLibWrapper} to normalize a number by mitigating some inaccuracies when it comes to number plans of optional NDC and NAC as zero.
  *  <p>
  *  Also supports {@link DeviceContext} to enrich a phone number during normalization if the optional NDC is missing.
  *  </p>
+ *  <p>
+ *  Spring is only needed to use it as bean - without Spring its properties are set by {@link PhoneNumberNormalizerImpl#builder()}.
+ *  </p>
  */
 @RequiredArgsConstructor
 @Component
-public class PhoneNumberNormalizerImpl implements PhoneNumberNormalizer {
+public class PhoneNumberNormalizerImpl implements PhoneNumberNormalizer, FallbackRegionNormalizer {
 
     private static final Logger LOGGER = LoggerFactory.getLogger(PhoneNumberNormalizerImpl.class);
 
+    private static final int DE_COUNTRY_CODE = Integer.parseInt(DeNumberPlanFastPath.COUNTRY_CODE);
+
+    /**
+     * Storage for {@link PhoneNumberNormalizer#setFallbackRegionCode(String)} - read once per normalization, so each one uses a consistent value.
+     */
+    private volatile String fallbackRegionCode = null;
+
+    /**
+     * ISO2 codes of the regions, whose metadata should be loaded at startup and not with the first normalization (optional property).
+     *
+     * @see RegionMetadataRegistry#preload(java.util.Collection)
+     */
+    @Value("${service.normalizer.preloadRegions:}")
+    String[] preloadRegions;
+
+    /**
+     * Mode of the {@link DeNumberPlanFastPath} for numbers dialled from a German device context (optional property - default OFF).
+     *
+     * @see PhoneNumberNormalizerImpl#setDeFastPathMode(FastPathMode)
+     */
+    @Value("${service.normalizer.deFastPath:OFF}")
+    volatile FastPathMode deFastPathMode = FastPathMode.OFF;
+
+    /**
+     * Sets the mode of the {@link DeNumberPlanFastPath}, which is normalizing common German numbers without Google's LibPhoneNumber.
+     * @param deFastPathMode mode of the fast path - null is the same as {@link FastPathMode#OFF}
+     */
+    public void setDeFastPathMode(FastPathMode deFastPathMode) {
+        this.deFastPathMode = deFastPathMode == null ? FastPathMode.OFF : deFastPathMode;
+    }
+
+    /**
+     * @return the current mode of the {@link DeNumberPlanFastPath} - never null
+     */
+    public FastPathMode getDeFastPathMode() {
+        return this.deFastPathMode;
+    }
+
+    /**
+     * Listener for the outcome of each normalization or null if none is registered.
+     */
+    private volatile NormalizationMetricsListener metricsListener = null;
+
     /**
-     * Storage for {@link PhoneNumberNormalizer#setFallbackRegionCode(String)}
+     * Registers a listener, which is called for the outcome of each normalization - replacing a previously registered one.
+     * @param metricsListener the listener or null to remove the current one
      */
-    private String fallbackRegionCode = null;
+    public void setMetricsListener(NormalizationMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * @return builder for an instance configured like the Spring bean by its properties
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Loading the metadata of {@link PhoneNumberNormalizerImpl#preloadRegions}
+     */
+    @PostConstruct
+    public void preloadRegionMetadata() {
+        if (preloadRegions != null && preloadRegions.length > 0) {
+            LOGGER.debug("preload metadata of regions: {}", Arrays.toString(preloadRegions));
+            RegionMetadataRegistry.INSTANCE.preload(Arrays.asList(preloadRegions));
+        }
+    }
 
     @Override
     public void setFallbackRegionCode(String fallBackRegionCode) {
+        this.fallbackRegionCode = validFallbackRegionCode(fallBackRegionCode);
+    }
+
+    /**
+     * @return the ISO2 code of the current fallback region or null if none is set
+     */
+    String getFallbackRegionCode() {
+        return this.fallbackRegionCode;
+    }
+
+    /**
+     * Validates a fallback region code like {@link PhoneNumberNormalizer#setFallbackRegionCode(String)}.
+     * @param fallBackRegionCode ISO2 code of the country
+     * @return the region code or null if it is not a valid region code
+     */
+    static String validFallbackRegionCode(String fallBackRegionCode) {
         if (fallBackRegionCode != null && !fallBackRegionCode.isEmpty() && PhoneLibWrapper.getCountryCodeForRegion(fallBackRegionCode) > 0) {
-            this.fallbackRegionCode = fallBackRegionCode;
-        } else {
-            this.fallbackRegionCode = null; //invalid region code!
+            return fallBackRegionCode;
         }
+        return null; //invalid region code!
     }
 
     /**
@@ -62,61 +161,138 @@ public class PhoneNumberNormalizerImpl implements PhoneNumberNormalizer {
      * @see PhoneNumberNormalizer#normalizePhoneNumber(String, String)
      */
     private String fallbackNormalizationFromDeviceContextToDefaultRegionCode(String number, String dialableNumber) {
-        if (this.fallbackRegionCode == null) {
-            LOGGER.debug("Fallback Region was set!");
-            return dialableNumber;
+        return this.fallbackNormalizationToResult(number, dialableNumber, this.fallbackRegionCode).getNumber();
+    }
+
+    /**
+     * Same as {@link PhoneNumberNormalizerImpl#fallbackNormalizationFromDeviceContextToDefaultRegionCode(String, String)}, but providing the whole result.
+     * @param number the original number to be normalized
+     * @param dialableNumber the original number reduced to dialable digits
+     * @param regionCode ISO2 code of the fallback region or null if none is set
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     */
+    private NormalizationResult fallbackNormalizationToResult(String number, String dialableNumber, String regionCode) {
+        if (regionCode == null) {
+            LOGGER.debug("No fallback region is set, so the number is not normalized.");
+            return notNormalized(dialableNumber, null);
         } else {
-            return this.normalizePhoneNumber(number, this.fallbackRegionCode);
+            return this.normalizeWithinRegion(new PhoneLibWrapper(number, regionCode), NormalizationKind.FALLBACK_REGION);
         }
     }
 
     /**
      * Uses wrapper of Google's LibPhoneNumber to identify if special rules apply for normalization.<br/>
-     * Using device context for enriching the number make it normalizable to E164 format if NDC is optional in the used number plan, but not used in the phone number to be normalized.
+     * Using the NDC of the device context for enriching the number make it normalizable to E164 format if NDC is optional in the used number plan, but not used in the phone number to be normalized.
      * @param wrapper instanced wrapper of Google's LibPhoneNumber
-     * @param deviceContext information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
-     * @return E164 formatted phone number or dialable version of it or null
+     * @param nationalDestinationCode NDC of the device context from which the number is dialled or null if it has none
+     * @param numberplan number plan for the line-type and CC of the device context or null if none is available
+     * @return result with E164 formatted phone number or dialable version of it or null
      */
-    private String normalize(PhoneLibWrapper wrapper, DeviceContext deviceContext) {
+    private NormalizationResult normalize(PhoneLibWrapper wrapper, String nationalDestinationCode, NumberPlan numberplan) {
         // international prefix has been added by Google's LibPhoneNumber even if it's not valid in the number plan.
         if (wrapper == null) {
             LOGGER.debug("PhoneLipWrapper was not initialized");
-            return null;
+            return notNormalized(null, null);
         }
+        String regionCode = knownRegionCode(wrapper.getRegionCode());
 
         if (wrapper.getSemiNormalizedNumber() == null) {
-            return wrapper.getDialableNumber();
-        }
-
-        NumberPlan numberplan = null;
-        if (deviceContext != null) {
-            numberplan = NumberPlanFactory.INSTANCE.getNumberPlan(deviceContext.getLineType(), deviceContext.getCountryCode());
+            this.reportParseFailure(wrapper);
+            return notNormalized(wrapper.getDialableNumber(), regionCode);
         }
 
         if (wrapper.isShortNumber(numberplan)) {
             //if it is a short number, we can't add area code nor country code, so returning the dialable.
-            return wrapper.getDialableNumber();
+            return NormalizationResult.dialable(wrapper.getDialableNumber(), NormalizationKind.SHORT_NUMBER, regionCode);
         }
 
-        if (wrapper.hasRegionNationalAccessCode() && deviceContext != null) {
+        if (wrapper.hasRegionNationalAccessCode() && nationalDestinationCode != null) {
             //Number plan is using a NationalPrefix aka Trunk Code ... so we could add Area Code if not included in the number.
-            return wrapper.extendNumberByDefaultAreaCodeAndCountryCode(wrapper.getNationalAccessCode(), deviceContext.getNationalDestinationCode());
+            boolean extending = wrapper.hasNoCountryCodeNorNationalAccessCode();
+            String result = wrapper.extendNumberByDefaultAreaCodeAndCountryCode(wrapper.getNationalAccessCode(), nationalDestinationCode);
+            if (!result.startsWith("+")) {
+                // the extended number could not be parsed, so the dialable number is returned
+                this.reportParseFailure(null);
+                return notNormalized(result, regionCode);
+            }
+            return e164(result, wrapper, extending ? NormalizationKind.NDC_EXTENDED : NormalizationKind.E164);
         }
         // Number plan is not using NationalPrefix aka Trunk Code ... its also not a short number, so country code can be added:
-        return wrapper.getE164Formatted();
+        return e164(wrapper.getE164Formatted(), wrapper, NormalizationKind.E164);
     }
 
     @Override
     public String normalizePhoneNumber(String number, String regionCode) {
+        return this.normalizePhoneNumberToResult(number, regionCode).getNumber();
+    }
 
-        PhoneLibWrapper wrapper = new PhoneLibWrapper(number, regionCode);
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, String regionCode) {
+        return this.normalizeForRegion(DialableNumber.of(number), regionCode);
+    }
+
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, String regionCode) {
+        return this.normalizeForRegion(nonNull(number), regionCode).getNumber();
+    }
+
+    /**
+     * Normalizes the already reduced number within the number plan of the region and reports the outcome to the metrics listener and to Java Flight Recorder.
+     * @param number number reduced to its dialable characters
+     * @param regionCode ISO2 code of the country, which number-plan is used for normalization
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     */
+    private NormalizationResult normalizeForRegion(DialableNumber number, String regionCode) {
+        NormalizationMetricsListener listener = this.metricsListener;
+        NormalizationEvent event = new NormalizationEvent();
+        if (listener == null && !event.isEnabled()) {
+            return this.normalizeWithinRegion(new PhoneLibWrapper(number, regionCode, PhoneLibWrapper.getMetadataForRegion(regionCode)), NormalizationKind.E164);
+        }
+        long start = listener != null && listener.sampleLatency() ? System.nanoTime() : -1;
+        event.begin();
+        NormalizationResult result = this.normalizeWithinRegion(
+                new PhoneLibWrapper(number, regionCode, PhoneLibWrapper.getMetadataForRegion(regionCode)), NormalizationKind.E164);
+        reported(listener, start, event, result, null, number);
+        return result;
+    }
+
+    /**
+     * Reports the outcome of a normalization to the metrics listener and to Java Flight Recorder.
+     * @param listener the registered listener or null
+     * @param start {@link System#nanoTime()} at the start of the normalization or -1 if it is not sampled
+     * @param event JFR event begun at the start of the normalization
+     * @param result result of the normalization
+     * @param lineType line type of the device context or null if the number has been normalized for a region
+     * @param number the normalized number reduced to its dialable characters
+     */
+    private static void reported(NormalizationMetricsListener listener, long start, NormalizationEvent event, NormalizationResult result,
+                                 DeviceContextLineType lineType, DialableNumber number) {
+        if (listener != null) {
+            listener.onNormalization(result.getKind(), start < 0 ? -1 : System.nanoTime() - start);
+        }
+        event.commit(result, lineType, number.getNumber());
+    }
+
+    /**
+     * Normalizes a number, which has already been parsed for a region, only within the number plan of that region.
+     * @param wrapper instanced wrapper of Google's LibPhoneNumber
+     * @param e164Kind kind of the result, if the number could be normalized to E164
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see PhoneNumberNormalizer#normalizePhoneNumber(String, String)
+     */
+    private NormalizationResult normalizeWithinRegion(PhoneLibWrapper wrapper, NormalizationKind e164Kind) {
+        String regionCode = knownRegionCode(wrapper.getRegionCode());
 
         if (wrapper.getSemiNormalizedNumber() == null) {
-            return wrapper.getDialableNumber();
+            this.reportParseFailure(wrapper);
+            return notNormalized(wrapper.getDialableNumber(), regionCode);
         }
         if (wrapper.isShortNumber()) {
             //if it is a short number, we can't add area code nor country code, so returning the dialable.
-            return wrapper.getDialableNumber();
+            // a possible short number is only checked by its length, so a local number without NDC is not classified as short number.
+            return NormalizationResult.dialable(wrapper.getDialableNumber(),
+                    wrapper.isValidShortNumber() ? NormalizationKind.SHORT_NUMBER : NormalizationKind.DIALABLE_ONLY, regionCode);
         }
 
         // international prefix is added by the lib even if it's not valid in the number plan.
@@ -127,36 +303,360 @@ public class PhoneNumberNormalizerImpl implements PhoneNumberNormalizer {
 
         //if the number is definitely a short number or needs an area code but does not have it, we do not add the country code.
         return (hasNoCCAndNoNAC) ?
-                wrapper.getDialableNumber() : wrapper.getE164Formatted();
+                NormalizationResult.dialable(wrapper.getDialableNumber(), NormalizationKind.DIALABLE_ONLY, regionCode) :
+                e164(wrapper.getE164Formatted(), wrapper, e164Kind);
+
+    }
+
+    /**
+     * Reports to the metrics listener, that Google's LibPhoneNumber could not parse a number.
+     * @param wrapper wrapper without parsed number or null if the number has not been parsed by a wrapper
+     */
+    private void reportParseFailure(PhoneLibWrapper wrapper) {
+        NormalizationMetricsListener listener = this.metricsListener;
+        // a wrapper does not parse numbers, which are empty or in a special format - that is no failure
+        if (listener != null && (wrapper == null || wrapper.isNormalizingTried())) {
+            listener.onParseFailure();
+        }
+    }
+
+    /**
+     * Creates the result of an E164 formatted number from the parts of the number parsed by the wrapper - without parsing it again.
+     * @param e164 the E164 formatted number of the wrapper
+     * @param wrapper wrapper, whose semi normalized number is the E164 formatted number
+     * @param kind how the number has been normalized
+     * @return result with all E164 parts
+     */
+    private static NormalizationResult e164(String e164, PhoneLibWrapper wrapper, NormalizationKind kind) {
+        Phonenumber.PhoneNumber number = wrapper.getSemiNormalizedNumber();
+        return NormalizationResult.e164(e164, kind, knownRegionCode(wrapper.getRegionCode()), number.getCountryCode(),
+                number.getNationalNumber(), number.isItalianLeadingZero() ? number.getNumberOfLeadingZeros() : 0);
+    }
 
+    /**
+     * Creates the result of a number, which has not been normalized - classified by its first character like {@link DialableNumber#isSpecialFormat()}.
+     * @param dialableNumber the dialable number returned as normalized number
+     * @param regionCode region, whose number plan has been used or null
+     * @return result of kind {@link NormalizationKind#SPECIAL_FORMAT} or {@link NormalizationKind#DIALABLE_ONLY}
+     */
+    private static NormalizationResult notNormalized(String dialableNumber, String regionCode) {
+        boolean specialFormat = dialableNumber != null && !dialableNumber.isEmpty()
+                && (dialableNumber.charAt(0) == '+' || dialableNumber.charAt(0) == '*');
+        return NormalizationResult.dialable(dialableNumber,
+                specialFormat ? NormalizationKind.SPECIAL_FORMAT : NormalizationKind.DIALABLE_ONLY, regionCode);
+    }
+
+    /**
+     * Creates the result of the {@link DeNumberPlanFastPath}, which is either "+49" followed by the national number or an unchanged short number.
+     * @param fastPathResult result of the fast path
+     * @param dialableNumber number given to the fast path
+     * @return result of the fast path with all E164 parts
+     */
+    private static NormalizationResult fastPathResult(String fastPathResult, String dialableNumber) {
+        if (!fastPathResult.startsWith("+")) {
+            return NormalizationResult.dialable(fastPathResult, NormalizationKind.SHORT_NUMBER, DeNumberPlanFastPath.REGION_CODE);
+        }
+        // German national numbers never start with a zero - only numbers with NAC or IDP already contained the NDC
+        return NormalizationResult.e164(fastPathResult, dialableNumber.startsWith("0") ? NormalizationKind.E164 : NormalizationKind.NDC_EXTENDED,
+                DeNumberPlanFastPath.REGION_CODE, DE_COUNTRY_CODE,
+                Long.parseLong(fastPathResult.substring(1 + DeNumberPlanFastPath.COUNTRY_CODE.length())), 0);
+    }
+
+    /**
+     * @param regionCode region code used by a wrapper
+     * @return the region code or null if it is unknown
+     */
+    private static String knownRegionCode(String regionCode) {
+        return regionCode == null || PhoneLibWrapper.UNKNOWN_REGIONCODE.equals(regionCode) ? null : regionCode;
     }
 
     @Override
     public String normalizePhoneNumber(String number, DeviceContext deviceContext) {
+        return this.normalizePhoneNumber(number, new CompiledDeviceContextImpl(deviceContext), this.fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext) {
+        return this.normalizePhoneNumber(number, CompiledDeviceContextImpl.of(compiledDeviceContext), this.fallbackRegionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext) {
+        return this.normalizeToResult(DialableNumber.of(number), deviceContext, this.fallbackRegionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext) {
+        return this.normalizeToResult(DialableNumber.of(number), compiledDeviceContext, this.fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext) {
+        return this.normalizeToResult(number, deviceContext, this.fallbackRegionCode).getNumber();
+    }
+
+    @Override
+    public String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext) {
+        return this.normalizeToResult(number, compiledDeviceContext, this.fallbackRegionCode).getNumber();
+    }
+
+    @Override
+    public String normalizePhoneNumber(String number, DeviceContext deviceContext, String fallbackRegionCode) {
+        return this.normalizePhoneNumber(number, new CompiledDeviceContextImpl(deviceContext), fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        return this.normalizePhoneNumber(number, CompiledDeviceContextImpl.of(compiledDeviceContext), fallbackRegionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext, String fallbackRegionCode) {
+        return this.normalizeToResult(DialableNumber.of(number), deviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        return this.normalizeToResult(DialableNumber.of(number), compiledDeviceContext, fallbackRegionCode);
+    }
+
+    @Override
+    public String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext, String fallbackRegionCode) {
+        return this.normalizeToResult(number, deviceContext, fallbackRegionCode).getNumber();
+    }
+
+    @Override
+    public String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        return this.normalizeToResult(number, compiledDeviceContext, fallbackRegionCode).getNumber();
+    }
+
+    /**
+     * Normalizes the already reduced number with the given fallback region instead of the one of this instance.
+     * @param number number reduced to its dialable characters
+     * @param deviceContext information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see NormalizerProfile
+     */
+    NormalizationResult normalizeToResult(DialableNumber number, DeviceContext deviceContext, String fallbackRegionCode) {
+        return this.normalizePhoneNumber(nonNull(number), new CompiledDeviceContextImpl(deviceContext), fallbackRegionCode);
+    }
+
+    /**
+     * Same as {@link PhoneNumberNormalizerImpl#normalizeToResult(DialableNumber, DeviceContext, String)}, but for an already compiled device context.
+     * @param number number reduced to its dialable characters
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see NormalizerProfile
+     */
+    NormalizationResult normalizeToResult(DialableNumber number, CompiledDeviceContext compiledDeviceContext, String fallbackRegionCode) {
+        return this.normalizePhoneNumber(nonNull(number), CompiledDeviceContextImpl.of(compiledDeviceContext), fallbackRegionCode);
+    }
+
+    private static DialableNumber nonNull(DialableNumber number) {
+        return number == null ? DialableNumber.of((CharSequence) null) : number;
+    }
+
+    @Override
+    public List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext) {
+        return this.normalizePhoneNumbers(numbers, deviceContext, this.fallbackRegionCode);
+    }
+
+    /**
+     * Normalizes the batch with the given fallback region instead of the one of this instance.
+     * @param numbers plain numbers to normalize
+     * @param deviceContext information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which all numbers are dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return E164 formatted phone numbers or at least dialable versions of the numbers in the order of the given numbers
+     *
+     * @see NormalizerProfile
+     */
+    @Override
+    public List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext, String fallbackRegionCode) {
+        if (numbers == null) {
+            return Collections.emptyList();
+        }
+        // the device context is the same for the whole batch, so its evaluation is done only once:
+        CompiledDeviceContextImpl compiledDeviceContext = new CompiledDeviceContextImpl(deviceContext);
+
+        // identical raw numbers in a batch lead to identical results, so each is only normalized once:
+        Map<String, String> normalizedNumbers = new HashMap<>();
+        List<String> result = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            result.add(normalizedNumbers.computeIfAbsent(number, n -> this.normalizePhoneNumber(n, compiledDeviceContext, fallbackRegionCode)));
+        }
+        return result;
+    }
+
+    /**
+     * Normalizes the number for an already evaluated device context.
+     * @param number plain number to normalize
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see PhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)
+     */
+    private String normalizePhoneNumber(String number, CompiledDeviceContextImpl compiledDeviceContext, String fallbackRegionCode) {
+        // reducing the number to its dialable characters only once - all parsing below is based on it.
+        return this.normalizePhoneNumber(DialableNumber.of(number), compiledDeviceContext, fallbackRegionCode).getNumber();
+    }
+
+    /**
+     * Normalizes the already reduced number for an already evaluated device context and reports the outcome to the metrics listener and to Java Flight Recorder.
+     * @param dialableNumber number reduced to its dialable characters
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     */
+    private NormalizationResult normalizePhoneNumber(DialableNumber dialableNumber, CompiledDeviceContextImpl compiledDeviceContext, String fallbackRegionCode) {
+        NormalizationMetricsListener listener = this.metricsListener;
+        NormalizationEvent event = new NormalizationEvent();
+        if (listener == null && !event.isEnabled()) {
+            return this.normalizeWithDeviceContext(dialableNumber, compiledDeviceContext, fallbackRegionCode);
+        }
+        long start = listener != null && listener.sampleLatency() ? System.nanoTime() : -1;
+        event.begin();
+        NormalizationResult result = this.normalizeWithDeviceContext(dialableNumber, compiledDeviceContext, fallbackRegionCode);
+        reported(listener, start, event, result, compiledDeviceContext.getLineType(), dialableNumber);
+        return result;
+    }
+
+    /**
+     * Normalizes the already reduced number for an already evaluated device context.
+     * @param dialableNumber number reduced to its dialable characters
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     */
+    private NormalizationResult normalizeWithDeviceContext(DialableNumber dialableNumber, CompiledDeviceContextImpl compiledDeviceContext, String fallbackRegionCode) {
 
         // checking if the number has a special format or is not valid at all.
-        PhoneLibWrapper normalizerPhoneNumber = new PhoneLibWrapper(number, null);
-        if (! normalizerPhoneNumber.isNormalizingTried()) {
-            return normalizerPhoneNumber.getDialableNumber();
+        if (! dialableNumber.isNormalizable()) {
+            return notNormalized(dialableNumber.getNumber(), null);
         }
 
-        DeviceContext normalizedDeviceContext = DeviceContextMapper.normalized(deviceContext);
+        FastPathMode fastPathMode = this.deFastPathMode;
+        if (fastPathMode != FastPathMode.OFF && compiledDeviceContext.isDeFastPathApplicable()) {
+            String fastPathResult = DeNumberPlanFastPath.getInstance().normalize(dialableNumber.getNumber(),
+                    compiledDeviceContext.getNationalDestinationCode(), compiledDeviceContext.getNumberPlan());
+            if (fastPathMode == FastPathMode.ON && fastPathResult != null) {
+                return fastPathResult(fastPathResult, dialableNumber.getNumber());
+            }
+            if (fastPathMode == FastPathMode.DIFFERENTIAL && fastPathResult != null) {
+                NormalizationResult result = this.normalizeByDeviceContext(dialableNumber, compiledDeviceContext, fallbackRegionCode);
+                if (!fastPathResult.equals(result.getNumber())) {
+                    DeNumberPlanFastPath.getInstance().reportMismatch(dialableNumber.getNumber(), fastPathResult, result.getNumber());
+                }
+                return result;
+            }
+        }
+        return this.normalizeByDeviceContext(dialableNumber, compiledDeviceContext, fallbackRegionCode);
+    }
 
-        if (!normalizedDeviceContext.getCountryCode().equals(DeviceContext.UNKNOWN_VALUE)) {
-            String regionCode = PhoneLibWrapper.getRegionCodeForCountryCode(normalizedDeviceContext.getCountryCode());
-            // now working again with the region code
-            normalizerPhoneNumber = new PhoneLibWrapper(number, regionCode);
-            if (!normalizedDeviceContext.getNationalDestinationCode().equals(DeviceContext.UNKNOWN_VALUE)) {
+    /**
+     * Normalizes the already reduced number for an already evaluated device context with Google's LibPhoneNumber.
+     * @param dialableNumber number reduced to its dialable characters, which is normalizable
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @param fallbackRegionCode valid ISO2 code of the fallback region or null for none
+     * @return result with E164 formatted phone number or at least a dialable version of the number
+     */
+    private NormalizationResult normalizeByDeviceContext(DialableNumber dialableNumber, CompiledDeviceContextImpl compiledDeviceContext, String fallbackRegionCode) {
+        if (compiledDeviceContext.hasCountryCode()) {
+            String regionCode = compiledDeviceContext.getRegionCode();
+            // now working with the region code - this is the only parsing for this region
+            PhoneLibWrapper normalizerPhoneNumber = new PhoneLibWrapper(dialableNumber, regionCode, compiledDeviceContext.getMetadata());
+            if (compiledDeviceContext.hasNationalDestinationCode()) {
                 // Number needs normalization:
-                return normalize(normalizerPhoneNumber, deviceContext);
+                return normalize(normalizerPhoneNumber, compiledDeviceContext.getNationalDestinationCode(), compiledDeviceContext.getNumberPlan());
             }
             // Device Context with CountryCode but without AreaCode ...
             if (!(PhoneLibWrapper.UNKNOWN_REGIONCODE.equals(regionCode))) {
-                return this.normalizePhoneNumber(number, regionCode);
+                return this.normalizeWithinRegion(normalizerPhoneNumber, NormalizationKind.E164);
             }
         }
         LOGGER.debug("Normalization based on DeviceContext did not work - falling back to normalization with fallback region.");
-        return this.fallbackNormalizationFromDeviceContextToDefaultRegionCode(number, normalizerPhoneNumber.getDialableNumber());
+        // the dialable number is already reduced, so it is used as the number for the fallback region
+        return this.fallbackNormalizationToResult(dialableNumber.getNumber(), dialableNumber.getNumber(), fallbackRegionCode);
+    }
+
+    /**
+     * Builder of a {@link PhoneNumberNormalizerImpl} without Spring - each setting corresponds to a property of the Spring bean and has its default.
+     */
+    public static final class Builder {
+
+        private String fallbackRegionCode;
+
+        private String[] preloadRegions;
+
+        private FastPathMode deFastPathMode = FastPathMode.OFF;
+
+        private NormalizationMetricsListener metricsListener;
+
+        private Builder() {
+        }
+
+        /**
+         * @param fallbackRegionCode ISO2 code of the region used, if a number could not be normalized by its device context
+         * @return this builder
+         *
+         * @see PhoneNumberNormalizer#setFallbackRegionCode(String)
+         */
+        public Builder fallbackRegionCode(String fallbackRegionCode) {
+            this.fallbackRegionCode = fallbackRegionCode;
+            return this;
+        }
+
+        /**
+         * @param preloadRegions ISO2 codes of the regions, whose metadata is loaded by {@link Builder#build()} (property service.normalizer.preloadRegions)
+         * @return this builder
+         */
+        public Builder preloadRegions(String... preloadRegions) {
+            this.preloadRegions = preloadRegions;
+            return this;
+        }
+
+        /**
+         * @param deFastPathMode mode of the {@link DeNumberPlanFastPath} (property service.normalizer.deFastPath)
+         * @return this builder
+         *
+         * @see PhoneNumberNormalizerImpl#setDeFastPathMode(FastPathMode)
+         */
+        public Builder deFastPathMode(FastPathMode deFastPathMode) {
+            this.deFastPathMode = deFastPathMode;
+            return this;
+        }
+
+        /**
+         * @param metricsListener listener for the outcome of each normalization
+         * @return this builder
+         *
+         * @see PhoneNumberNormalizerImpl#setMetricsListener(NormalizationMetricsListener)
+         */
+        public Builder metricsListener(NormalizationMetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * Creates the normalizer and runs the same startup steps as the Spring bean: preloading the region metadata.
+         * <p>
+         * The shared {@link NormalizerDiagnostics#INSTANCE} is not configured by a normalizer - use its setters once for the whole application.
+         * </p>
+         * @return the normalizer
+         */
+        public PhoneNumberNormalizerImpl build() {
+            PhoneNumberNormalizerImpl normalizer = new PhoneNumberNormalizerImpl();
+            normalizer.setFallbackRegionCode(this.fallbackRegionCode);
+            normalizer.preloadRegions = this.preloadRegions;
+            normalizer.setDeFastPathMode(this.deFastPathMode);
+            normalizer.setMetricsListener(this.metricsListener);
+            normalizer.preloadRegionMetadata();
+            return normalizer;
+        }
     }
 
 }
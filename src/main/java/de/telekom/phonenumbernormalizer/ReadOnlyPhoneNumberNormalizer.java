@@ -0,0 +1,220 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * The normalizing part of {@link PhoneNumberNormalizer}, without changing the fallback region - e.g. for an immutable {@link NormalizerProfile}.
+ * <p>
+ * Components, which only normalize numbers, could accept this interface, so they could be used with any of both.
+ * </p>
+ */
+public interface ReadOnlyPhoneNumberNormalizer {
+
+    /**
+     * Normalizes the number using Google's LibPhoneNumber with some additions to compensate.
+     * <p>
+     * Preferable to {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, String)}, because default NDC can be provided, so that more compensation for generating a valid E164 can be done.
+     * </p>
+     * @param number plain number to normalize
+     * @param deviceContext  information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
+     * @return E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see PhoneNumberNormalizer#setFallbackRegionCode(String)
+     */
+    String normalizePhoneNumber(String number, DeviceContext deviceContext);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, but for a device context, which has already been evaluated.
+     * <p>
+     * If many numbers are dialled from the same few device contexts, compiling each context once with {@link CompiledDeviceContext#of(DeviceContext)}
+     * saves its validation, the region lookup and the number plan lookup on each call.
+     * The default implementation - for normalizers not providing this optimization - normalizes by the original device context.
+     * </p>
+     * @param number plain number to normalize
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @return E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see PhoneNumberNormalizer#setFallbackRegionCode(String)
+     */
+    default String normalizePhoneNumberByCompiledContext(String number, CompiledDeviceContext compiledDeviceContext) {
+        return this.normalizePhoneNumber(number, compiledDeviceContext == null ? null : compiledDeviceContext.getDeviceContext());
+    }
+
+    /**
+     * Normalizes a batch of numbers, which are all dialled from the same device context - like the numbers of one subscriber line.
+     * <p>
+     * The result is the same as calling {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)} for each number,
+     * but the evaluation of the {@link DeviceContext} is only done once per batch and identical numbers within the batch are only normalized once.
+     * The default implementation - for normalizers not providing this optimization - just calls it for each number.
+     * </p>
+     * @param numbers plain numbers to normalize
+     * @param deviceContext information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which all numbers are dialled
+     * @return E164 formatted phone numbers or at least dialable versions of the numbers in the order of the given numbers - an empty list if numbers is null
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)
+     */
+    default List<String> normalizePhoneNumbers(List<String> numbers, DeviceContext deviceContext) {
+        if (numbers == null) {
+            return new ArrayList<>();
+        }
+        List<String> result = new ArrayList<>(numbers.size());
+        for (String number : numbers) {
+            result.add(this.normalizePhoneNumber(number, deviceContext));
+        }
+        return result;
+    }
+
+    /**
+     * Normalizes the number using Google's LibPhoneNumber with some additions to compensate.
+     * <p>
+     * Not as powerful as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, because no default NDC can be set.
+     * </p>
+     * @param number plain number to normalize
+     * @param regionCode ISO2 code of the country, which number-plan is used for normalization
+     * @return E164 formatted phone number or at least a dialable version of the number
+     */
+    String normalizePhoneNumber(String number, String regionCode);
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, but for a number already reduced to its dialable characters.
+     * <p>
+     * With {@link DialableNumber#of(CharSequence)}, {@link DialableNumber#of(byte[], int, int)} or {@link DialableNumber#of(java.nio.ByteBuffer)}
+     * numbers could be read directly from any character sequence or byte buffer, without creating an intermediate String.
+     * The default implementation normalizes the dialable characters by {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}.
+     * </p>
+     * @param number number reduced to its dialable characters
+     * @param deviceContext  information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
+     * @return E164 formatted phone number or at least a dialable version of the number
+     */
+    default String normalizeDialableNumber(DialableNumber number, DeviceContext deviceContext) {
+        return this.normalizePhoneNumber(number == null ? null : number.getNumber(), deviceContext);
+    }
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizeDialableNumber(DialableNumber, DeviceContext)}, but for a device context, which has already been evaluated.
+     * <p>
+     * The default implementation normalizes by the original device context.
+     * </p>
+     *
+     * @param number number reduced to its dialable characters
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @return E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberByCompiledContext(String, CompiledDeviceContext)
+     */
+    default String normalizeDialableNumberByCompiledContext(DialableNumber number, CompiledDeviceContext compiledDeviceContext) {
+        return this.normalizeDialableNumber(number, compiledDeviceContext == null ? null : compiledDeviceContext.getDeviceContext());
+    }
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, String)}, but for a number already reduced to its dialable characters.
+     * <p>
+     * The default implementation normalizes the dialable characters by {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, String)}.
+     * </p>
+     *
+     * @param number number reduced to its dialable characters
+     * @param regionCode ISO2 code of the country, which number-plan is used for normalization
+     * @return E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizeDialableNumber(DialableNumber, DeviceContext)
+     */
+    default String normalizeDialableNumber(DialableNumber number, String regionCode) {
+        return this.normalizePhoneNumber(number == null ? null : number.getNumber(), regionCode);
+    }
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}, but also provides how the number has been normalized
+     * and - for E164 results - its CC and national number, so the result does not need to be parsed again.
+     * <p>
+     * The default implementation - for normalizers, which only provide the normalized number - parses an E164 result to get its parts,
+     * but can't tell {@link NormalizationKind#NDC_EXTENDED} or {@link NormalizationKind#FALLBACK_REGION} from {@link NormalizationKind#E164}
+     * and {@link NormalizationKind#SHORT_NUMBER} from {@link NormalizationKind#DIALABLE_ONLY}.
+     * </p>
+     *
+     * @param number plain number to normalize
+     * @param deviceContext  information like CC, NDC and {@link de.telekom.phonenumbernormalizer.dto.DeviceContextLineType} from which the number is dialled
+     * @return result whose {@link NormalizationResult#getNumber()} is the E164 formatted phone number or at least a dialable version of the number
+     */
+    default NormalizationResult normalizePhoneNumberToResult(String number, DeviceContext deviceContext) {
+        return toResult(number, this.normalizePhoneNumber(number, deviceContext), null);
+    }
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberToResult(String, DeviceContext)}, but for a device context, which has already been evaluated.
+     * <p>
+     * The default implementation normalizes by the original device context.
+     * </p>
+     *
+     * @param number plain number to normalize
+     * @param compiledDeviceContext evaluated information of the device context from which the number is dialled
+     * @return result whose {@link NormalizationResult#getNumber()} is the E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberByCompiledContext(String, CompiledDeviceContext)
+     */
+    default NormalizationResult normalizePhoneNumberByCompiledContextToResult(String number, CompiledDeviceContext compiledDeviceContext) {
+        return this.normalizePhoneNumberToResult(number, compiledDeviceContext == null ? null : compiledDeviceContext.getDeviceContext());
+    }
+
+    /**
+     * Same as {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, String)}, but also provides how the number has been normalized
+     * and - for E164 results - its CC and national number, so the result does not need to be parsed again.
+     *
+     * @param number plain number to normalize
+     * @param regionCode ISO2 code of the country, which number-plan is used for normalization
+     * @return result whose {@link NormalizationResult#getNumber()} is the E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizePhoneNumberToResult(String, DeviceContext)
+     */
+    default NormalizationResult normalizePhoneNumberToResult(String number, String regionCode) {
+        return toResult(number, this.normalizePhoneNumber(number, regionCode), regionCode);
+    }
+
+    /**
+     * Derives the result of the default implementations from the normalized number.
+     * @param number plain number, which has been normalized
+     * @param normalizedNumber E164 formatted phone number or at least a dialable version of the number
+     * @param regionCode ISO2 code of the given region or null to take the region of the E164 number
+     * @return result of the kind {@link NormalizationKind#E164}, {@link NormalizationKind#SPECIAL_FORMAT} or {@link NormalizationKind#DIALABLE_ONLY}
+     */
+    private static NormalizationResult toResult(String number, String normalizedNumber, String regionCode) {
+        if (DialableNumber.of(number).isSpecialFormat()) {
+            return NormalizationResult.dialable(normalizedNumber, NormalizationKind.SPECIAL_FORMAT, regionCode);
+        }
+        if (normalizedNumber != null && normalizedNumber.startsWith("+")) {
+            PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+            try {
+                Phonenumber.PhoneNumber e164 = phoneUtil.parse(normalizedNumber, null);
+                return NormalizationResult.e164(normalizedNumber, NormalizationKind.E164, regionCode == null ? phoneUtil.getRegionCodeForNumber(e164) : regionCode,
+                        e164.getCountryCode(), e164.getNationalNumber(), e164.isItalianLeadingZero() ? e164.getNumberOfLeadingZeros() : 0);
+            } catch (NumberParseException e) {
+                // the normalizer returned it as dialable number
+            }
+        }
+        return NormalizationResult.dialable(normalizedNumber, NormalizationKind.DIALABLE_ONLY, regionCode);
+    }
+}
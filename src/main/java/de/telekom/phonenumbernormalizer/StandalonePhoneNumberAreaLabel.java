@@ -0,0 +1,819 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.i18n.phonenumbers.NumberParseException;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonenumber;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelDirectoryWatcher;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelResourceIndex;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelSnapshot;
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelVersion;
+import de.telekom.phonenumbernormalizer.arealabels.CountryCallingCodeTable;
+import de.telekom.phonenumbernormalizer.arealabels.LabelSource;
+import de.telekom.phonenumbernormalizer.arealabels.MemoryEstimate;
+import de.telekom.phonenumbernormalizer.arealabels.NationalLabelIndex;
+import de.telekom.phonenumbernormalizer.arealabels.NationalLabelTrie;
+import de.telekom.phonenumbernormalizer.diagnostics.FailureCategory;
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics;
+import de.telekom.phonenumbernormalizer.jfr.AreaLabelLookupEvent;
+import de.telekom.phonenumbernormalizer.metrics.LabelingOutcome;
+import de.telekom.phonenumbernormalizer.metrics.NormalizationMetricsListener;
+import de.telekom.phonenumbernormalizer.numberplans.ParsePrecheck;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import java.util.regex.Pattern;
+
+/**
+ * Implementation of {@link PhoneNumberAreaLabel} without any dependency to Spring, which is using per default the label configuration provided in the
+ * resources folder (see {@link PhoneNumberAreaLabelImpl}) - e.g. for stream processors and CLI tools:
+ * <pre>
+ * PhoneNumberAreaLabel areaLabel = StandalonePhoneNumberAreaLabel.builder().lazyLoading(true).preloadRegions("DE").build();
+ * </pre>
+ * The bundled national label files are found by the {@link AreaLabelResourceIndex} generated at build time instead of scanning the classpath.
+ * {@link PhoneNumberAreaLabelImpl} is the Spring bean adapting its properties and resources to this class.
+ */
+public class StandalonePhoneNumberAreaLabel implements PhoneNumberAreaLabel {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(StandalonePhoneNumberAreaLabel.class);
+
+    /**
+     * File with country labels, where:<br/>
+     * content: JSON array with one object. Each key is the Country Calling Code (without "+" or IDP) and the value its corresponding label.<br/>
+     * If null, the bundled file is used.
+     */
+    private LabelSource countryLabelSource;
+
+    /**
+     * Files with national labels, where:<br/>
+     * filename: matches ISO2 country code of country
+     * content: JSON array with one object. Each key is a phone number prefix (similar to NDC, but without NAC) and the value its corresponding label. If keys have overlapping, the one with the longest key will be used.<br/>
+     * If null or empty, the bundled files are used.
+     */
+    private List<LabelSource> nationalLabelSources;
+
+    /**
+     * If the national labels of a region are loaded with its first lookup instead of at startup.
+     *
+     * @see StandalonePhoneNumberAreaLabel#setLazyLoading(boolean)
+     */
+    private boolean lazyLoading = false;
+
+    /**
+     * Regions (like "DE,AT"), whose national labels are loaded at startup - even if they are lazily loaded.
+     *
+     * @see StandalonePhoneNumberAreaLabel#setPreloadRegions(String...)
+     */
+    private String[] preloadRegions;
+
+    /**
+     * Directory of area label files (with the same layout as the bundled resources), which replace the configured files and
+     * are reloaded, when they are changed - or null if none is configured.
+     *
+     * @see StandalonePhoneNumberAreaLabel#watchDirectory(Path)
+     */
+    private Path labelDirectory;
+
+    /**
+     * All labels currently used - replaced as a whole by a reload, so a lookup never sees partly loaded labels.
+     */
+    private volatile Labels labels = Labels.NONE;
+
+    /**
+     * Id of the last loaded labels
+     */
+    private final AtomicLong lastVersionId = new AtomicLong();
+
+    /**
+     * Watcher of {@link StandalonePhoneNumberAreaLabel#labelDirectory} or null if no directory is watched
+     */
+    private AreaLabelDirectoryWatcher directoryWatcher;
+
+    /**
+     * Immutable set of all labels of one (re)load.
+     */
+    private static final class Labels {
+
+        private static final Labels NONE = new Labels(new NationalLabelIndex(), new HashMap<>(), null, AreaLabelVersion.NONE);
+
+        /**
+         * First key is the region code represented by an ISO2 country code of (the main) country.<br/>
+         * Value is a trie of the phone number prefixes (similar to NDC, but without NAC) and their corresponding label - loaded at startup or with the first lookup of the region.
+         *
+         * @see StandalonePhoneNumberAreaLabel#nationalLabelSources
+         * @see NationalLabelTrie
+         */
+        private final NationalLabelIndex areaCodes;
+
+        /**
+         * Each key is the Country Calling Code (without "+" or IDP) and the value its corresponding label.
+         *
+         * @see StandalonePhoneNumberAreaLabel#countryLabelSource
+         */
+        private final Map<?, ?> internationalCountryCodes;
+
+        /**
+         * Country Calling Codes with their label to split E164 numbers without parsing them - null if no labels are loaded.
+         */
+        private final CountryCallingCodeTable countryCallingCodes;
+
+        private final AreaLabelVersion version;
+
+        private Labels(NationalLabelIndex areaCodes, Map<?, ?> internationalCountryCodes, CountryCallingCodeTable countryCallingCodes, AreaLabelVersion version) {
+            this.areaCodes = areaCodes;
+            this.internationalCountryCodes = Collections.unmodifiableMap(internationalCountryCodes);
+            this.countryCallingCodes = countryCallingCodes;
+            this.version = version;
+        }
+    }
+
+    /**
+     * Listener for the outcome of each labeling or null if none is registered.
+     */
+    private volatile NormalizationMetricsListener metricsListener = null;
+
+    /**
+     * @return builder for an instance, whose labels are loaded by {@link Builder#build()}
+     */
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    /**
+     * Registers a listener, which is called for the outcome of each labeling of an E164 number - replacing a previously registered one.
+     * @param metricsListener the listener or null to remove the current one
+     */
+    public void setMetricsListener(NormalizationMetricsListener metricsListener) {
+        this.metricsListener = metricsListener;
+    }
+
+    /**
+     * Sets if the national labels of a region are loaded with its first lookup instead of at startup - to be called before {@link StandalonePhoneNumberAreaLabel#initFile()}.
+     * @param lazyLoading true to load the labels on demand
+     */
+    public void setLazyLoading(boolean lazyLoading) {
+        this.lazyLoading = lazyLoading;
+    }
+
+    /**
+     * Sets the regions, whose national labels are loaded at startup even if lazy loading is active - to be called before {@link StandalonePhoneNumberAreaLabel#initFile()}.
+     * @param preloadRegions ISO2 codes of the regions like "DE"
+     */
+    public void setPreloadRegions(String... preloadRegions) {
+        this.preloadRegions = preloadRegions;
+    }
+
+    /**
+     * Sets the directory, which is watched by {@link StandalonePhoneNumberAreaLabel#initFile()}.
+     * @param labelDirectory directory with the label files or null to use the configured files
+     *
+     * @see StandalonePhoneNumberAreaLabel#watchDirectory(Path)
+     */
+    public void setLabelDirectory(Path labelDirectory) {
+        this.labelDirectory = labelDirectory;
+    }
+
+    /**
+     * @return source of the country labels or null to use the bundled file
+     */
+    protected LabelSource getCountryLabelSource() {
+        return this.countryLabelSource;
+    }
+
+    /**
+     * @return sources of the national labels or null (or empty) to use the bundled files
+     */
+    protected List<LabelSource> getNationalLabelSources() {
+        return this.nationalLabelSources;
+    }
+
+    /**
+     * Finds the bundled national label files - by the {@link AreaLabelResourceIndex}, if it describes the folder found on the classpath,
+     * otherwise by listing that folder, if it is a directory of the file system (e.g. overlaid test resources).
+     * @param classLoader class loader of the library
+     * @return sources of the bundled national labels or null if they could not be found without scanning the classpath
+     * @throws IOException if the index or the folder could not be read
+     */
+    protected List<LabelSource> findBundledNationalLabelSources(ClassLoader classLoader) throws IOException {
+        URL folder = classLoader.getResource(AreaLabelSnapshot.NATIONAL_LABELS_FOLDER);
+        if (folder == null) {
+            return Collections.emptyList();
+        }
+        AreaLabelResourceIndex index = AreaLabelResourceIndex.load(classLoader);
+        if (index != null && index.isIndexOf(folder)) {
+            return index.getNationalLabelSources();
+        }
+        if ("file".equals(folder.getProtocol())) {
+            try (Stream<Path> files = Files.list(Path.of(folder.toURI()))) {
+                return files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted()
+                        .map(LabelSource::of).collect(Collectors.toList());
+            } catch (URISyntaxException e) {
+                throw new IOException("invalid folder of national labels: " + folder, e);
+            }
+        }
+        LOGGER.warn("no index of the national labels found for: {}", folder);
+        return null;
+    }
+
+    /**
+     * Loads the labels at startup and starts watching {@link StandalonePhoneNumberAreaLabel#labelDirectory}, if it is configured.
+     *
+     * @see StandalonePhoneNumberAreaLabel#reload()
+     */
+    public void initFile() {
+        try {
+            if (labelDirectory != null && directoryWatcher == null) {
+                this.watchDirectory(labelDirectory);
+            } else {
+                this.reload();
+            }
+        } catch (Exception e) {
+            LOGGER.error("init file failed");
+            LOGGER.error("{}", e.getMessage());
+        }
+    }
+
+    /**
+     * Loads all labels again and replaces the current ones atomically - lookups are not blocked and still use the current labels until the new ones are complete.
+     * If loading fails, the current labels are kept.
+     * @return version of the new labels
+     * @throws IOException if a label file could not be loaded
+     */
+    public synchronized AreaLabelVersion reload() throws IOException {
+        Labels loaded = this.loadLabels();
+        this.labels = loaded;
+        LOGGER.info("area labels loaded: {}", loaded.version);
+        return loaded.version;
+    }
+
+    /**
+     * Loads all labels again in a background thread and replaces the current ones atomically, when they are complete.
+     * @return the version of the new labels or the exception, why the current labels are kept
+     *
+     * @see StandalonePhoneNumberAreaLabel#reload()
+     */
+    public CompletableFuture<AreaLabelVersion> reloadInBackground() {
+        return CompletableFuture.supplyAsync(() -> {
+            try {
+                return this.reload();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Takes the labels from the files of a directory (with the same layout as the bundled resources) and reloads them, whenever the files are changed.
+     * <p>
+     * A country label file (international_country_codes.json) replaces the configured country labels and the files of its
+     * nationallabels folder replace the configured national labels - each only if it exists.
+     * </p>
+     * @param directory directory with the label files
+     * @throws IOException if the labels of the directory could not be loaded or the directory could not be watched
+     */
+    public synchronized void watchDirectory(Path directory) throws IOException {
+        this.labelDirectory = directory;
+        this.reload();
+        this.closeDirectoryWatcher();
+        this.directoryWatcher = new AreaLabelDirectoryWatcher(directory, AreaLabelDirectoryWatcher.DEFAULT_QUIET_PERIOD, () -> {
+            try {
+                this.reload();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Stops watching {@link StandalonePhoneNumberAreaLabel#labelDirectory}.
+     */
+    public synchronized void closeDirectoryWatcher() {
+        if (directoryWatcher != null) {
+            try {
+                directoryWatcher.close();
+            } catch (IOException e) {
+                LOGGER.warn("area label directory watcher could not be closed: {}", e.getMessage());
+            }
+            directoryWatcher = null;
+        }
+    }
+
+    /**
+     * Estimates the retained heap of the labels currently used - e.g. to size containers, which carry labels of many countries.
+     * <p>
+     * National labels of lazily loaded regions are only included after their first lookup.
+     * </p>
+     * @return estimated retained heap of the country and national labels in bytes
+     */
+    public long getRetainedLabelBytes() {
+        Labels current = this.labels;
+        return current.areaCodes.getRetainedBytes() + MemoryEstimate.stringMap(current.internationalCountryCodes);
+    }
+
+    /**
+     * @return version and load statistics of the labels currently used - {@link AreaLabelVersion#NONE} if no labels are loaded
+     */
+    public AreaLabelVersion getLabelVersion() {
+        return this.labels.version;
+    }
+
+    /**
+     * <ul>
+     * <li>Loading the international country codes from {@link StandalonePhoneNumberAreaLabel#getCountryLabelSource()}</li>
+     * <li>Loading the area codes from {@link StandalonePhoneNumberAreaLabel#getNationalLabelSources()}</li>
+     * </ul>
+     * Bundled files are loaded from the {@link AreaLabelSnapshot} compiled at build time - only user supplied files are parsed as JSON.
+     * With {@link StandalonePhoneNumberAreaLabel#lazyLoading} only the index of the regions is built and each region is loaded with its first lookup -
+     * except {@link StandalonePhoneNumberAreaLabel#preloadRegions}. JSON files are still read now and only parsed with the first lookup,
+     * so files changed after the labels have been swapped in could not be mixed into them.
+     * @return the complete labels - not yet used by any lookup
+     * @throws IOException if a label file could not be loaded
+     */
+    private Labels loadLabels() throws IOException {
+        long start = System.nanoTime();
+
+        ClassLoader cl = StandalonePhoneNumberAreaLabel.class.getClassLoader();
+        AreaLabelSnapshot snapshot = null;
+        try {
+            snapshot = AreaLabelSnapshot.load(cl);
+        } catch (IOException e) {
+            LOGGER.warn("area label snapshot could not be loaded - using JSON files: {}", e.getMessage());
+        }
+
+        LabelSource countrySource = this.getCountryLabelSource();
+        List<LabelSource> nationalSources = this.getNationalLabelSources();
+        if (labelDirectory != null) {
+            Path countryLabelFile = labelDirectory.resolve(Path.of(AreaLabelSnapshot.COUNTRY_LABELS).getFileName());
+            if (Files.isRegularFile(countryLabelFile)) {
+                countrySource = LabelSource.of(countryLabelFile);
+            }
+            Path nationalLabelFolder = labelDirectory.resolve(Path.of(AreaLabelSnapshot.NATIONAL_LABELS_FOLDER).getFileName());
+            if (Files.isDirectory(nationalLabelFolder)) {
+                try (Stream<Path> files = Files.list(nationalLabelFolder)) {
+                    nationalSources = files.filter(file -> file.getFileName().toString().endsWith(".json")).sorted()
+                            .map(LabelSource::of).collect(Collectors.toList());
+                }
+            }
+        }
+
+        // if no files are given, the default once are used:
+        if (countrySource == null) {
+            URL bundled = cl.getResource(AreaLabelSnapshot.COUNTRY_LABELS);
+            if (bundled == null) {
+                throw new IOException("no country labels found: " + AreaLabelSnapshot.COUNTRY_LABELS);
+            }
+            countrySource = LabelSource.of(bundled);
+        }
+        if (nationalSources == null || nationalSources.isEmpty()) {
+            nationalSources = this.findBundledNationalLabelSources(cl);
+            if (nationalSources == null) {
+                nationalSources = Collections.emptyList();
+            }
+        }
+
+        LOGGER.debug("init code files");
+        LOGGER.debug("read international country codes");
+        Map<?, ?> internationalCountryCodes;
+        if (isBundled(snapshot, AreaLabelSnapshot.COUNTRY_LABELS, countrySource)) {
+            internationalCountryCodes = snapshot.getCountryLabels();
+        } else {
+            internationalCountryCodes = this.initResource(countrySource);
+        }
+        CountryCallingCodeTable countryCallingCodes = CountryCallingCodeTable.of(internationalCountryCodes);
+        LOGGER.debug("read number plans folder");
+        NationalLabelIndex areaCodes = new NationalLabelIndex();
+        for (LabelSource source : nationalSources) {
+            String filename = source.getFilename();
+            if (filename!=null && !filename.isEmpty()) {
+                LOGGER.debug("read number plan file: {}", filename);
+                String prefix = this.getFilePrefix(filename).toUpperCase(Locale.ROOT);
+                LOGGER.debug("add prefix: {}", prefix);
+                if (isBundled(snapshot, AreaLabelSnapshot.NATIONAL_LABELS_FOLDER + filename, source) && snapshot.getRegionCodes().contains(prefix)) {
+                    this.addRegion(areaCodes, prefix, snapshot.getNationalLabelLoader(prefix));
+                } else {
+                    // a file could be changed until the first lookup of a lazy region, so its content is read now - only parsing it is deferred
+                    byte[] content;
+                    try (InputStream in = source.openStream()) {
+                        content = in.readAllBytes();
+                    }
+                    this.addRegion(areaCodes, prefix, () -> NationalLabelTrie.of(initResource(content)));
+                }
+            }
+        }
+        if (preloadRegions != null && preloadRegions.length > 0) {
+            LOGGER.debug("preload labels of regions: {}", Arrays.toString(preloadRegions));
+            areaCodes.preload(Arrays.asList(preloadRegions));
+        }
+
+        int prefixCount = 0;
+        for (String regionCode : areaCodes.getRegionCodes()) {
+            if (areaCodes.isLoaded(regionCode)) {
+                prefixCount += areaCodes.get(regionCode).size();
+            }
+        }
+        AreaLabelVersion version = new AreaLabelVersion(lastVersionId.incrementAndGet(), Instant.now(), Duration.ofNanos(System.nanoTime() - start),
+                internationalCountryCodes.size(), areaCodes.getRegionCodes().size(), prefixCount);
+        return new Labels(areaCodes, internationalCountryCodes, countryCallingCodes, version);
+    }
+
+    /**
+     * Adds a region to the area codes - loading its labels now or, if {@link StandalonePhoneNumberAreaLabel#lazyLoading} is active, with its first lookup.
+     * @param areaCodes index of the area codes to be loaded
+     * @param regionCode ISO2 code in upper case
+     * @param loader loads the labels of the region
+     * @throws IOException if the labels could not be loaded now
+     */
+    private void addRegion(NationalLabelIndex areaCodes, String regionCode, NationalLabelIndex.Loader loader) throws IOException {
+        if (this.lazyLoading) {
+            areaCodes.addLazy(regionCode, loader);
+        } else {
+            areaCodes.add(regionCode, loader.load());
+        }
+    }
+
+    /**
+     * Checks if a label file could be taken from the snapshot instead of parsing its JSON.
+     * @param snapshot the packaged snapshot or null if there is none
+     * @param path classpath location of the bundled file
+     * @param source the configured file
+     * @return if the file is the bundled file the snapshot has been compiled from
+     */
+    private static boolean isBundled(AreaLabelSnapshot snapshot, String path, LabelSource source) {
+        // a source without URL - like a byte array - is never bundled
+        return snapshot != null && snapshot.isBundledResource(path, source.getUrl());
+    }
+
+    @Override
+    public Optional<String> getLocationByNationalNumberAndRegionCode(String nationalNumber, String regionCode) {
+        return getLocationByNationalNumberAndRegionCode(this.labels, nationalNumber, regionCode);
+    }
+
+    private static Optional<String> getLocationByNationalNumberAndRegionCode(Labels labels, String nationalNumber, String regionCode) {
+        regionCode = regionCode.toUpperCase(Locale.ROOT);
+        if (!labels.areaCodes.contains(regionCode)) {
+            LOGGER.debug("no number plan for regioncode: {} available", regionCode);
+            return Optional.empty();
+        }
+        String locationName = labels.areaCodes.get(regionCode).findLabel(nationalNumber);
+
+        return Optional.ofNullable(locationName);
+    }
+
+    @Override
+    public SortedMap<String, String> getLocationsByNationalNumberPrefixAndRegionCode(String nationalNumberPrefix, String regionCode) {
+        regionCode = regionCode.toUpperCase(Locale.ROOT);
+        NationalLabelIndex areaCodes = this.labels.areaCodes;
+        if (!areaCodes.contains(regionCode)) {
+            LOGGER.debug("no number plan for regioncode: {} available", regionCode);
+            return Collections.emptySortedMap();
+        }
+        return areaCodes.get(regionCode).findLabelsByPrefix(nationalNumberPrefix);
+    }
+
+    @Override
+    public Optional<String> getCountryNameByCountryCode(String countryCode) {
+        return getCountryNameByCountryCode(this.labels, countryCode);
+    }
+
+    private static Optional<String> getCountryNameByCountryCode(Labels labels, String countryCode) {
+        return Optional.ofNullable((String) labels.internationalCountryCodes.get(countryCode));
+    }
+
+    @Override
+    public Optional<String> getLocationByE164Number(String e164number) {
+        NormalizationMetricsListener listener = this.metricsListener;
+        AreaLabelLookupEvent event = new AreaLabelLookupEvent();
+        if (listener == null && !event.isEnabled()) {
+            return findLocationByE164Number(this.labels, e164number, null, -1, null);
+        }
+        long start = listener != null && listener.sampleLatency() ? System.nanoTime() : -1;
+        event.begin();
+        return findLocationByE164Number(this.labels, e164number, listener, start, event);
+    }
+
+    /**
+     * Labels an E164 number and reports how it has been labeled - if somebody is recording it.
+     * @param labels the labels to be used
+     * @param e164number number to be labeled
+     * @param listener the registered listener or null
+     * @param start {@link System#nanoTime()} at the start of the labeling or -1 if it is not sampled
+     * @param event JFR event begun at the start of the labeling or null if the outcome is not reported
+     * @return national label or if not available the country label
+     */
+    private static Optional<String> findLocationByE164Number(Labels labels, String e164number, NormalizationMetricsListener listener, long start,
+                                                             AreaLabelLookupEvent event) {
+        // be sure number is E164 normalized (leading +) ... and not fallback to dialable, where area information might be missing
+        if ((e164number.length()>0) && (e164number.charAt(0) == '+')) {
+            if (Objects.nonNull(labels.countryCallingCodes)) {
+                CountryCallingCodeTable.CountryCallingCode countryCallingCode = labels.countryCallingCodes.findCountryCallingCode(e164number);
+                if (countryCallingCode != null) {
+                    return reported(listener, start, event, LabelingOutcome.TABLE_LOOKUP, countryCallingCode.getCountryCode(), e164number.length(),
+                            getLocationByE164NumberWithoutParsing(labels, e164number, countryCallingCode));
+                }
+            }
+            if (ParsePrecheck.isRejectedByParser(e164number, "")) {
+                NormalizerDiagnostics.INSTANCE.record(FailureCategory.E164_NUMBER_REJECTED, e164number);
+                return reported(listener, start, event, LabelingOutcome.REJECTED, 0, e164number.length(), getCountryNameByLeadingDigits(labels, e164number));
+            }
+            return reported(listener, start, event, LabelingOutcome.PARSER, 0, e164number.length(), getLocationByParsingE164Number(labels, e164number));
+        }
+        return reported(listener, start, event, LabelingOutcome.NOT_E164, 0, e164number.length(), Optional.empty());
+    }
+
+    /**
+     * Reports the outcome of a labeling to the metrics listener and to Java Flight Recorder.
+     * @param listener the registered listener or null
+     * @param start {@link System#nanoTime()} at the start of the labeling or -1 if it is not sampled
+     * @param event JFR event begun at the start of the labeling or null if the outcome is not reported
+     * @param outcome how the number has been labeled
+     * @param countryCode Country Calling Code of the number or 0 if it has not been determined
+     * @param inputLength number of characters of the labeled number or 0 if it has been given split into CC and national number
+     * @param result the label
+     * @return the given label
+     */
+    private static Optional<String> reported(NormalizationMetricsListener listener, long start, AreaLabelLookupEvent event,
+                                             LabelingOutcome outcome, int countryCode, int inputLength, Optional<String> result) {
+        if (event == null) {
+            return result;
+        }
+        if (listener != null) {
+            listener.onLabeling(outcome, result.isPresent(), start < 0 ? -1 : System.nanoTime() - start);
+        }
+        event.commit(outcome, countryCode, inputLength, result);
+        return result;
+    }
+
+    @Override
+    public Optional<String> getLocationByCountryCodeAndNationalNumber(int countryCode, long nationalNumber) {
+        NormalizationMetricsListener listener = this.metricsListener;
+        AreaLabelLookupEvent event = new AreaLabelLookupEvent();
+        if (listener == null && !event.isEnabled()) {
+            return this.findLocationByCountryCodeAndNationalNumber(countryCode, nationalNumber);
+        }
+        long start = listener != null && listener.sampleLatency() ? System.nanoTime() : -1;
+        event.begin();
+        return reported(listener, start, event, LabelingOutcome.TABLE_LOOKUP, countryCode, 0, this.findLocationByCountryCodeAndNationalNumber(countryCode, nationalNumber));
+    }
+
+    /**
+     * Labels a number, which is already split into CC and national number.
+     * @param countryCode Country Calling Code of the number
+     * @param nationalNumber national significant number without leading zeros
+     * @return national label or if not available the country label
+     */
+    private Optional<String> findLocationByCountryCodeAndNationalNumber(int countryCode, long nationalNumber) {
+        Labels current = this.labels;
+        CountryCallingCodeTable.CountryCallingCode countryCallingCode = null;
+        if (Objects.nonNull(current.countryCallingCodes)) {
+            countryCallingCode = current.countryCallingCodes.getCountryCallingCode(countryCode);
+        }
+        String regionCode = countryCallingCode != null ? countryCallingCode.getRegionCode()
+                : PhoneNumberUtil.getInstance().getRegionCodeForCountryCode(countryCode);
+        NationalLabelTrie nationalLabels = current.areaCodes.get(regionCode);
+        if (nationalLabels != null) {
+            String locationName = nationalLabels.findLabel(nationalNumber);
+            if (locationName != null) {
+                return Optional.of(locationName);
+            }
+        }
+        if (countryCallingCode != null) {
+            return Optional.ofNullable(countryCallingCode.getLabel());
+        }
+        return getCountryNameByCountryCode(current, String.valueOf(countryCode));
+    }
+
+    /**
+     * Labels an E164 number, which could be split without Google's LibPhoneNumber parser.
+     * @param labels the labels to be used
+     * @param e164number number with leading "+" followed only by digits
+     * @param countryCallingCode Country Calling Code of the number
+     * @return national label or if not available the country label
+     */
+    private static Optional<String> getLocationByE164NumberWithoutParsing(Labels labels, String e164number, CountryCallingCodeTable.CountryCallingCode countryCallingCode) {
+        NationalLabelTrie nationalLabels = labels.areaCodes.get(countryCallingCode.getRegionCode());
+        if (nationalLabels != null) {
+            String locationName = nationalLabels.findLabel(e164number, countryCallingCode.getNationalNumberStart());
+            if (locationName != null) {
+                return Optional.of(locationName);
+            }
+        } else {
+            LOGGER.debug("no number plan for regioncode: {} available", countryCallingCode.getRegionCode());
+        }
+        return Optional.ofNullable(countryCallingCode.getLabel());
+    }
+
+    /**
+     * Labels an E164 number by using Google's LibPhoneNumber parser, with a fallback to the longest known Country Calling Code
+     * @param labels the labels to be used
+     * @param e164number number with leading "+"
+     * @return national label or if not available the country label
+     */
+    private static Optional<String> getLocationByParsingE164Number(Labels labels, String e164number) {
+        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        try {
+            Phonenumber.PhoneNumber pn = phoneUtil.parse(e164number, "");
+
+            Optional<String> locationName = Optional.empty();
+
+            if (pn!=null) {
+                String regionCode=phoneUtil.getRegionCodeForCountryCode(pn.getCountryCode());
+                locationName = getLocationByNationalNumberAndRegionCode(labels, String.valueOf(pn.getNationalNumber()), regionCode);
+                if (locationName.isEmpty()) {
+                    return getCountryNameByCountryCode(labels, String.valueOf(pn.getCountryCode()));
+                }
+            }
+
+            return locationName;
+        } catch (NumberParseException e) {
+            NormalizerDiagnostics.INSTANCE.record(FailureCategory.E164_NUMBER_NOT_PARSEABLE, e164number);
+            LOGGER.debug(e.getMessage(), e);
+            return getCountryNameByLeadingDigits(labels, e164number);
+        }
+    }
+
+    /**
+     * Fallback for numbers, which could not be parsed - like a number with only a Country Calling Code.
+     * @param labels the labels to be used
+     * @param e164number number with leading "+"
+     * @return label of the shortest known Country Calling Code at the start of the number
+     */
+    private static Optional<String> getCountryNameByLeadingDigits(Labels labels, String e164number) {
+        // removing leading "+" - the shortest matching key is the country calling code
+        String tooShortNumber = e164number.substring(1);
+        for (int i=1;i<=tooShortNumber.length();i++)
+        {
+            Optional<String> tempResult = getCountryNameByCountryCode(labels, tooShortNumber.substring(0,i));
+            if (tempResult.isPresent()) {
+                return tempResult;
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Returns the "main" file name - before the first ".", to exclude the extension.
+     * @param filename where the extension should be removed
+     * @return part before the first "."
+     */
+    private String getFilePrefix(String filename) {
+        return filename.split(Pattern.quote("."))[0];
+    }
+
+    /**
+     * Reads a label file (JSON Array of one Object into a HashMap of that object attributes).
+     * @param source JSON to be loaded
+     * @return Number prefix mapped to label
+     * @throws IOException if there is a problem with the given file
+     */
+    private HashMap<?, ?> initResource(LabelSource source) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        try (InputStream in = source.openStream()) {
+            return (HashMap<?, ?>) mapper.readValue(in, List.class).get(0);
+        }
+    }
+
+    /**
+     * Same as {@link StandalonePhoneNumberAreaLabel#initResource(LabelSource)}, but for the already read content of a label file.
+     * @param content JSON to be parsed
+     * @return Number prefix mapped to label
+     * @throws IOException if the content is not valid
+     */
+    private static HashMap<?, ?> initResource(byte[] content) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        return (HashMap<?, ?>) mapper.readValue(content, List.class).get(0);
+    }
+
+    /**
+     * Builder of a {@link StandalonePhoneNumberAreaLabel} - all settings are optional and default to the bundled labels loaded at startup.
+     */
+    public static final class Builder {
+
+        private LabelSource countryLabelSource;
+
+        private final List<LabelSource> nationalLabelSources = new ArrayList<>();
+
+        private boolean lazyLoading = false;
+
+        private String[] preloadRegions;
+
+        private Path labelDirectory;
+
+        private NormalizationMetricsListener metricsListener;
+
+        private Builder() {
+        }
+
+        /**
+         * @param countryLabelSource file replacing the bundled country labels
+         * @return this builder
+         */
+        public Builder countryLabels(LabelSource countryLabelSource) {
+            this.countryLabelSource = countryLabelSource;
+            return this;
+        }
+
+        /**
+         * @param nationalLabelSources files replacing all bundled national labels - named by the ISO2 code of their region like "de.json"
+         * @return this builder
+         */
+        public Builder nationalLabels(LabelSource... nationalLabelSources) {
+            this.nationalLabelSources.addAll(Arrays.asList(nationalLabelSources));
+            return this;
+        }
+
+        /**
+         * @param lazyLoading true to load the national labels of a region with its first lookup
+         * @return this builder
+         *
+         * @see StandalonePhoneNumberAreaLabel#setLazyLoading(boolean)
+         */
+        public Builder lazyLoading(boolean lazyLoading) {
+            this.lazyLoading = lazyLoading;
+            return this;
+        }
+
+        /**
+         * @param preloadRegions ISO2 codes of the regions, whose national labels are loaded at startup even if lazy loading is active
+         * @return this builder
+         *
+         * @see StandalonePhoneNumberAreaLabel#setPreloadRegions(String...)
+         */
+        public Builder preloadRegions(String... preloadRegions) {
+            this.preloadRegions = preloadRegions;
+            return this;
+        }
+
+        /**
+         * @param labelDirectory directory with label files, which replace the configured ones and are reloaded, when they are changed
+         * @return this builder
+         *
+         * @see StandalonePhoneNumberAreaLabel#watchDirectory(Path)
+         */
+        public Builder directory(Path labelDirectory) {
+            this.labelDirectory = labelDirectory;
+            return this;
+        }
+
+        /**
+         * @param metricsListener listener for the outcome of each labeling
+         * @return this builder
+         *
+         * @see StandalonePhoneNumberAreaLabel#setMetricsListener(NormalizationMetricsListener)
+         */
+        public Builder metricsListener(NormalizationMetricsListener metricsListener) {
+            this.metricsListener = metricsListener;
+            return this;
+        }
+
+        /**
+         * Creates the instance and loads its labels - unlike the Spring bean a failing load is not only logged.
+         * @return the instance ready for lookups
+         * @throws IOException if a label file could not be loaded or the directory could not be watched
+         */
+        public StandalonePhoneNumberAreaLabel build() throws IOException {
+            StandalonePhoneNumberAreaLabel areaLabel = new StandalonePhoneNumberAreaLabel();
+            areaLabel.countryLabelSource = this.countryLabelSource;
+            areaLabel.nationalLabelSources = List.copyOf(this.nationalLabelSources);
+            areaLabel.lazyLoading = this.lazyLoading;
+            areaLabel.preloadRegions = this.preloadRegions;
+            areaLabel.metricsListener = this.metricsListener;
+            if (this.labelDirectory != null) {
+                areaLabel.watchDirectory(this.labelDirectory);
+            } else {
+                areaLabel.reload();
+            }
+            return areaLabel;
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.time.Duration;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Watches a directory of area label files (with the same layout as the bundled resources) and calls a reload action,
+ * when files have been changed.
+ * <p>
+ * Changes are collected until there has been no further change for the quiet period, so copying a whole label release
+ * into the directory results in one reload only. The action is called by the daemon thread of the watcher.
+ * </p>
+ */
+public final class AreaLabelDirectoryWatcher implements Closeable {
+    private static final Logger LOGGER = LoggerFactory.getLogger(AreaLabelDirectoryWatcher.class);
+
+    /**
+     * Default time without further changes, before the reload action is called.
+     */
+    public static final Duration DEFAULT_QUIET_PERIOD = Duration.ofSeconds(2);
+
+    private final WatchService watchService;
+
+    private final Thread thread;
+
+    /**
+     * Starts watching the directory and its subfolder of national labels.
+     * @param directory directory with international_country_codes.json and/or nationallabels/*.json
+     * @param quietPeriod time without further changes, before the action is called
+     * @param reloadAction called after changes - exceptions are logged
+     * @throws IOException if the directory could not be watched
+     */
+    public AreaLabelDirectoryWatcher(Path directory, Duration quietPeriod, Runnable reloadAction) throws IOException {
+        this.watchService = directory.getFileSystem().newWatchService();
+        register(directory);
+        Path nationalLabels = directory.resolve(Path.of(AreaLabelSnapshot.NATIONAL_LABELS_FOLDER).getFileName());
+        if (Files.isDirectory(nationalLabels)) {
+            register(nationalLabels);
+        }
+        this.thread = new Thread(() -> watch(quietPeriod, reloadAction), "area-label-watcher");
+        this.thread.setDaemon(true);
+        this.thread.start();
+        LOGGER.debug("watching area label directory: {}", directory);
+    }
+
+    private void register(Path path) throws IOException {
+        path.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE);
+    }
+
+    private void watch(Duration quietPeriod, Runnable reloadAction) {
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                // collect further changes until the directory has been quiet for the whole period
+                do {
+                    key.pollEvents();
+                    key.reset();
+                    key = watchService.poll(quietPeriod.toMillis(), TimeUnit.MILLISECONDS);
+                } while (key != null);
+                try {
+                    reloadAction.run();
+                } catch (RuntimeException e) {
+                    LOGGER.error("reload of area labels failed: {}", e.getMessage());
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ClosedWatchServiceException e) {
+            // watcher has been closed
+        }
+    }
+
+    /**
+     * Stops watching the directory.
+     * @throws IOException if the watch service could not be closed
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+        thread.interrupt();
+    }
+
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Index of the bundled national label files, which is generated at build time by {@link AreaLabelSnapshotCompiler} and packaged as
+ * {@link AreaLabelResourceIndex#RESOURCE}, so the files are found without a wildcard scan of the classpath.
+ * <p>
+ * The index is a UTF-8 text file with the file name of one national label file of {@link AreaLabelSnapshot#NATIONAL_LABELS_FOLDER} per line.
+ * Like the snapshot it only describes the classpath root it has been loaded from - a folder of national labels in another root is not indexed.
+ * </p>
+ */
+public final class AreaLabelResourceIndex {
+
+    /**
+     * Classpath location of the index
+     */
+    public static final String RESOURCE = "arealabels/nationallabels.index";
+
+    /**
+     * URL of the classpath root the index has been loaded from
+     */
+    private final String classpathRoot;
+
+    private final List<String> filenames;
+
+    private AreaLabelResourceIndex(String classpathRoot, List<String> filenames) {
+        this.classpathRoot = classpathRoot;
+        this.filenames = Collections.unmodifiableList(filenames);
+    }
+
+    /**
+     * Loads the index packaged with the library.
+     * @param classLoader class loader of the library
+     * @return the index or null if no index has been packaged (e.g. if the library is run from an IDE without the build step)
+     * @throws IOException if the index could not be read
+     */
+    public static AreaLabelResourceIndex load(ClassLoader classLoader) throws IOException {
+        URL url = classLoader.getResource(RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        String location = url.toString();
+        try (InputStream in = url.openStream()) {
+            return new AreaLabelResourceIndex(location.substring(0, location.length() - RESOURCE.length()), parse(new String(in.readAllBytes(), StandardCharsets.UTF_8)));
+        }
+    }
+
+    /**
+     * Lists the national label files of a folder with the same layout as the bundled resources.
+     * @param folder folder with nationallabels/*.json
+     * @return content of the index
+     * @throws IOException if the folder could not be listed
+     */
+    public static String compile(Path folder) throws IOException {
+        try (Stream<Path> files = Files.list(folder.resolve(Path.of(AreaLabelSnapshot.NATIONAL_LABELS_FOLDER).getFileName()))) {
+            return files.map(file -> file.getFileName().toString()).filter(filename -> filename.endsWith(".json")).sorted()
+                    .collect(Collectors.joining("\n", "", "\n"));
+        }
+    }
+
+    private static List<String> parse(String content) {
+        List<String> filenames = new ArrayList<>();
+        for (String line : content.split("\n")) {
+            String filename = line.trim();
+            if (!filename.isEmpty()) {
+                filenames.add(filename);
+            }
+        }
+        return filenames;
+    }
+
+    /**
+     * Checks if the index describes the folder of national labels found on the classpath.
+     * @param folder URL of {@link AreaLabelSnapshot#NATIONAL_LABELS_FOLDER} as found by the class loader
+     * @return if the folder is in the classpath root of the index
+     */
+    public boolean isIndexOf(URL folder) {
+        if (folder == null) {
+            return false;
+        }
+        try {
+            return canonical(folder.toString()).equals(canonical(classpathRoot + AreaLabelSnapshot.NATIONAL_LABELS_FOLDER));
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            return false;
+        }
+    }
+
+    /**
+     * Brings a URL into a form, which is the same for all URLs of the same location - e.g. "file:/tmp/x/" and "file:///tmp/x".
+     * @param url URL of a file or folder - also within a jar
+     * @return canonical form of the URL
+     * @throws URISyntaxException if the URL is no valid URI
+     */
+    private static String canonical(String url) throws URISyntaxException {
+        if (url.startsWith("jar:")) {
+            int separator = url.indexOf("!/");
+            if (separator > 0) {
+                return "jar:" + canonical(url.substring("jar:".length(), separator)) + "!/" + withoutTrailingSlash(url.substring(separator + 2));
+            }
+        }
+        URI uri = new URI(url).normalize();
+        if ("file".equalsIgnoreCase(uri.getScheme())) {
+            return Path.of(uri).toAbsolutePath().normalize().toString();
+        }
+        return withoutTrailingSlash(uri.toString());
+    }
+
+    private static String withoutTrailingSlash(String path) {
+        return path.endsWith("/") ? path.substring(0, path.length() - 1) : path;
+    }
+
+    /**
+     * @return file names of the national label files like "de.json"
+     */
+    public List<String> getFilenames() {
+        return filenames;
+    }
+
+    /**
+     * Resolves the indexed files without asking the class loader for each one.
+     * @return sources of the national label files in the classpath root of the index
+     * @throws IOException if the classpath root is not a valid URL
+     */
+    public List<LabelSource> getNationalLabelSources() throws IOException {
+        List<LabelSource> sources = new ArrayList<>(filenames.size());
+        for (String filename : filenames) {
+            sources.add(LabelSource.of(new URL(classpathRoot + AreaLabelSnapshot.NATIONAL_LABELS_FOLDER + filename)));
+        }
+        return sources;
+    }
+
+}
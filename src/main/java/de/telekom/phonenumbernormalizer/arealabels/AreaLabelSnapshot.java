@@ -0,0 +1,316 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URL;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Binary snapshot of the bundled area label JSON files, which is compiled at build time by {@link AreaLabelSnapshotCompiler}
+ * and packaged as {@link AreaLabelSnapshot#RESOURCE}, so the labels can be loaded at startup without scanning the classpath and parsing JSON.
+ * <p>
+ * The snapshot consists of a pool of all distinct labels, the country labels and for each region a table of its prefixes
+ * sorted in ascending order - each entry referencing its label by the index in the pool:
+ * </p>
+ * <pre>
+ * int magic, int version
+ * int poolSize, (poolSize + 1) * int offset, int byteCount, byteCount * byte (UTF-8 labels)
+ * int countryCount, countryCount * (UTF countryCode, int labelIndex)
+ * int regionCount, regionCount * (UTF regionCode, int prefixCount, int byteCount, prefixCount * (UTF prefix, int labelIndex))
+ * </pre>
+ * <p>
+ * The table of a region is kept as slice of the binary form and only decoded, if the trie of that region is compiled.
+ * </p>
+ * <p>
+ * A snapshot only replaces JSON files of the classpath root it has been loaded from - user supplied files are still read as JSON.
+ * </p>
+ */
+public final class AreaLabelSnapshot {
+
+    /**
+     * Classpath location of the snapshot
+     */
+    public static final String RESOURCE = "arealabels/arealabels.bin";
+
+    /**
+     * Classpath location of the bundled country labels
+     */
+    public static final String COUNTRY_LABELS = "arealabels/international_country_codes.json";
+
+    /**
+     * Classpath folder of the bundled national labels - one file per region named by its ISO2 code
+     */
+    public static final String NATIONAL_LABELS_FOLDER = "arealabels/nationallabels/";
+
+    private static final int MAGIC = 0x504E414C;
+
+    private static final int VERSION = 2;
+
+    /**
+     * URL of the classpath root the snapshot has been loaded from or null if it has not been loaded from the classpath
+     */
+    private final String classpathRoot;
+
+    private final LabelPool labelPool;
+
+    private final HashMap<String, String> countryLabels;
+
+    /**
+     * sorted prefixes and label indexes of each region
+     */
+    private final Map<String, RegionTable> regions;
+
+    private AreaLabelSnapshot(String classpathRoot, LabelPool labelPool, HashMap<String, String> countryLabels, Map<String, RegionTable> regions) {
+        this.classpathRoot = classpathRoot;
+        this.labelPool = labelPool;
+        this.countryLabels = countryLabels;
+        this.regions = regions;
+    }
+
+    /**
+     * Loads the snapshot packaged with the library by a single read.
+     * @param classLoader class loader of the library
+     * @return the snapshot or null if no snapshot has been packaged (e.g. if the library is run from an IDE without the build step)
+     * @throws IOException if the snapshot could not be read or is corrupted
+     */
+    public static AreaLabelSnapshot load(ClassLoader classLoader) throws IOException {
+        URL url = classLoader.getResource(RESOURCE);
+        if (url == null) {
+            return null;
+        }
+        String location = url.toString();
+        try (InputStream in = url.openStream()) {
+            return read(in.readAllBytes(), location.substring(0, location.length() - RESOURCE.length()));
+        }
+    }
+
+    /**
+     * Reads a snapshot from its binary form.
+     * @param data binary snapshot as written by {@link AreaLabelSnapshot#compile(Map, Map)}
+     * @param classpathRoot URL of the classpath root the data has been loaded from or null if it has not been loaded from the classpath
+     * @return the snapshot
+     * @throws IOException if the data is corrupted
+     */
+    public static AreaLabelSnapshot read(byte[] data, String classpathRoot) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(data));
+        if (in.readInt() != MAGIC || in.readInt() != VERSION) {
+            throw new IOException("unsupported area label snapshot");
+        }
+        int[] offsets = new int[in.readInt() + 1];
+        for (int i = 0; i < offsets.length; i++) {
+            offsets[i] = in.readInt();
+        }
+        byte[] bytes = new byte[in.readInt()];
+        in.readFully(bytes);
+        LabelPool labelPool;
+        try {
+            labelPool = LabelPool.of(bytes, offsets);
+        } catch (IllegalArgumentException e) {
+            throw new IOException("corrupted area label snapshot", e);
+        }
+        int countryCount = in.readInt();
+        HashMap<String, String> countryLabels = new HashMap<>(countryCount * 2);
+        for (int i = 0; i < countryCount; i++) {
+            countryLabels.put(in.readUTF(), labelPool.get(in.readInt()));
+        }
+        int regionCount = in.readInt();
+        Map<String, RegionTable> regions = new LinkedHashMap<>(regionCount * 2);
+        for (int r = 0; r < regionCount; r++) {
+            String regionCode = in.readUTF();
+            int prefixCount = in.readInt();
+            int byteCount = in.readInt();
+            // the position in the data is its length minus the bytes left to read
+            int offset = data.length - in.available();
+            if (prefixCount < 0 || byteCount < 0 || in.skipBytes(byteCount) != byteCount) {
+                throw new IOException("corrupted area label snapshot");
+            }
+            regions.put(regionCode, new RegionTable(data, offset, byteCount, prefixCount));
+        }
+        return new AreaLabelSnapshot(classpathRoot, labelPool, countryLabels, regions);
+    }
+
+    /**
+     * Compiles the label data into the binary form of a snapshot.
+     * <p>
+     * Like {@link NationalLabelTrie#of(Map)}, national entries with keys, which are not only made of digits, are ignored.
+     * </p>
+     * @param countryLabels maps the Country Calling Code (without "+" or IDP) to its label
+     * @param nationalLabels maps the region code (ISO2 code in upper case) to its prefixes and their labels
+     * @return binary snapshot
+     * @throws IOException if the data could not be written
+     */
+    public static byte[] compile(Map<?, ?> countryLabels, Map<String, ? extends Map<?, ?>> nationalLabels) throws IOException {
+        Map<String, Integer> poolIndex = new HashMap<>();
+        List<String> pool = new ArrayList<>();
+
+        Map<String, Integer> countries = new TreeMap<>();
+        for (Map.Entry<?, ?> entry : countryLabels.entrySet()) {
+            if (entry.getValue() != null) {
+                countries.put(String.valueOf(entry.getKey()), pooled(entry.getValue().toString(), poolIndex, pool));
+            }
+        }
+        Map<String, TreeMap<String, Integer>> regionTables = new TreeMap<>();
+        for (Map.Entry<String, ? extends Map<?, ?>> region : nationalLabels.entrySet()) {
+            TreeMap<String, Integer> table = new TreeMap<>();
+            for (Map.Entry<?, ?> entry : region.getValue().entrySet()) {
+                String prefix = String.valueOf(entry.getKey());
+                if (entry.getValue() != null && NationalLabelTrie.isDigitsOnly(prefix)) {
+                    table.put(prefix, pooled(entry.getValue().toString(), poolIndex, pool));
+                }
+            }
+            regionTables.put(region.getKey(), table);
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeInt(VERSION);
+        LabelPool labelPool = LabelPool.of(pool);
+        out.writeInt(labelPool.size());
+        for (int offset : labelPool.getOffsets()) {
+            out.writeInt(offset);
+        }
+        out.writeInt(labelPool.getBytes().length);
+        out.write(labelPool.getBytes());
+        out.writeInt(countries.size());
+        for (Map.Entry<String, Integer> country : countries.entrySet()) {
+            out.writeUTF(country.getKey());
+            out.writeInt(country.getValue());
+        }
+        out.writeInt(regionTables.size());
+        for (Map.Entry<String, TreeMap<String, Integer>> region : regionTables.entrySet()) {
+            ByteArrayOutputStream tableBytes = new ByteArrayOutputStream();
+            DataOutputStream table = new DataOutputStream(tableBytes);
+            for (Map.Entry<String, Integer> entry : region.getValue().entrySet()) {
+                table.writeUTF(entry.getKey());
+                table.writeInt(entry.getValue());
+            }
+            table.flush();
+            out.writeUTF(region.getKey());
+            out.writeInt(region.getValue().size());
+            out.writeInt(tableBytes.size());
+            tableBytes.writeTo(out);
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static int pooled(String label, Map<String, Integer> poolIndex, List<String> pool) {
+        return poolIndex.computeIfAbsent(label, l -> {
+            pool.add(l);
+            return pool.size() - 1;
+        });
+    }
+
+    /**
+     * Checks if a resource is one of the JSON files the snapshot has been compiled from - so it is bundled in the same
+     * classpath root and has not been replaced by a user supplied file.
+     * @param path classpath location of the bundled file, like {@link AreaLabelSnapshot#COUNTRY_LABELS}
+     * @param url URL of the resource to be checked
+     * @return if the snapshot could be used instead of reading the resource
+     */
+    public boolean isBundledResource(String path, URL url) {
+        return classpathRoot != null && url != null && url.toString().equals(classpathRoot + path);
+    }
+
+    /**
+     * @return Country Calling Codes (without "+" or IDP) mapped to their label
+     */
+    public HashMap<String, String> getCountryLabels() {
+        return countryLabels;
+    }
+
+    /**
+     * @return region codes (ISO2 code in upper case) of all regions with national labels
+     */
+    public Set<String> getRegionCodes() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    /**
+     * Decodes the prefix table of a region and compiles it into a trie - sharing the label pool of the snapshot.
+     * @param regionCode ISO2 code in upper case
+     * @return the trie or null if the snapshot has no labels for that region
+     * @throws UncheckedIOException if the table of the region is corrupted
+     */
+    public NationalLabelTrie getNationalLabelTrie(String regionCode) {
+        RegionTable table = regions.get(regionCode);
+        return table == null ? null : table.toTrie(labelPool);
+    }
+
+    /**
+     * Same as {@link AreaLabelSnapshot#getNationalLabelTrie(String)}, but deferred - the loader only references the table of the region and the label pool, not the whole snapshot.
+     * @param regionCode ISO2 code in upper case
+     * @return the loader of the trie or null if the snapshot has no labels for that region
+     */
+    public NationalLabelIndex.Loader getNationalLabelLoader(String regionCode) {
+        RegionTable table = regions.get(regionCode);
+        if (table == null) {
+            return null;
+        }
+        // a local copy, so the lambda does not capture this snapshot
+        LabelPool pool = labelPool;
+        return () -> table.toTrie(pool);
+    }
+
+    /**
+     * Slice of the binary snapshot with the sorted prefixes of a region and the pool indexes of their labels.
+     */
+    private static final class RegionTable {
+        private final byte[] data;
+        private final int offset;
+        private final int length;
+        private final int prefixCount;
+
+        private RegionTable(byte[] data, int offset, int length, int prefixCount) {
+            this.data = data;
+            this.offset = offset;
+            this.length = length;
+            this.prefixCount = prefixCount;
+        }
+
+        private NationalLabelTrie toTrie(LabelPool labelPool) {
+            DataInputStream in = new DataInputStream(new ByteArrayInputStream(data, offset, length));
+            String[] prefixes = new String[prefixCount];
+            int[] labelIndexes = new int[prefixCount];
+            try {
+                for (int i = 0; i < prefixCount; i++) {
+                    prefixes[i] = in.readUTF();
+                    labelIndexes[i] = in.readInt();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException("corrupted area label snapshot", e);
+            }
+            return NationalLabelTrie.of(prefixes, labelIndexes, labelPool);
+        }
+    }
+
+}
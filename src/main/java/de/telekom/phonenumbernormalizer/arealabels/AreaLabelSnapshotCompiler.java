@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.stream.Stream;
+
+/**
+ * Build step, which compiles the bundled area label JSON files into an {@link AreaLabelSnapshot} and optionally writes their {@link AreaLabelResourceIndex}.
+ * <p>
+ * It is called by the exec-maven-plugin in the process-classes phase, so snapshot and index are packaged in the jar next to the JSON files:
+ * </p>
+ * <pre>
+ * java de.telekom.phonenumbernormalizer.arealabels.AreaLabelSnapshotCompiler src/main/resources/arealabels target/classes/arealabels/arealabels.bin target/classes/arealabels/nationallabels.index
+ * </pre>
+ */
+public final class AreaLabelSnapshotCompiler {
+
+    private AreaLabelSnapshotCompiler() {
+        throw new IllegalStateException("Build step");
+    }
+
+    /**
+     * @param args the folder of the area label JSON files, the snapshot file to be written and optionally the index file to be written
+     * @throws IOException if a JSON file could not be read or the snapshot or index could not be written
+     */
+    public static void main(String[] args) throws IOException {
+        if (args.length != 2 && args.length != 3) {
+            throw new IllegalArgumentException("usage: AreaLabelSnapshotCompiler <area label folder> <snapshot file> [<index file>]");
+        }
+        Path folder = Path.of(args[0]);
+        write(Path.of(args[1]), compile(folder));
+        if (args.length == 3) {
+            write(Path.of(args[2]), AreaLabelResourceIndex.compile(folder).getBytes(StandardCharsets.UTF_8));
+        }
+    }
+
+    private static void write(Path file, byte[] data) throws IOException {
+        if (file.getParent() != null) {
+            Files.createDirectories(file.getParent());
+        }
+        Files.write(file, data);
+    }
+
+    /**
+     * Compiles the JSON files of a folder with the same layout as the bundled resources.
+     * @param folder folder with international_country_codes.json and nationallabels/*.json
+     * @return binary snapshot
+     * @throws IOException if a JSON file could not be read
+     */
+    public static byte[] compile(Path folder) throws IOException {
+        ObjectMapper mapper = new ObjectMapper();
+        Map<?, ?> countryLabels = readLabels(mapper, folder.resolve(Path.of(AreaLabelSnapshot.COUNTRY_LABELS).getFileName()));
+        Map<String, Map<?, ?>> nationalLabels = new TreeMap<>();
+        try (Stream<Path> files = Files.list(folder.resolve(Path.of(AreaLabelSnapshot.NATIONAL_LABELS_FOLDER).getFileName()))) {
+            for (Path file : (Iterable<Path>) files.filter(f -> f.getFileName().toString().endsWith(".json"))::iterator) {
+                String regionCode = file.getFileName().toString().split("\\.")[0].toUpperCase(Locale.ROOT);
+                nationalLabels.put(regionCode, readLabels(mapper, file));
+            }
+        }
+        return AreaLabelSnapshot.compile(countryLabels, nationalLabels);
+    }
+
+    /**
+     * Reads a JSON Array of one Object like {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl} does.
+     */
+    private static Map<?, ?> readLabels(ObjectMapper mapper, Path file) throws IOException {
+        return (Map<?, ?>) mapper.readValue(file.toFile(), List.class).get(0);
+    }
+
+}
@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import lombok.Getter;
+
+import java.time.Duration;
+import java.time.Instant;
+
+/**
+ * Version and load statistics of the area labels currently used by {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl}.
+ * <p>
+ * Each (re)load creates a new version with a higher id, so it could be checked, if a reload has been applied.
+ * </p>
+ */
+@Getter
+public final class AreaLabelVersion {
+
+    /**
+     * Version of labels, which have not been loaded yet.
+     */
+    public static final AreaLabelVersion NONE = new AreaLabelVersion(0, Instant.EPOCH, Duration.ZERO, 0, 0, 0);
+
+    /**
+     * Id of the version - increased with each (re)load, starting with 1 for the initial load
+     */
+    private final long id;
+
+    /**
+     * When loading of the labels has been finished
+     */
+    private final Instant loadedAt;
+
+    /**
+     * How long loading of the labels took
+     */
+    private final Duration loadDuration;
+
+    /**
+     * Number of Country Calling Codes with a label
+     */
+    private final int countryCount;
+
+    /**
+     * Number of regions with national labels - loaded or not
+     */
+    private final int regionCount;
+
+    /**
+     * Number of national prefixes of the regions, which have been loaded with this version - lazily loaded regions are not included
+     */
+    private final int prefixCount;
+
+    public AreaLabelVersion(long id, Instant loadedAt, Duration loadDuration, int countryCount, int regionCount, int prefixCount) {
+        this.id = id;
+        this.loadedAt = loadedAt;
+        this.loadDuration = loadDuration;
+        this.countryCount = countryCount;
+        this.regionCount = regionCount;
+        this.prefixCount = prefixCount;
+    }
+
+    @Override
+    public String toString() {
+        return "AreaLabelVersion{id=" + id + ", loadedAt=" + loadedAt + ", loadDuration=" + loadDuration + ", countryCount=" + countryCount
+                + ", regionCount=" + regionCount + ", prefixCount=" + prefixCount + "}";
+    }
+}
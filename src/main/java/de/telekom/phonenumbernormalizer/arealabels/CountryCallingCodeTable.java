@@ -0,0 +1,239 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonemetadata;
+import de.telekom.phonenumbernormalizer.numberplans.PhoneLibWrapper;
+
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Precomputed table of the Country Calling Codes, which splits an E164 number into Country Calling Code and national
+ * number without using the regex based parser of Google's LibPhoneNumber.
+ * <p>
+ * The table only knows the Country Calling Codes supported by Google's LibPhoneNumber, so the split is the same the
+ * parser would do. Each code carries its label of the international country codes configuration and the main region
+ * code, whose national labels should be used.
+ * </p>
+ * <p>
+ * If the parser would modify the national number (e.g. by stripping a national prefix) or would reject the number,
+ * no split is provided and the caller has to fall back to the parser.
+ * </p>
+ */
+public final class CountryCallingCodeTable {
+
+    /**
+     * maximum length of a Country Calling Code
+     */
+    private static final int MAX_LENGTH_FOR_CC = 3;
+
+    /**
+     * minimal length of a national significant number accepted by the parser of Google's LibPhoneNumber
+     */
+    private static final int MIN_LENGTH_FOR_NSN = 2;
+
+    /**
+     * maximal length of a national significant number accepted by the parser of Google's LibPhoneNumber
+     */
+    private static final int MAX_LENGTH_FOR_NSN = 17;
+
+    /**
+     * Country Calling Codes indexed by their numeric value (a code never starts with a zero, so the value is unique)
+     */
+    private final CountryCallingCode[] codes;
+
+    private CountryCallingCodeTable(CountryCallingCode[] codes) {
+        this.codes = codes;
+    }
+
+    /**
+     * Builds the table for all Country Calling Codes supported by Google's LibPhoneNumber.
+     * <p>
+     * Keys of the configuration, which are no Country Calling Codes (like "9712" for Abu Dhabi), are not part of the
+     * table.
+     * </p>
+     * @param countryLabels maps the Country Calling Code (without "+" or IDP) to its label
+     * @return the table
+     */
+    public static CountryCallingCodeTable of(Map<?, ?> countryLabels) {
+        PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+        CountryCallingCode[] codes = new CountryCallingCode[(int) Math.pow(10, MAX_LENGTH_FOR_CC)];
+        for (Integer countryCode : phoneUtil.getSupportedCallingCodes()) {
+            String regionCode = phoneUtil.getRegionCodeForCountryCode(countryCode);
+            String nationalPrefixForParsing = null;
+            // the metadata of non-geographical entities is not public, but they have no national prefix to be stripped
+            if (!PhoneNumberUtil.REGION_CODE_FOR_NON_GEO_ENTITY.equals(regionCode)) {
+                Phonemetadata.PhoneMetadata metadata = PhoneLibWrapper.getMetadataForRegion(regionCode);
+                if (metadata == null) {
+                    // without the metadata it can't be checked, if the parser would strip a national prefix
+                    continue;
+                }
+                nationalPrefixForParsing = metadata.getNationalPrefixForParsing();
+            }
+            Object label = countryLabels.get(String.valueOf(countryCode));
+            codes[countryCode] = new CountryCallingCode(countryCode, regionCode, label == null ? null : label.toString(),
+                    nationalPrefixForParsing);
+        }
+        return new CountryCallingCodeTable(codes);
+    }
+
+    /**
+     * Splits off the Country Calling Code of an E164 number, if the parser of Google's LibPhoneNumber would take the
+     * remaining digits unmodified as national number.
+     * @param e164number number with leading "+" followed only by digits, like +4961511234567
+     * @return the Country Calling Code - the national number starts at {@link CountryCallingCode#getNationalNumberStart()}
+     * - or null if the parser is needed
+     */
+    public CountryCallingCode findCountryCallingCode(CharSequence e164number) {
+        int length = e164number.length();
+        if (length < 2 || e164number.charAt(0) != '+') {
+            return null;
+        }
+        for (int i = 1; i < length; i++) {
+            char c = e164number.charAt(i);
+            if (c < '0' || c > '9') {
+                return null;
+            }
+        }
+
+        int value = 0;
+        for (int i = 1; i <= MAX_LENGTH_FOR_CC && i < length; i++) {
+            value = value * 10 + (e164number.charAt(i) - '0');
+            if (value == 0) {
+                // the parser rejects a leading zero as Country Calling Code
+                return null;
+            }
+            CountryCallingCode code = codes[value];
+            if (code != null) {
+                return code.isTakenUnmodified(e164number, i + 1) ? code : null;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Looks up a Country Calling Code by its numeric value - e.g. of an already parsed number.
+     * @param countryCode numeric value of the Country Calling Code, like 49
+     * @return the Country Calling Code or null if it is not supported
+     */
+    public CountryCallingCode getCountryCallingCode(int countryCode) {
+        if (countryCode <= 0 || countryCode >= codes.length) {
+            return null;
+        }
+        return codes[countryCode];
+    }
+
+    /**
+     * A Country Calling Code of the table.
+     */
+    public static final class CountryCallingCode {
+
+        private final int countryCode;
+
+        private final String regionCode;
+
+        private final String label;
+
+        private final int nationalNumberStart;
+
+        /**
+         * national prefix for parsing if it is just a sequence of digits - otherwise null
+         */
+        private final String nationalPrefix;
+
+        /**
+         * national prefix for parsing if it is a real pattern - otherwise null
+         */
+        private final Pattern nationalPrefixPattern;
+
+        private CountryCallingCode(int countryCode, String regionCode, String label, String nationalPrefixForParsing) {
+            this.countryCode = countryCode;
+            this.regionCode = regionCode;
+            this.label = label;
+            this.nationalNumberStart = String.valueOf(countryCode).length() + 1;
+            if (nationalPrefixForParsing == null || nationalPrefixForParsing.isEmpty()) {
+                this.nationalPrefix = null;
+                this.nationalPrefixPattern = null;
+            } else if (nationalPrefixForParsing.chars().allMatch(c -> c >= '0' && c <= '9')) {
+                this.nationalPrefix = nationalPrefixForParsing;
+                this.nationalPrefixPattern = null;
+            } else {
+                this.nationalPrefix = null;
+                this.nationalPrefixPattern = Pattern.compile(nationalPrefixForParsing);
+            }
+        }
+
+        /**
+         * Checks if the parser would take the digits after the Country Calling Code unmodified as national number.
+         * @param e164number number with leading "+" followed only by digits
+         * @param start index of the first digit after the Country Calling Code
+         * @return if the digits are a valid national number, which does not start with a zero or the national prefix
+         */
+        private boolean isTakenUnmodified(CharSequence e164number, int start) {
+            int nationalLength = e164number.length() - start;
+            if (nationalLength < MIN_LENGTH_FOR_NSN || nationalLength > MAX_LENGTH_FOR_NSN) {
+                return false;
+            }
+            // the parser stores the national number as long, so leading zeros would be lost
+            if (e164number.charAt(start) == '0') {
+                return false;
+            }
+            if (nationalPrefix != null) {
+                return !e164number.toString().startsWith(nationalPrefix, start);
+            }
+            if (nationalPrefixPattern != null) {
+                return !nationalPrefixPattern.matcher(e164number).region(start, e164number.length()).lookingAt();
+            }
+            return true;
+        }
+
+        /**
+         * @return the Country Calling Code like 49
+         */
+        public int getCountryCode() {
+            return countryCode;
+        }
+
+        /**
+         * @return the main region code of the Country Calling Code like "DE" or "001" for non-geographical entities
+         */
+        public String getRegionCode() {
+            return regionCode;
+        }
+
+        /**
+         * @return the label of the Country Calling Code or null if the configuration has none
+         */
+        public String getLabel() {
+            return label;
+        }
+
+        /**
+         * @return index of the first digit of the national number within an E164 number
+         */
+        public int getNationalNumberStart() {
+            return nationalNumberStart;
+        }
+
+        @Override
+        public String toString() {
+            return "+" + countryCode + " (" + regionCode + ")";
+        }
+    }
+
+}
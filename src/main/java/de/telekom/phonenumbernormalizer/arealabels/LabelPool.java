@@ -0,0 +1,132 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Immutable pool of distinct labels stored as UTF-8 bytes in one array, so labels do not need an object each.
+ * <p>
+ * A label is referenced by its index and only decoded into a {@link String}, when it is returned by {@link LabelPool#get(int)}.
+ * A pool could be shared by the tries of several regions.
+ * </p>
+ */
+public final class LabelPool {
+
+    /**
+     * UTF-8 bytes of all labels one after the other
+     */
+    private final byte[] bytes;
+
+    /**
+     * offsets[i] is the index of the first byte of label i in {@link LabelPool#bytes} - with one additional entry for the end of the last label
+     */
+    private final int[] offsets;
+
+    private LabelPool(byte[] bytes, int[] offsets) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+    }
+
+    /**
+     * Encodes the labels into a pool - keeping their order, so the index of a label stays the same.
+     * @param labels labels - should be distinct, since duplicates are stored twice
+     * @return the pool
+     */
+    public static LabelPool of(List<String> labels) {
+        byte[][] encoded = new byte[labels.size()][];
+        int length = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            encoded[i] = labels.get(i).getBytes(StandardCharsets.UTF_8);
+            length += encoded[i].length;
+        }
+        byte[] bytes = new byte[length];
+        int[] offsets = new int[encoded.length + 1];
+        int offset = 0;
+        for (int i = 0; i < encoded.length; i++) {
+            offsets[i] = offset;
+            System.arraycopy(encoded[i], 0, bytes, offset, encoded[i].length);
+            offset += encoded[i].length;
+        }
+        offsets[encoded.length] = offset;
+        return new LabelPool(bytes, offsets);
+    }
+
+    /**
+     * Encodes the labels into a pool - keeping their order, so the index of a label stays the same.
+     * @param labels labels - should be distinct, since duplicates are stored twice
+     * @return the pool
+     */
+    public static LabelPool of(String... labels) {
+        return of(Arrays.asList(labels));
+    }
+
+    /**
+     * Creates a pool from its already encoded form - like stored in an {@link AreaLabelSnapshot}.
+     * @param bytes UTF-8 bytes of all labels one after the other
+     * @param offsets index of the first byte of each label - with one additional entry for the end of the last label
+     * @return the pool
+     * @throws IllegalArgumentException if the offsets do not fit to the bytes
+     */
+    static LabelPool of(byte[] bytes, int[] offsets) {
+        if (offsets.length == 0 || offsets[0] != 0 || offsets[offsets.length - 1] != bytes.length) {
+            throw new IllegalArgumentException("invalid label pool");
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            if (offsets[i] < offsets[i - 1]) {
+                throw new IllegalArgumentException("invalid label pool");
+            }
+        }
+        return new LabelPool(bytes, offsets);
+    }
+
+    byte[] getBytes() {
+        return bytes;
+    }
+
+    int[] getOffsets() {
+        return offsets;
+    }
+
+    /**
+     * Decodes a label.
+     * @param index index of the label
+     * @return the label
+     * @throws IndexOutOfBoundsException if there is no label with that index
+     */
+    public String get(int index) {
+        return new String(bytes, offsets[index], offsets[index + 1] - offsets[index], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return number of labels
+     */
+    public int size() {
+        return offsets.length - 1;
+    }
+
+    /**
+     * @return estimated retained heap of the pool in bytes
+     */
+    public long getRetainedBytes() {
+        return MemoryEstimate.aligned(MemoryEstimate.OBJECT_HEADER + 2L * MemoryEstimate.REFERENCE)
+                + MemoryEstimate.array(1, bytes.length) + MemoryEstimate.array(4, offsets.length);
+    }
+
+}
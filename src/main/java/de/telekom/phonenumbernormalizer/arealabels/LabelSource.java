@@ -0,0 +1,111 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Objects;
+
+/**
+ * Source of an area label JSON file - the Spring free counterpart of a resource, so labels could be loaded without a container.
+ */
+public interface LabelSource {
+
+    /**
+     * @return file name with extension like "de.json" - the part before the first "." is the region code of national labels
+     */
+    String getFilename();
+
+    /**
+     * @return location of the file to check if it is bundled with an {@link AreaLabelSnapshot} or null if it has no URL
+     */
+    URL getUrl();
+
+    /**
+     * @return new stream of the content - to be closed by the caller
+     * @throws IOException if the file could not be opened
+     */
+    InputStream openStream() throws IOException;
+
+    /**
+     * @param url location of the file - e.g. a classpath resource
+     * @return source reading the URL
+     */
+    static LabelSource of(URL url) {
+        Objects.requireNonNull(url, "url");
+        String path = url.getPath();
+        String filename = path.substring(path.lastIndexOf('/') + 1);
+        return new LabelSource() {
+            @Override
+            public String getFilename() {
+                return filename;
+            }
+
+            @Override
+            public URL getUrl() {
+                return url;
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return url.openStream();
+            }
+
+            @Override
+            public String toString() {
+                return url.toString();
+            }
+        };
+    }
+
+    /**
+     * @param file path of the file
+     * @return source reading the file
+     */
+    static LabelSource of(Path file) {
+        Objects.requireNonNull(file, "file");
+        return new LabelSource() {
+            @Override
+            public String getFilename() {
+                return file.getFileName().toString();
+            }
+
+            @Override
+            public URL getUrl() {
+                try {
+                    return file.toUri().toURL();
+                } catch (IOException e) {
+                    return null;
+                }
+            }
+
+            @Override
+            public InputStream openStream() throws IOException {
+                return Files.newInputStream(file);
+            }
+
+            @Override
+            public String toString() {
+                return file.toString();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Estimates the retained heap of label data for a 64-bit JVM with compressed references and compact strings.
+ */
+public final class MemoryEstimate {
+
+    static final int OBJECT_HEADER = 12;
+
+    static final int ARRAY_HEADER = 16;
+
+    static final int REFERENCE = 4;
+
+    /**
+     * size of a HashMap entry with hash, key, value and next reference
+     */
+    private static final int HASH_MAP_NODE = 32;
+
+    /**
+     * size of a HashMap object
+     */
+    private static final int HASH_MAP = 48;
+
+    private MemoryEstimate() {
+        throw new IllegalStateException("MemoryEstimate is a Utility class");
+    }
+
+    /**
+     * @param bytes size of an object
+     * @return size including the padding to a multiple of 8
+     */
+    static long aligned(long bytes) {
+        return (bytes + 7) & ~7L;
+    }
+
+    /**
+     * @param elementSize size of one element in bytes
+     * @param length number of elements
+     * @return size of the array
+     */
+    static long array(int elementSize, int length) {
+        return aligned(ARRAY_HEADER + (long) elementSize * length);
+    }
+
+    /**
+     * @param value a string
+     * @return size of the string including its value array - 0 for null
+     */
+    static long string(String value) {
+        if (value == null) {
+            return 0;
+        }
+        boolean latin1 = true;
+        for (int i = 0; i < value.length() && latin1; i++) {
+            latin1 = value.charAt(i) <= 0xFF;
+        }
+        // String object with value reference, hash, coder and hashIsZero
+        return aligned(OBJECT_HEADER + REFERENCE + 4 + 2) + array(latin1 ? 1 : 2, value.length());
+    }
+
+    /**
+     * Estimates a hash map of strings - like the country labels - with its keys and values, where identical values are counted once.
+     * @param map map of strings
+     * @return estimated retained heap in bytes
+     */
+    public static long stringMap(Map<?, ?> map) {
+        int capacity = Integer.highestOneBit(Math.max(1, (int) (map.size() / 0.75f)) * 2 - 1);
+        long result = HASH_MAP + array(REFERENCE, capacity) + (long) HASH_MAP_NODE * map.size();
+        Set<Object> values = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            result += entry.getKey() instanceof String ? string((String) entry.getKey()) : 0;
+            if (entry.getValue() instanceof String && values.add(entry.getValue())) {
+                result += string((String) entry.getValue());
+            }
+        }
+        return result;
+    }
+
+}
@@ -0,0 +1,197 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Index of the regions with national labels, which loads the {@link NationalLabelTrie} of each region only once - either
+ * directly when it is added or lazily with the first lookup of that region.
+ * <p>
+ * Concurrent first lookups of a region are safe: the label file is loaded by one thread, while the others wait for its
+ * result. If a file could not be loaded, the error is logged once and the region has no labels - like a region without file.
+ * </p>
+ * <p>
+ * With {@link NationalLabelIndex#preload(Collection)} lazy regions, which are known to be used, could be loaded at startup.
+ * </p>
+ */
+public final class NationalLabelIndex {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NationalLabelIndex.class);
+
+    private static final NationalLabelTrie NO_LABELS = NationalLabelTrie.of(Collections.emptyMap());
+
+    /**
+     * Loads the labels of one region - e.g. by parsing its file.
+     */
+    @FunctionalInterface
+    public interface Loader {
+        /**
+         * @return the labels of the region
+         * @throws IOException if the labels could not be read
+         */
+        NationalLabelTrie load() throws IOException;
+    }
+
+    /**
+     * Entries of all regions by their region code - it is not changed after the index has been built.
+     */
+    private final Map<String, Entry> regions = new HashMap<>();
+
+    /**
+     * Adds the already loaded labels of a region - replacing a previously added region with the same code.
+     * @param regionCode ISO2 code in upper case
+     * @param labels the labels of the region
+     * @return this index
+     */
+    public NationalLabelIndex add(String regionCode, NationalLabelTrie labels) {
+        regions.put(regionCode, new Entry(regionCode, null, labels));
+        return this;
+    }
+
+    /**
+     * Adds a region, whose labels are loaded with its first lookup - replacing a previously added region with the same code.
+     * @param regionCode ISO2 code in upper case
+     * @param loader loads the labels of the region
+     * @return this index
+     */
+    public NationalLabelIndex addLazy(String regionCode, Loader loader) {
+        regions.put(regionCode, new Entry(regionCode, loader, null));
+        return this;
+    }
+
+    /**
+     * @param regionCode ISO2 code in upper case
+     * @return if the index has labels for that region - without loading them
+     */
+    public boolean contains(String regionCode) {
+        return regions.containsKey(regionCode);
+    }
+
+    /**
+     * Returns the labels of a region - loading them, if it is the first lookup of a lazy region.
+     * @param regionCode ISO2 code in upper case
+     * @return the labels of the region or null if the index has no labels for that region
+     */
+    public NationalLabelTrie get(String regionCode) {
+        Entry entry = regions.get(regionCode);
+        return entry == null ? null : entry.get();
+    }
+
+    /**
+     * @param regionCode ISO2 code in upper case
+     * @return if the labels of that region are already loaded
+     */
+    public boolean isLoaded(String regionCode) {
+        Entry entry = regions.get(regionCode);
+        return entry != null && entry.labels != null;
+    }
+
+    /**
+     * @return region codes of all regions with labels - loaded or not
+     */
+    public Set<String> getRegionCodes() {
+        return Collections.unmodifiableSet(regions.keySet());
+    }
+
+    /**
+     * Estimates the retained heap of the loaded labels - label pools shared by several regions are counted once.
+     * @return estimated retained heap in bytes of all regions, which are already loaded
+     */
+    public long getRetainedBytes() {
+        long result = 0;
+        Set<LabelPool> pools = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Entry entry : regions.values()) {
+            NationalLabelTrie labels = entry.labels;
+            if (labels != null) {
+                result += labels.getRetainedBytesWithoutLabels();
+                if (pools.add(labels.getLabelPool())) {
+                    result += labels.getLabelPool().getRetainedBytes();
+                }
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Loads the labels of the given regions now and not with their first lookup.
+     * @param regionCodes ISO2 codes of the regions like "DE"
+     */
+    public void preload(Collection<String> regionCodes) {
+        if (regionCodes == null) {
+            return;
+        }
+        for (String regionCode : regionCodes) {
+            if (regionCode == null || regionCode.isBlank()) {
+                continue;
+            }
+            if (get(regionCode.trim().toUpperCase(Locale.ROOT)) == null) {
+                LOGGER.warn("can't preload labels of unknown region: {}", regionCode);
+            }
+        }
+    }
+
+    private static final class Entry {
+        private final String regionCode;
+        /**
+         * Set to null after the labels have been loaded, so everything referenced by the loader could be collected.
+         */
+        private Loader loader;
+        private volatile NationalLabelTrie labels;
+
+        private Entry(String regionCode, Loader loader, NationalLabelTrie labels) {
+            this.regionCode = regionCode;
+            this.loader = loader;
+            this.labels = labels;
+        }
+
+        private NationalLabelTrie get() {
+            NationalLabelTrie result = labels;
+            if (result != null) {
+                return result;
+            }
+            synchronized (this) {
+                if (labels == null) {
+                    labels = load();
+                    loader = null;
+                }
+                return labels;
+            }
+        }
+
+        private NationalLabelTrie load() {
+            LOGGER.debug("load labels of region: {}", regionCode);
+            try {
+                NationalLabelTrie result = loader.load();
+                return result == null ? NO_LABELS : result;
+            } catch (Exception e) {
+                LOGGER.error("loading labels of region {} failed: {}", regionCode, e.getMessage());
+                return NO_LABELS;
+            }
+        }
+    }
+
+}
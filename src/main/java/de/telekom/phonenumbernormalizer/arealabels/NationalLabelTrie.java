@@ -0,0 +1,383 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SortedMap;
+import java.util.TreeMap;
+
+/**
+ * Immutable digit trie of the area labels of one region, to find the label of the longest matching number prefix.
+ * <p>
+ * The prefixes are only stored as digit paths: each node has a bit mask of the digits, for which it has a child, and the
+ * index of its first child - all children of a node are stored one after the other. Looking up the label of a national
+ * number is a single walk over its digits without any allocation, except for decoding the found label.
+ * Labels are stored only once as UTF-8 bytes in a {@link LabelPool}, which could be shared with other regions.
+ * </p><p>
+ * Additionally, the trie can list all prefixes (and their labels) which start with a given prefix.
+ * </p>
+ */
+public final class NationalLabelTrie {
+    private static final Logger LOGGER = LoggerFactory.getLogger(NationalLabelTrie.class);
+
+    private static final int DIGITS = 10;
+
+    /**
+     * The root is node 0 and can't be the child of any node, so 0 is marking a missing child.
+     */
+    private static final int NO_CHILD = 0;
+
+    /**
+     * Marks a node, where no prefix ends.
+     */
+    private static final int NO_LABEL = -1;
+
+    /**
+     * Bit d of childMasks[node] is set, if the node has a child for digit d.
+     */
+    private final short[] childMasks;
+
+    /**
+     * firstChild[node] is the index of the child for the lowest digit of the node - the children of a node are stored one after the other
+     */
+    private final int[] firstChild;
+
+    /**
+     * labelIndex[node] is the index of the label in {@link NationalLabelTrie#labels} for the prefix ending at that node or {@link NationalLabelTrie#NO_LABEL}
+     */
+    private final int[] labelIndex;
+
+    /**
+     * labels of this region - might be shared with other regions
+     */
+    private final LabelPool labels;
+
+    /**
+     * number of prefixes
+     */
+    private final int size;
+
+    private NationalLabelTrie(short[] childMasks, int[] firstChild, int[] labelIndex, LabelPool labels, int size) {
+        this.childMasks = childMasks;
+        this.firstChild = firstChild;
+        this.labelIndex = labelIndex;
+        this.labels = labels;
+        this.size = size;
+    }
+
+    /**
+     * Compiles the label data of a region into a trie.
+     * <p>
+     * Keys which are not only made of digits could never match a national number, so they are ignored.
+     * </p>
+     * @param plan maps a number prefix (similar to NDC, but without NAC) to its label
+     * @return the compiled trie
+     */
+    public static NationalLabelTrie of(Map<?, ?> plan) {
+        // the number of nodes can't be higher than the number of all prefix digits plus the root
+        int maxNodes = 1;
+        for (Object key : plan.keySet()) {
+            maxNodes += String.valueOf(key).length();
+        }
+
+        Builder builder = new Builder(maxNodes);
+        Map<String, Integer> labelPool = new HashMap<>();
+        List<String> labels = new ArrayList<>();
+
+        for (Map.Entry<?, ?> entry : plan.entrySet()) {
+            String prefix = String.valueOf(entry.getKey());
+            if (entry.getValue() == null || !isDigitsOnly(prefix)) {
+                LOGGER.warn("ignoring area label entry: {}", prefix);
+                continue;
+            }
+            String label = entry.getValue().toString();
+            builder.add(prefix, labelPool.computeIfAbsent(label, l -> {
+                labels.add(l);
+                return labels.size() - 1;
+            }));
+        }
+        return builder.build(LabelPool.of(labels));
+    }
+
+    /**
+     * Compiles an already validated prefix table - like the one of an {@link AreaLabelSnapshot} - into a trie.
+     * @param prefixes number prefixes (similar to NDC, but without NAC) made only of digits
+     * @param labelIndexes labelIndexes[i] is the index of the label of prefixes[i] in labels
+     * @param labels label pool - might be shared with other tries
+     * @return the compiled trie
+     * @throws IllegalArgumentException if a prefix is not only made of digits or a label index is out of the pool
+     */
+    public static NationalLabelTrie of(String[] prefixes, int[] labelIndexes, LabelPool labels) {
+        if (prefixes.length != labelIndexes.length) {
+            throw new IllegalArgumentException("each prefix needs a label index");
+        }
+        int maxNodes = 1;
+        for (String prefix : prefixes) {
+            maxNodes += prefix.length();
+        }
+
+        Builder builder = new Builder(maxNodes);
+        for (int p = 0; p < prefixes.length; p++) {
+            String prefix = prefixes[p];
+            if (!isDigitsOnly(prefix) || labelIndexes[p] < 0 || labelIndexes[p] >= labels.size()) {
+                throw new IllegalArgumentException("invalid area label entry: " + prefix);
+            }
+            builder.add(prefix, labelIndexes[p]);
+        }
+        return builder.build(labels);
+    }
+
+    /**
+     * Compiles an already validated prefix table into a trie.
+     * @param prefixes number prefixes (similar to NDC, but without NAC) made only of digits
+     * @param labelIndexes labelIndexes[i] is the index of the label of prefixes[i] in labels
+     * @param labels distinct labels
+     * @return the compiled trie
+     * @throws IllegalArgumentException if a prefix is not only made of digits or a label index is out of the labels
+     */
+    public static NationalLabelTrie of(String[] prefixes, int[] labelIndexes, String[] labels) {
+        return of(prefixes, labelIndexes, LabelPool.of(labels));
+    }
+
+    static boolean isDigitsOnly(String value) {
+        if (value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Collects the prefixes in a trie with ten child slots per node, which is compacted by {@link Builder#build(LabelPool)}.
+     */
+    private static final class Builder {
+        private final int[] children;
+        private final int[] labelIndex;
+        private int nodeCount = 1;
+        private int size = 0;
+
+        private Builder(int maxNodes) {
+            this.children = new int[maxNodes * DIGITS];
+            this.labelIndex = new int[maxNodes];
+            Arrays.fill(labelIndex, NO_LABEL);
+        }
+
+        private void add(String prefix, int label) {
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int index = node * DIGITS + (prefix.charAt(i) - '0');
+                if (children[index] == NO_CHILD) {
+                    children[index] = nodeCount++;
+                }
+                node = children[index];
+            }
+            if (labelIndex[node] == NO_LABEL) {
+                size++;
+            }
+            labelIndex[node] = label;
+        }
+
+        /**
+         * Renumbers the nodes in breadth first order, so the children of each node are stored one after the other.
+         */
+        private NationalLabelTrie build(LabelPool labels) {
+            short[] compactMasks = new short[nodeCount];
+            int[] compactFirstChild = new int[nodeCount];
+            int[] compactLabelIndex = new int[nodeCount];
+            // order[compact index] = index in this builder
+            int[] order = new int[nodeCount];
+            int tail = 1;
+            for (int head = 0; head < tail; head++) {
+                int node = order[head];
+                compactLabelIndex[head] = labelIndex[node];
+                compactFirstChild[head] = tail;
+                int mask = 0;
+                for (int digit = 0; digit < DIGITS; digit++) {
+                    int child = children[node * DIGITS + digit];
+                    if (child != NO_CHILD) {
+                        mask |= 1 << digit;
+                        order[tail++] = child;
+                    }
+                }
+                compactMasks[head] = (short) mask;
+            }
+            return new NationalLabelTrie(compactMasks, compactFirstChild, compactLabelIndex, labels, size);
+        }
+    }
+
+    /**
+     * @param node a node
+     * @param digit digit between 0 and 9
+     * @return the child of the node for that digit or {@link NationalLabelTrie#NO_CHILD}
+     */
+    private int child(int node, int digit) {
+        int mask = childMasks[node];
+        if ((mask & (1 << digit)) == 0) {
+            return NO_CHILD;
+        }
+        return firstChild[node] + Integer.bitCount(mask & ((1 << digit) - 1));
+    }
+
+    /**
+     * Returns the label of the longest prefix the national number starts with.
+     * @param nationalNumber number without the country prefix and without NAC like 61511234567 (for number +4961511234567)
+     * @return a label specifying the NDC location / area (might be city, state or country) or null if no prefix matches
+     */
+    public String findLabel(CharSequence nationalNumber) {
+        return findLabel(nationalNumber, 0);
+    }
+
+    /**
+     * Returns the label of the longest prefix the national number starts with, where the national number is the part
+     * of the given number after the start index - so no substring needs to be created to cut of a country prefix.
+     * @param number number including the national number like +4961511234567
+     * @param start index of the first digit of the national number like 3 (for number +4961511234567)
+     * @return a label specifying the NDC location / area (might be city, state or country) or null if no prefix matches
+     */
+    public String findLabel(CharSequence number, int start) {
+        if (number == null) {
+            return null;
+        }
+        int label = NO_LABEL;
+        int node = 0;
+        for (int i = start; i < number.length(); i++) {
+            int digit = number.charAt(i) - '0';
+            if (digit < 0 || digit >= DIGITS) {
+                break;
+            }
+            node = child(node, digit);
+            if (node == NO_CHILD) {
+                break;
+            }
+            if (labelIndex[node] != NO_LABEL) {
+                label = labelIndex[node];
+            }
+        }
+        return label == NO_LABEL ? null : labels.get(label);
+    }
+
+    /**
+     * Returns the label of the longest prefix the national number starts with.
+     * <p>
+     * Like Google's LibPhoneNumber is storing the national number, it can't represent leading zeros.
+     * </p>
+     * @param nationalNumber number without the country prefix and without NAC like 61511234567L (for number +4961511234567)
+     * @return a label specifying the NDC location / area (might be city, state or country) or null if no prefix matches
+     */
+    public String findLabel(long nationalNumber) {
+        if (nationalNumber < 0) {
+            return null;
+        }
+        long divisor = 1;
+        while (divisor <= nationalNumber / DIGITS) {
+            divisor *= DIGITS;
+        }
+        int label = NO_LABEL;
+        int node = 0;
+        for (; divisor > 0; divisor /= DIGITS) {
+            int digit = (int) ((nationalNumber / divisor) % DIGITS);
+            node = child(node, digit);
+            if (node == NO_CHILD) {
+                break;
+            }
+            if (labelIndex[node] != NO_LABEL) {
+                label = labelIndex[node];
+            }
+        }
+        return label == NO_LABEL ? null : labels.get(label);
+    }
+
+    /**
+     * Lists all prefixes which start with the given prefix - including the prefix itself.
+     * @param prefix number prefix without the country prefix and without NAC, an empty prefix lists all entries
+     * @return sorted map of the prefixes to their label - empty if there is none
+     */
+    public SortedMap<String, String> findLabelsByPrefix(CharSequence prefix) {
+        SortedMap<String, String> result = new TreeMap<>();
+        if (prefix == null) {
+            return result;
+        }
+        int node = 0;
+        for (int i = 0; i < prefix.length(); i++) {
+            int digit = prefix.charAt(i) - '0';
+            if (digit < 0 || digit >= DIGITS) {
+                return result;
+            }
+            node = child(node, digit);
+            if (node == NO_CHILD) {
+                return result;
+            }
+        }
+        collectLabels(node, new StringBuilder(prefix), result);
+        return result;
+    }
+
+    /**
+     * Adds the labels of the given node and all its descendants to the result.
+     * @param node the node to start with
+     * @param prefix the prefix which leads to the node - restored when the method returns
+     * @param result sorted map of prefixes to their labels
+     */
+    private void collectLabels(int node, StringBuilder prefix, SortedMap<String, String> result) {
+        if (labelIndex[node] != NO_LABEL) {
+            result.put(prefix.toString(), labels.get(labelIndex[node]));
+        }
+        for (int digit = 0; digit < DIGITS; digit++) {
+            int child = child(node, digit);
+            if (child != NO_CHILD) {
+                prefix.append((char) ('0' + digit));
+                collectLabels(child, prefix, result);
+                prefix.setLength(prefix.length() - 1);
+            }
+        }
+    }
+
+    /**
+     * @return number of prefixes with a label
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return pool of the labels - might be shared with other tries
+     */
+    public LabelPool getLabelPool() {
+        return labels;
+    }
+
+    /**
+     * @return estimated retained heap of the trie in bytes - without its {@link NationalLabelTrie#getLabelPool()}, which might be shared
+     */
+    public long getRetainedBytesWithoutLabels() {
+        return MemoryEstimate.aligned(MemoryEstimate.OBJECT_HEADER + 4L * MemoryEstimate.REFERENCE + 4)
+                + MemoryEstimate.array(2, childMasks.length) + MemoryEstimate.array(4, firstChild.length) + MemoryEstimate.array(4, labelIndex.length);
+    }
+
+}
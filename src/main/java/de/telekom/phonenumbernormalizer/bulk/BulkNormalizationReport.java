@@ -0,0 +1,124 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import java.util.Collections;
+import java.util.Map;
+
+/**
+ * Immutable statistics of one bulk normalization.
+ *
+ * @see BulkNormalizer
+ */
+public final class BulkNormalizationReport {
+
+    private final long recordCount;
+
+    private final long elapsedNanos;
+
+    private final Map<String, WorkerStatistics> workers;
+
+    BulkNormalizationReport(long recordCount, long elapsedNanos, Map<String, WorkerStatistics> workers) {
+        this.recordCount = recordCount;
+        this.elapsedNanos = elapsedNanos;
+        this.workers = Collections.unmodifiableMap(workers);
+    }
+
+    /**
+     * @return number of normalized records
+     */
+    public long getRecordCount() {
+        return recordCount;
+    }
+
+    /**
+     * @return wall clock time of the whole bulk normalization in nanoseconds
+     */
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+
+    /**
+     * @return normalized records per second of wall clock time
+     */
+    public double getThroughput() {
+        return elapsedNanos == 0 ? 0 : recordCount * 1e9 / elapsedNanos;
+    }
+
+    /**
+     * @return statistics of each worker thread, which has normalized records - keyed by thread name
+     */
+    public Map<String, WorkerStatistics> getWorkers() {
+        return workers;
+    }
+
+    @Override
+    public String toString() {
+        return String.format("BulkNormalizationReport{records=%d, elapsed=%dms, throughput=%.0f/s, workers=%s}",
+                recordCount, elapsedNanos / 1_000_000, getThroughput(), workers.values());
+    }
+
+    /**
+     * Immutable statistics of one worker thread.
+     */
+    public static final class WorkerStatistics {
+
+        private final String workerName;
+
+        private final long recordCount;
+
+        private final long busyNanos;
+
+        WorkerStatistics(String workerName, long recordCount, long busyNanos) {
+            this.workerName = workerName;
+            this.recordCount = recordCount;
+            this.busyNanos = busyNanos;
+        }
+
+        /**
+         * @return name of the worker thread
+         */
+        public String getWorkerName() {
+            return workerName;
+        }
+
+        /**
+         * @return number of records normalized by the worker
+         */
+        public long getRecordCount() {
+            return recordCount;
+        }
+
+        /**
+         * @return time the worker has spent on normalizing in nanoseconds
+         */
+        public long getBusyNanos() {
+            return busyNanos;
+        }
+
+        /**
+         * @return normalized records per second of the worker's busy time
+         */
+        public double getThroughput() {
+            return busyNanos == 0 ? 0 : recordCount * 1e9 / busyNanos;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d records, %.0f/s", workerName, recordCount, getThroughput());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import java.util.List;
+
+/**
+ * Result of a bulk normalization - the normalized numbers in the order of the input records and the statistics.
+ *
+ * @see BulkNormalizer
+ */
+public final class BulkNormalizationResult {
+
+    private final List<String> normalizedNumbers;
+
+    private final BulkNormalizationReport report;
+
+    BulkNormalizationResult(List<String> normalizedNumbers, BulkNormalizationReport report) {
+        this.normalizedNumbers = normalizedNumbers;
+        this.report = report;
+    }
+
+    /**
+     * @return E164 formatted phone numbers or at least dialable versions of the numbers in the order of the input records
+     */
+    public List<String> getNormalizedNumbers() {
+        return normalizedNumbers;
+    }
+
+    /**
+     * @return statistics of the bulk normalization
+     */
+    public BulkNormalizationReport getReport() {
+        return report;
+    }
+}
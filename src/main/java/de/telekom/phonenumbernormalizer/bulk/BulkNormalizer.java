@@ -0,0 +1,254 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import de.telekom.phonenumbernormalizer.ReadOnlyPhoneNumberNormalizer;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import lombok.RequiredArgsConstructor;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Normalizes large amounts of (number, {@link DeviceContext}) records - like whole contact databases after an update of
+ * the number plan metadata - in parallel on a {@link ForkJoinPool}.
+ * <p>
+ * The records are split into batches of at most {@link BulkNormalizer#getBatchSize()} records, which are normalized by the
+ * workers of the pool. Within a batch, consecutive records sharing the same {@link DeviceContext} instance are passed
+ * together to {@link ReadOnlyPhoneNumberNormalizer#normalizePhoneNumbers(List, DeviceContext)}, so the device context is only
+ * evaluated once for them. The result keeps the order of the input records.
+ * </p>
+ * <p>
+ * The given {@link ReadOnlyPhoneNumberNormalizer} is shared by all workers, so it must be thread safe - like
+ * {@link de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl} once its fallback region is set or a {@link de.telekom.phonenumbernormalizer.NormalizerProfile}.
+ * </p>
+ */
+public class BulkNormalizer {
+
+    /**
+     * Number of records normalized by one worker without further splitting, if not configured otherwise.
+     */
+    public static final int DEFAULT_BATCH_SIZE = 1024;
+
+    private final ReadOnlyPhoneNumberNormalizer normalizer;
+
+    private final ForkJoinPool pool;
+
+    private final int batchSize;
+
+    /**
+     * Creates a bulk normalizer using the {@link ForkJoinPool#commonPool()} and the {@link BulkNormalizer#DEFAULT_BATCH_SIZE}.
+     * @param normalizer thread safe normalizer used for each record
+     */
+    public BulkNormalizer(ReadOnlyPhoneNumberNormalizer normalizer) {
+        this(normalizer, ForkJoinPool.commonPool(), DEFAULT_BATCH_SIZE);
+    }
+
+    /**
+     * Creates a bulk normalizer with its own parallelism.
+     * @param normalizer thread safe normalizer used for each record
+     * @param pool the pool, whose workers normalize the records - its parallelism limits the number of used cores
+     * @param batchSize number of records normalized by one worker without further splitting - must be positive
+     */
+    public BulkNormalizer(ReadOnlyPhoneNumberNormalizer normalizer, ForkJoinPool pool, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("batchSize must be positive: " + batchSize);
+        }
+        this.normalizer = Objects.requireNonNull(normalizer, "normalizer");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * @return number of records normalized by one worker without further splitting
+     */
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * @return the pool, whose workers normalize the records
+     */
+    public ForkJoinPool getPool() {
+        return pool;
+    }
+
+    /**
+     * Normalizes all records of the array.
+     * @param records the records to normalize - null elements are not allowed
+     * @param listener receives the progress - called from the worker threads
+     * @return the normalized numbers in the order of the records and the statistics of the run
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)
+     */
+    public BulkNormalizationResult normalizeRecords(NormalizationRecord[] records, BulkProgressListener listener) {
+        Objects.requireNonNull(records, "records");
+        BulkRun run = new BulkRun(records.length, listener);
+        String[] result = new String[records.length];
+        if (records.length > 0) {
+            pool.invoke(new RangeTask(run, records, result, 0, records.length));
+        }
+        return new BulkNormalizationResult(Collections.unmodifiableList(Arrays.asList(result)), run.finish());
+    }
+
+    /**
+     * Normalizes all records of the spliterator - e.g. {@code stream.spliterator()} of a database cursor.
+     * <p>
+     * The records are split as far as the spliterator supports it. A spliterator, which could not be split at all,
+     * is normalized by a single worker.
+     * </p>
+     * @param records the records to normalize - null elements are not allowed
+     * @param listener receives the progress - called from the worker threads
+     * @return the normalized numbers in the encounter order of the records and the statistics of the run
+     *
+     * @see ReadOnlyPhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)
+     */
+    public BulkNormalizationResult normalizeSpliterator(Spliterator<NormalizationRecord> records, BulkProgressListener listener) {
+        Objects.requireNonNull(records, "records");
+        BulkRun run = new BulkRun(records.getExactSizeIfKnown(), listener);
+        List<String[]> chunks = pool.invoke(new SpliteratorTask(run, records));
+        int size = 0;
+        for (String[] chunk : chunks) {
+            size += chunk.length;
+        }
+        List<String> result = new ArrayList<>(size);
+        for (String[] chunk : chunks) {
+            result.addAll(Arrays.asList(chunk));
+        }
+        return new BulkNormalizationResult(Collections.unmodifiableList(result), run.finish());
+    }
+
+    /**
+     * Normalizes the records from index from (inclusive) to index to (exclusive) and writes the results at the same indices.
+     * Consecutive records with the same device context instance are normalized as one batch.
+     */
+    private void normalizeRange(BulkRun run, NormalizationRecord[] records, String[] result, int from, int to) {
+        long start = System.nanoTime();
+        int groupStart = from;
+        while (groupStart < to) {
+            DeviceContext deviceContext = records[groupStart].getDeviceContext();
+            int groupEnd = groupStart + 1;
+            while (groupEnd < to && records[groupEnd].getDeviceContext() == deviceContext) {
+                groupEnd++;
+            }
+            if (groupEnd - groupStart == 1) {
+                result[groupStart] = normalizer.normalizePhoneNumber(records[groupStart].getNumber(), deviceContext);
+            } else {
+                List<String> numbers = new ArrayList<>(groupEnd - groupStart);
+                for (int i = groupStart; i < groupEnd; i++) {
+                    numbers.add(records[i].getNumber());
+                }
+                List<String> normalized = normalizer.normalizePhoneNumbers(numbers, deviceContext);
+                for (int i = 0; i < normalized.size(); i++) {
+                    result[groupStart + i] = normalized.get(i);
+                }
+            }
+            groupStart = groupEnd;
+        }
+        run.record(to - from, System.nanoTime() - start);
+    }
+
+    /**
+     * Splits an index range of the input array in halves until it fits into one batch.
+     */
+    @RequiredArgsConstructor
+    private final class RangeTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BulkRun run;
+        private final NormalizationRecord[] records;
+        private final String[] result;
+        private final int from;
+        private final int to;
+
+        @Override
+        protected void compute() {
+            if (to - from <= batchSize) {
+                normalizeRange(run, records, result, from, to);
+                return;
+            }
+            int middle = (from + to) >>> 1;
+            invokeAll(new RangeTask(run, records, result, from, middle), new RangeTask(run, records, result, middle, to));
+        }
+    }
+
+    /**
+     * Splits a spliterator as long as it is larger than one batch and supports splitting. Each task returns the
+     * normalized numbers of its part as chunks in encounter order, so joining only concatenates the chunk lists.
+     */
+    @RequiredArgsConstructor
+    private final class SpliteratorTask extends RecursiveTask<List<String[]>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final BulkRun run;
+        private final Spliterator<NormalizationRecord> records;
+
+        @Override
+        protected List<String[]> compute() {
+            // each split off prefix precedes the remaining records, so the forked tasks are joined in the order of splitting:
+            List<SpliteratorTask> prefixes = new ArrayList<>();
+            Spliterator<NormalizationRecord> prefix;
+            while (records.estimateSize() > batchSize && (prefix = records.trySplit()) != null) {
+                SpliteratorTask task = new SpliteratorTask(run, prefix);
+                task.fork();
+                prefixes.add(task);
+            }
+            List<String[]> suffix = normalizeRemaining();
+            if (prefixes.isEmpty()) {
+                return suffix;
+            }
+            List<String[]> result = new ArrayList<>();
+            for (SpliteratorTask task : prefixes) {
+                result.addAll(task.join());
+            }
+            result.addAll(suffix);
+            return result;
+        }
+
+        private List<String[]> normalizeRemaining() {
+            List<String[]> chunks = new ArrayList<>();
+            List<NormalizationRecord> batch = new ArrayList<>(batchSize);
+            records.forEachRemaining(nr -> {
+                batch.add(nr);
+                if (batch.size() == batchSize) {
+                    chunks.add(normalizeBatch(batch));
+                    batch.clear();
+                }
+            });
+            if (!batch.isEmpty()) {
+                chunks.add(normalizeBatch(batch));
+            }
+            return chunks;
+        }
+
+        private String[] normalizeBatch(List<NormalizationRecord> batch) {
+            NormalizationRecord[] array = batch.toArray(new NormalizationRecord[0]);
+            String[] result = new String[array.length];
+            normalizeRange(run, array, result, 0, array.length);
+            return result;
+        }
+    }
+
+}
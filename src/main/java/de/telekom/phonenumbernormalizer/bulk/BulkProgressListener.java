@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+/**
+ * Receives the progress of a bulk normalization.
+ * <p>
+ * It is called by the worker threads after each processed batch, so it must be thread safe and should return quickly.
+ * </p>
+ * @see BulkNormalizer
+ */
+@FunctionalInterface
+public interface BulkProgressListener {
+
+    /**
+     * No progress reporting.
+     */
+    BulkProgressListener NONE = (processed, total) -> { };
+
+    /**
+     * Called after a batch of records has been normalized.
+     * @param processed number of records normalized so far
+     * @param total number of all records or -1 if it is not known upfront
+     */
+    void onProgress(long processed, long total);
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import lombok.RequiredArgsConstructor;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Status of one bulk normalization - shared by all its worker tasks, which record each processed batch.
+ *
+ * @see BulkNormalizationReport
+ */
+@RequiredArgsConstructor
+class BulkRun {
+
+    private final long total;
+
+    private final BulkProgressListener listener;
+
+    private final long startNanos = System.nanoTime();
+
+    private final AtomicLong processed = new AtomicLong();
+
+    private final Map<Thread, WorkerCounter> workers = new ConcurrentHashMap<>();
+
+    /**
+     * Records a processed batch of the current worker thread and reports the progress.
+     * @param count number of records of the batch
+     * @param nanos time spent on the batch
+     */
+    void record(int count, long nanos) {
+        WorkerCounter counter = workers.computeIfAbsent(Thread.currentThread(), t -> new WorkerCounter());
+        counter.records.add(count);
+        counter.busyNanos.add(nanos);
+        long done = processed.addAndGet(count);
+        if (listener != null) {
+            listener.onProgress(done, total);
+        }
+    }
+
+    /**
+     * @return the statistics of all recorded batches - to be called after all workers have finished
+     */
+    BulkNormalizationReport finish() {
+        long elapsed = System.nanoTime() - startNanos;
+        Map<String, BulkNormalizationReport.WorkerStatistics> statistics = new HashMap<>();
+        for (Map.Entry<Thread, WorkerCounter> worker : workers.entrySet()) {
+            String name = worker.getKey().getName();
+            statistics.put(name, new BulkNormalizationReport.WorkerStatistics(name,
+                    worker.getValue().records.sum(), worker.getValue().busyNanos.sum()));
+        }
+        return new BulkNormalizationReport(processed.get(), elapsed, statistics);
+    }
+
+    private static final class WorkerCounter {
+        private final LongAdder records = new LongAdder();
+        private final LongAdder busyNanos = new LongAdder();
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+
+import java.util.Objects;
+
+/**
+ * Immutable description of the input files of a {@link FileNormalizer}.
+ * <p>
+ * Each line is one record. For CSV files the columns are separated by a single ASCII character - quoted separators are
+ * not supported. The number column is reduced to its dialable characters anyway, so quotes around it do not matter.
+ * Optional country code and NDC columns are mapped to a {@link de.telekom.phonenumbernormalizer.dto.DeviceContextDto}
+ * with the configured line type - without them the fallback region of the normalizer is used.
+ * </p>
+ * <pre>
+ * FileFormat format = FileFormat.csv(';').withCountryCodeColumn(1).withNationalDestinationCodeColumn(2).withHeader(true);
+ * </pre>
+ */
+public final class FileFormat {
+
+    /**
+     * Column index of an absent column.
+     */
+    public static final int NO_COLUMN = -1;
+
+    private final byte separator;
+
+    private final int numberColumn;
+
+    private final int countryCodeColumn;
+
+    private final int nationalDestinationCodeColumn;
+
+    private final boolean header;
+
+    private final DeviceContextLineType lineType;
+
+    private FileFormat(byte separator, int numberColumn, int countryCodeColumn, int nationalDestinationCodeColumn,
+                       boolean header, DeviceContextLineType lineType) {
+        if (numberColumn < 0 || countryCodeColumn < NO_COLUMN || nationalDestinationCodeColumn < NO_COLUMN) {
+            throw new IllegalArgumentException("invalid column index");
+        }
+        this.separator = separator;
+        this.numberColumn = numberColumn;
+        this.countryCodeColumn = countryCodeColumn;
+        this.nationalDestinationCodeColumn = nationalDestinationCodeColumn;
+        this.header = header;
+        this.lineType = Objects.requireNonNull(lineType, "lineType");
+    }
+
+    /**
+     * Line delimited files, where each line is just a number. The results are appended with a comma.
+     * @return format of line delimited numbers
+     */
+    public static FileFormat lines() {
+        return csv(',');
+    }
+
+    /**
+     * CSV files with the number in the first column and without country code, NDC and header.
+     * @param separator ASCII character separating the columns - also used for the appended result columns
+     * @return format of CSV files
+     */
+    public static FileFormat csv(char separator) {
+        if (separator > 0x7F || separator == '\n' || separator == '\r') {
+            throw new IllegalArgumentException("separator must be an ASCII character other than a line break");
+        }
+        return new FileFormat((byte) separator, 0, NO_COLUMN, NO_COLUMN, false, DeviceContextLineType.UNKNOWN);
+    }
+
+    /**
+     * @param column zero based index of the column containing the number
+     * @return a copy of this format with the given number column
+     */
+    public FileFormat withNumberColumn(int column) {
+        return new FileFormat(separator, column, countryCodeColumn, nationalDestinationCodeColumn, header, lineType);
+    }
+
+    /**
+     * @param column zero based index of the column containing the country code of the device context or {@link FileFormat#NO_COLUMN}
+     * @return a copy of this format with the given country code column
+     */
+    public FileFormat withCountryCodeColumn(int column) {
+        return new FileFormat(separator, numberColumn, column, nationalDestinationCodeColumn, header, lineType);
+    }
+
+    /**
+     * @param column zero based index of the column containing the NDC of the device context or {@link FileFormat#NO_COLUMN}
+     * @return a copy of this format with the given NDC column
+     */
+    public FileFormat withNationalDestinationCodeColumn(int column) {
+        return new FileFormat(separator, numberColumn, countryCodeColumn, column, header, lineType);
+    }
+
+    /**
+     * @param header if the first line is a header, which is copied with the names of the appended columns
+     * @return a copy of this format with the given header setting
+     */
+    public FileFormat withHeader(boolean header) {
+        return new FileFormat(separator, numberColumn, countryCodeColumn, nationalDestinationCodeColumn, header, lineType);
+    }
+
+    /**
+     * @param lineType line-type of all device contexts created from the country code and NDC columns
+     * @return a copy of this format with the given line-type
+     */
+    public FileFormat withLineType(DeviceContextLineType lineType) {
+        return new FileFormat(separator, numberColumn, countryCodeColumn, nationalDestinationCodeColumn, header, lineType);
+    }
+
+    public byte getSeparator() {
+        return separator;
+    }
+
+    public int getNumberColumn() {
+        return numberColumn;
+    }
+
+    public int getCountryCodeColumn() {
+        return countryCodeColumn;
+    }
+
+    public int getNationalDestinationCodeColumn() {
+        return nationalDestinationCodeColumn;
+    }
+
+    public boolean hasHeader() {
+        return header;
+    }
+
+    public DeviceContextLineType getLineType() {
+        return lineType;
+    }
+
+    /**
+     * @return if the records contain any information of the device context
+     */
+    boolean hasDeviceContext() {
+        return countryCodeColumn != NO_COLUMN || nationalDestinationCodeColumn != NO_COLUMN;
+    }
+}
@@ -0,0 +1,409 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import de.telekom.phonenumbernormalizer.CompiledDeviceContext;
+import de.telekom.phonenumbernormalizer.PhoneNumberAreaLabel;
+import de.telekom.phonenumbernormalizer.ReadOnlyPhoneNumberNormalizer;
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto;
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+
+/**
+ * Normalizes CSV or line delimited files of phone numbers and writes each line with the appended E164 result - and
+ * optionally the area label of it - into an output channel.
+ * <p>
+ * The input file is mapped window by window into memory and each window is split at line breaks into chunks, which are
+ * normalized in parallel by the workers of the pool. Their results are written sequentially in the order of the input,
+ * while only a few chunks per worker are in progress. So the used heap does not depend on the size of the file.
+ * The fields of a line are read as bytes and reduced by {@link DialableNumber#of(byte[], int, int)}, so no String is
+ * created for a line before its digits are extracted.
+ * </p>
+ * <p>
+ * The input must be ASCII or UTF-8 with lines separated by LF or CRLF. Empty lines are skipped.
+ * </p>
+ * @see FileFormat
+ */
+public class FileNormalizer {
+
+    /**
+     * Size of the memory mapped windows of the input file, if not configured otherwise - also the maximum length of a line.
+     */
+    public static final int DEFAULT_WINDOW_SIZE = 64 << 20;
+
+    /**
+     * Size of the chunks normalized by one worker, if not configured otherwise.
+     */
+    public static final int DEFAULT_CHUNK_SIZE = 256 << 10;
+
+    private static final byte NEWLINE = '\n';
+
+    private static final byte CARRIAGE_RETURN = '\r';
+
+    /**
+     * Maximum number of country code and NDC digits, which could be encoded in one long key of the device context cache.
+     */
+    private static final int MAX_KEY_DIGITS = 16;
+
+    private static final byte[] NORMALIZED_HEADER = "normalized".getBytes(StandardCharsets.US_ASCII);
+
+    private static final byte[] LABEL_HEADER = "label".getBytes(StandardCharsets.US_ASCII);
+
+    private final ReadOnlyPhoneNumberNormalizer normalizer;
+
+    private final PhoneNumberAreaLabel areaLabel;
+
+    private final FileFormat format;
+
+    private final ForkJoinPool pool;
+
+    private final int windowSize;
+
+    private final int chunkSize;
+
+    /**
+     * Creates a file normalizer using the {@link ForkJoinPool#commonPool()} and the default window and chunk size.
+     * @param normalizer thread safe normalizer used for each line
+     * @param areaLabel thread safe labeling used for an additional label column - null for no label column
+     * @param format description of the input files
+     */
+    public FileNormalizer(ReadOnlyPhoneNumberNormalizer normalizer, PhoneNumberAreaLabel areaLabel, FileFormat format) {
+        this(normalizer, areaLabel, format, ForkJoinPool.commonPool(), DEFAULT_WINDOW_SIZE, DEFAULT_CHUNK_SIZE);
+    }
+
+    /**
+     * Creates a file normalizer with its own parallelism and memory usage.
+     * @param normalizer thread safe normalizer used for each line
+     * @param areaLabel thread safe labeling used for an additional label column - null for no label column
+     * @param format description of the input files
+     * @param pool the pool, whose workers normalize the chunks
+     * @param windowSize size of the memory mapped windows of the input file in bytes - also the maximum length of a line
+     * @param chunkSize size of the chunks normalized by one worker in bytes - must not exceed the window size
+     */
+    public FileNormalizer(ReadOnlyPhoneNumberNormalizer normalizer, PhoneNumberAreaLabel areaLabel, FileFormat format,
+                          ForkJoinPool pool, int windowSize, int chunkSize) {
+        if (chunkSize < 1 || windowSize < chunkSize) {
+            throw new IllegalArgumentException("chunkSize must be positive and must not exceed windowSize");
+        }
+        this.normalizer = Objects.requireNonNull(normalizer, "normalizer");
+        this.areaLabel = areaLabel;
+        this.format = Objects.requireNonNull(format, "format");
+        this.pool = Objects.requireNonNull(pool, "pool");
+        this.windowSize = windowSize;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Normalizes the input file into the output file, which is created or replaced.
+     * @param input path of the CSV or line delimited file
+     * @param output path of the result file
+     * @param listener receives the number of normalized lines - the total is always -1
+     * @return statistics of the normalization
+     * @throws IOException if a file could not be read or written, or a line is longer than the window size
+     */
+    public BulkNormalizationReport normalize(Path input, Path output, BulkProgressListener listener) throws IOException {
+        try (FileChannel in = FileChannel.open(input, StandardOpenOption.READ);
+             FileChannel out = FileChannel.open(output, StandardOpenOption.WRITE, StandardOpenOption.CREATE,
+                     StandardOpenOption.TRUNCATE_EXISTING)) {
+            return normalize(in, out, listener);
+        }
+    }
+
+    /**
+     * Normalizes the input from its start to its end into the output channel.
+     * @param input channel of the CSV or line delimited file
+     * @param output channel the lines with appended results are written to
+     * @param listener receives the number of normalized lines - the total is always -1
+     * @return statistics of the normalization
+     * @throws IOException if the input could not be read or the output could not be written, or a line is longer than the window size
+     */
+    public BulkNormalizationReport normalize(FileChannel input, WritableByteChannel output, BulkProgressListener listener) throws IOException {
+        BulkRun run = new BulkRun(-1, listener);
+        long size = input.size();
+        long position = 0;
+        boolean headerPending = format.hasHeader();
+        while (position < size) {
+            int length = (int) Math.min(windowSize, size - position);
+            MappedByteBuffer window = input.map(FileChannel.MapMode.READ_ONLY, position, length);
+            int end = length;
+            if (position + length < size) {
+                // the window must end with a complete line, the rest is part of the next window:
+                end = lastIndexOf(window, NEWLINE, length) + 1;
+                if (end == 0) {
+                    throw new IOException("line at position " + position + " is longer than " + windowSize + " bytes");
+                }
+            }
+            int start = 0;
+            if (headerPending) {
+                int headerEnd = indexOf(window, NEWLINE, 0, end);
+                start = headerEnd < 0 ? end : headerEnd + 1;
+                write(output, header(window, headerEnd < 0 ? end : headerEnd));
+                headerPending = false;
+            }
+            normalizeWindow(run, window, start, end, output);
+            position += end;
+        }
+        return run.finish();
+    }
+
+    /**
+     * Splits the window into chunks of complete lines, which are normalized in parallel and written in their order.
+     */
+    private void normalizeWindow(BulkRun run, ByteBuffer window, int start, int end, WritableByteChannel output) throws IOException {
+        int maxInProgress = 2 * pool.getParallelism();
+        Deque<ForkJoinTask<OutputChunk>> inProgress = new ArrayDeque<>();
+        int from = start;
+        while (from < end) {
+            int to = Math.min(from + chunkSize, end);
+            if (to < end) {
+                int lineEnd = indexOf(window, NEWLINE, to - 1, end);
+                to = lineEnd < 0 ? end : lineEnd + 1;
+            }
+            int chunkStart = from;
+            int chunkEnd = to;
+            inProgress.add(pool.submit(() -> normalizeChunk(run, window, chunkStart, chunkEnd)));
+            if (inProgress.size() >= maxInProgress) {
+                write(output, inProgress.remove().join().toByteBuffer());
+            }
+            from = to;
+        }
+        while (!inProgress.isEmpty()) {
+            write(output, inProgress.remove().join().toByteBuffer());
+        }
+    }
+
+    /**
+     * Normalizes all lines of the chunk - only absolute reads of the window are used, so it could be shared by the workers.
+     */
+    private OutputChunk normalizeChunk(BulkRun run, ByteBuffer window, int from, int to) {
+        long start = System.nanoTime();
+        OutputChunk out = new OutputChunk(to - from + (to - from) / 2);
+        Map<Long, CompiledDeviceContext> deviceContexts = new HashMap<>();
+        byte[] line = new byte[256];
+        int records = 0;
+        int lineStart = from;
+        while (lineStart < to) {
+            int lineEnd = indexOf(window, NEWLINE, lineStart, to);
+            if (lineEnd < 0) {
+                lineEnd = to;
+            }
+            int contentEnd = lineEnd;
+            if (contentEnd > lineStart && window.get(contentEnd - 1) == CARRIAGE_RETURN) {
+                contentEnd--;
+            }
+            int length = contentEnd - lineStart;
+            if (length > 0) {
+                if (line.length < length) {
+                    line = new byte[Math.max(length, line.length * 2)];
+                }
+                window.get(lineStart, line, 0, length);
+                normalizeLine(line, length, deviceContexts, out);
+                records++;
+            }
+            lineStart = lineEnd + 1;
+        }
+        run.record(records, System.nanoTime() - start);
+        return out;
+    }
+
+    private void normalizeLine(byte[] line, int length, Map<Long, CompiledDeviceContext> deviceContexts, OutputChunk out) {
+        int numberStart = fieldStart(line, length, format.getNumberColumn());
+        DialableNumber number = numberStart < 0
+                ? DialableNumber.of(line, 0, 0)
+                : DialableNumber.of(line, numberStart, fieldEnd(line, length, numberStart) - numberStart);
+        CompiledDeviceContext deviceContext = format.hasDeviceContext() ? deviceContext(line, length, deviceContexts) : null;
+        String normalized = normalizer.normalizeDialableNumberByCompiledContext(number, deviceContext);
+
+        out.write(line, 0, length);
+        out.write(format.getSeparator());
+        if (normalized != null) {
+            out.writeAscii(normalized);
+        }
+        if (areaLabel != null) {
+            out.write(format.getSeparator());
+            if (normalized != null && normalized.startsWith("+")) {
+                areaLabel.getLocationByE164Number(normalized).ifPresent(label -> out.writeBytes(label.getBytes(StandardCharsets.UTF_8)));
+            }
+        }
+        out.write(NEWLINE);
+    }
+
+    /**
+     * Maps the country code and NDC columns of the line to a compiled device context. Lines of the same chunk with the same digits share one instance.
+     */
+    private CompiledDeviceContext deviceContext(byte[] line, int length, Map<Long, CompiledDeviceContext> deviceContexts) {
+        int ccStart = fieldStart(line, length, format.getCountryCodeColumn());
+        int ccEnd = ccStart < 0 ? ccStart : fieldEnd(line, length, ccStart);
+        int ndcStart = fieldStart(line, length, format.getNationalDestinationCodeColumn());
+        int ndcEnd = ndcStart < 0 ? ndcStart : fieldEnd(line, length, ndcStart);
+
+        Long key = deviceContextKey(line, ccStart, ccEnd, ndcStart, ndcEnd);
+        CompiledDeviceContext deviceContext = key == null ? null : deviceContexts.get(key);
+        if (deviceContext == null) {
+            deviceContext = CompiledDeviceContext.of(
+                    new DeviceContextDto(format.getLineType(), digits(line, ccStart, ccEnd), digits(line, ndcStart, ndcEnd)));
+            if (key != null) {
+                deviceContexts.put(key, deviceContext);
+            }
+        }
+        return deviceContext;
+    }
+
+    /**
+     * Encodes the digits of both fields in base 11 - digits as 1 to 10 and 0 as separator between the fields - behind a leading 1.
+     * @return the unique key of the digits or null if there are too many digits
+     */
+    private static Long deviceContextKey(byte[] line, int ccStart, int ccEnd, int ndcStart, int ndcEnd) {
+        long key = 1;
+        int count = 0;
+        for (int i = Math.max(ccStart, 0); i < ccEnd; i++) {
+            if (line[i] >= '0' && line[i] <= '9') {
+                key = key * 11 + (line[i] - '0' + 1);
+                count++;
+            }
+        }
+        key = key * 11;
+        for (int i = Math.max(ndcStart, 0); i < ndcEnd; i++) {
+            if (line[i] >= '0' && line[i] <= '9') {
+                key = key * 11 + (line[i] - '0' + 1);
+                count++;
+            }
+        }
+        return count > MAX_KEY_DIGITS ? null : key;
+    }
+
+    /**
+     * @return the digits of the field or {@link DeviceContext#UNKNOWN_VALUE} if there are none
+     */
+    private static String digits(byte[] line, int start, int end) {
+        StringBuilder result = new StringBuilder(Math.max(end - start, 0));
+        for (int i = Math.max(start, 0); i < end; i++) {
+            if (line[i] >= '0' && line[i] <= '9') {
+                result.append((char) line[i]);
+            }
+        }
+        return result.length() == 0 ? DeviceContext.UNKNOWN_VALUE : result.toString();
+    }
+
+    /**
+     * @return index of the first byte of the column or -1 if the line has less columns
+     */
+    private int fieldStart(byte[] line, int length, int column) {
+        if (column < 0) {
+            return -1;
+        }
+        int start = 0;
+        for (int i = 0; i < column; i++) {
+            int end = fieldEnd(line, length, start);
+            if (end == length) {
+                return -1;
+            }
+            start = end + 1;
+        }
+        return start;
+    }
+
+    /**
+     * @return index of the separator behind the field or the line length for the last field
+     */
+    private int fieldEnd(byte[] line, int length, int start) {
+        byte separator = format.getSeparator();
+        for (int i = start; i < length; i++) {
+            if (line[i] == separator) {
+                return i;
+            }
+        }
+        return length;
+    }
+
+    private ByteBuffer header(ByteBuffer window, int end) {
+        int length = end > 0 && window.get(end - 1) == CARRIAGE_RETURN ? end - 1 : end;
+        OutputChunk out = new OutputChunk(length + 32);
+        for (int i = 0; i < length; i++) {
+            out.write(window.get(i));
+        }
+        out.write(format.getSeparator());
+        out.writeBytes(NORMALIZED_HEADER);
+        if (areaLabel != null) {
+            out.write(format.getSeparator());
+            out.writeBytes(LABEL_HEADER);
+        }
+        out.write(NEWLINE);
+        return out.toByteBuffer();
+    }
+
+    private static int indexOf(ByteBuffer buffer, byte value, int from, int to) {
+        for (int i = from; i < to; i++) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static int lastIndexOf(ByteBuffer buffer, byte value, int to) {
+        for (int i = to - 1; i >= 0; i--) {
+            if (buffer.get(i) == value) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private static void write(WritableByteChannel output, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            output.write(buffer);
+        }
+    }
+
+    /**
+     * Output of one chunk, whose content could be written to a channel without copying.
+     */
+    private static final class OutputChunk extends ByteArrayOutputStream {
+
+        OutputChunk(int size) {
+            super(size);
+        }
+
+        void writeAscii(String value) {
+            for (int i = 0; i < value.length(); i++) {
+                write(value.charAt(i));
+            }
+        }
+
+        ByteBuffer toByteBuffer() {
+            return ByteBuffer.wrap(buf, 0, count);
+        }
+    }
+
+}
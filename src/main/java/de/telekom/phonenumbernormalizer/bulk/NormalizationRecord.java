@@ -0,0 +1,57 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk;
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext;
+
+/**
+ * One input record of a bulk normalization - a number and the device context it is dialled from.
+ * <p>
+ * Records of the same device context should share the same {@link DeviceContext} instance, so the bulk normalization could
+ * evaluate it only once for consecutive records.
+ * </p>
+ * @see BulkNormalizer
+ */
+public final class NormalizationRecord {
+
+    private final String number;
+
+    private final DeviceContext deviceContext;
+
+    public NormalizationRecord(String number, DeviceContext deviceContext) {
+        this.number = number;
+        this.deviceContext = deviceContext;
+    }
+
+    /**
+     * @return plain number to normalize
+     */
+    public String getNumber() {
+        return number;
+    }
+
+    /**
+     * @return information like CC, NDC and line-type from which the number is dialled - might be null
+     */
+    public DeviceContext getDeviceContext() {
+        return deviceContext;
+    }
+
+    @Override
+    public String toString() {
+        return "NormalizationRecord{" + number + ", " + deviceContext + "}";
+    }
+}
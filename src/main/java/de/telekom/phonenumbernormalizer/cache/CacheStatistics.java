@@ -0,0 +1,65 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.cache;
+
+import lombok.Getter;
+
+/**
+ * Immutable snapshot of the counters of a {@link SegmentedLruCache}.
+ */
+@Getter
+public final class CacheStatistics {
+
+    /**
+     * number of lookups, which found a cached value
+     */
+    private final long hitCount;
+
+    /**
+     * number of lookups, which did not find a cached value
+     */
+    private final long missCount;
+
+    /**
+     * number of entries removed because of the size limit
+     */
+    private final long evictionCount;
+
+    /**
+     * number of entries at the time of the snapshot
+     */
+    private final long size;
+
+    public CacheStatistics(long hitCount, long missCount, long evictionCount, long size) {
+        this.hitCount = hitCount;
+        this.missCount = missCount;
+        this.evictionCount = evictionCount;
+        this.size = size;
+    }
+
+    /**
+     * @return share of lookups, which found a cached value - 1.0 if there has not been any lookup yet
+     */
+    public double getHitRate() {
+        long requestCount = hitCount + missCount;
+        return requestCount == 0 ? 1.0 : (double) hitCount / requestCount;
+    }
+
+    @Override
+    public String toString() {
+        return "CacheStatistics{hitCount=" + hitCount + ", missCount=" + missCount + ", evictionCount=" + evictionCount + ", size=" + size + "}";
+    }
+}
@@ -0,0 +1,251 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.cache;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Size bounded, thread safe cache using a segmented LRU eviction policy.
+ * <p>
+ * Entries are distributed by their key hash over independent stripes, so threads only compete for the same lock, if
+ * their keys are in the same stripe. Each stripe is split into a probation and a protected segment:
+ * </p>
+ * <ul>
+ *     <li>new entries are added to the probation segment</li>
+ *     <li>entries which are hit again are promoted to the protected segment</li>
+ *     <li>the least recently used entries of the protected segment are demoted back to the probation segment</li>
+ *     <li>entries are only evicted from the probation segment (as long as it is not empty)</li>
+ * </ul>
+ * So a burst of numbers which are only used once, can't push out the frequently used ones.
+ *
+ * @param <K> type of the keys
+ * @param <V> type of the values
+ */
+public final class SegmentedLruCache<K, V> {
+
+    /**
+     * share of the stripe capacity, which is reserved for the protected segment (in percent)
+     */
+    private static final int PROTECTED_PERCENTAGE = 80;
+
+    /**
+     * upper bound of stripes - more would not reduce lock contention any further
+     */
+    private static final int MAX_STRIPES = 1 << 16;
+
+    private final Stripe<K, V>[] stripes;
+
+    private final int stripeMask;
+
+    private final LongAdder hits = new LongAdder();
+
+    private final LongAdder misses = new LongAdder();
+
+    private final LongAdder evictions = new LongAdder();
+
+    /**
+     * Creates a cache.
+     * @param maximumSize maximum number of entries - must be positive
+     * @param concurrencyLevel expected number of concurrently accessing threads, which is rounded up to a power of two stripes
+     * @throws IllegalArgumentException if maximumSize or concurrencyLevel is not positive
+     */
+    @SuppressWarnings("unchecked")
+    public SegmentedLruCache(int maximumSize, int concurrencyLevel) {
+        if (maximumSize <= 0) {
+            throw new IllegalArgumentException("maximumSize must be positive: " + maximumSize);
+        }
+        if (concurrencyLevel <= 0) {
+            throw new IllegalArgumentException("concurrencyLevel must be positive: " + concurrencyLevel);
+        }
+        int stripeCount = 1;
+        // no more stripes than entries, so each stripe can hold at least one entry
+        while (stripeCount < Math.min(concurrencyLevel, MAX_STRIPES) && stripeCount * 2 <= maximumSize) {
+            stripeCount *= 2;
+        }
+        @SuppressWarnings("unchecked")
+        Stripe<K, V>[] stripes = (Stripe<K, V>[]) new Stripe<?, ?>[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            // distributing the remainder, so the stripes together hold exactly maximumSize entries
+            int capacity = maximumSize / stripeCount + (i < maximumSize % stripeCount ? 1 : 0);
+            stripes[i] = new Stripe<>(capacity);
+        }
+        this.stripes = stripes;
+        this.stripeMask = stripeCount - 1;
+    }
+
+    private Stripe<K, V> stripeFor(Object key) {
+        int h = key.hashCode();
+        // spreading the higher bits, because the mask only uses the lower ones
+        h ^= (h >>> 16);
+        return stripes[h & stripeMask];
+    }
+
+    /**
+     * Returns the cached value of the key.
+     * @param key key of the entry - must not be null
+     * @return the value or null if it is not cached
+     */
+    public V getIfPresent(K key) {
+        V value = stripeFor(key).get(key);
+        if (value == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return value;
+    }
+
+    /**
+     * Adds or replaces a cache entry, which might evict another entry.
+     * @param key key of the entry - must not be null
+     * @param value value of the entry - must not be null
+     */
+    public void put(K key, V value) {
+        evictions.add(stripeFor(key).put(key, value));
+    }
+
+    /**
+     * Returns the cached value of the key or calculates and caches it.
+     * <p>
+     * The value is calculated outside any lock, so concurrent misses of the same key might calculate it more than once.
+     * A null value is not cached.
+     * </p>
+     * @param key key of the entry - must not be null
+     * @param mappingFunction calculates the value for the key
+     * @return the cached or calculated value
+     */
+    public V get(K key, Function<? super K, ? extends V> mappingFunction) {
+        V value = getIfPresent(key);
+        if (value == null) {
+            value = mappingFunction.apply(key);
+            if (value != null) {
+                put(key, value);
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Removes all entries - the statistic counters are kept.
+     */
+    public void invalidateAll() {
+        for (Stripe<K, V> stripe : stripes) {
+            stripe.clear();
+        }
+    }
+
+    /**
+     * @return current number of entries
+     */
+    public long size() {
+        long size = 0;
+        for (Stripe<K, V> stripe : stripes) {
+            size += stripe.size();
+        }
+        return size;
+    }
+
+    /**
+     * @return snapshot of the statistic counters since creation of the cache
+     */
+    public CacheStatistics getStatistics() {
+        return new CacheStatistics(hits.sum(), misses.sum(), evictions.sum(), size());
+    }
+
+    /**
+     * One independent part of the cache, guarded by its own monitor.
+     */
+    private static final class Stripe<K, V> {
+
+        private final int capacity;
+
+        private final int protectedCapacity;
+
+        // access ordered, so the eldest entry is the least recently used one
+        private final LinkedHashMap<K, V> probation = new LinkedHashMap<>(16, 0.75f, true);
+
+        private final LinkedHashMap<K, V> protectedSegment = new LinkedHashMap<>(16, 0.75f, true);
+
+        Stripe(int capacity) {
+            this.capacity = capacity;
+            this.protectedCapacity = capacity * PROTECTED_PERCENTAGE / 100;
+        }
+
+        synchronized V get(K key) {
+            V value = protectedSegment.get(key);
+            if (value != null) {
+                return value;
+            }
+            value = probation.remove(key);
+            if (value != null) {
+                promote(key, value);
+            }
+            return value;
+        }
+
+        /**
+         * @return number of evicted entries
+         */
+        synchronized int put(K key, V value) {
+            if (protectedSegment.containsKey(key)) {
+                protectedSegment.put(key, value);
+                return 0;
+            }
+            probation.put(key, value);
+            int evicted = 0;
+            while (probation.size() + protectedSegment.size() > capacity) {
+                removeEldest(probation.isEmpty() ? protectedSegment : probation);
+                evicted++;
+            }
+            return evicted;
+        }
+
+        private void promote(K key, V value) {
+            if (protectedCapacity == 0) {
+                // stripe is too small for a protected segment
+                probation.put(key, value);
+                return;
+            }
+            protectedSegment.put(key, value);
+            if (protectedSegment.size() > protectedCapacity) {
+                Map.Entry<K, V> eldest = removeEldest(protectedSegment);
+                probation.put(eldest.getKey(), eldest.getValue());
+            }
+        }
+
+        private static <K, V> Map.Entry<K, V> removeEldest(LinkedHashMap<K, V> segment) {
+            Iterator<Map.Entry<K, V>> iterator = segment.entrySet().iterator();
+            Map.Entry<K, V> eldest = iterator.next();
+            Map.Entry<K, V> result = Map.entry(eldest.getKey(), eldest.getValue());
+            iterator.remove();
+            return result;
+        }
+
+        synchronized void clear() {
+            probation.clear();
+            protectedSegment.clear();
+        }
+
+        synchronized int size() {
+            return probation.size() + protectedSegment.size();
+        }
+    }
+
+}
@@ -0,0 +1,70 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.diagnostics;
+
+
+/**
+ * Categories of records, which could not be normalized or labeled as expected - counted by {@link NormalizerDiagnostics}.
+ */
+public enum FailureCategory {
+
+    /**
+     * A number has been rejected by the precheck, because the parser of Google's LibPhoneNumber would certainly reject it.
+     *
+     * @see de.telekom.phonenumbernormalizer.numberplans.ParsePrecheck
+     */
+    NUMBER_REJECTED("number rejected by precheck"),
+
+    /**
+     * A number could not be parsed by Google's LibPhoneNumber.
+     */
+    NUMBER_NOT_PARSEABLE("could not parse normalize number"),
+
+    /**
+     * A number extended by NAC and NDC of the device context could not be parsed by Google's LibPhoneNumber.
+     */
+    EXTENDED_NUMBER_NOT_PARSEABLE("could not parse extended number"),
+
+    /**
+     * An E164 number to be labeled has been rejected by the precheck.
+     */
+    E164_NUMBER_REJECTED("E164 number rejected by precheck"),
+
+    /**
+     * An E164 number to be labeled could not be parsed by Google's LibPhoneNumber.
+     */
+    E164_NUMBER_NOT_PARSEABLE("could not parse E164 number for labeling"),
+
+    /**
+     * The DE fast path normalized a number different to Google's LibPhoneNumber.
+     *
+     * @see de.telekom.phonenumbernormalizer.numberplans.FastPathMode#DIFFERENTIAL
+     */
+    FAST_PATH_MISMATCH("DE fast path differs from Google's LibPhoneNumber");
+
+    private final String description;
+
+    FailureCategory(String description) {
+        this.description = description;
+    }
+
+    /**
+     * @return human-readable description used for logging
+     */
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,234 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.diagnostics;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Aggregates the failures of normalizing and labeling, instead of logging each failed record.
+ * <p>
+ * Each {@link FailureCategory} is counted by a striped counter and keeps a few randomly replaced example numbers, so
+ * concurrently failing records do not contend on a single value. If failures occurred, a summary with the counts and
+ * examples since the last summary is logged at WARN level - at most once per summary interval (default one minute) and
+ * triggered by the next failure, so no background thread is needed.
+ * </p>
+ * <p>
+ * Example numbers are masked by default (only the first {@link NormalizerDiagnostics#UNMASKED_LENGTH} characters are
+ * kept), since they might be personal data. Logging of each failed record - like it was done before - is opt-in via
+ * {@link NormalizerDiagnostics#setPerRecordLogging(boolean)}.
+ * </p>
+ */
+public final class NormalizerDiagnostics {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(NormalizerDiagnostics.class);
+
+    /**
+     * Number of example numbers kept per category.
+     */
+    public static final int SAMPLE_SIZE = 5;
+
+    /**
+     * Number of leading characters of an example number, which are not masked.
+     */
+    public static final int UNMASKED_LENGTH = 4;
+
+    /**
+     * Default for the minimal time between two summaries.
+     */
+    public static final Duration DEFAULT_SUMMARY_INTERVAL = Duration.ofMinutes(1);
+
+    /**
+     * The diagnostics used by the library - declared after the constants, which are used by its initialization.
+     */
+    public static final NormalizerDiagnostics INSTANCE = new NormalizerDiagnostics();
+
+    private final Map<FailureCategory, LongAdder> counters = new EnumMap<>(FailureCategory.class);
+
+    private final Map<FailureCategory, AtomicReferenceArray<String>> samples = new EnumMap<>(FailureCategory.class);
+
+    /**
+     * Counts at the time of the last summary - only accessed within {@link NormalizerDiagnostics#logSummary()}.
+     */
+    private final long[] summarizedCounts = new long[FailureCategory.values().length];
+
+    private volatile boolean perRecordLogging = false;
+
+    private volatile boolean maskSamples = true;
+
+    private volatile long summaryIntervalNanos = DEFAULT_SUMMARY_INTERVAL.toNanos();
+
+    private volatile long lastSummaryNanos = System.nanoTime();
+
+    NormalizerDiagnostics() {
+        for (FailureCategory category : FailureCategory.values()) {
+            counters.put(category, new LongAdder());
+            samples.put(category, new AtomicReferenceArray<>(SAMPLE_SIZE));
+        }
+    }
+
+    /**
+     * Records a failure.
+     * @param category category of the failure
+     * @param number the number, which failed - might be null
+     */
+    public void record(FailureCategory category, String number) {
+        counters.get(category).increment();
+        if (number != null) {
+            samples.get(category).lazySet(ThreadLocalRandom.current().nextInt(SAMPLE_SIZE), number);
+        }
+        if (perRecordLogging) {
+            LOGGER.warn("{}: {}", category.getDescription(), number);
+        }
+        long intervalNanos = summaryIntervalNanos;
+        if (intervalNanos > 0 && System.nanoTime() - lastSummaryNanos >= intervalNanos) {
+            logSummaryIfDue(intervalNanos);
+        }
+    }
+
+    /**
+     * Checks the interval again, so of all threads failing at the end of an interval only the first one logs the summary.
+     */
+    private synchronized void logSummaryIfDue(long intervalNanos) {
+        if (System.nanoTime() - lastSummaryNanos >= intervalNanos) {
+            logSummary();
+        }
+    }
+
+    /**
+     * Logs the counts and examples of all failures since the last summary - if there are any.
+     */
+    public synchronized void logSummary() {
+        lastSummaryNanos = System.nanoTime();
+        StringBuilder summary = new StringBuilder();
+        for (FailureCategory category : FailureCategory.values()) {
+            long count = getCount(category);
+            long delta = count - summarizedCounts[category.ordinal()];
+            summarizedCounts[category.ordinal()] = count;
+            if (delta > 0) {
+                summary.append(summary.length() == 0 ? "" : ", ")
+                        .append(category).append('=').append(delta).append(" (e.g. ")
+                        .append(String.join(" ", getSamples(category))).append(')');
+            }
+        }
+        if (summary.length() > 0) {
+            LOGGER.warn("normalization failures since last summary: {}", summary);
+        }
+    }
+
+    /**
+     * @param category category of the failures
+     * @return number of failures since start or the last {@link NormalizerDiagnostics#reset()}
+     */
+    public long getCount(FailureCategory category) {
+        return counters.get(category).sum();
+    }
+
+    /**
+     * @return snapshot of the numbers of failures for all categories
+     */
+    public Map<FailureCategory, Long> getCounts() {
+        Map<FailureCategory, Long> result = new EnumMap<>(FailureCategory.class);
+        for (FailureCategory category : FailureCategory.values()) {
+            result.put(category, getCount(category));
+        }
+        return Collections.unmodifiableMap(result);
+    }
+
+    /**
+     * @param category category of the failures
+     * @return up to {@link NormalizerDiagnostics#SAMPLE_SIZE} example numbers of the category - masked if {@link NormalizerDiagnostics#setMaskSamples(boolean)} is set
+     */
+    public List<String> getSamples(FailureCategory category) {
+        AtomicReferenceArray<String> categorySamples = samples.get(category);
+        List<String> result = new ArrayList<>(SAMPLE_SIZE);
+        for (int i = 0; i < categorySamples.length(); i++) {
+            String sample = categorySamples.get(i);
+            if (sample != null) {
+                result.add(maskSamples ? mask(sample) : sample);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Resets all counters and examples.
+     */
+    public synchronized void reset() {
+        for (FailureCategory category : FailureCategory.values()) {
+            counters.get(category).reset();
+            AtomicReferenceArray<String> categorySamples = samples.get(category);
+            for (int i = 0; i < categorySamples.length(); i++) {
+                categorySamples.set(i, null);
+            }
+            summarizedCounts[category.ordinal()] = 0;
+        }
+    }
+
+    /**
+     * @param perRecordLogging if each failed record should be logged at WARN level (default false)
+     */
+    public void setPerRecordLogging(boolean perRecordLogging) {
+        this.perRecordLogging = perRecordLogging;
+    }
+
+    /**
+     * @return if each failed record is logged at WARN level
+     */
+    public boolean isPerRecordLogging() {
+        return perRecordLogging;
+    }
+
+    /**
+     * @param maskSamples if example numbers should be masked (default true)
+     */
+    public void setMaskSamples(boolean maskSamples) {
+        this.maskSamples = maskSamples;
+    }
+
+    /**
+     * @param summaryInterval minimal time between two summaries - null, zero or negative disables the summaries
+     */
+    public void setSummaryInterval(Duration summaryInterval) {
+        this.summaryIntervalNanos = summaryInterval == null || summaryInterval.isNegative() ? 0 : summaryInterval.toNanos();
+    }
+
+    /**
+     * Keeps the first {@link NormalizerDiagnostics#UNMASKED_LENGTH} characters - enough for CC or NAC and a part of the NDC - and replaces each other digit by "x".
+     * @param number the number to be masked
+     * @return the masked number
+     */
+    static String mask(String number) {
+        char[] result = number.toCharArray();
+        for (int i = UNMASKED_LENGTH; i < result.length; i++) {
+            if (Character.isDigit(result[i])) {
+                result[i] = 'x';
+            }
+        }
+        return new String(result);
+    }
+}
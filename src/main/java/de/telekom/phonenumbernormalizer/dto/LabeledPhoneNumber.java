@@ -0,0 +1,82 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.dto;
+
+
+import java.util.Objects;
+import java.util.Optional;
+
+/**
+ * Immutable combination of a {@link NormalizationResult} and the location label of the normalized number.
+ *
+ * @see de.telekom.phonenumbernormalizer.PhoneNumberEnricher
+ */
+public final class LabeledPhoneNumber {
+
+    private final NormalizationResult normalizationResult;
+
+    private final String label;
+
+    public LabeledPhoneNumber(NormalizationResult normalizationResult, String label) {
+        this.normalizationResult = Objects.requireNonNull(normalizationResult, "normalizationResult");
+        this.label = label;
+    }
+
+    /**
+     * @return how the number has been normalized including the E164 parts
+     */
+    public NormalizationResult getNormalizationResult() {
+        return normalizationResult;
+    }
+
+    /**
+     * @return E164 formatted phone number or at least a dialable version of the number
+     *
+     * @see NormalizationResult#getNumber()
+     */
+    public String getNumber() {
+        return normalizationResult.getNumber();
+    }
+
+    /**
+     * @return either a national label or if non is available a country label - empty if the number is not E164 formatted
+     */
+    public Optional<String> getLabel() {
+        return Optional.ofNullable(label);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LabeledPhoneNumber)) {
+            return false;
+        }
+        LabeledPhoneNumber that = (LabeledPhoneNumber) o;
+        return normalizationResult.equals(that.normalizationResult) && Objects.equals(label, that.label);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(normalizationResult, label);
+    }
+
+    @Override
+    public String toString() {
+        return "LabeledPhoneNumber{" + normalizationResult + ", label=" + label + "}";
+    }
+}
@@ -0,0 +1,64 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.dto;
+
+
+/**
+ * The enum values define how the number of a {@link NormalizationResult} has been derived from the given number.
+ *
+ * @see NormalizationResult#getKind()
+ */
+public enum NormalizationKind {
+
+    /**
+     * The number already contained the CC or the NAC and NDC - it has been normalized to E164 within the region of the device context or the given region.
+     */
+    E164,
+
+    /**
+     * The number was a local number without NDC - it has been normalized to E164 by adding the NDC of the device context.
+     */
+    NDC_EXTENDED,
+
+    /**
+     * The device context did not provide enough information - the number has been normalized to E164 within the fallback region.
+     *
+     * @see de.telekom.phonenumbernormalizer.PhoneNumberNormalizer#setFallbackRegionCode(String)
+     */
+    FALLBACK_REGION,
+
+    /**
+     * The number is a short number, which is only valid without CC and NDC - it is returned as dialable number.
+     */
+    SHORT_NUMBER,
+
+    /**
+     * The number could not be normalized to E164 - like a local number without known NDC or an invalid number - it is returned as dialable number.
+     */
+    DIALABLE_ONLY,
+
+    /**
+     * The number starts with "+" (already normalized) or "*" (control code, which can't be normalized) - it is returned as dialable number.
+     */
+    SPECIAL_FORMAT;
+
+    /**
+     * @return if numbers of this kind are E164 formatted by the normalizer
+     */
+    public boolean isE164() {
+        return this == E164 || this == NDC_EXTENDED || this == FALLBACK_REGION;
+    }
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.dto;
+
+
+import java.util.Objects;
+
+/**
+ * Immutable result of a normalization, which provides besides the normalized number also how it has been derived and -
+ * for E164 results - its parts, so downstream processing (like labeling) does not need to parse the number again.
+ *
+ * @see de.telekom.phonenumbernormalizer.PhoneNumberNormalizer#normalizePhoneNumberToResult(String, DeviceContext)
+ */
+public final class NormalizationResult {
+
+    private final String number;
+
+    private final NormalizationKind kind;
+
+    private final String regionCode;
+
+    private final int countryCode;
+
+    private final long nationalNumber;
+
+    private final int numberOfLeadingZeros;
+
+    private NormalizationResult(String number, NormalizationKind kind, String regionCode, int countryCode,
+                                long nationalNumber, int numberOfLeadingZeros) {
+        this.number = number;
+        this.kind = Objects.requireNonNull(kind, "kind");
+        this.regionCode = regionCode;
+        this.countryCode = countryCode;
+        this.nationalNumber = nationalNumber;
+        this.numberOfLeadingZeros = numberOfLeadingZeros;
+    }
+
+    /**
+     * Creates the result of a number, which could not be normalized to E164.
+     * @param number the dialable number
+     * @param kind {@link NormalizationKind#SHORT_NUMBER}, {@link NormalizationKind#DIALABLE_ONLY} or {@link NormalizationKind#SPECIAL_FORMAT}
+     * @param regionCode ISO2 code of the region, which number plan has been used - null if none has been used
+     * @return the result without E164 parts
+     */
+    public static NormalizationResult dialable(String number, NormalizationKind kind, String regionCode) {
+        if (kind.isE164()) {
+            throw new IllegalArgumentException("kind of a dialable result: " + kind);
+        }
+        return new NormalizationResult(number, kind, regionCode, 0, 0, 0);
+    }
+
+    /**
+     * Creates the result of a number normalized to E164.
+     * @param e164 the E164 formatted number
+     * @param kind {@link NormalizationKind#E164}, {@link NormalizationKind#NDC_EXTENDED} or {@link NormalizationKind#FALLBACK_REGION}
+     * @param regionCode ISO2 code of the region, which number plan has been used
+     * @param countryCode Country Calling Code of the number
+     * @param nationalNumber national significant number without its leading zeros
+     * @param numberOfLeadingZeros number of zeros before the national number (like for Italian fixed-line numbers)
+     * @return the result with E164 parts
+     */
+    public static NormalizationResult e164(String e164, NormalizationKind kind, String regionCode, int countryCode,
+                                           long nationalNumber, int numberOfLeadingZeros) {
+        if (!kind.isE164()) {
+            throw new IllegalArgumentException("kind of an E164 result: " + kind);
+        }
+        return new NormalizationResult(e164, kind, regionCode, countryCode, nationalNumber, numberOfLeadingZeros);
+    }
+
+    /**
+     * The same value as returned by {@link de.telekom.phonenumbernormalizer.PhoneNumberNormalizer#normalizePhoneNumber(String, DeviceContext)}.
+     * @return E164 formatted phone number or at least a dialable version of the number - null if no number was given
+     */
+    public String getNumber() {
+        return number;
+    }
+
+    /**
+     * @return the E164 formatted number or null if it could not be normalized to E164
+     */
+    public String getE164() {
+        return kind.isE164() ? number : null;
+    }
+
+    /**
+     * @return if the number has been normalized to E164 and its parts are available
+     */
+    public boolean isE164() {
+        return kind.isE164();
+    }
+
+    /**
+     * @return how the number has been derived
+     */
+    public NormalizationKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return ISO2 code of the region, which number plan has been used for the normalization - null if none has been used
+     */
+    public String getRegionCode() {
+        return regionCode;
+    }
+
+    /**
+     * @return Country Calling Code of an E164 result (e.g. 49 for Germany) or 0
+     */
+    public int getCountryCode() {
+        return countryCode;
+    }
+
+    /**
+     * @return national significant number of an E164 result without its leading zeros or 0
+     */
+    public long getNationalNumber() {
+        return nationalNumber;
+    }
+
+    /**
+     * @return number of zeros before {@link NormalizationResult#getNationalNumber()} in the E164 result (like for Italian fixed-line numbers) or 0
+     */
+    public int getNumberOfLeadingZeros() {
+        return numberOfLeadingZeros;
+    }
+
+    /**
+     * The national significant number including its leading zeros - as used by
+     * {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabel#getLocationByNationalNumberAndRegionCode(String, String)}.
+     * @return national significant number of an E164 result or null
+     */
+    public String getNationalSignificantNumber() {
+        if (!kind.isE164()) {
+            return null;
+        }
+        return "0".repeat(numberOfLeadingZeros).concat(String.valueOf(nationalNumber));
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof NormalizationResult)) {
+            return false;
+        }
+        NormalizationResult that = (NormalizationResult) o;
+        return countryCode == that.countryCode && nationalNumber == that.nationalNumber
+                && numberOfLeadingZeros == that.numberOfLeadingZeros && Objects.equals(number, that.number)
+                && kind == that.kind && Objects.equals(regionCode, that.regionCode);
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(number, kind, regionCode, countryCode, nationalNumber, numberOfLeadingZeros);
+    }
+
+    @Override
+    public String toString() {
+        return "NormalizationResult{" + number + ", " + kind + ", region=" + regionCode + "}";
+    }
+}
@@ -0,0 +1,86 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.jfr;
+
+
+import de.telekom.phonenumbernormalizer.metrics.LabelingOutcome;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+import java.util.Optional;
+
+/**
+ * Java Flight Recorder event for a single label lookup of {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl}.
+ * <p>
+ * Only lookups taking longer than the threshold are recorded - it could be changed by the JFR settings
+ * (see phonenumber-normalizer.jfc in the resources). If no recording is running, the event is not even created by the JIT.
+ * </p>
+ * <p>
+ * The number itself is not part of the event, so recordings do not contain personal data.
+ * </p>
+ */
+@Name(AreaLabelLookupEvent.NAME)
+@Label("Area Label Lookup")
+@Category({"Phone Number Normalizer"})
+@Description("Lookup of the area label of an E164 formatted phone number")
+@Threshold("10 ms")
+@StackTrace(false)
+public final class AreaLabelLookupEvent extends jdk.jfr.Event {
+
+    /**
+     * Name of the event used in JFR settings.
+     */
+    public static final String NAME = "de.telekom.phonenumbernormalizer.AreaLabelLookup";
+
+    @Label("Outcome")
+    @Description("How the number has been labeled")
+    String outcome;
+
+    @Label("Country Calling Code")
+    @Description("Country Calling Code of the number - 0 if it has not been determined")
+    int countryCode;
+
+    @Label("Label Found")
+    @Description("If a national or country label has been found")
+    boolean labelFound;
+
+    @Label("Input Length")
+    @Description("Number of characters of the input - 0 if it has been given split into CC and national number")
+    int inputLength;
+
+    /**
+     * Commits the event if it has been enabled and the threshold has been exceeded since {@link #begin()}.
+     * @param outcome how the number has been labeled
+     * @param countryCode Country Calling Code of the number or 0 if it has not been determined
+     * @param inputLength number of characters of the input or 0 if it has been given split into CC and national number
+     * @param label result of the lookup
+     */
+    public void commit(LabelingOutcome outcome, int countryCode, int inputLength, Optional<String> label) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.outcome = outcome.name();
+        this.countryCode = countryCode;
+        this.inputLength = inputLength;
+        this.labelFound = label.isPresent();
+        commit();
+    }
+
+}
@@ -0,0 +1,84 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.jfr;
+
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType;
+import de.telekom.phonenumbernormalizer.dto.NormalizationResult;
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+import jdk.jfr.Threshold;
+
+/**
+ * Java Flight Recorder event for a single normalization of {@link de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl}.
+ * <p>
+ * Only normalizations taking longer than the threshold are recorded - it could be changed by the JFR settings
+ * (see phonenumber-normalizer.jfc in the resources). If no recording is running, the event is not even created by the JIT.
+ * </p>
+ * <p>
+ * The number itself is not part of the event, so recordings do not contain personal data.
+ * </p>
+ */
+@Name(NormalizationEvent.NAME)
+@Label("Phone Number Normalization")
+@Category({"Phone Number Normalizer"})
+@Description("Normalization of a phone number to E164 or a dialable number")
+@Threshold("10 ms")
+@StackTrace(false)
+public final class NormalizationEvent extends jdk.jfr.Event {
+
+    /**
+     * Name of the event used in JFR settings.
+     */
+    public static final String NAME = "de.telekom.phonenumbernormalizer.Normalization";
+
+    @Label("Kind")
+    @Description("How the number has been normalized")
+    String kind;
+
+    @Label("Region")
+    @Description("ISO2 code of the region, which number plan has been used")
+    String regionCode;
+
+    @Label("Line Type")
+    @Description("Line type of the device context - empty if the number has been normalized for a region")
+    String lineType;
+
+    @Label("Input Length")
+    @Description("Number of dialable characters of the input")
+    int inputLength;
+
+    /**
+     * Commits the event if it has been enabled and the threshold has been exceeded since {@link #begin()}.
+     * @param result result of the normalization
+     * @param lineType line type of the device context or null if the number has been normalized for a region
+     * @param dialableNumber the normalized number reduced to its dialable characters
+     */
+    public void commit(NormalizationResult result, DeviceContextLineType lineType, String dialableNumber) {
+        if (!shouldCommit()) {
+            return;
+        }
+        this.kind = result.getKind().name();
+        this.regionCode = result.getRegionCode();
+        this.lineType = lineType == null ? null : lineType.name();
+        this.inputLength = dialableNumber == null ? 0 : dialableNumber.length();
+        commit();
+    }
+
+}
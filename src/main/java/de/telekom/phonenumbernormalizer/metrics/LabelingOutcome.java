@@ -0,0 +1,46 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.metrics;
+
+
+/**
+ * How an E164 number has been labeled by {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl}.
+ */
+public enum LabelingOutcome {
+
+    /**
+     * The number does not start with "+", so it is not labeled.
+     */
+    NOT_E164,
+
+    /**
+     * The number has been split into CC and national number by the Country Calling Code table - without Google's LibPhoneNumber.
+     * <p>
+     * Also used for {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl#getLocationByCountryCodeAndNationalNumber(int, long)}, whose number is already split.
+     * </p>
+     */
+    TABLE_LOOKUP,
+
+    /**
+     * The number has been parsed by Google's LibPhoneNumber.
+     */
+    PARSER,
+
+    /**
+     * The number has been rejected by the precheck, so only a country label could be found by its leading digits.
+     */
+    REJECTED
+}
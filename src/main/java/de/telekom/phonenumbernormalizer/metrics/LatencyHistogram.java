@@ -0,0 +1,125 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.metrics;
+
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free latency histogram with buckets of powers of two nanoseconds - precise enough to see the order of magnitude of
+ * percentiles, but recording only increments one striped counter.
+ */
+public final class LatencyHistogram {
+
+    /**
+     * Bucket i counts durations below 2^i nanoseconds (and at least 2^(i-1)) - the last bucket all longer ones.
+     */
+    private static final int BUCKETS = 40;
+
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+
+    private final LongAdder totalNanos = new LongAdder();
+
+    public LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param durationNanos measured duration - negative values are ignored
+     */
+    public void record(long durationNanos) {
+        if (durationNanos < 0) {
+            return;
+        }
+        buckets[Math.min(64 - Long.numberOfLeadingZeros(durationNanos), BUCKETS - 1)].increment();
+        totalNanos.add(durationNanos);
+    }
+
+    /**
+     * @return number of recorded durations
+     */
+    public long getCount() {
+        long result = 0;
+        for (LongAdder bucket : buckets) {
+            result += bucket.sum();
+        }
+        return result;
+    }
+
+    /**
+     * @return mean of the recorded durations in nanoseconds or 0 if none has been recorded
+     */
+    public double getMeanNanos() {
+        long count = getCount();
+        return count == 0 ? 0 : (double) totalNanos.sum() / count;
+    }
+
+    /**
+     * Approximates a percentile by the upper bound of the bucket it falls into.
+     * @param percentile percentile between 0 and 100 - like 99 for p99
+     * @return upper bound of the bucket in nanoseconds or 0 if nothing has been recorded
+     */
+    public long getPercentileNanos(double percentile) {
+        long[] counts = getBucketCounts();
+        long count = 0;
+        for (long bucketCount : counts) {
+            count += bucketCount;
+        }
+        if (count == 0) {
+            return 0;
+        }
+        long rank = (long) Math.ceil(count * Math.min(Math.max(percentile, 0), 100) / 100.0);
+        long seen = 0;
+        for (int i = 0; i < counts.length; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return getUpperBoundNanos(i);
+            }
+        }
+        return getUpperBoundNanos(BUCKETS - 1);
+    }
+
+    /**
+     * @return snapshot of the counts of all buckets
+     */
+    public long[] getBucketCounts() {
+        long[] result = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            result[i] = buckets[i].sum();
+        }
+        return result;
+    }
+
+    /**
+     * @param bucket index of a bucket
+     * @return exclusive upper bound of the bucket in nanoseconds - {@link Long#MAX_VALUE} for the last one
+     */
+    public static long getUpperBoundNanos(int bucket) {
+        return bucket >= BUCKETS - 1 ? Long.MAX_VALUE : 1L << bucket;
+    }
+
+    /**
+     * Removes all recorded durations.
+     */
+    public void reset() {
+        for (LongAdder bucket : buckets) {
+            bucket.reset();
+        }
+        totalNanos.reset();
+    }
+}
@@ -0,0 +1,105 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.metrics;
+
+
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link NormalizationMetricsListener} publishing the outcomes to a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Micrometer is an optional dependency of this library - this class could only be used, if it is on the classpath.
+ * All meters are registered by the constructor, so reporting an outcome is just a counter increment:
+ * </p>
+ * <ul>
+ *     <li>phonenumber.normalization (tag "kind") - counter of all normalizations</li>
+ *     <li>phonenumber.normalization.latency (tag "kind") - timer of the sampled normalizations</li>
+ *     <li>phonenumber.normalization.parse.failures - counter of numbers, which could not be parsed</li>
+ *     <li>phonenumber.labeling (tags "outcome" and "found") - counter of all labelings</li>
+ *     <li>phonenumber.labeling.latency (tag "outcome") - timer of the sampled labelings</li>
+ * </ul>
+ */
+public final class MicrometerMetricsListener implements NormalizationMetricsListener {
+
+    private final int latencySampleRate;
+
+    private final Map<NormalizationKind, Counter> normalizations = new EnumMap<>(NormalizationKind.class);
+
+    private final Map<NormalizationKind, Timer> normalizationLatencies = new EnumMap<>(NormalizationKind.class);
+
+    private final Map<LabelingOutcome, Counter> labelsFound = new EnumMap<>(LabelingOutcome.class);
+
+    private final Map<LabelingOutcome, Counter> labelsNotFound = new EnumMap<>(LabelingOutcome.class);
+
+    private final Map<LabelingOutcome, Timer> labelingLatencies = new EnumMap<>(LabelingOutcome.class);
+
+    private final Counter parseFailures;
+
+    /**
+     * Registers all meters.
+     * @param registry registry of the meters
+     * @param latencySampleRate on average every n-th operation is measured - 1 for all, 0 for none
+     */
+    public MicrometerMetricsListener(MeterRegistry registry, int latencySampleRate) {
+        this.latencySampleRate = Math.max(0, latencySampleRate);
+        for (NormalizationKind kind : NormalizationKind.values()) {
+            normalizations.put(kind, Counter.builder("phonenumber.normalization").tag("kind", kind.name()).register(registry));
+            normalizationLatencies.put(kind, Timer.builder("phonenumber.normalization.latency").tag("kind", kind.name())
+                    .publishPercentileHistogram().register(registry));
+        }
+        for (LabelingOutcome outcome : LabelingOutcome.values()) {
+            labelsFound.put(outcome, Counter.builder("phonenumber.labeling").tag("outcome", outcome.name()).tag("found", "true").register(registry));
+            labelsNotFound.put(outcome, Counter.builder("phonenumber.labeling").tag("outcome", outcome.name()).tag("found", "false").register(registry));
+            labelingLatencies.put(outcome, Timer.builder("phonenumber.labeling.latency").tag("outcome", outcome.name())
+                    .publishPercentileHistogram().register(registry));
+        }
+        this.parseFailures = Counter.builder("phonenumber.normalization.parse.failures").register(registry);
+    }
+
+    @Override
+    public boolean sampleLatency() {
+        return latencySampleRate == 1 || (latencySampleRate > 1 && ThreadLocalRandom.current().nextInt(latencySampleRate) == 0);
+    }
+
+    @Override
+    public void onNormalization(NormalizationKind kind, long durationNanos) {
+        normalizations.get(kind).increment();
+        if (durationNanos >= 0) {
+            normalizationLatencies.get(kind).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    @Override
+    public void onParseFailure() {
+        parseFailures.increment();
+    }
+
+    @Override
+    public void onLabeling(LabelingOutcome outcome, boolean labelFound, long durationNanos) {
+        (labelFound ? labelsFound : labelsNotFound).get(outcome).increment();
+        if (durationNanos >= 0) {
+            labelingLatencies.get(outcome).record(durationNanos, TimeUnit.NANOSECONDS);
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.metrics;
+
+
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link NormalizationMetricsListener} counting the outcomes with {@link LongAdder}s and optionally recording sampled
+ * latencies per outcome in {@link LatencyHistogram}s.
+ * <p>
+ * Could be registered at a normalizer and an area label at the same time.
+ * </p>
+ */
+public final class NormalizationMetrics implements NormalizationMetricsListener {
+
+    private final int latencySampleRate;
+
+    private final Map<NormalizationKind, LongAdder> normalizations = new EnumMap<>(NormalizationKind.class);
+
+    private final Map<NormalizationKind, LatencyHistogram> normalizationLatencies = new EnumMap<>(NormalizationKind.class);
+
+    private final Map<LabelingOutcome, LongAdder> labelings = new EnumMap<>(LabelingOutcome.class);
+
+    private final Map<LabelingOutcome, LatencyHistogram> labelingLatencies = new EnumMap<>(LabelingOutcome.class);
+
+    private final LongAdder parseFailures = new LongAdder();
+
+    private final LongAdder labelsFound = new LongAdder();
+
+    /**
+     * Creates metrics, which only count the outcomes.
+     */
+    public NormalizationMetrics() {
+        this(0);
+    }
+
+    /**
+     * Creates metrics, which count the outcomes and record the latencies of some of them.
+     * @param latencySampleRate on average every n-th operation is measured - 1 for all, 0 for none
+     */
+    public NormalizationMetrics(int latencySampleRate) {
+        this.latencySampleRate = Math.max(0, latencySampleRate);
+        for (NormalizationKind kind : NormalizationKind.values()) {
+            normalizations.put(kind, new LongAdder());
+            normalizationLatencies.put(kind, new LatencyHistogram());
+        }
+        for (LabelingOutcome outcome : LabelingOutcome.values()) {
+            labelings.put(outcome, new LongAdder());
+            labelingLatencies.put(outcome, new LatencyHistogram());
+        }
+    }
+
+    @Override
+    public boolean sampleLatency() {
+        return latencySampleRate == 1 || (latencySampleRate > 1 && ThreadLocalRandom.current().nextInt(latencySampleRate) == 0);
+    }
+
+    @Override
+    public void onNormalization(NormalizationKind kind, long durationNanos) {
+        normalizations.get(kind).increment();
+        if (durationNanos >= 0) {
+            normalizationLatencies.get(kind).record(durationNanos);
+        }
+    }
+
+    @Override
+    public void onParseFailure() {
+        parseFailures.increment();
+    }
+
+    @Override
+    public void onLabeling(LabelingOutcome outcome, boolean labelFound, long durationNanos) {
+        labelings.get(outcome).increment();
+        if (labelFound) {
+            labelsFound.increment();
+        }
+        if (durationNanos >= 0) {
+            labelingLatencies.get(outcome).record(durationNanos);
+        }
+    }
+
+    /**
+     * @param kind how numbers have been normalized
+     * @return number of normalizations of that kind
+     */
+    public long getNormalizationCount(NormalizationKind kind) {
+        return normalizations.get(kind).sum();
+    }
+
+    /**
+     * @param kind how numbers have been normalized
+     * @return sampled latencies of normalizations of that kind
+     */
+    public LatencyHistogram getNormalizationLatencies(NormalizationKind kind) {
+        return normalizationLatencies.get(kind);
+    }
+
+    /**
+     * @return number of numbers, which could not be parsed by Google's LibPhoneNumber during normalization
+     */
+    public long getParseFailureCount() {
+        return parseFailures.sum();
+    }
+
+    /**
+     * @param outcome how numbers have been labeled
+     * @return number of labelings with that outcome
+     */
+    public long getLabelingCount(LabelingOutcome outcome) {
+        return labelings.get(outcome).sum();
+    }
+
+    /**
+     * @return number of labelings, which have found a label
+     */
+    public long getLabelFoundCount() {
+        return labelsFound.sum();
+    }
+
+    /**
+     * @param outcome how numbers have been labeled
+     * @return sampled latencies of labelings with that outcome
+     */
+    public LatencyHistogram getLabelingLatencies(LabelingOutcome outcome) {
+        return labelingLatencies.get(outcome);
+    }
+
+    /**
+     * Resets all counters and histograms.
+     */
+    public void reset() {
+        normalizations.values().forEach(LongAdder::reset);
+        normalizationLatencies.values().forEach(LatencyHistogram::reset);
+        labelings.values().forEach(LongAdder::reset);
+        labelingLatencies.values().forEach(LatencyHistogram::reset);
+        parseFailures.reset();
+        labelsFound.reset();
+    }
+}
@@ -0,0 +1,68 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.metrics;
+
+
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind;
+
+/**
+ * Listener for the outcome and the duration of each normalization and labeling - e.g. to see which branches the production traffic takes.
+ * <p>
+ * A listener is registered by {@link de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl#setMetricsListener(NormalizationMetricsListener)}
+ * and {@link de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl#setMetricsListener(NormalizationMetricsListener)}.
+ * Without a listener, no outcome is evaluated and no time is taken.
+ * </p>
+ * <p>
+ * The methods are called by all normalizing threads concurrently, so implementations must be thread-safe and should be as
+ * cheap as a counter increment - like {@link NormalizationMetrics} or {@link MicrometerMetricsListener}.
+ * </p>
+ */
+public interface NormalizationMetricsListener {
+
+    /**
+     * Called before each normalization or labeling, to decide if its duration should be measured.
+     * <p>
+     * Taking the time costs two calls of {@link System#nanoTime()}, so a listener could just sample some operations.
+     * </p>
+     * @return if the duration of the next operation should be measured - default false
+     */
+    default boolean sampleLatency() {
+        return false;
+    }
+
+    /**
+     * Called after each normalization with a device context or a region code.
+     * @param kind how the number has been normalized
+     * @param durationNanos duration of the normalization or -1 if it has not been sampled
+     */
+    void onNormalization(NormalizationKind kind, long durationNanos);
+
+    /**
+     * Called if a number could not be parsed by Google's LibPhoneNumber (or has been rejected by the precheck) during a normalization.
+     * <p>
+     * The normalization itself is reported too - usually as {@link NormalizationKind#DIALABLE_ONLY}.
+     * </p>
+     */
+    void onParseFailure();
+
+    /**
+     * Called after each labeling of an E164 number.
+     * @param outcome how the number has been labeled
+     * @param labelFound if a label has been found
+     * @param durationNanos duration of the labeling or -1 if it has not been sampled
+     */
+    void onLabeling(LabelingOutcome outcome, boolean labelFound, long durationNanos);
+}
@@ -0,0 +1,255 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.google.i18n.phonenumbers.Phonemetadata;
+import de.telekom.phonenumbernormalizer.arealabels.NationalLabelTrie;
+import de.telekom.phonenumbernormalizer.diagnostics.FailureCategory;
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Normalization of plain German numbers dialled from a German device context without Google's LibPhoneNumber.
+ * <p>
+ * It handles only the common, unambiguous cases of a number, which is made only of digits:
+ * </p>
+ * <ul>
+ *     <li>"0049" + NDC + SN becomes "+49" + NDC + SN</li>
+ *     <li>NAC "0" + NDC + SN becomes "+49" + NDC + SN</li>
+ *     <li>a short number of the {@link NumberPlan} stays as it is</li>
+ *     <li>a local SN becomes "+49" + NDC of the device context + SN</li>
+ * </ul>
+ * <p>
+ * Only numbers with NDCs of the precompiled NDC table (the keys of the German area labels plus the mobile ranges 15, 16 and 17)
+ * and with a national number length, which Google's LibPhoneNumber accepts as possible for Germany, are handled.
+ * For all other numbers (e.g. other international numbers or local numbers starting with "49", which Google's LibPhoneNumber
+ * might interpret as CC) null is returned, so the caller has to hand off to {@link PhoneLibWrapper}.
+ * </p>
+ * @see FastPathMode
+ */
+public final class DeNumberPlanFastPath {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(DeNumberPlanFastPath.class);
+
+    /**
+     * Constant for German Country Calling Code
+     */
+    public static final String COUNTRY_CODE = "49";
+
+    /**
+     * German region code
+     */
+    public static final String REGION_CODE = "DE";
+
+    private static final String E164_PREFIX = "+" + COUNTRY_CODE;
+
+    private static final String INTERNATIONAL_PREFIX = "00" + COUNTRY_CODE;
+
+    /**
+     * German NDCs are provided by the area label resource, which is keyed by NDC (without NAC)
+     */
+    private static final String NDC_RESOURCE = "arealabels/nationallabels/de.json";
+
+    /**
+     * Mobile NDCs are not part of the area labels, but all of them start with one of these prefixes
+     */
+    private static final String[] MOBILE_NDC_PREFIXES = {"15", "16", "17"};
+
+    /**
+     * Google's LibPhoneNumber does not accept national significant numbers longer than this.
+     */
+    private static final int MAX_LENGTH_FOR_NSN = 17;
+
+    private static final DeNumberPlanFastPath INSTANCE = new DeNumberPlanFastPath(loadNationalDestinationCodes(),
+            RegionMetadataRegistry.INSTANCE.getMetadataForRegion(REGION_CODE));
+
+    /**
+     * Known NDC prefixes - used only to check if a number starts with one of them
+     */
+    private final NationalLabelTrie nationalDestinationCodes;
+
+    /**
+     * Index is the length of a national significant number, value is if Google's LibPhoneNumber accepts that length for Germany
+     */
+    private final boolean[] possibleNationalLengths = new boolean[MAX_LENGTH_FOR_NSN + 1];
+
+    private final LongAdder handled = new LongAdder();
+
+    private final LongAdder handedOff = new LongAdder();
+
+    private final LongAdder mismatches = new LongAdder();
+
+    DeNumberPlanFastPath(NationalLabelTrie nationalDestinationCodes, Phonemetadata.PhoneMetadata metadata) {
+        this.nationalDestinationCodes = nationalDestinationCodes;
+        if (metadata == null || !metadata.hasGeneralDesc()) {
+            LOGGER.warn("no metadata for {} available - fast path will hand off all numbers", REGION_CODE);
+            return;
+        }
+        // Google's LibPhoneNumber only strips the NAC, if the remaining number has a possible length, which is not only local.
+        List<Integer> localOnlyLengths = metadata.getGeneralDesc().getPossibleLengthLocalOnlyList();
+        for (Integer length : metadata.getGeneralDesc().getPossibleLengthList()) {
+            if (length < possibleNationalLengths.length && !localOnlyLengths.contains(length)) {
+                possibleNationalLengths[length] = true;
+            }
+        }
+    }
+
+    /**
+     * @return the fast path using the German NDCs of the area label resource
+     */
+    public static DeNumberPlanFastPath getInstance() {
+        return INSTANCE;
+    }
+
+    private static NationalLabelTrie loadNationalDestinationCodes() {
+        Map<Object, Object> ndcs = new HashMap<>();
+        try (InputStream in = DeNumberPlanFastPath.class.getClassLoader().getResourceAsStream(NDC_RESOURCE)) {
+            if (in == null) {
+                LOGGER.warn("NDC resource {} not found - fast path will only handle mobile numbers", NDC_RESOURCE);
+            } else {
+                ndcs.putAll((Map<?, ?>) new ObjectMapper().readValue(in, List.class).get(0));
+            }
+        } catch (Exception e) {
+            LOGGER.warn("could not read NDC resource {} - fast path will only handle mobile numbers", NDC_RESOURCE);
+            LOGGER.debug("{}", e.getMessage());
+        }
+        for (String mobilePrefix : MOBILE_NDC_PREFIXES) {
+            ndcs.put(mobilePrefix, "mobile");
+        }
+        return NationalLabelTrie.of(ndcs);
+    }
+
+    /**
+     * Normalizes a dialable number for a German device context, if it is a common case.
+     * @param dialableNumber the number reduced to its dialable characters
+     * @param nationalDestinationCode NDC of the device context
+     * @param numberPlan number plan of the device context (German fixed-line rules)
+     * @return E164 formatted or (for short numbers) dialable number - or null if the number has to be normalized by {@link PhoneLibWrapper}
+     */
+    public String normalize(String dialableNumber, String nationalDestinationCode, NumberPlan numberPlan) {
+        String result = this.tryNormalize(dialableNumber, nationalDestinationCode, numberPlan);
+        if (result == null) {
+            handedOff.increment();
+        } else {
+            handled.increment();
+        }
+        return result;
+    }
+
+    private String tryNormalize(String number, String ndc, NumberPlan numberPlan) {
+        if (number == null || numberPlan == null || !isDigitsOnly(number, 0)) {
+            return null;
+        }
+        int length = number.length();
+
+        if (number.startsWith(INTERNATIONAL_PREFIX)) {
+            // 0049 + NDC + SN
+            int nationalLength = length - INTERNATIONAL_PREFIX.length();
+            if (nationalLength < 2 || nationalLength > MAX_LENGTH_FOR_NSN || number.charAt(INTERNATIONAL_PREFIX.length()) == '0'
+                    || !isKnownNdc(number, INTERNATIONAL_PREFIX.length())
+                    || numberPlan.isMatchingShortNumber(number)) {
+                return null;
+            }
+            return E164_PREFIX.concat(number.substring(INTERNATIONAL_PREFIX.length()));
+        }
+
+        if (number.charAt(0) == '0') {
+            // 0 + NDC + SN, but not any other international number
+            if (length < 2 || number.charAt(1) == '0' || !possibleNationalLengths[Math.min(length - 1, MAX_LENGTH_FOR_NSN)]
+                    || !isKnownNdc(number, 1) || numberPlan.isMatchingShortNumber(number)) {
+                return null;
+            }
+            return E164_PREFIX.concat(number.substring(1));
+        }
+
+        // local number - Google's LibPhoneNumber might take a leading 49 as country code
+        if (length < 2 || length > MAX_LENGTH_FOR_NSN || number.startsWith(COUNTRY_CODE)) {
+            return null;
+        }
+        if (numberPlan.isMatchingShortNumber(number)) {
+            return number;
+        }
+        if (ndc == null || ndc.isEmpty() || ndc.charAt(0) == '0' || !isDigitsOnly(ndc, 0) || !isKnownNdc(ndc, 0)
+                || !possibleNationalLengths[Math.min(ndc.length() + length, MAX_LENGTH_FOR_NSN)]) {
+            return null;
+        }
+        return E164_PREFIX.concat(ndc).concat(number);
+    }
+
+    private boolean isKnownNdc(String number, int start) {
+        return nationalDestinationCodes.findLabel(number, start) != null;
+    }
+
+    private static boolean isDigitsOnly(String value, int start) {
+        if (value.length() <= start) {
+            return false;
+        }
+        for (int i = start; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Counts a difference between the fast path and the normalization with Google's LibPhoneNumber and records it as
+     * {@link FailureCategory#FAST_PATH_MISMATCH} - so it is logged masked and rate limited like other failed records.
+     * @param number the dialable number
+     * @param fastPathResult result of the fast path - only logged by the per record logging of {@link NormalizerDiagnostics}
+     * @param expectedResult result of the normalization with Google's LibPhoneNumber - only logged by the per record logging of {@link NormalizerDiagnostics}
+     *
+     * @see FastPathMode#DIFFERENTIAL
+     */
+    public void reportMismatch(String number, String fastPathResult, String expectedResult) {
+        mismatches.increment();
+        NormalizerDiagnostics.INSTANCE.record(FailureCategory.FAST_PATH_MISMATCH, number);
+        if (NormalizerDiagnostics.INSTANCE.isPerRecordLogging()) {
+            LOGGER.warn("DE fast path result: {} expected: {}", fastPathResult, expectedResult);
+        }
+    }
+
+    /**
+     * @return number of numbers, which have been normalized by the fast path
+     */
+    public long getHandledCount() {
+        return handled.sum();
+    }
+
+    /**
+     * @return number of numbers, which have been handed off to Google's LibPhoneNumber
+     */
+    public long getHandedOffCount() {
+        return handedOff.sum();
+    }
+
+    /**
+     * @return number of differences found in {@link FastPathMode#DIFFERENTIAL}
+     */
+    public long getMismatchCount() {
+        return mismatches.sum();
+    }
+
+}
@@ -0,0 +1,204 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+
+import java.nio.ByteBuffer;
+import java.util.Objects;
+
+/**
+ * A given number reduced to the characters which could be dialed, together with its classification.
+ * <p>
+ * This is the intermediate state of a normalization, so the reduction and the check for a special format is only done once,
+ * even if the number is analyzed against the number plans of several regions.
+ * </p>
+ * <p>
+ * The reduction keeps the same characters as PhoneNumberUtil.normalizeDiallableCharsOnly of Google's LibPhoneNumber (digits, "+", "*" and "#"),
+ * but reads them in one pass from a {@link CharSequence} or from ASCII bytes into a reusable buffer of the current thread.
+ * So only the resulting number is created as String - and not even that, if a given String is already dialable.
+ * </p>
+ * @see PhoneLibWrapper#PhoneLibWrapper(DialableNumber, String, com.google.i18n.phonenumbers.Phonemetadata.PhoneMetadata)
+ */
+public final class DialableNumber {
+
+    /**
+     * Representation of a null number.
+     */
+    private static final DialableNumber NULL_NUMBER = new DialableNumber(null, false);
+
+    /**
+     * The given number reduced to characters which could be dialed or null if no number was given.
+     */
+    private final String number;
+
+    /**
+     * If the number has a special format, which makes normalization unable / not necessary.
+     *
+     * @see PhoneLibWrapper#isSpecialFormat(String)
+     */
+    private final boolean specialFormat;
+
+    /**
+     * Reusable buffer of the current thread for the reduction - grows with the longest number reduced by the thread.
+     */
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[32]);
+
+    private DialableNumber(String number, boolean specialFormat) {
+        this.number = number;
+        this.specialFormat = specialFormat;
+    }
+
+    /**
+     * Reduces a number to its dialable characters and classifies it.
+     *
+     * @param number the phone number to be analyzed
+     * @return the dialable representation of the number
+     */
+    public static DialableNumber of(CharSequence number) {
+        if (number == null) {
+            return NULL_NUMBER;
+        }
+        int length = number.length();
+        char[] buffer = buffer(length);
+        int dialableLength = 0;
+        for (int i = 0; i < length; i++) {
+            char c = number.charAt(i);
+            if (isDialable(c)) {
+                buffer[dialableLength++] = c;
+            }
+        }
+        if (dialableLength == length && number instanceof String) {
+            // nothing has been removed, so the given String could be used
+            return create((String) number, dialableLength, buffer);
+        }
+        return create(null, dialableLength, buffer);
+    }
+
+    /**
+     * Reduces a number given as ASCII (or UTF-8) bytes to its dialable characters and classifies it.
+     * <p>
+     * All dialable characters are ASCII, so any other bytes (including those of multibyte characters) are just removed.
+     * </p>
+     * @param bytes array containing the phone number to be analyzed
+     * @param offset index of the first byte of the number
+     * @param length number of bytes of the number
+     * @return the dialable representation of the number
+     * @throws IndexOutOfBoundsException if offset and length are not within the array
+     */
+    public static DialableNumber of(byte[] bytes, int offset, int length) {
+        if (bytes == null) {
+            return NULL_NUMBER;
+        }
+        Objects.checkFromIndexSize(offset, length, bytes.length);
+        char[] buffer = buffer(length);
+        int dialableLength = 0;
+        for (int i = offset; i < offset + length; i++) {
+            char c = (char) bytes[i];
+            if (isDialable(c)) {
+                buffer[dialableLength++] = c;
+            }
+        }
+        return create(null, dialableLength, buffer);
+    }
+
+    /**
+     * Reduces a number given as ASCII (or UTF-8) bytes to its dialable characters and classifies it.
+     * <p>
+     * The number is read from the remaining bytes of the buffer - without changing its position.
+     * </p>
+     * @param bytes buffer whose remaining bytes are the phone number to be analyzed
+     * @return the dialable representation of the number
+     *
+     * @see DialableNumber#of(byte[], int, int)
+     */
+    public static DialableNumber of(ByteBuffer bytes) {
+        if (bytes == null) {
+            return NULL_NUMBER;
+        }
+        if (bytes.hasArray()) {
+            return of(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+        }
+        int length = bytes.remaining();
+        char[] buffer = buffer(length);
+        int dialableLength = 0;
+        for (int i = bytes.position(); i < bytes.limit(); i++) {
+            char c = (char) bytes.get(i);
+            if (isDialable(c)) {
+                buffer[dialableLength++] = c;
+            }
+        }
+        return create(null, dialableLength, buffer);
+    }
+
+    /**
+     * Creates the dialable number of the reduced characters, classifying it by its first character.
+     * @param number String representation of the buffer content if already available, otherwise null
+     * @param length number of dialable characters in the buffer
+     * @param buffer reduced characters
+     * @return the dialable representation of the number
+     */
+    private static DialableNumber create(String number, int length, char[] buffer) {
+        // +: Number is already in "+" ... International Format
+        // *: Number is internal and cannot be normalized
+        boolean specialFormat = length > 0 && (buffer[0] == '+' || buffer[0] == '*');
+        return new DialableNumber(number != null ? number : new String(buffer, 0, length), specialFormat);
+    }
+
+    /**
+     * @param c character of a phone number
+     * @return if it is a digit, "+", "*" or "#"
+     */
+    private static boolean isDialable(char c) {
+        return (c >= '0' && c <= '9') || c == '+' || c == '*' || c == '#';
+    }
+
+    private static char[] buffer(int length) {
+        char[] buffer = BUFFER.get();
+        if (buffer.length < length) {
+            buffer = new char[Math.max(length, buffer.length * 2)];
+            BUFFER.set(buffer);
+        }
+        return buffer;
+    }
+
+    /**
+     * The given number reduced to characters which could be dialed
+     *
+     * @return dialable characters of the number, an empty string if there are none, or null if no number was given.
+     */
+    public String getNumber() {
+        return number;
+    }
+
+    /**
+     * If the number starts with "+" (already normalized) or "*" (control code, which can't be normalized).
+     *
+     * @return if the dialable number has a special format
+     */
+    public boolean isSpecialFormat() {
+        return specialFormat;
+    }
+
+    /**
+     * If Google's LibPhoneNumber should be used to parse the number - so it is neither null, empty nor in a special format.
+     *
+     * @return if the number needs normalization
+     */
+    public boolean isNormalizable() {
+        return number != null && !number.isEmpty() && !specialFormat;
+    }
+
+}
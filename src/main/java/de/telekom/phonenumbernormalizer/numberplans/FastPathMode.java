@@ -0,0 +1,42 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+/**
+ * Modes of a normalization fast path, which is bypassing Google's LibPhoneNumber for common cases.
+ *
+ * @see DeNumberPlanFastPath
+ */
+public enum FastPathMode {
+
+    /**
+     * The fast path is not used - all numbers are normalized with Google's LibPhoneNumber.
+     */
+    OFF,
+
+    /**
+     * The result of the fast path is used, if it can handle the number.
+     */
+    ON,
+
+    /**
+     * Both ways are used and differences are counted and logged, but the result of Google's LibPhoneNumber is used.
+     * <p>
+     * This is meant to verify the fast path against the existing normalization on real traffic or large corpora.
+     * </p>
+     */
+    DIFFERENTIAL
+}
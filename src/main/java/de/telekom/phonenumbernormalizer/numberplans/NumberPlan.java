@@ -20,9 +20,6 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Map;
-import java.util.Collections;
-import java.util.Optional;
-import java.util.Comparator;
 
 
 /**
@@ -49,6 +46,7 @@ public abstract class NumberPlan {
      * <li>e.g. "1100"; 5 - the total length is longer than the length of the prefix, so all number from 11000 to 11009 are covered</li>
      * <li>e.g. both rules above can be combined, because longer prefixes are evaluated first, so that partial ranges of rules with shorter prefix can be overridden.</li>
      * </ul>
+     * The rules are compiled once on first use, so the returned map must not change afterwards.
      * @return Map of rules for the short codes
      *
      * @see NumberPlan#isNumberPlanValid()
@@ -67,6 +65,13 @@ public abstract class NumberPlan {
         return null;
     }
 
+    /**
+     * The rules of {@link NumberPlan#getShortNumberCodes()} compiled into a trie on first use.
+     *
+     * @see NumberPlan#getShortNumberTrie()
+     */
+    private volatile ShortNumberTrie shortNumberTrie;
+
     /**
      * Checks if a number is matching any a short number rule of the current number plan.
      *
@@ -75,129 +80,82 @@ public abstract class NumberPlan {
      */
     public boolean isMatchingShortNumber(String number) {
 
+        ShortNumberTrie trie = this.getShortNumberTrie();
+
         // first check if we have rules at all
-        if (this.getShortNumberCodes() == null) {
+        if (trie == ShortNumberTrie.EMPTY) {
             LOGGER.debug("no short number code rules available");
             return false;
         }
 
         // check if the number is in the length range of short numbers defined by the rules.
-        int minShortNumberLength = this.getMinShortNumberLength();
-        int maxShortNumberLength = this.getMaxShortNumberLength();
-
-        if (number.length() < minShortNumberLength) {
+        if (number.length() < trie.getMinLength()) {
             LOGGER.debug("no short number, to short number: {}", number);
             return false;
         }
 
-        if (number.length() > maxShortNumberLength) {
+        if (number.length() > trie.getMaxLength()) {
             LOGGER.debug("no short number, too long number: {}", number);
             return false;
         }
 
-
-        // check if the number is starting with a prefix defined in the rule
-        int minShortNumberKeyLength = this.getMinShortNumberKeyLength();
-        int maxShortNumberKeyLength = this.getMaxShortNumberKeyLength();
-
-        Integer validShortNumberLength;
-
-        // starting prefix check with the longest prefix, so overlapping prefixes could be realized
+        // the trie is returning the rule with the longest prefix, so overlapping prefixes could be realized
         // e.g. 1180 is in Germany a starting prefix for a 6 digit short number while 1181 - 1189 is in Germany a starting
         // prefix for a 5 digits number and could be summed up by 118 and only 1180 is overriding this prefix part.
-        for (int i = maxShortNumberKeyLength; i >= minShortNumberKeyLength; i--) {
-            if (number.length() >= i) {
-                String shortNumber = number.substring(0, i);
-                if (this.getShortNumberCodes().containsKey(shortNumber)) {
-                    validShortNumberLength = this.getShortNumberCodes().get(shortNumber);
-                    return number.length() == validShortNumberLength;
-                }
-            }
-        }
-
-        LOGGER.debug("no short number, to code found for number: {}", number);
-        return false;
-    }
-
-    /**
-     * Returns the length of the shortest configured short Number within the rules.
-     *
-     * @return the length of the shortest short Number within the rules or 0 if no rule exists
-     *
-     * @see NumberPlan#getShortNumberCodes()
-     */
-    private int getMinShortNumberLength() {
-        if (getShortNumberCodes() != null) {
-            return Collections.min(getShortNumberCodes().values());
-        } else return 0;
-    }
-
-    /**
-     * Returns the length of the shortest prefix within the rules.
-     *
-     * @return the length of the shortest prefix within the rules or 0 if no rule exists
-     *
-     * @see NumberPlan#getShortNumberCodes()
-     */
-    private int getMinShortNumberKeyLength() {
-        if (getShortNumberCodes() != null) {
-            Optional<String> minKey = getShortNumberCodes().keySet().stream()
-                    .min(Comparator.comparing(String::length));
-            if (minKey.isPresent()) {
-                return minKey.get().length();
-            }
+        ShortNumberRule rule = trie.findLongestPrefixRule(number);
+        if (rule == null) {
+            LOGGER.debug("no short number, to code found for number: {}", number);
+            return false;
         }
-        return 0;
+        return rule.isMatchingLength(number);
     }
 
-
     /**
-     * Returns the length of the longest configured short Number within the rules.
-     *
-     * @return the length of the longest short Number within the rules or 0 if no rule exists
-     *
-     * @see NumberPlan#getShortNumberCodes()
+     * Finds the short number rule with the longest prefix of the given number - without any allocation.
+     * <p>
+     * The length of the number is not checked, so the number is a short number only if {@link ShortNumberRule#isMatchingLength(CharSequence)} is true.
+     * </p>
+     * @param number - dialable number that should be checked against the number plan
+     * @return the matching rule with its required length or null if no rule matches
      */
-    private int getMaxShortNumberLength() {
-        if (getShortNumberCodes() != null) {
-            return Collections.max(getShortNumberCodes().values());
-        } else return 0;
+    public ShortNumberRule getShortNumberRule(CharSequence number) {
+        return this.getShortNumberTrie().findLongestPrefixRule(number);
     }
 
     /**
-     * Returns the length of the longest prefix within the rules.
+     * Returns the compiled rules - compiling them on first use, since subclasses provide them by an overridden method.
+     * <p>
+     * Inconsistent rules do not fail here, to stay as tolerant as matching has been before, but they are logged.
+     * </p>
+     * @return trie of {@link NumberPlan#getShortNumberCodes()}
      *
-     * @return the length of the longest prefix within the rules or 0 if no rule exists
-     *
-     * @see NumberPlan#getShortNumberCodes()
+     * @see NumberPlan#isNumberPlanValid()
      */
-    private int getMaxShortNumberKeyLength() {
-        if (getShortNumberCodes() != null) {
-            Optional<String> maxKey = getShortNumberCodes().keySet().stream()
-                    .max(Comparator.comparing(String::length));
-            if (maxKey.isPresent()) {
-                return maxKey.get().length();
-            }
+    private ShortNumberTrie getShortNumberTrie() {
+        ShortNumberTrie trie = this.shortNumberTrie;
+        if (trie == null) {
+            // compiling is idempotent, so concurrent first calls might compile twice, but all get an equal trie
+            trie = ShortNumberTrie.compile(this.getShortNumberCodes(), false);
+            this.shortNumberTrie = trie;
         }
-        return 0;
+        return trie;
     }
 
     /**
      * Checks if the rules are logically without conflict.
-     * Conflicts happen, if the length of a short number (value) is defined lower than the length of its prefix (key).
+     * Conflicts happen, if the length of a short number (value) is defined lower than the length of its prefix (key)
+     * or if the prefix (key) is empty or not only made of digits.
      *
      * @return are the rules free of conflict
      *
      * @see NumberPlan#getShortNumberCodes()
      */
     public Boolean isNumberPlanValid() {
-        if (this.getShortNumberCodes() != null) {
-            for ( Map.Entry<String, Integer> entry : this.getShortNumberCodes().entrySet()) {
-                if (entry.getKey().length() > entry.getValue()) {
-                    LOGGER.warn("The length of the ShortNumberCode '{}' is longer then its ShortnumberCodeLength '{}'", entry.getKey(), entry.getValue());
-                    return false;
-                }
-            }
+        try {
+            ShortNumberTrie.compile(this.getShortNumberCodes(), true);
+        } catch (IllegalArgumentException e) {
+            LOGGER.warn(e.getMessage());
+            return false;
         }
         return true;
     }
@@ -63,7 +63,7 @@ public class NumberPlanFactory {
      */
     private void initFixedLineNumberPlans() {
         Map<String, NumberPlan> fixedLineNumberPlans = new HashMap<>();
-        fixedLineNumberPlans.put(DeFixedLineNumberPlan.getCountryCode(), new DeFixedLineNumberPlan());
+        fixedLineNumberPlans.put(DeFixedLineNumberPlan.getCountryCode(), requireValid(new DeFixedLineNumberPlan()));
         numberPlans.put(DeviceContextLineType.FIXEDLINE, fixedLineNumberPlans);
     }
 
@@ -86,10 +86,26 @@ public class NumberPlanFactory {
     private void initFallBackNumberPlans() {
         Map<String, NumberPlan> fixedLineNumberPlans = new HashMap<>();
         // For Germany all short numbers of the fixed-line are also valid in mobile, so we can reuse it, if unknown.
-        fixedLineNumberPlans.put(DeFixedLineNumberPlan.getCountryCode(), new DeFixedLineNumberPlan());
+        fixedLineNumberPlans.put(DeFixedLineNumberPlan.getCountryCode(), requireValid(new DeFixedLineNumberPlan()));
         numberPlans.put(DeviceContextLineType.UNKNOWN, fixedLineNumberPlans);
     }
 
+    /**
+     * Coded NumberPlans are checked when they are added to the factory, so inconsistent short number rules fail fast at startup and not silently on matching.
+     *
+     * @param numberPlan the NumberPlan to be added to the factory
+     * @return the given NumberPlan
+     * @throws IllegalStateException if the rules of the NumberPlan are inconsistent
+     *
+     * @see NumberPlan#isNumberPlanValid()
+     */
+    private static NumberPlan requireValid(NumberPlan numberPlan) {
+        if (!Boolean.TRUE.equals(numberPlan.isNumberPlanValid())) {
+            throw new IllegalStateException("Inconsistent short number rules in " + numberPlan.getClass().getSimpleName());
+        }
+        return numberPlan;
+    }
+
     /**
      * Gets a NumberPlan for a line-type of a specific country.
      *
@@ -0,0 +1,224 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+
+import com.google.i18n.phonenumbers.Phonemetadata;
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Cheap checks, whether Google's LibPhoneNumber parser would certainly reject a number with a NumberParseException.
+ * <p>
+ * Creating, throwing and logging an exception costs much more than the normalization of a valid number. Since junk
+ * (names typed into number fields, single digits, overly long digit runs) is a relevant part of real inputs, such
+ * numbers are rejected here before the parser is called. The checks follow the parser's own rules:
+ * </p>
+ * <ul>
+ *     <li>input longer than 250 characters or shorter than the minimal national number of 2 digits</li>
+ *     <li>number without "+" for a region, which is not supported</li>
+ *     <li>only two digits or less after "+" or the international dialing prefix (IDP) of the region</li>
+ *     <li>no valid Country Calling Code after "+" or the IDP</li>
+ *     <li>national number shorter than 2 or - even after stripping CC and (up to twice) NAC - longer than 17 digits</li>
+ * </ul>
+ * <p>
+ * Only numbers with digits after an optional "+" are checked in depth - everything the checks are not sure about is left to the parser.
+ * </p>
+ */
+public final class ParsePrecheck {
+
+    private static final Logger LOGGER = LoggerFactory.getLogger(ParsePrecheck.class);
+
+    /**
+     * maximum length of an input accepted by the parser of Google's LibPhoneNumber
+     */
+    private static final int MAX_INPUT_STRING_LENGTH = 250;
+
+    /**
+     * minimal length of a national significant number accepted by the parser of Google's LibPhoneNumber
+     */
+    private static final int MIN_LENGTH_FOR_NSN = 2;
+
+    /**
+     * maximal length of a national significant number accepted by the parser of Google's LibPhoneNumber
+     */
+    private static final int MAX_LENGTH_FOR_NSN = 17;
+
+    /**
+     * maximum length of a Country Calling Code
+     */
+    private static final int MAX_LENGTH_FOR_CC = 3;
+
+    private static final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+
+    /**
+     * Compiled IDP patterns of the regions - there are only a few different ones.
+     */
+    private static final Map<String, Pattern> INTERNATIONAL_PREFIX_PATTERNS = new ConcurrentHashMap<>();
+
+    /**
+     * Since the class only provides some static methods, it mustn't be instantiated.
+     * The initializer will always throw an IllegalStateException
+     *
+     * @see IllegalStateException
+     */
+    private ParsePrecheck() {
+        LOGGER.warn("ParsePrecheck is a utility class and can't be initialised!");
+        throw new IllegalStateException("ParsePrecheck is a Utility class");
+    }
+
+    /**
+     * Checks if the parser of Google's LibPhoneNumber would certainly reject the number.
+     * @param number the number to be parsed - e.g. E164 formatted with leading "+"
+     * @param regionCode ISO2 code for the regions number plan used for parsing the number - not used if the number starts with "+"
+     * @return true if the parser would throw a NumberParseException, false if it might parse the number
+     */
+    public static boolean isRejectedByParser(String number, String regionCode) {
+        boolean international = number != null && !number.isEmpty() && number.charAt(0) == '+';
+        return isRejectedByParser(number, regionCode, international ? null : PhoneLibWrapper.getMetadataForRegion(regionCode));
+    }
+
+    /**
+     * Same as {@link ParsePrecheck#isRejectedByParser(String, String)}, but with already looked up metadata of the region.
+     * @param number the number to be parsed
+     * @param regionCode ISO2 code for the regions number plan used for parsing the number
+     * @param metadata the metadata of the region or null if not available
+     * @return true if the parser would throw a NumberParseException, false if it might parse the number
+     */
+    static boolean isRejectedByParser(String number, String regionCode, Phonemetadata.PhoneMetadata metadata) {
+        if (number == null) {
+            return true;
+        }
+        int length = number.length();
+        if (length > MAX_INPUT_STRING_LENGTH || length < MIN_LENGTH_FOR_NSN) {
+            return true;
+        }
+        boolean international = number.charAt(0) == '+';
+        int start = international ? 1 : 0;
+        for (int i = start; i < length; i++) {
+            char c = number.charAt(i);
+            if (c < '0' || c > '9') {
+                // "*" and "#" might be part of an extension - the parser is needed
+                return false;
+            }
+        }
+
+        if (!international) {
+            if (regionCode == null || !phoneUtil.getSupportedRegions().contains(regionCode)) {
+                return true;
+            }
+            if (metadata == null) {
+                return false;
+            }
+            int idpEnd = internationalPrefixEnd(number, metadata.getInternationalPrefix());
+            // the parser does not take the prefix as IDP, if it is followed by a zero - a CC never starts with it
+            if (idpEnd < 0 || (idpEnd < length && number.charAt(idpEnd) == '0')) {
+                int maxStrippedLength = nationalPrefixLength(metadata);
+                if (maxStrippedLength < 0) {
+                    return false;
+                }
+                String regionCountryCode = String.valueOf(metadata.getCountryCode());
+                if (number.startsWith(regionCountryCode)) {
+                    // the parser might strip the CC of the region and then the national prefix twice - after the CC and again for the remaining number
+                    return length - regionCountryCode.length() - 2 * maxStrippedLength > MAX_LENGTH_FOR_NSN;
+                }
+                return length - maxStrippedLength > MAX_LENGTH_FOR_NSN;
+            }
+            start = idpEnd;
+        }
+        return isInternationalNumberRejected(number, start);
+    }
+
+    /**
+     * Checks the digits after "+" or the IDP.
+     * @param number number, which only contains digits from start
+     * @param start index of the first digit after "+" or the IDP
+     * @return true if the parser would throw a NumberParseException
+     */
+    private static boolean isInternationalNumberRejected(String number, int start) {
+        int length = number.length();
+        if (length - start <= MIN_LENGTH_FOR_NSN) {
+            return true;
+        }
+        int countryCode = 0;
+        for (int i = start; i < start + MAX_LENGTH_FOR_CC; i++) {
+            countryCode = countryCode * 10 + (number.charAt(i) - '0');
+            if (countryCode == 0) {
+                return true;
+            }
+            String regionCode = phoneUtil.getRegionCodeForCountryCode(countryCode);
+            if (!PhoneLibWrapper.UNKNOWN_REGIONCODE.equals(regionCode)) {
+                int nationalLength = length - i - 1;
+                if (nationalLength < MIN_LENGTH_FOR_NSN) {
+                    return true;
+                }
+                int maxStrippedLength = nationalPrefixLength(PhoneLibWrapper.getMetadataForRegion(regionCode));
+                return maxStrippedLength >= 0 && nationalLength - maxStrippedLength > MAX_LENGTH_FOR_NSN;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @param number number, which only contains digits
+     * @param internationalPrefix IDP pattern of the region
+     * @return index after the IDP or -1 if the number does not start with it
+     */
+    private static int internationalPrefixEnd(String number, String internationalPrefix) {
+        if (internationalPrefix == null || internationalPrefix.isEmpty()) {
+            return -1;
+        }
+        if (isDigits(internationalPrefix)) {
+            return number.startsWith(internationalPrefix) ? internationalPrefix.length() : -1;
+        }
+        Matcher matcher = INTERNATIONAL_PREFIX_PATTERNS.computeIfAbsent(internationalPrefix, Pattern::compile).matcher(number);
+        return matcher.lookingAt() ? matcher.end() : -1;
+    }
+
+    /**
+     * @param metadata metadata of a region or null
+     * @return maximum number of digits the parser strips as national prefix or -1 if that is not known
+     */
+    private static int nationalPrefixLength(Phonemetadata.PhoneMetadata metadata) {
+        if (metadata == null) {
+            return -1;
+        }
+        if (!metadata.hasNationalPrefixForParsing()) {
+            return 0;
+        }
+        if (metadata.hasNationalPrefixTransformRule()) {
+            // the prefix is not just stripped, but replaced
+            return -1;
+        }
+        String nationalPrefixForParsing = metadata.getNationalPrefixForParsing();
+        return isDigits(nationalPrefixForParsing) ? nationalPrefixForParsing.length() : -1;
+    }
+
+    private static boolean isDigits(String value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) < '0' || value.charAt(i) > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+}
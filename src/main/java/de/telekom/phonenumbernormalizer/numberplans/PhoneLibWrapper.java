@@ -17,18 +17,19 @@ package de.telekom.phonenumbernormalizer.numberplans;
 
 
 import com.google.i18n.phonenumbers.*;
+import de.telekom.phonenumbernormalizer.diagnostics.FailureCategory;
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics;
 import lombok.Data;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 
-import java.lang.reflect.Method;
 import java.util.Objects;
 
 /**
  * Wrapper around Google's LibPhoneNumber library
  * <p>
- * Using reflection to access internal information to know if a region has a nation prefix &amp; which one it is.
+ * Using reflection (via {@link RegionMetadataRegistry}) to access internal information to know if a region has a nation prefix &amp; which one it is.
  * </p><p>
  * Providing own NumberPlans logic as an alternative to Google's LibPhoneNumber ShortNumber.
  * </p>
@@ -96,22 +97,41 @@ public class PhoneLibWrapper {
      * @param regionCode the ISO2 Code of the Region / Country, which telephone number plan is used
      */
     public PhoneLibWrapper(String number, String regionCode) {
+        this(number, regionCode, getMetadataForRegion(regionCode));
+    }
+
+    /**
+     * Initialize the wrapper by giving a phone number to be analyzed against a number plan of a given region, whose metadata has already been looked up.
+     * <p>
+     * This avoids the reflective metadata lookup if many numbers are analyzed for the same region.
+     * </p>
+     * @param number the phone number to be analyzed
+     * @param regionCode the ISO2 Code of the Region / Country, which telephone number plan is used
+     * @param metadata the metadata of the region as provided by {@link PhoneLibWrapper#getMetadataForRegion(String)}
+     */
+    public PhoneLibWrapper(String number, String regionCode, Phonemetadata.PhoneMetadata metadata) {
+        this(DialableNumber.of(number), regionCode, metadata);
+    }
+
+    /**
+     * Initialize the wrapper by giving an already reduced phone number to be analyzed against a number plan of a given region, whose metadata has already been looked up.
+     * <p>
+     * This avoids reducing and classifying the number again, if it is analyzed for several regions.
+     * </p>
+     * @param number the phone number to be analyzed already reduced to its dialable characters
+     * @param regionCode the ISO2 Code of the Region / Country, which telephone number plan is used
+     * @param metadata the metadata of the region as provided by {@link PhoneLibWrapper#getMetadataForRegion(String)}
+     */
+    public PhoneLibWrapper(DialableNumber number, String regionCode, Phonemetadata.PhoneMetadata metadata) {
         this.regionCode = regionCode;
-        this.metadata = getMetadataForRegion();
-
-        if (number != null) {
-            this.dialableNumber = PhoneNumberUtil.normalizeDiallableCharsOnly(number);
-
-            if (this.dialableNumber.isEmpty()) {
-                this.dialableNumber = "";
-            } else {
-                if (!isSpecialFormat(dialableNumber)) {
-                    // Number needs normalization:
-                    // international prefix is added by the lib even if it's not valid in the number plan.
-                    this.isNormalizingTried = true;
-                    this.semiNormalizedNumber = PhoneLibWrapper.parseNumber(dialableNumber, regionCode);
-                }
-            }
+        this.metadata = metadata;
+        this.dialableNumber = number.getNumber();
+
+        if (number.isNormalizable()) {
+            // Number needs normalization:
+            // international prefix is added by the lib even if it's not valid in the number plan.
+            this.isNormalizingTried = true;
+            this.semiNormalizedNumber = PhoneLibWrapper.parseNumber(dialableNumber, regionCode, metadata);
         }
     }
 
@@ -140,6 +160,20 @@ public class PhoneLibWrapper {
         return shortNumberUtil.isPossibleShortNumber(this.getSemiNormalizedNumber());
     }
 
+    /**
+     * Using PhoneLib short number utility if the given number matches a short number pattern of the region.
+     * <p>
+     * In contrast to {@link PhoneLibWrapper#isShortNumber()}, which only checks the possible lengths of short numbers,
+     * this does not match local numbers without NDC.
+     * </p>
+     * @return if PhoneLib identifies given number as a valid short number
+     *
+     * @see PhoneLibWrapper#isShortNumber()
+     */
+    public boolean isValidShortNumber() {
+        return shortNumberUtil.isValidShortNumber(this.getSemiNormalizedNumber());
+    }
+
     /**
      * Using own {@link NumberPlan} to identify if the given number is a short number, which would not need a NAC.
      * <p>
@@ -207,7 +241,7 @@ public class PhoneLibWrapper {
                 // after area code has been added, we can add the country code by the lib:
                 return getE164Formatted();
             } catch (NumberParseException e) {
-                LOGGER.warn("could not parse extended number: {}", extendedNumber);
+                NormalizerDiagnostics.INSTANCE.record(FailureCategory.EXTENDED_NUMBER_NOT_PARSEABLE, extendedNumber);
                 LOGGER.debug("{}", e.getMessage());
                 return dialableNumber;
             }
@@ -228,21 +262,29 @@ public class PhoneLibWrapper {
         if (value == null || value.length()==0) {
             return false;
         }
-        return ("+".equals(value.substring(0, 1))) || ("*".equals(value.substring(0, 1)));
+        return (value.charAt(0) == '+') || (value.charAt(0) == '*');
     }
 
     /**
      * Use PhoneLib to parse a number for a regions code. If any exception occurs, they are logged and null is returned.
+     * <p>
+     * Numbers the parser would certainly reject are identified by {@link ParsePrecheck} without calling it, so no exception is thrown for them.
+     * </p>
      * @param number the phone number to be parsed
      * @param regionCode ISO2 code for the regions number plan used for parsing the number
+     * @param metadata the metadata of the region or null if not available
      * @return either the parsed {@link Phonenumber.PhoneNumber} or null
      */
-    private static Phonenumber.PhoneNumber parseNumber(String number, String regionCode) {
+    private static Phonenumber.PhoneNumber parseNumber(String number, String regionCode, Phonemetadata.PhoneMetadata metadata) {
+        if (ParsePrecheck.isRejectedByParser(number, regionCode, metadata)) {
+            NormalizerDiagnostics.INSTANCE.record(FailureCategory.NUMBER_REJECTED, number);
+            return null;
+        }
         try {
             return phoneUtil.parse(number, regionCode);
             // international prefix is added by the lib even if it's not valid in the number plan.
         } catch (NumberParseException e) {
-            LOGGER.warn("could not parse normalize number: {}", number);
+            NormalizerDiagnostics.INSTANCE.record(FailureCategory.NUMBER_NOT_PARSEABLE, number);
             LOGGER.debug("{}", e.getMessage());
             return null;
         }
@@ -269,21 +311,17 @@ public class PhoneLibWrapper {
 
     /**
      * Since we need the PhoneMetadta for fixing calculation of some number normalization,
-     * we need to break encapsulation via reflection, because that data is private to phoneUtil
-     * and Google rejected suggestion to make it public, because they did not see our need in correcting normalization.
-     * @return {@link Phonemetadata.PhoneMetadata} of {@link PhoneLibWrapper#regionCode}
+     * we need to break encapsulation via reflection, because that data is private to phoneUtil.
+     * <p>
+     * The reflection is done only once and the metadata is resolved only once per region by {@link RegionMetadataRegistry}.
+     * </p>
+     * @param regionCode ISO2 code of the region
+     * @return {@link Phonemetadata.PhoneMetadata} of the region or null if not available
+     *
+     * @see PhoneLibWrapper#PhoneLibWrapper(String, String, Phonemetadata.PhoneMetadata)
      */
-    private Phonemetadata.PhoneMetadata getMetadataForRegion() {
-        try {
-            Method m = phoneUtil.getClass().getDeclaredMethod("getMetadataForRegion", String.class);
-            // violating encupsulation is intended by this method, so no need for SONAR code smell warning here
-            m.setAccessible(true); //NOSONAR
-            return (Phonemetadata.PhoneMetadata) m.invoke(phoneUtil, regionCode);
-        } catch (Exception e) {
-            LOGGER.warn("Error while accessing getMetadataForRegion on PhoneNumberUtil via Reflection.");
-            LOGGER.debug("{}", e.getMessage());
-            return null;
-        }
+    public static Phonemetadata.PhoneMetadata getMetadataForRegion(String regionCode) {
+        return RegionMetadataRegistry.INSTANCE.getMetadataForRegion(regionCode);
     }
 
     /**
@@ -310,13 +348,12 @@ public class PhoneLibWrapper {
         if (phoneNumber==null) {
             return null;
         }
-        StringBuilder nationalNumber = new StringBuilder(Long.toString(phoneNumber.getNationalNumber()));
+        String nationalNumber = Long.toString(phoneNumber.getNationalNumber());
         // if-clause necessary, because getNumberOfLeadingZeros is always 1 for a possible trunk code and special 0 in Italy
-        if (phoneNumber.hasNumberOfLeadingZeros() || phoneNumber.hasItalianLeadingZero())
-            for (int i = 0; i < phoneNumber.getNumberOfLeadingZeros(); i++) {
-                nationalNumber.insert(0, "0");
-            }
-        return nationalNumber.toString();
+        if ((phoneNumber.hasNumberOfLeadingZeros() || phoneNumber.hasItalianLeadingZero()) && phoneNumber.getNumberOfLeadingZeros() > 0) {
+            return "0".repeat(phoneNumber.getNumberOfLeadingZeros()).concat(nationalNumber);
+        }
+        return nationalNumber;
     }
 
     /**
@@ -0,0 +1,115 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+import com.google.i18n.phonenumbers.Phonemetadata;
+
+/**
+ * Immutable summary of Google's LibPhoneNumber metadata of one region, which is needed for normalization.
+ *
+ * @see RegionMetadataRegistry
+ */
+public final class RegionMetadata {
+
+    /**
+     * Metadata for a missing region code.
+     */
+    static final RegionMetadata UNKNOWN = new RegionMetadata(null, 0, null, false, null);
+
+    private final String regionCode;
+
+    private final int countryCode;
+
+    private final String nationalPrefix;
+
+    /**
+     * if short number metadata is available - null until it has been probed
+     */
+    private volatile Boolean shortNumberMetadataAvailable;
+
+    private final Phonemetadata.PhoneMetadata metadata;
+
+    RegionMetadata(String regionCode, int countryCode, String nationalPrefix, Boolean shortNumberMetadataAvailable, Phonemetadata.PhoneMetadata metadata) {
+        this.regionCode = regionCode;
+        this.countryCode = countryCode;
+        this.nationalPrefix = nationalPrefix;
+        this.shortNumberMetadataAvailable = shortNumberMetadataAvailable;
+        this.metadata = metadata;
+    }
+
+    /**
+     * @return ISO2 code of the region like "DE" - null if no region code was given
+     */
+    public String getRegionCode() {
+        return regionCode;
+    }
+
+    /**
+     * @return Country Calling Code of the region like 49 - or 0 if the region is unknown
+     */
+    public int getCountryCode() {
+        return countryCode;
+    }
+
+    /**
+     * @return National Access Code (NAC) of the region like "0" - or null if the region has none
+     */
+    public String getNationalPrefix() {
+        return nationalPrefix;
+    }
+
+    /**
+     * @return if the number plan of the region is using a National Access Code (NAC)
+     */
+    public boolean hasNationalAccessCode() {
+        return nationalPrefix != null;
+    }
+
+    /**
+     * Checks if Google's LibPhoneNumber has short number metadata for the region.
+     * <p>
+     * The check loads the short number metadata of the region, so it is only done with the first call.
+     * </p>
+     * @return if Google's LibPhoneNumber has short number metadata for the region
+     */
+    public boolean isShortNumberMetadataAvailable() {
+        Boolean result = shortNumberMetadataAvailable;
+        if (result == null) {
+            result = RegionMetadataRegistry.probeShortNumberMetadata(regionCode, countryCode);
+            shortNumberMetadataAvailable = result;
+        }
+        return result;
+    }
+
+    /**
+     * @return the number plan metadata of Google's LibPhoneNumber - or null if the region is unknown
+     */
+    public Phonemetadata.PhoneMetadata getMetadata() {
+        return metadata;
+    }
+
+    /**
+     * @return if Google's LibPhoneNumber has metadata for the region
+     */
+    public boolean isKnown() {
+        return metadata != null;
+    }
+
+    @Override
+    public String toString() {
+        return "RegionMetadata{" + regionCode + ", +" + countryCode + ", NAC=" + nationalPrefix + ", shortNumbers=" + shortNumberMetadataAvailable + "}";
+    }
+}
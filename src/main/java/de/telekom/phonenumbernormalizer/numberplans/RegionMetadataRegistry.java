@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil;
+import com.google.i18n.phonenumbers.Phonemetadata;
+import com.google.i18n.phonenumbers.Phonenumber;
+import com.google.i18n.phonenumbers.ShortNumberInfo;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.reflect.Method;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Registry of the {@link RegionMetadata} of all regions, which resolves the metadata of each region only once.
+ * <p>
+ * The metadata is private to Google's LibPhoneNumber, so it is accessed via reflection. The reflective lookup is done
+ * only once and kept as {@link MethodHandle}, while the results are kept per region, so a lookup is a plain map read.
+ * Whether short number metadata is available for a region is probed via the public API of {@link ShortNumberInfo} with the
+ * first check of {@link RegionMetadata#isShortNumberMetadataAvailable()}.
+ * </p>
+ * <p>
+ * Google's LibPhoneNumber loads the metadata of a region lazily with its first use. With
+ * {@link RegionMetadataRegistry#preload(Collection)} this could be done at startup for the expected regions.
+ * </p>
+ */
+public class RegionMetadataRegistry {
+    private static final Logger LOGGER = LoggerFactory.getLogger(RegionMetadataRegistry.class);
+    public static final RegionMetadataRegistry INSTANCE = new RegionMetadataRegistry();
+
+    private static final PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance();
+
+    private static final ShortNumberInfo shortNumberUtil = ShortNumberInfo.getInstance();
+
+    /**
+     * Maximal length of the national numbers used to probe for short number metadata - every region has short numbers of at most this length
+     */
+    private static final int MAX_PROBED_SHORT_NUMBER_LENGTH = 6;
+
+    /**
+     * Handle of the private PhoneNumberUtil.getMetadataForRegion(String) or null if it is not accessible
+     */
+    private final MethodHandle getMetadataForRegion;
+
+    /**
+     * Resolved metadata of the known regions - unknown regions are not stored, so the map can't be flooded by invalid input
+     */
+    private final Map<String, RegionMetadata> regions = new ConcurrentHashMap<>();
+
+    private RegionMetadataRegistry() {
+        this.getMetadataForRegion = initGetMetadataForRegion();
+    }
+
+    private static MethodHandle initGetMetadataForRegion() {
+        try {
+            Method m = PhoneNumberUtil.class.getDeclaredMethod("getMetadataForRegion", String.class);
+            // violating encupsulation is intended by this method, so no need for SONAR code smell warning here
+            m.setAccessible(true); //NOSONAR
+            return MethodHandles.lookup().unreflect(m);
+        } catch (Exception e) {
+            LOGGER.warn("Error while accessing getMetadataForRegion on PhoneNumberUtil via Reflection.");
+            LOGGER.debug("{}", e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * Checks if Google's LibPhoneNumber has short number metadata for a region - which also loads that metadata.
+     * <p>
+     * {@link ShortNumberInfo} does not provide its regions, but a short number is only possible for a region with short
+     * number metadata. So numbers of increasing length are probed, until one has a possible length for the region.
+     * </p>
+     * @param regionCode ISO2 code of the region like "DE"
+     * @param countryCode Country Calling Code of the region like 49
+     * @return if short number metadata is available for the region
+     */
+    static boolean probeShortNumberMetadata(String regionCode, int countryCode) {
+        Phonenumber.PhoneNumber pn = new Phonenumber.PhoneNumber().setCountryCode(countryCode);
+        long nationalNumber = 0;
+        for (int length = 1; length <= MAX_PROBED_SHORT_NUMBER_LENGTH; length++) {
+            nationalNumber = nationalNumber * 10 + 1;
+            if (shortNumberUtil.isPossibleShortNumberForRegion(pn.setNationalNumber(nationalNumber), regionCode)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Returns the metadata of a region - resolving it only with the first call for that region.
+     * @param regionCode ISO2 code of the region like "DE"
+     * @return the metadata of the region - if Google's LibPhoneNumber does not know the region, {@link RegionMetadata#isKnown()} is false
+     */
+    public RegionMetadata getRegionMetadata(String regionCode) {
+        if (regionCode == null) {
+            return RegionMetadata.UNKNOWN;
+        }
+        RegionMetadata result = regions.get(regionCode);
+        if (result == null) {
+            result = resolve(regionCode);
+            if (result.isKnown()) {
+                regions.putIfAbsent(regionCode, result);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * Returns the metadata of a region as provided by Google's LibPhoneNumber.
+     * @param regionCode ISO2 code of the region like "DE"
+     * @return {@link Phonemetadata.PhoneMetadata} of the region or null if not available
+     */
+    public Phonemetadata.PhoneMetadata getMetadataForRegion(String regionCode) {
+        return getRegionMetadata(regionCode).getMetadata();
+    }
+
+    /**
+     * Resolves the metadata of the given regions now, so Google's LibPhoneNumber loads their number plan and short number metadata now and not with the first normalization.
+     * <p>
+     * The short number metadata is loaded by probing for it.
+     * </p>
+     * @param regionCodes ISO2 codes of the regions like "DE"
+     */
+    public void preload(Collection<String> regionCodes) {
+        if (regionCodes == null) {
+            return;
+        }
+        for (String regionCode : regionCodes) {
+            if (regionCode == null || regionCode.isBlank()) {
+                continue;
+            }
+            RegionMetadata regionMetadata = getRegionMetadata(regionCode.trim());
+            if (!regionMetadata.isKnown()) {
+                LOGGER.warn("can't preload metadata of unknown region: {}", regionCode);
+                continue;
+            }
+            // probing for short number metadata loads it
+            regionMetadata.isShortNumberMetadataAvailable();
+            LOGGER.debug("preloaded {}", regionMetadata);
+        }
+    }
+
+    private RegionMetadata resolve(String regionCode) {
+        Phonemetadata.PhoneMetadata metadata = invokeGetMetadataForRegion(regionCode);
+        if (metadata == null) {
+            return new RegionMetadata(regionCode, 0, null, false, null);
+        }
+        String nationalPrefix = metadata.hasNationalPrefix() ? metadata.getNationalPrefix() : null;
+        // probing for short number metadata loads it, so it is done lazily - e.g. the area labels resolve all regions
+        return new RegionMetadata(regionCode, metadata.getCountryCode(), nationalPrefix, null, metadata);
+    }
+
+    private Phonemetadata.PhoneMetadata invokeGetMetadataForRegion(String regionCode) {
+        if (getMetadataForRegion == null) {
+            return null;
+        }
+        try {
+            return (Phonemetadata.PhoneMetadata) getMetadataForRegion.invoke(phoneUtil, regionCode);
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) { //NOSONAR MethodHandle.invoke is declaring Throwable
+            LOGGER.warn("Error while calling getMetadataForRegion on PhoneNumberUtil.");
+            LOGGER.debug("{}", e.getMessage());
+            return null;
+        }
+    }
+
+}
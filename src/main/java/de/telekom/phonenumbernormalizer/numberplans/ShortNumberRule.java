@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+
+/**
+ * One compiled rule of a {@link NumberPlan} to identify short numbers.
+ * <p>
+ * A number is a short number of this rule, if it starts with the prefix and has exactly the length of the rule.
+ * </p>
+ * @see NumberPlan#getShortNumberCodes()
+ * @see NumberPlan#getShortNumberRule(CharSequence)
+ */
+public final class ShortNumberRule {
+
+    /**
+     * The digits a short number of this rule starts with
+     */
+    private final String prefix;
+
+    /**
+     * The total length of a short number of this rule (including the prefix)
+     */
+    private final int length;
+
+    ShortNumberRule(String prefix, int length) {
+        this.prefix = prefix;
+        this.length = length;
+    }
+
+    /**
+     * The digits a short number of this rule starts with
+     * @return key of the rule in {@link NumberPlan#getShortNumberCodes()}
+     */
+    public String getPrefix() {
+        return prefix;
+    }
+
+    /**
+     * The total length of a short number of this rule (including the prefix)
+     * @return value of the rule in {@link NumberPlan#getShortNumberCodes()}
+     */
+    public int getLength() {
+        return length;
+    }
+
+    /**
+     * Checks if a number starting with the prefix of this rule has the length of a short number of this rule.
+     * @param number a number starting with the prefix of this rule
+     * @return if the number has exactly the length of this rule
+     */
+    public boolean isMatchingLength(CharSequence number) {
+        return number.length() == length;
+    }
+
+    @Override
+    public String toString() {
+        return "ShortNumberRule{prefix='" + prefix + "', length=" + length + '}';
+    }
+}
@@ -0,0 +1,213 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans;
+
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Arrays;
+import java.util.Map;
+
+/**
+ * Immutable digit trie compiled from the short number rules of a {@link NumberPlan}.
+ * <p>
+ * Each node has up to ten children - one per digit - stored in a flat array, so finding the rule with the longest
+ * matching prefix is a single walk over the digits of a number without any allocation.
+ * </p>
+ * @see NumberPlan#getShortNumberCodes()
+ */
+final class ShortNumberTrie {
+    private static final Logger LOGGER = LoggerFactory.getLogger(ShortNumberTrie.class);
+
+    private static final int DIGITS = 10;
+
+    /**
+     * The root is node 0 and can't be the child of any node, so 0 is marking a missing child.
+     */
+    private static final int NO_CHILD = 0;
+
+    /**
+     * A trie without any rule
+     */
+    static final ShortNumberTrie EMPTY = new ShortNumberTrie(new int[DIGITS], new ShortNumberRule[1], 0, 0);
+
+    /**
+     * children[node * DIGITS + digit] is the index of the child node for that digit or {@link ShortNumberTrie#NO_CHILD}
+     */
+    private final int[] children;
+
+    /**
+     * rules[node] is the rule whose prefix ends at that node or null
+     */
+    private final ShortNumberRule[] rules;
+
+    /**
+     * length of the shortest short number of all rules
+     */
+    private final int minLength;
+
+    /**
+     * length of the longest short number of all rules
+     */
+    private final int maxLength;
+
+    private ShortNumberTrie(int[] children, ShortNumberRule[] rules, int minLength, int maxLength) {
+        this.children = children;
+        this.rules = rules;
+        this.minLength = minLength;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * Compiles the rules of a number plan into a trie.
+     * <p>
+     * Rules are inconsistent, if their prefix is empty or contains a non digit character or if the length of the short number is lower than the length of its prefix.
+     * If failFast is false, inconsistent rules are only logged: rules with non digit characters are ignored, while rules with a too low length are kept - since they never match, they only hide shorter prefixes.
+     * </p>
+     * @param shortNumberCodes the rules as defined by {@link NumberPlan#getShortNumberCodes()} - might be null
+     * @param failFast if an inconsistent rule should raise an exception
+     * @return the compiled trie
+     * @throws IllegalArgumentException if failFast is set and a rule is inconsistent
+     */
+    static ShortNumberTrie compile(Map<String, Integer> shortNumberCodes, boolean failFast) {
+        if (shortNumberCodes == null || shortNumberCodes.isEmpty()) {
+            return EMPTY;
+        }
+
+        // the number of nodes can't be higher than the number of all prefix digits plus the root
+        int maxNodes = 1;
+        for (String prefix : shortNumberCodes.keySet()) {
+            maxNodes += (prefix == null) ? 0 : prefix.length();
+        }
+
+        int[] children = new int[maxNodes * DIGITS];
+        ShortNumberRule[] rules = new ShortNumberRule[maxNodes];
+        int nodeCount = 1;
+        int minLength = Integer.MAX_VALUE;
+        int maxLength = 0;
+
+        for (Map.Entry<String, Integer> entry : shortNumberCodes.entrySet()) {
+            String prefix = entry.getKey();
+            Integer length = entry.getValue();
+
+            String problem = checkRule(prefix, length);
+            if (problem != null) {
+                if (failFast) {
+                    throw new IllegalArgumentException(problem);
+                }
+                LOGGER.warn(problem);
+                if (!isDigitsOnly(prefix) || length == null) {
+                    continue;
+                }
+            }
+
+            int node = 0;
+            for (int i = 0; i < prefix.length(); i++) {
+                int index = node * DIGITS + (prefix.charAt(i) - '0');
+                if (children[index] == NO_CHILD) {
+                    children[index] = nodeCount++;
+                }
+                node = children[index];
+            }
+            rules[node] = new ShortNumberRule(prefix, length);
+            minLength = Math.min(minLength, length);
+            maxLength = Math.max(maxLength, length);
+        }
+
+        if (nodeCount == 1) {
+            return EMPTY;
+        }
+        return new ShortNumberTrie(Arrays.copyOf(children, nodeCount * DIGITS), Arrays.copyOf(rules, nodeCount), minLength, maxLength);
+    }
+
+    /**
+     * Checks a single rule for consistency.
+     * @param prefix key of the rule
+     * @param length value of the rule
+     * @return description of the problem or null if the rule is consistent
+     */
+    private static String checkRule(String prefix, Integer length) {
+        if (!isDigitsOnly(prefix)) {
+            return "The ShortNumberCode '" + prefix + "' must only contain digits";
+        }
+        if (length == null) {
+            return "The ShortNumberCode '" + prefix + "' has no ShortnumberCodeLength";
+        }
+        if (prefix.length() > length) {
+            return "The length of the ShortNumberCode '" + prefix + "' is longer then its ShortnumberCodeLength '" + length + "'";
+        }
+        return null;
+    }
+
+    private static boolean isDigitsOnly(String value) {
+        if (value == null || value.isEmpty()) {
+            return false;
+        }
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < '0' || c > '9') {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Walks the digits of the number to find the rule with the longest prefix of the number.
+     * <p>
+     * The length of the number is not checked, so the caller needs to check {@link ShortNumberRule#isMatchingLength(CharSequence)}.
+     * </p>
+     * @param number the number to be checked - might be null
+     * @return the rule with the longest matching prefix or null if no rule matches
+     */
+    ShortNumberRule findLongestPrefixRule(CharSequence number) {
+        if (number == null) {
+            return null;
+        }
+        ShortNumberRule result = null;
+        int node = 0;
+        for (int i = 0; i < number.length(); i++) {
+            int digit = number.charAt(i) - '0';
+            if (digit < 0 || digit >= DIGITS) {
+                break;
+            }
+            node = children[node * DIGITS + digit];
+            if (node == NO_CHILD) {
+                break;
+            }
+            if (rules[node] != null) {
+                result = rules[node];
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return length of the shortest short number of all rules or 0 if there is no rule
+     */
+    int getMinLength() {
+        return minLength;
+    }
+
+    /**
+     * @return length of the longest short number of all rules or 0 if there is no rule
+     */
+    int getMaxLength() {
+        return maxLength;
+    }
+
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelVersion
+import spock.lang.Specification
+import spock.lang.TempDir
+import spock.util.concurrent.PollingConditions
+
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicBoolean
+
+
+class AreaLabelReloadTest extends Specification {
+
+    @TempDir
+    Path directory
+
+    PhoneNumberAreaLabelImpl target = new PhoneNumberAreaLabelImpl()
+
+    def "cleanup"() {
+        target.closeDirectoryWatcher()
+    }
+
+    void writeLabels(String essen) {
+        Files.createDirectories(directory.resolve("nationallabels"))
+        Files.writeString(directory.resolve("nationallabels/de.json"), "[{\"201\": \"$essen\", \"203\": \"Duisburg\"}]")
+    }
+
+    def "each load has a new version with its statistics"() {
+        expect:
+        target.getLabelVersion() == AreaLabelVersion.NONE
+
+        when:
+        target.initFile()
+        def first = target.getLabelVersion()
+        def second = target.reload()
+
+        then:
+        first.getId() == 1
+        second.getId() == 2
+        target.getLabelVersion().is(second)
+        // the country labels on the classpath might be the ones of the test resources, which shadow the bundled ones
+        second.getCountryCount() == new ObjectMapper().readValue(getClass().getResource("/arealabels/international_country_codes.json"), List)[0].size()
+        second.getCountryCount() == first.getCountryCount()
+        second.getRegionCount() == first.getRegionCount()
+        second.getRegionCount() > 0
+        second.getPrefixCount() > 0
+        !second.getLoadDuration().isNegative()
+        !second.getLoadedAt().isBefore(first.getLoadedAt())
+    }
+
+    def "labels of a watched directory are reloaded after a change"() {
+        given:
+        writeLabels("Essen")
+
+        when:
+        target.watchDirectory(directory)
+
+        then:
+        target.getLocationByE164Number("+492015551235") == Optional.of("Essen")
+        target.getLocationByE164Number("+492025551235") == Optional.of("Deutschland")
+        target.getLabelVersion().getRegionCount() == 1
+
+        when:
+        writeLabels("Essen-Mitte")
+
+        then:
+        new PollingConditions(timeout: 20).eventually {
+            assert target.getLocationByE164Number("+492015551235") == Optional.of("Essen-Mitte")
+        }
+    }
+
+    def "lazily loaded labels of a directory are the ones of the files at the time of the load"() {
+        given:
+        writeLabels("Essen")
+        target.setLazyLoading(true)
+        target.watchDirectory(directory)
+        target.closeDirectoryWatcher()
+
+        when:
+        writeLabels("Essen-Mitte")
+
+        then:
+        target.getLocationByE164Number("+492015551235") == Optional.of("Essen")
+    }
+
+    def "labels are kept if a reload fails"() {
+        given:
+        writeLabels("Essen")
+        target.watchDirectory(directory)
+        target.closeDirectoryWatcher()
+        def version = target.getLabelVersion()
+
+        when:
+        Files.writeString(directory.resolve("nationallabels/de.json"), "[{\"201\": ")
+        target.reload()
+
+        then:
+        thrown(IOException)
+        target.getLabelVersion().is(version)
+        target.getLocationByE164Number("+492015551235") == Optional.of("Essen")
+    }
+
+    def "lookups never see partly loaded labels during reloads"() {
+        given:
+        target.initFile()
+        def running = new AtomicBoolean(true)
+        def pool = Executors.newFixedThreadPool(4)
+        def readers = (1..4).collect {
+            pool.submit({
+                def labels = [] as Set
+                while (running.get()) {
+                    labels.add(target.getLocationByE164Number("+492015551235").orElse(null))
+                }
+                labels
+            } as java.util.concurrent.Callable)
+        }
+
+        when:
+        10.times { target.reloadInBackground().get(10, TimeUnit.SECONDS) }
+        running.set(false)
+        def seen = readers.collectMany { it.get(10, TimeUnit.SECONDS) } as Set
+        pool.shutdown()
+
+        then:
+        seen == ["Essen"] as Set
+        target.getLabelVersion().getId() == 11
+    }
+
+}
@@ -0,0 +1,175 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber
+import de.telekom.phonenumbernormalizer.numberplans.FastPathMode
+import org.springframework.context.annotation.AnnotationConfigApplicationContext
+import org.springframework.core.env.MapPropertySource
+import spock.lang.Specification
+
+
+class CachingPhoneNumberNormalizerTest extends Specification {
+
+    PhoneNumberNormalizerImpl delegate
+
+    CachingPhoneNumberNormalizer target
+
+    def "setup"() {
+        delegate = new PhoneNumberNormalizerImpl()
+        target = new CachingPhoneNumberNormalizer(delegate, 100)
+    }
+
+    def "cached normalization equals normalization"(String number, String countryCode, String areaCode, DeviceContextLineType lineType) {
+        given:
+        def deviceContext = new DeviceContextDto(lineType, countryCode, areaCode)
+
+        when:
+        "normalize number: $number twice"
+        def first = target.normalizePhoneNumber(number, deviceContext)
+        def second = target.normalizePhoneNumber(number, deviceContext)
+        def byRegion = target.normalizePhoneNumber(number, "DE")
+
+        then:
+        "it should be the same as without cache"
+        first == delegate.normalizePhoneNumber(number, deviceContext)
+        second == first
+        byRegion == delegate.normalizePhoneNumber(number, "DE")
+
+        where:
+        number       | countryCode | areaCode  | lineType
+        null         | "49"        | "203"     | DeviceContextLineType.FIXEDLINE
+        "556677"     | "49"        | "203"     | DeviceContextLineType.FIXEDLINE
+        "556677"     | "49"        | "30"      | DeviceContextLineType.FIXEDLINE
+        "556677"     | "49"        | null      | DeviceContextLineType.FIXEDLINE
+        "116117"     | "49"        | "203"     | null
+        "116117"     | "49"        | "203"     | DeviceContextLineType.UNKNOWN
+        "0203556677" | "unknown"   | "unknown" | DeviceContextLineType.MOBILE
+    }
+
+    def "counts hits"() {
+        given:
+        def deviceContext = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+
+        when:
+        target.normalizePhoneNumber("556677", deviceContext)
+        target.normalizePhoneNumber("556677", new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203"))
+        target.normalizePhoneNumber("556677", new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "30"))
+
+        then:
+        def statistics = target.getStatistics()
+        statistics.getHitCount() == 1
+        statistics.getMissCount() == 2
+        statistics.getSize() == 2
+    }
+
+    def "compiled device context shares the cached results"() {
+        given:
+        def deviceContext = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+        def compiled = CompiledDeviceContext.of(deviceContext)
+        target.normalizePhoneNumber("556677", deviceContext)
+
+        when:
+        def result = target.normalizePhoneNumberByCompiledContext("556677", compiled)
+
+        then:
+        result == "+49203556677"
+        target.normalizeDialableNumberByCompiledContext(DialableNumber.of("556677"), compiled) == result
+        target.getStatistics().getHitCount() == 2
+        target.getStatistics().getMissCount() == 1
+    }
+
+    def "batch uses and fills the cache"() {
+        given:
+        def deviceContext = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+        target.normalizePhoneNumber("556677", deviceContext)
+
+        when:
+        def result = target.normalizePhoneNumbers(["556677", null, "0301234567", "556677"], deviceContext)
+
+        then:
+        result == delegate.normalizePhoneNumbers(["556677", null, "0301234567", "556677"], deviceContext)
+        target.normalizePhoneNumber("0301234567", deviceContext) == "+49301234567"
+        target.getStatistics().getHitCount() == 3
+    }
+
+    def "cache is invalidated by a new fallback region"() {
+        given:
+        def deviceContext = new DeviceContextDto(DeviceContextLineType.UNKNOWN, "unknown", "unknown")
+
+        when:
+        def withoutFallback = target.normalizePhoneNumber("0203556677", deviceContext)
+        target.setFallbackRegionCode("DE")
+        def withFallback = target.normalizePhoneNumber("0203556677", deviceContext)
+
+        then:
+        withoutFallback == "0203556677"
+        withFallback == "+49203556677"
+        target.getStatistics().getSize() == 1
+    }
+
+    def "results are not reused after the fast path mode of the delegate changed"() {
+        given:
+        def deviceContext = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+
+        when:
+        target.normalizePhoneNumber("556677", deviceContext)
+        delegate.setDeFastPathMode(FastPathMode.ON)
+        def result = target.normalizePhoneNumber("556677", deviceContext)
+        target.normalizePhoneNumber("556677", deviceContext)
+
+        then:
+        result == "+49203556677"
+        target.getStatistics().getMissCount() == 2
+        target.getStatistics().getHitCount() == 1
+    }
+
+    def "cache is only the primary bean if it is enabled"(Map<String, Object> properties, Class<?> expected) {
+        given:
+        def context = new AnnotationConfigApplicationContext()
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("cache", properties))
+        context.register(PhoneNumberNormalizerImpl, CachingPhoneNumberNormalizer)
+        context.refresh()
+
+        expect:
+        context.getBean(PhoneNumberNormalizer).getClass() == expected
+
+        cleanup:
+        context.close()
+
+        where:
+        properties                                     | expected
+        [:]                                            | PhoneNumberNormalizerImpl
+        ["service.normalizerCache.maximumSize": "0"]   | PhoneNumberNormalizerImpl
+        ["service.normalizerCache.maximumSize": "100"] | CachingPhoneNumberNormalizer
+    }
+
+    def "disabled cache just delegates"() {
+        given:
+        def disabled = new CachingPhoneNumberNormalizer(delegate, 0)
+
+        when:
+        def result = disabled.normalizePhoneNumber("0203556677", "DE")
+
+        then:
+        result == "+49203556677"
+        disabled.getStatistics().getMissCount() == 0
+        disabled.normalizePhoneNumbers(null, null) == []
+    }
+
+}
@@ -0,0 +1,173 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContext
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber
+import spock.lang.Specification
+
+import java.util.concurrent.Callable
+import java.util.concurrent.Executors
+
+
+class NormalizerProfileRegistryTest extends Specification {
+
+    static final DeviceContext UNKNOWN_CONTEXT = new DeviceContextDto(DeviceContextLineType.UNKNOWN, DeviceContext.UNKNOWN_VALUE, DeviceContext.UNKNOWN_VALUE)
+
+    PhoneNumberNormalizerImpl normalizer
+
+    NormalizerProfileRegistry target
+
+    def "setup"() {
+        normalizer = new PhoneNumberNormalizerImpl()
+        target = new NormalizerProfileRegistry(normalizer)
+    }
+
+    def "profile normalizes like a normalizer with the same fallback region"(String regionCode, String number) {
+        given:
+        def reference = new PhoneNumberNormalizerImpl()
+        reference.setFallbackRegionCode(regionCode)
+
+        when:
+        def profile = target.getProfileForRegion(regionCode)
+
+        then:
+        profile.normalizePhoneNumber(number, UNKNOWN_CONTEXT) == reference.normalizePhoneNumber(number, UNKNOWN_CONTEXT)
+        profile.normalizePhoneNumbers([number, number], UNKNOWN_CONTEXT) == reference.normalizePhoneNumbers([number, number], UNKNOWN_CONTEXT)
+        profile.normalizePhoneNumberToResult(number, UNKNOWN_CONTEXT) == reference.normalizePhoneNumberToResult(number, UNKNOWN_CONTEXT)
+        profile.normalizePhoneNumber(number, "DE") == reference.normalizePhoneNumber(number, "DE")
+
+        where:
+        regionCode | number
+        "DE"       | "0203556677"
+        "AT"       | "0203556677"
+        "US"       | "2015550123"
+        null       | "0203556677"
+        "XX"       | "0203556677"
+    }
+
+    def "profiles are shared per region and do not change the normalizer"() {
+        when:
+        def a = target.register("tenantA", "DE")
+        def b = target.register("tenantB", "DE")
+        def c = target.register("tenantC", "AT")
+
+        then:
+        a.is(b)
+        !a.is(c)
+        target.getProfile("tenantA").is(a)
+        target.getProfile("tenantC").getFallbackRegionCode() == "AT"
+        target.getProfile("unknown") == null
+        target.getTenantKeys() == ["tenantA", "tenantB", "tenantC"] as Set
+        normalizer.getFallbackRegionCode() == null
+    }
+
+    def "profile is immutable"() {
+        when:
+        def profile = target.getProfileForRegion("DE")
+
+        then:
+        profile instanceof ReadOnlyPhoneNumberNormalizer
+        !(profile instanceof PhoneNumberNormalizer)
+        !NormalizerProfile.getMethods().any { it.name == "setFallbackRegionCode" }
+        profile.getFallbackRegionCode() == "DE"
+    }
+
+    def "profiles share the cache and keep their results apart by fallback region"() {
+        given:
+        def cache = new CachingPhoneNumberNormalizer(normalizer, 100)
+        def registry = new NormalizerProfileRegistry(cache)
+        def de = registry.getProfileForRegion("DE")
+        def at = registry.getProfileForRegion("AT")
+        def none = registry.getProfileForRegion(null)
+        normalizer.setFallbackRegionCode("CH")
+        def expected = ["DE", "AT", null, "CH"].collectEntries { region ->
+            def reference = new PhoneNumberNormalizerImpl()
+            reference.setFallbackRegionCode(region)
+            [(region): reference.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT)]
+        }
+
+        when:
+        def first = de.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT)
+        def second = registry.getProfileForRegion("DE").normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT)
+
+        then:
+        first == "+49203556677"
+        second == first
+        cache.getStatistics().getHitCount() == 1
+        cache.getStatistics().getMissCount() == 1
+        at.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT) == expected["AT"]
+        none.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT) == expected[null]
+        cache.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT) == expected["CH"]
+        de.normalizePhoneNumbers(["0203556677"], UNKNOWN_CONTEXT) == [first]
+        at.normalizeDialableNumber(DialableNumber.of("0203556677"), UNKNOWN_CONTEXT) == expected["AT"]
+        cache.getStatistics().getHitCount() == 3
+    }
+
+    def "registers configured tenants"() {
+        given:
+        target.configuredTenants = ["tenantA=DE", " tenantB = AT ", ""] as String[]
+
+        when:
+        target.registerConfiguredTenants()
+
+        then:
+        target.getProfile("tenantA").getFallbackRegionCode() == "DE"
+        target.getProfile("tenantB").getFallbackRegionCode() == "AT"
+    }
+
+    def "rejects invalid configured tenants"() {
+        given:
+        target.configuredTenants = ["tenantA"] as String[]
+
+        when:
+        target.registerConfiguredTenants()
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "tenants with different fallback regions normalize in parallel"() {
+        given:
+        def regions = ["DE", "AT", "CH", "US", "IT"]
+        def tenants = (0..<40).collect { "tenant$it".toString() }
+        tenants.eachWithIndex { tenant, i -> target.register(tenant, regions[i % regions.size()]) }
+        def expected = regions.collectEntries { region ->
+            def reference = new PhoneNumberNormalizerImpl()
+            reference.setFallbackRegionCode(region)
+            [(region): reference.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT)]
+        }
+        def executor = Executors.newFixedThreadPool(8)
+
+        when:
+        def results = executor.invokeAll(tenants.collect { tenant ->
+            { ->
+                def profile = target.getProfile(tenant)
+                (0..<200).collect { profile.normalizePhoneNumber("0203556677", UNKNOWN_CONTEXT) }
+                        .every { it == expected[profile.getFallbackRegionCode()] }
+            } as Callable<Boolean>
+        }).collect { it.get() }
+
+        then:
+        results.every()
+
+        cleanup:
+        executor.shutdown()
+    }
+
+}
@@ -89,6 +89,25 @@ class PhoneAreaCodeComponentImplTest extends Specification {
         "2"            | "RU"       | "Location2"
     }
 
+    def "get locations by national number prefix"(prefix, regionCode, expectedResult) {
+        given:
+        when:
+        "Get locations of prefix: ${prefix} and region code: ${regionCode}"
+        def result = this.phoneAreaCodeComponentImpl.getLocationsByNationalNumberPrefixAndRegionCode(prefix, regionCode)
+
+        then:
+        "It should return: ${expectedResult}"
+        result == expectedResult
+
+        where:
+        prefix | regionCode | expectedResult
+        "20"   | "DE"       | ["201": "Essen", "202": "Wuppertal"]
+        "6"    | "de"       | ["603": "Duisburg", "6041": "Bottrop", "60412": "XXX"]
+        "6041" | "DE"       | ["6041": "Bottrop", "60412": "XXX"]
+        "7"    | "DE"       | [:]
+        "20"   | "GB"       | [:]
+    }
+
     def "get country by country code"(countryCode, expectedResult) {
         given:
         when:
@@ -129,6 +148,9 @@ class PhoneAreaCodeComponentImplTest extends Specification {
         // check fake for Duisburg which is normaly 203, to check it is using the config.
         "+496035551235"     | "Duisburg"
         "+496041551235"     | "Bottrop"
+        // not split without parser, because of NAC and formatting
+        "+4902015551235"    | "Essen"
+        "+49 201 5551235"   | "Essen"
         // Bottrop has a four digit area code 6041 so 6042 is not in the test data and we have a fallback to the Country
         "+496042551235"     | "Deutschland"
         "+49112"            | "Deutschland"
@@ -146,4 +168,92 @@ class PhoneAreaCodeComponentImplTest extends Specification {
         // +44 is UK, but not entered in test data
         "+445555"           | null
     }
+
+    def "get area label by country code and national number"(int countryCode, long nationalNumber, expectedResult) {
+        when:
+        "Get area label of country code: ${countryCode} and national number: ${nationalNumber}"
+        def result = this.phoneAreaCodeComponentImpl.getLocationByCountryCodeAndNationalNumber(countryCode, nationalNumber)
+
+        then:
+        "It should return the label: ${expectedResult}"
+        result == Optional.ofNullable(expectedResult)
+        result == this.phoneAreaCodeComponentImpl.getLocationByE164Number("+" + countryCode + nationalNumber)
+
+        where:
+        countryCode | nationalNumber | expectedResult
+        49          | 2015551235L    | "Essen"
+        49          | 6035551235L    | "Duisburg"
+        49          | 6042551235L    | "Deutschland"
+        1           | 2055550123L    | "Alabama"
+        1           | 2395550123L    | "Vereinigte Staaten"
+        44          | 5555L          | null
+    }
+
+    def "lazily loaded labels are the same as eagerly loaded labels"(String e164Number) {
+        given:
+        def lazy = new PhoneNumberAreaLabelImpl()
+        lazy.numberPlanResources = numberPlanResources
+        lazy.countryCodeResource = countryCodeResourceFile
+        lazy.setLazyLoading(true)
+        lazy.setPreloadRegions("DE")
+        lazy.initFile()
+
+        expect:
+        lazy.getLocationByE164Number(e164Number) == this.phoneAreaCodeComponentImpl.getLocationByE164Number(e164Number)
+        lazy.getLocationsByNationalNumberPrefixAndRegionCode("", "us") == this.phoneAreaCodeComponentImpl.getLocationsByNationalNumberPrefixAndRegionCode("", "us")
+
+        where:
+        e164Number << ["+492015551235", "+496042551235", "+12055550123", "+73512345678", "+445555"]
+    }
+
+    def "retained heap of the labels is estimated"() {
+        given:
+        def lazy = new PhoneNumberAreaLabelImpl()
+        lazy.numberPlanResources = numberPlanResources
+        lazy.countryCodeResource = countryCodeResourceFile
+        lazy.setLazyLoading(true)
+        lazy.initFile()
+        def beforeLookup = lazy.getRetainedLabelBytes()
+
+        when:
+        lazy.getLocationByE164Number("+492015551235")
+
+        then:
+        beforeLookup > 0
+        lazy.getRetainedLabelBytes() > beforeLookup
+        this.phoneAreaCodeComponentImpl.getRetainedLabelBytes() >= lazy.getRetainedLabelBytes()
+    }
+
+    def "area label implementing only the original methods gets the default methods"() {
+        given:
+        def areaLabel = new OriginalAreaLabel(delegate: this.phoneAreaCodeComponentImpl)
+
+        expect:
+        areaLabel.getLocationByCountryCodeAndNationalNumber(49, 2015551235L) == Optional.of("Essen")
+        areaLabel.getLocationByCountryCodeAndNationalNumber(44, 5555L) == Optional.empty()
+        areaLabel.getLocationsByNationalNumberPrefixAndRegionCode("", "de").isEmpty()
+    }
+
+    /**
+     * Area label of a user, which has been written against the first version of the interface.
+     */
+    static class OriginalAreaLabel implements PhoneNumberAreaLabel {
+
+        PhoneNumberAreaLabel delegate
+
+        @Override
+        Optional<String> getLocationByE164Number(String e164number) {
+            return delegate.getLocationByE164Number(e164number)
+        }
+
+        @Override
+        Optional<String> getLocationByNationalNumberAndRegionCode(String nationalNumber, String regionCode) {
+            return delegate.getLocationByNationalNumberAndRegionCode(nationalNumber, regionCode)
+        }
+
+        @Override
+        Optional<String> getCountryNameByCountryCode(String countryCode) {
+            return delegate.getCountryNameByCountryCode(countryCode)
+        }
+    }
 }
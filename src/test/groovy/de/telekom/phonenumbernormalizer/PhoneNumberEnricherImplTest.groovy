@@ -0,0 +1,76 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer
+
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import spock.lang.Specification
+
+
+class PhoneNumberEnricherImplTest extends Specification {
+
+    PhoneNumberNormalizerImpl normalizer
+
+    PhoneNumberAreaLabelImpl areaLabel
+
+    PhoneNumberEnricher target
+
+    def "setup"() {
+        normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setFallbackRegionCode("DE")
+        areaLabel = new PhoneNumberAreaLabelImpl()
+        areaLabel.initFile()
+        target = new PhoneNumberEnricherImpl(normalizer, areaLabel)
+    }
+
+    def "normalize and label equals normalization followed by labeling the E164 number"(String number, String areaCode, expectedLabel) {
+        given:
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", areaCode)
+
+        when:
+        "normalize and label number: $number"
+        def result = target.normalizeAndLabel(number, dc)
+
+        then:
+        "it should be labeled with: $expectedLabel"
+        def normalized = normalizer.normalizePhoneNumber(number, dc)
+        result.getNumber() == normalized
+        result.getLabel() == Optional.ofNullable(expectedLabel)
+        result.getLabel() == (normalized.startsWith("+") ? areaLabel.getLocationByE164Number(normalized) : Optional.empty())
+
+        where:
+        number              | areaCode | expectedLabel
+        "5551235"           | "201"    | "Essen"
+        "0201 5551235"      | "30"     | "Essen"
+        "0049 201 5551235"  | "30"     | "Essen"
+        "+49 201 5551235"   | "30"     | "Essen"
+        "06042 551235"      | "30"     | "Deutschland"
+        "001 205 5550123"   | "201"    | "Alabama"
+        "110"               | "201"    | null
+        "*61"               | "201"    | null
+        "Max Mustermann"    | "201"    | null
+    }
+
+    def "normalize and label for region"() {
+        when:
+        def result = target.normalizeAndLabel("0201 5551235", "DE")
+
+        then:
+        result.getNumber() == "+492015551235"
+        result.getLabel() == Optional.of("Essen")
+    }
+
+}
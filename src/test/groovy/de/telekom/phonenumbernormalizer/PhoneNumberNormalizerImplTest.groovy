@@ -18,8 +18,12 @@ package de.telekom.phonenumbernormalizer
 import de.telekom.phonenumbernormalizer.dto.DeviceContext
 import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
 import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind
+import de.telekom.phonenumbernormalizer.numberplans.DialableNumber
 import spock.lang.Specification
 
+import java.nio.charset.StandardCharsets
+
 
 class PhoneNumberNormalizerImplTest extends Specification {
 
@@ -236,6 +240,166 @@ class PhoneNumberNormalizerImplTest extends Specification {
         "**61"                    | "49"        | "203"    | "**61"
     }
 
+    def "normalizeNumbers by DeviceContext keeps order and equals single normalization"(String countryCode, String areaCode) {
+        given:
+        def numbers = ["0203556677", "556677", "110", null, "*61", "556677", "(+40)17630696541", "", "0203556677", "1181"]
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, countryCode, areaCode)
+
+        target = new PhoneNumberNormalizerImpl()
+        target.setFallbackRegionCode("DE")
+
+        when: "normalize numbers: $numbers"
+        def result = target.normalizePhoneNumbers(numbers, dc)
+
+        then: "each result is the same as the single normalization at the same position"
+        result.size() == numbers.size()
+        result == numbers.collect { target.normalizePhoneNumber(it, dc) }
+
+        where:
+        countryCode                 | areaCode
+        "49"                        | "203"
+        "49"                        | DeviceContext.UNKNOWN_VALUE
+        "39"                        | "222"
+        "83"                        | DeviceContext.UNKNOWN_VALUE
+        DeviceContext.UNKNOWN_VALUE | DeviceContext.UNKNOWN_VALUE
+        null                        | null
+    }
+
+    def "normalizeNumber by CompiledDeviceContext equals normalization by DeviceContext"(String countryCode, String areaCode) {
+        given:
+        def numbers = ["0203556677", "556677", "110", null, "*61", "(+40)17630696541", "", "1181", "0039 06 12345678"]
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, countryCode, areaCode)
+
+        target = new PhoneNumberNormalizerImpl()
+        target.setFallbackRegionCode("DE")
+
+        when:
+        def compiled = CompiledDeviceContext.of(dc)
+
+        then:
+        numbers.collect { target.normalizePhoneNumberByCompiledContext(it, compiled) } == numbers.collect { target.normalizePhoneNumber(it, dc) }
+        numbers.collect { target.normalizePhoneNumberByCompiledContextToResult(it, compiled) } == numbers.collect { target.normalizePhoneNumberToResult(it, dc) }
+        target.normalizeDialableNumberByCompiledContext(DialableNumber.of("556677"), compiled) == target.normalizeDialableNumber(DialableNumber.of("556677"), dc)
+
+        where:
+        countryCode                 | areaCode
+        "49"                        | "203"
+        "49"                        | DeviceContext.UNKNOWN_VALUE
+        "39"                        | "222"
+        "83"                        | DeviceContext.UNKNOWN_VALUE
+        DeviceContext.UNKNOWN_VALUE | DeviceContext.UNKNOWN_VALUE
+        null                        | null
+    }
+
+    def "CompiledDeviceContext provides the evaluated device context"() {
+        when:
+        def compiled = CompiledDeviceContext.of(new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203"))
+        def unknown = CompiledDeviceContext.of(null)
+
+        then:
+        compiled.hasCountryCode()
+        compiled.hasNationalDestinationCode()
+        compiled.getCountryCode() == "49"
+        compiled.getNationalDestinationCode() == "203"
+        compiled.getLineType() == DeviceContextLineType.FIXEDLINE
+        compiled.getRegionCode() == "DE"
+        compiled.getNationalAccessCode() == "0"
+        compiled.getNumberPlan() != null
+        !unknown.hasCountryCode()
+        !unknown.hasNationalDestinationCode()
+        unknown.getCountryCode() == DeviceContext.UNKNOWN_VALUE
+        unknown.getRegionCode() == null
+        unknown.getNationalAccessCode() == null
+        unknown.getNumberPlan() == null
+    }
+
+    def "CompiledDeviceContext is not changed by the original device context"() {
+        given:
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+        def compiled = CompiledDeviceContext.of(dc)
+
+        def expected = target.normalizePhoneNumberByCompiledContextToResult("556677", compiled)
+
+        when:
+        dc.setNationalDestinationCode("30")
+        dc.setLineType(DeviceContextLineType.MOBILE)
+        compiled.getDeviceContext().setNationalDestinationCode("40")
+
+        then:
+        compiled.getNationalDestinationCode() == "203"
+        compiled.getLineType() == DeviceContextLineType.FIXEDLINE
+        compiled.getDeviceContext() == new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+        target.normalizePhoneNumberByCompiledContext("556677", compiled) == "+49203556677"
+        target.normalizePhoneNumberByCompiledContextToResult("556677", compiled) == expected
+    }
+
+    def "normalize dialable number equals normalization of String"(String number) {
+        given:
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+        def dialable = DialableNumber.of(number.getBytes(StandardCharsets.US_ASCII), 0, number.length())
+
+        expect:
+        target.normalizeDialableNumber(dialable, dc) == target.normalizePhoneNumber(number, dc)
+        target.normalizeDialableNumber(dialable, "DE") == target.normalizePhoneNumber(number, "DE")
+
+        where:
+        number << ["556677", "0203 556677", "+49 (30) 1234567", "116117", "*61", "", "Max Mustermann", "0040 176 3 0 6 9 6542"]
+    }
+
+    def "normalize to result provides kind and E164 parts"(String number, String countryCode, String areaCode, String expectedNumber,
+                                                           NormalizationKind expectedKind, int expectedCountryCode, long expectedNationalNumber,
+                                                           int expectedLeadingZeros, String expectedRegionCode) {
+        given:
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, countryCode, areaCode)
+        target.setFallbackRegionCode("DE")
+
+        when: "normalize number: $number to result"
+        def result = target.normalizePhoneNumberToResult(number, dc)
+
+        then: "it should be $expectedKind: $expectedNumber"
+        result.getNumber() == target.normalizePhoneNumber(number, dc)
+        result.getNumber() == expectedNumber
+        result.getKind() == expectedKind
+        result.isE164() == expectedKind.isE164()
+        result.getCountryCode() == expectedCountryCode
+        result.getNationalNumber() == expectedNationalNumber
+        result.getNumberOfLeadingZeros() == expectedLeadingZeros
+        result.getRegionCode() == expectedRegionCode
+
+        where:
+        number              | countryCode              | areaCode                 | expectedNumber  | expectedKind                        | expectedCountryCode | expectedNationalNumber | expectedLeadingZeros | expectedRegionCode
+        "0203556677"        | "49"                     | "203"                    | "+49203556677"  | NormalizationKind.E164              | 49                  | 203556677              | 0                    | "DE"
+        "556677"            | "49"                     | "203"                    | "+49203556677"  | NormalizationKind.NDC_EXTENDED      | 49                  | 203556677              | 0                    | "DE"
+        "0039 06 12345678"  | "49"                     | "203"                    | "+390612345678" | NormalizationKind.E164              | 39                  | 612345678              | 1                    | "DE"
+        "110"               | "49"                     | "203"                    | "110"           | NormalizationKind.SHORT_NUMBER      | 0                   | 0                      | 0                    | "DE"
+        "0203556677"        | DeviceContext.UNKNOWN_VALUE | DeviceContext.UNKNOWN_VALUE | "+49203556677" | NormalizationKind.FALLBACK_REGION | 49                | 203556677              | 0                    | "DE"
+        "+49 (30) 1234567"  | "49"                     | "203"                    | "+49301234567"  | NormalizationKind.SPECIAL_FORMAT    | 0                   | 0                      | 0                    | null
+        "*61"               | "49"                     | "203"                    | "*61"           | NormalizationKind.SPECIAL_FORMAT    | 0                   | 0                      | 0                    | null
+        "Max Mustermann"    | "49"                     | "203"                    | ""              | NormalizationKind.DIALABLE_ONLY     | 0                   | 0                      | 0                    | null
+        "556677"            | "49"                     | DeviceContext.UNKNOWN_VALUE | "556677"     | NormalizationKind.DIALABLE_ONLY     | 0                   | 0                      | 0                    | "DE"
+    }
+
+    def "normalize to result for region provides national significant number"() {
+        when:
+        def result = target.normalizePhoneNumberToResult("012345678", "IT")
+
+        then:
+        result.getNumber() == target.normalizePhoneNumber("012345678", "IT")
+        result.getE164() == "+39012345678"
+        result.getKind() == NormalizationKind.E164
+        result.getRegionCode() == "IT"
+        result.getNationalSignificantNumber() == "012345678"
+    }
+
+    def "normalizeNumbers with empty input"() {
+        given:
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+
+        expect:
+        target.normalizePhoneNumbers([], dc) == []
+        target.normalizePhoneNumbers(null, dc) == []
+    }
+
     def "private normalize(String regionCode, String dialableNumber, DeviceContextDto deviceContext)"() {
         given:
 
@@ -246,11 +410,11 @@ class PhoneNumberNormalizerImplTest extends Specification {
 
 
         when:
-        def result = target.normalize(null, dc)
+        def result = target.normalize(null, dc.getNationalDestinationCode(), null)
 
         then:
 
-        assert result == null
+        assert result.getNumber() == null
 
     }
 
@@ -282,4 +446,63 @@ class PhoneNumberNormalizerImplTest extends Specification {
         assert result == "333"
     }
 
+    def "normalizer implementing only the original methods gets the default methods"(String number) {
+        given:
+        target.setFallbackRegionCode("DE")
+        def original = new OriginalNormalizer(delegate: target)
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+        def compiled = CompiledDeviceContext.of(dc)
+        def dialable = DialableNumber.of(number)
+
+        expect:
+        original.normalizePhoneNumbers([number, number], dc) == target.normalizePhoneNumbers([number, number], dc)
+        original.normalizeDialableNumber(dialable, dc) == target.normalizeDialableNumber(dialable, dc)
+        original.normalizeDialableNumber(dialable, "DE") == target.normalizeDialableNumber(dialable, "DE")
+        original.normalizePhoneNumberByCompiledContext(number, compiled) == target.normalizePhoneNumberByCompiledContext(number, compiled)
+        original.normalizeDialableNumberByCompiledContext(dialable, compiled) == target.normalizeDialableNumberByCompiledContext(dialable, compiled)
+        original.normalizePhoneNumberToResult(number, dc).getNumber() == target.normalizePhoneNumber(number, dc)
+        original.normalizePhoneNumberToResult(number, dc).getE164() == target.normalizePhoneNumberToResult(number, dc).getE164()
+        original.normalizePhoneNumberToResult(number, dc).getNationalSignificantNumber() == target.normalizePhoneNumberToResult(number, dc).getNationalSignificantNumber()
+        original.normalizePhoneNumberByCompiledContextToResult(number, compiled) == original.normalizePhoneNumberToResult(number, dc)
+        original.normalizePhoneNumberToResult(number, "DE").getNumber() == target.normalizePhoneNumber(number, "DE")
+
+        where:
+        number << ["0203556677", "556677", "0039 06 12345678", "110", "*61", "Max Mustermann"]
+    }
+
+    def "default result of a number in special format keeps its kind"() {
+        given:
+        def original = new OriginalNormalizer(delegate: target)
+
+        when:
+        def result = original.normalizePhoneNumberToResult("+49 (30) 1234567", "DE")
+
+        then:
+        result.getNumber() == "+49301234567"
+        result.getKind() == NormalizationKind.SPECIAL_FORMAT
+        !result.isE164()
+    }
+
+    /**
+     * Normalizer of a user, which has been written against the first version of the interface.
+     */
+    static class OriginalNormalizer implements PhoneNumberNormalizer {
+
+        PhoneNumberNormalizer delegate
+
+        @Override
+        void setFallbackRegionCode(String fallBackRegionCode) {
+            delegate.setFallbackRegionCode(fallBackRegionCode)
+        }
+
+        @Override
+        String normalizePhoneNumber(String number, DeviceContext deviceContext) {
+            return delegate.normalizePhoneNumber(number, deviceContext)
+        }
+
+        @Override
+        String normalizePhoneNumber(String number, String regionCode) {
+            return delegate.normalizePhoneNumber(number, regionCode)
+        }
+    }
 }
@@ -0,0 +1,184 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer
+
+import de.telekom.phonenumbernormalizer.arealabels.AreaLabelVersion
+import de.telekom.phonenumbernormalizer.arealabels.LabelSource
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics
+import de.telekom.phonenumbernormalizer.numberplans.FastPathMode
+import groovy.transform.CompileStatic
+import org.springframework.context.annotation.AnnotationConfigApplicationContext
+import org.springframework.core.env.MapPropertySource
+import spock.lang.Specification
+
+
+class StandaloneBootstrapTest extends Specification {
+
+    static final List<String> E164_NUMBERS = ["+492015551235", "+4960412123", "+4930123456", "+12055550123", "+74951234567", "+445555", "+49112", "+4"]
+
+    def "builder loads the same labels as the Spring bean"() {
+        given:
+        def bean = new PhoneNumberAreaLabelImpl()
+        bean.initFile()
+
+        when:
+        def target = StandalonePhoneNumberAreaLabel.builder().build()
+
+        then:
+        target.getLocationByE164Number("+492015551235") == Optional.of("Essen")
+        E164_NUMBERS.every { target.getLocationByE164Number(it) == bean.getLocationByE164Number(it) }
+        target.getLabelVersion().getRegionCount() == bean.getLabelVersion().getRegionCount()
+        target.getLabelVersion().getPrefixCount() == bean.getLabelVersion().getPrefixCount()
+    }
+
+    def "builder replaces the bundled national labels and loads them lazily"() {
+        when:
+        def target = StandalonePhoneNumberAreaLabel.builder()
+                .nationalLabels(LabelSource.of(getClass().getClassLoader().getResource("arealabels/nationallabels/de.json")))
+                .lazyLoading(true)
+                .build()
+
+        then:
+        target.getLabelVersion().getRegionCount() == 1
+        target.getLabelVersion().getPrefixCount() == 0
+        target.getLocationByE164Number("+492015551235") == Optional.of("Essen")
+        target.getLocationByE164Number("+12055550123") == Optional.of("Vereinigte Staaten")
+    }
+
+    def "normalizer builder applies the settings of the Spring properties"() {
+        given:
+        def reference = new PhoneNumberNormalizerImpl()
+        reference.setFallbackRegionCode("DE")
+
+        when:
+        def target = PhoneNumberNormalizerImpl.builder().fallbackRegionCode("DE").deFastPathMode(FastPathMode.ON).preloadRegions("DE").build()
+
+        then:
+        target.getFallbackRegionCode() == "DE"
+        target.deFastPathMode == FastPathMode.ON
+        ["0203556677", "004017630696543", "+4930123456", "110"].every {
+            target.normalizePhoneNumber(it, "DE") == reference.normalizePhoneNumber(it, "DE")
+        }
+    }
+
+    def "normalizers do not change the shared diagnostics settings"() {
+        given:
+        def context = new AnnotationConfigApplicationContext()
+        context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("diagnostics", [
+                "service.normalizer.diagnostics.perRecordLogging": "true"]))
+        context.register(NormalizerDiagnosticsConfigurer, PhoneNumberNormalizerImpl)
+        context.refresh()
+
+        when:
+        PhoneNumberNormalizerImpl.builder().fallbackRegionCode("DE").build()
+        new PhoneNumberNormalizerImpl().preloadRegionMetadata()
+
+        then:
+        NormalizerDiagnostics.INSTANCE.isPerRecordLogging()
+
+        cleanup:
+        context.close()
+        new NormalizerDiagnosticsConfigurer().configureDiagnostics()
+    }
+
+    def "builders do not need Spring"() {
+        given:
+        def classLoader = new SpringHidingClassLoader(getClass().getClassLoader())
+
+        when:
+        def areaLabel = classLoader.loadClass(StandalonePhoneNumberAreaLabel.name).getMethod("builder").invoke(null).build()
+        def normalizer = classLoader.loadClass(PhoneNumberNormalizerImpl.name).getMethod("builder").invoke(null).fallbackRegionCode("DE").build()
+
+        then:
+        areaLabel.getClass().getClassLoader().is(classLoader)
+        areaLabel.getLocationByE164Number("+492015551235") == Optional.of("Essen")
+        normalizer.getClass().getClassLoader().is(classLoader)
+        normalizer.normalizePhoneNumber("0203556677", "DE") == "+49203556677"
+
+        when: "only the Spring bean refers to Spring resources"
+        classLoader.loadClass(PhoneNumberAreaLabelImpl.name).getDeclaredFields()
+
+        then:
+        thrown(NoClassDefFoundError)
+    }
+
+    def "startup without Spring is faster than the Spring context"() {
+        when:
+        long spring = fastestOf(3) {
+            def context = new AnnotationConfigApplicationContext()
+            context.getEnvironment().getPropertySources().addFirst(new MapPropertySource("areaLabel", [
+                    "service.areaLabel.nationalLabels": "arealabels/nationallabels/*.json",
+                    "service.areaLabel.countryLabels" : "arealabels/international_country_codes.json"]))
+            context.register(PhoneNumberNormalizerImpl, PhoneNumberAreaLabelImpl)
+            context.refresh()
+            assert context.getBean(PhoneNumberAreaLabelImpl).getLabelVersion() != AreaLabelVersion.NONE
+            context.close()
+        }
+        long standalone = fastestOf(3) {
+            PhoneNumberNormalizerImpl.builder().build()
+            assert StandalonePhoneNumberAreaLabel.builder().build().getLabelVersion() != AreaLabelVersion.NONE
+        }
+
+        then:
+        standalone < spring
+    }
+
+    /**
+     * @return nanoseconds of the fastest run - so JIT and class loading of the first run do not count
+     */
+    static long fastestOf(int runs, Closure startup) {
+        long fastest = Long.MAX_VALUE
+        for (int i = 0; i < runs; i++) {
+            long start = System.nanoTime()
+            startup.call()
+            fastest = Math.min(fastest, System.nanoTime() - start)
+        }
+        return fastest
+    }
+
+    /**
+     * Loads the classes of the library itself, while Spring is not available - like in a plain Java application.
+     * <p>
+     * Statically compiled, since the protected methods of ClassLoader are not accessible by Groovy's dynamic dispatch.
+     * </p>
+     */
+    @CompileStatic
+    static class SpringHidingClassLoader extends ClassLoader {
+
+        SpringHidingClassLoader(ClassLoader parent) {
+            super(parent)
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            if (name.startsWith("org.springframework.")) {
+                throw new ClassNotFoundException(name)
+            }
+            if (!name.startsWith("de.telekom.phonenumbernormalizer.")) {
+                return super.loadClass(name, resolve)
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> loaded = findLoadedClass(name)
+                if (loaded == null) {
+                    byte[] bytes = getParent().getResourceAsStream(name.replace('.', '/') + ".class").withCloseable { it.readAllBytes() }
+                    loaded = defineClass(name, bytes, 0, bytes.length)
+                }
+                return loaded
+            }
+        }
+    }
+
+}
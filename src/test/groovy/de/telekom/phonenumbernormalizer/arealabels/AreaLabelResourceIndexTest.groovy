@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels
+
+import spock.lang.Specification
+import spock.lang.TempDir
+
+import java.nio.file.Files
+import java.nio.file.Path
+
+
+class AreaLabelResourceIndexTest extends Specification {
+
+    @TempDir
+    Path root
+
+    def "bundled national label files are indexed"() {
+        expect:
+        AreaLabelResourceIndex.compile(Path.of("src/main/resources/arealabels")) == "au.json\nde.json\nru.json\nus.json\n"
+    }
+
+    def "indexed files are found in the classpath root of the index"() {
+        given:
+        Files.createDirectories(root.resolve("arealabels/nationallabels"))
+        Files.writeString(root.resolve("arealabels/international_country_codes.json"), "[{\"49\": \"Deutschland\"}]")
+        Files.writeString(root.resolve("arealabels/nationallabels/de.json"), "[{\"201\": \"Essen\"}]")
+        Files.writeString(root.resolve("arealabels/nationallabels/readme.txt"), "not indexed")
+        AreaLabelSnapshotCompiler.main(root.resolve("arealabels").toString(), root.resolve("out/" + AreaLabelSnapshot.RESOURCE).toString(),
+                root.resolve("out/" + AreaLabelResourceIndex.RESOURCE).toString())
+        def classLoader = new URLClassLoader([root.resolve("out").toUri().toURL()] as URL[], (ClassLoader) null)
+
+        when:
+        def target = AreaLabelResourceIndex.load(classLoader)
+        def sources = target.getNationalLabelSources()
+
+        then:
+        Files.exists(root.resolve("out/" + AreaLabelSnapshot.RESOURCE))
+        target.getFilenames() == ["de.json"]
+        sources*.getFilename() == ["de.json"]
+        sources[0].getUrl().toString() == root.resolve("out/arealabels/nationallabels/de.json").toUri().toURL().toString()
+        target.isIndexOf(root.resolve("out/arealabels/nationallabels/").toUri().toURL())
+        target.isIndexOf(new URL("file:" + root.resolve("out/arealabels/nationallabels").toUri().getRawPath()))
+        !target.isIndexOf(root.resolve("arealabels/nationallabels/").toUri().toURL())
+        !target.isIndexOf(null)
+
+        cleanup:
+        classLoader?.close()
+    }
+
+    def "missing index is no error"() {
+        given:
+        def classLoader = new URLClassLoader([root.toUri().toURL()] as URL[], (ClassLoader) null)
+
+        expect:
+        AreaLabelResourceIndex.load(classLoader) == null
+
+        cleanup:
+        classLoader.close()
+    }
+
+    def "label source reads a file"() {
+        given:
+        def file = Files.writeString(root.resolve("de.json"), "[{\"201\": \"Essen\"}]")
+
+        when:
+        def target = LabelSource.of(file)
+
+        then:
+        target.getFilename() == "de.json"
+        target.getUrl().toString() == file.toUri().toURL().toString()
+        target.openStream().withCloseable { new String(it.readAllBytes()) } == "[{\"201\": \"Essen\"}]"
+        LabelSource.of(file.toUri().toURL()).getFilename() == "de.json"
+    }
+
+}
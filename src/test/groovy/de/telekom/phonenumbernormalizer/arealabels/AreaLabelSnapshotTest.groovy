@@ -0,0 +1,95 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels
+
+import com.fasterxml.jackson.databind.ObjectMapper
+import spock.lang.Specification
+
+import java.nio.file.Path
+
+
+class AreaLabelSnapshotTest extends Specification {
+
+    def "labels survive compiling and reading the snapshot"() {
+        given:
+        def data = AreaLabelSnapshot.compile(["49": "Deutschland", "7": "Russland", "9712": "Abu Dhabi"],
+                ["DE": ["201": "Essen", "6041": "Bottrop", "2066": "Duisburg", "203": "Duisburg", "x1": "ignored"], "RU": ["3": "Russland"]])
+
+        when:
+        def target = AreaLabelSnapshot.read(data, null)
+
+        then:
+        target.getCountryLabels() == ["49": "Deutschland", "7": "Russland", "9712": "Abu Dhabi"]
+        target.getRegionCodes() == ["DE", "RU"] as Set
+        target.getNationalLabelTrie("DE").size() == 4
+        target.getNationalLabelTrie("DE").findLabel("2015551235") == "Essen"
+        target.getNationalLabelTrie("DE").findLabel("2066123") == "Duisburg"
+        target.getNationalLabelTrie("DE").findLabel("x1") == null
+        target.getNationalLabelTrie("RU").findLabel("31234") == "Russland"
+        target.getNationalLabelTrie("US") == null
+        target.getNationalLabelLoader("DE").load().findLabel("2015551235") == "Essen"
+        target.getNationalLabelLoader("US") == null
+    }
+
+    def "bundled label files are compiled without any difference"() {
+        given:
+        def folder = Path.of("src/main/resources/arealabels")
+        def mapper = new ObjectMapper()
+
+        when:
+        def target = AreaLabelSnapshot.read(AreaLabelSnapshotCompiler.compile(folder), null)
+
+        then:
+        target.getCountryLabels() == mapper.readValue(folder.resolve("international_country_codes.json").toFile(), List.class).get(0)
+        target.getRegionCodes() == ["AU", "DE", "RU", "US"] as Set
+        target.getRegionCodes().every { regionCode ->
+            def json = mapper.readValue(folder.resolve("nationallabels/" + regionCode.toLowerCase() + ".json").toFile(), List.class).get(0)
+            target.getNationalLabelTrie(regionCode).findLabelsByPrefix("") == NationalLabelTrie.of(json).findLabelsByPrefix("")
+        }
+    }
+
+    def "corrupted snapshot is rejected"() {
+        when:
+        AreaLabelSnapshot.read("no snapshot".getBytes(), null)
+
+        then:
+        thrown(IOException)
+    }
+
+    def "truncated table of a region is rejected"() {
+        given:
+        def data = AreaLabelSnapshot.compile(["49": "Deutschland"], ["DE": ["201": "Essen"]])
+
+        when:
+        AreaLabelSnapshot.read(Arrays.copyOf(data, data.length - 1), null)
+
+        then:
+        thrown(IOException)
+    }
+
+    def "only files of the same classpath root are replaced by the snapshot"() {
+        given:
+        def target = AreaLabelSnapshot.read(AreaLabelSnapshot.compile([:], [:]), "file:/app/classes/")
+
+        expect:
+        target.isBundledResource(AreaLabelSnapshot.COUNTRY_LABELS, new URL("file:/app/classes/arealabels/international_country_codes.json"))
+        !target.isBundledResource(AreaLabelSnapshot.COUNTRY_LABELS, new URL("file:/app/test-classes/arealabels/international_country_codes.json"))
+        !target.isBundledResource(AreaLabelSnapshot.COUNTRY_LABELS, null)
+        !AreaLabelSnapshot.read(AreaLabelSnapshot.compile([:], [:]), null).isBundledResource(AreaLabelSnapshot.COUNTRY_LABELS,
+                new URL("file:/app/classes/arealabels/international_country_codes.json"))
+    }
+
+}
@@ -0,0 +1,59 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels
+
+import spock.lang.Specification
+
+
+class CountryCallingCodeTableTest extends Specification {
+
+    CountryCallingCodeTable target
+
+    def "setup"() {
+        target = CountryCallingCodeTable.of(["49": "Deutschland", "1": "Vereinigte Staaten", "9712": "Abu Dhabi"])
+    }
+
+    def "split E164 number without parser"(e164number, countryCode, regionCode, label, nationalNumberStart) {
+        when:
+        "split: $e164number"
+        def result = target.findCountryCallingCode(e164number)
+
+        then:
+        "it should return CC: $countryCode of region: $regionCode"
+        result.getCountryCode() == countryCode
+        result.getRegionCode() == regionCode
+        result.getLabel() == label
+        result.getNationalNumberStart() == nationalNumberStart
+
+        where:
+        e164number        | countryCode | regionCode | label                | nationalNumberStart
+        "+4961511234567"  | 49          | "DE"       | "Deutschland"        | 3
+        "+4911"           | 49          | "DE"       | "Deutschland"        | 3
+        "+12015550123"    | 1           | "US"       | "Vereinigte Staaten" | 2
+        "+97121234567"    | 971         | "AE"       | null                 | 4
+        "+80012345678"    | 800         | "001"      | null                 | 4
+    }
+
+    def "parser needed"(e164number) {
+        expect:
+        target.findCountryCallingCode(e164number) == null
+
+        where:
+        e164number << ["", "+", "+4", "+49", "+491", "4961511234567", "+49 6151 1234567", "+4906151123456",
+                       "+11234567890", "+0049", "+49999999999999999999", "+4961511234567#"]
+    }
+
+}
@@ -0,0 +1,58 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels
+
+import spock.lang.Specification
+
+
+class LabelPoolTest extends Specification {
+
+    def "labels are decoded by their index"() {
+        given:
+        def labels = ["Essen", "Duisburg Rheinhausen", "", "Mönchengladbach", "Weihnachtsinsel 🎄"]
+
+        when:
+        def target = LabelPool.of(labels)
+
+        then:
+        target.size() == labels.size()
+        (0..<labels.size()).every { target.get(it) == labels[it] }
+        target.getBytes().length == labels.sum { it.getBytes("UTF-8").length }
+    }
+
+    def "index out of the pool is rejected"() {
+        when:
+        LabelPool.of("Essen").get(1)
+
+        then:
+        thrown(IndexOutOfBoundsException)
+    }
+
+    def "invalid encoded pool is rejected"() {
+        when:
+        LabelPool.of("Essen".getBytes("UTF-8"), [0, 6] as int[])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "retained heap grows with the labels"() {
+        expect:
+        LabelPool.of("Essen").getRetainedBytes() > 0
+        LabelPool.of("Essen", "Duisburg").getRetainedBytes() > LabelPool.of("Essen").getRetainedBytes()
+    }
+
+}
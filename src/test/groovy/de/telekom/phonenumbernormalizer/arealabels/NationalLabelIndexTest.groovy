@@ -0,0 +1,118 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels
+
+import spock.lang.Specification
+
+import java.util.concurrent.CountDownLatch
+import java.util.concurrent.Executors
+import java.util.concurrent.TimeUnit
+import java.util.concurrent.atomic.AtomicInteger
+
+
+class NationalLabelIndexTest extends Specification {
+
+    NationalLabelIndex target
+
+    AtomicInteger loads
+
+    def "setup"() {
+        loads = new AtomicInteger()
+        target = new NationalLabelIndex()
+                .add("RU", NationalLabelTrie.of(["3": "Russland"]))
+                .addLazy("DE", { loads.incrementAndGet(); NationalLabelTrie.of(["201": "Essen"]) } as NationalLabelIndex.Loader)
+                .addLazy("US", { throw new IOException("broken file") } as NationalLabelIndex.Loader)
+    }
+
+    def "lazy region is loaded with its first lookup only"() {
+        expect:
+        target.contains("DE")
+        !target.isLoaded("DE")
+        target.isLoaded("RU")
+        loads.get() == 0
+
+        when:
+        def first = target.get("DE")
+        def second = target.get("DE")
+
+        then:
+        first.findLabel("2015551235") == "Essen"
+        second.is(first)
+        target.isLoaded("DE")
+        loads.get() == 1
+    }
+
+    def "concurrent first lookups load the region once"() {
+        given:
+        def threads = 8
+        def start = new CountDownLatch(1)
+        def pool = Executors.newFixedThreadPool(threads)
+
+        when:
+        def futures = (1..threads).collect { pool.submit({ start.await(); target.get("DE") } as java.util.concurrent.Callable) }
+        start.countDown()
+        def results = futures.collect { it.get(10, TimeUnit.SECONDS) }
+        pool.shutdown()
+
+        then:
+        loads.get() == 1
+        results.every { it.is(results[0]) }
+    }
+
+    def "region which could not be loaded has no labels"() {
+        expect:
+        target.contains("US")
+        target.get("US").size() == 0
+        target.get("US").findLabel("2015551235") == null
+    }
+
+    def "unknown region"() {
+        expect:
+        !target.contains("AU")
+        target.get("AU") == null
+        !target.isLoaded("AU")
+        target.getRegionCodes() == ["DE", "RU", "US"] as Set
+    }
+
+    def "preload loads the given regions at once"() {
+        when:
+        target.preload([" de", "AU", null, ""])
+
+        then:
+        target.isLoaded("DE")
+        !target.isLoaded("US")
+        loads.get() == 1
+    }
+
+    def "retained heap counts loaded regions and shared label pools once"() {
+        given:
+        def pool = LabelPool.of("Essen", "Duisburg")
+        def index = new NationalLabelIndex()
+                .add("DE", NationalLabelTrie.of(["201", "203"] as String[], [0, 1] as int[], pool))
+                .add("AT", NationalLabelTrie.of(["1"] as String[], [0] as int[], pool))
+        def before = target.getRetainedBytes()
+
+        expect:
+        index.getRetainedBytes() == index.get("DE").getRetainedBytesWithoutLabels() + index.get("AT").getRetainedBytesWithoutLabels() + pool.getRetainedBytes()
+
+        when:
+        target.get("DE")
+
+        then:
+        target.getRetainedBytes() > before
+    }
+
+}
@@ -0,0 +1,94 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.arealabels
+
+import spock.lang.Specification
+
+
+class NationalLabelTrieTest extends Specification {
+
+    NationalLabelTrie target
+
+    def "setup"() {
+        target = NationalLabelTrie.of(["201": "Essen", "6041": "Bottrop", "60412": "XXX", "603": "Duisburg", "2066": "Duisburg", "x1": "ignored"])
+    }
+
+    def "find label of longest prefix"(nationalNumber, expectedResult) {
+        when:
+        "find label for: $nationalNumber"
+        def byString = target.findLabel(nationalNumber as String)
+        def byLong = (nationalNumber == null || nationalNumber.isEmpty()) ? null : target.findLabel(Long.parseLong(nationalNumber))
+
+        then:
+        "it should return: $expectedResult"
+        byString == expectedResult
+        byLong == expectedResult
+
+        where:
+        nationalNumber | expectedResult
+        null           | null
+        ""             | null
+        "2"            | null
+        "201"          | "Essen"
+        "2015551235"   | "Essen"
+        "6041551235"   | "Bottrop"
+        "60412"        | "XXX"
+        "604123"       | "XXX"
+        "6042551235"   | null
+        "2066123"      | "Duisburg"
+        "6031"         | "Duisburg"
+    }
+
+    def "non digit keys are ignored"() {
+        expect:
+        target.size() == 5
+        target.findLabel("x1") == null
+    }
+
+    def "find labels by prefix"() {
+        expect:
+        target.findLabelsByPrefix("60") == ["603": "Duisburg", "6041": "Bottrop", "60412": "XXX"]
+        target.findLabelsByPrefix("").size() == 5
+        target.findLabelsByPrefix("9").isEmpty()
+        target.findLabelsByPrefix("6a").isEmpty()
+    }
+
+    def "prefix table with shared label pool"() {
+        when:
+        def table = NationalLabelTrie.of(["201", "203", "6041"] as String[], [1, 0, 2] as int[], ["Duisburg", "Essen", "Bottrop", "unused"] as String[])
+
+        then:
+        table.size() == 3
+        table.findLabel("2015551235") == "Essen"
+        table.findLabel(2035551235L) == "Duisburg"
+        table.findLabelsByPrefix("") == ["201": "Essen", "203": "Duisburg", "6041": "Bottrop"]
+    }
+
+    def "invalid prefix table is rejected"() {
+        when:
+        NationalLabelTrie.of(["x1"] as String[], [0] as int[], ["Essen"] as String[])
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+    def "identical labels are stored once"() {
+        expect:
+        target.getLabelPool().size() == 4
+        target.getRetainedBytesWithoutLabels() > 0
+    }
+
+}
@@ -0,0 +1,129 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk
+
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import spock.lang.Specification
+
+import java.util.concurrent.ConcurrentLinkedQueue
+import java.util.concurrent.ForkJoinPool
+
+
+class BulkNormalizerTest extends Specification {
+
+    static final String[] NUMBERS = ["556677", "0203556677", "0049 30 12345678", "+4930123456", "110", "116117", "",
+                                     "Max Mustermann", "0176 3 0 6 9 6544", "00390203556677", null]
+
+    PhoneNumberNormalizerImpl normalizer
+
+    ForkJoinPool pool
+
+    BulkNormalizer target
+
+    def "setup"() {
+        normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setFallbackRegionCode("DE")
+        pool = new ForkJoinPool(4)
+        target = new BulkNormalizer(normalizer, pool, 7)
+    }
+
+    def "cleanup"() {
+        pool.shutdown()
+    }
+
+    NormalizationRecord[] records(int count) {
+        def contexts = [new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203"),
+                        new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "30"),
+                        new DeviceContextDto(DeviceContextLineType.MOBILE, "49", "176"),
+                        null]
+        NormalizationRecord[] result = new NormalizationRecord[count]
+        for (int i = 0; i < count; i++) {
+            // runs of 5 records share one device context instance
+            result[i] = new NormalizationRecord(NUMBERS[i % NUMBERS.length], contexts[(i.intdiv(5)) % contexts.size()])
+        }
+        return result
+    }
+
+    def "bulk normalization of an array equals single normalization in input order"() {
+        given:
+        def records = records(count)
+
+        when:
+        def result = target.normalizeRecords(records, BulkProgressListener.NONE)
+
+        then:
+        result.getNormalizedNumbers() == records.collect { normalizer.normalizePhoneNumber(it.getNumber(), it.getDeviceContext()) }
+        result.getReport().getRecordCount() == count
+        result.getReport().getWorkers().values().sum(0L) { it.getRecordCount() } == count
+
+        where:
+        count << [0, 1, 7, 8, 1000]
+    }
+
+    def "bulk normalization of a spliterator equals single normalization in encounter order"() {
+        given:
+        def records = records(count)
+
+        when:
+        def result = target.normalizeSpliterator(Arrays.asList(records).spliterator(), BulkProgressListener.NONE)
+        def unsized = target.normalizeSpliterator(Spliterators.spliteratorUnknownSize(Arrays.asList(records).iterator(), Spliterator.ORDERED), BulkProgressListener.NONE)
+
+        then:
+        def expected = records.collect { normalizer.normalizePhoneNumber(it.getNumber(), it.getDeviceContext()) }
+        result.getNormalizedNumbers() == expected
+        unsized.getNormalizedNumbers() == expected
+
+        where:
+        count << [0, 1, 7, 8, 1000]
+    }
+
+    def "reports progress up to the total"() {
+        given:
+        def records = records(100)
+        def progress = new ConcurrentLinkedQueue<List<Long>>()
+
+        when:
+        target.normalizeRecords(records, { processed, total -> progress.add([processed, total]) })
+
+        then:
+        progress.every { it[1] == 100L && it[0] <= 100L }
+        progress.collect { it[0] }.max() == 100L
+    }
+
+    def "reports unknown total of a spliterator"() {
+        given:
+        def records = records(20)
+        def totals = new ConcurrentLinkedQueue<Long>()
+
+        when:
+        target.normalizeSpliterator(Spliterators.spliteratorUnknownSize(Arrays.asList(records).iterator(), Spliterator.ORDERED), { processed, total -> totals.add(total) })
+
+        then:
+        !totals.isEmpty()
+        totals.every { it == -1L }
+    }
+
+    def "rejects non positive batch size"() {
+        when:
+        new BulkNormalizer(normalizer, pool, 0)
+
+        then:
+        thrown(IllegalArgumentException)
+    }
+
+}
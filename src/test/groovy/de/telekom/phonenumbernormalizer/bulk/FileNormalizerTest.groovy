@@ -0,0 +1,103 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.bulk
+
+import de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl
+import de.telekom.phonenumbernormalizer.dto.DeviceContext
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import spock.lang.Specification
+
+import java.nio.charset.StandardCharsets
+import java.nio.file.Files
+import java.nio.file.Path
+import java.util.concurrent.ForkJoinPool
+
+
+class FileNormalizerTest extends Specification {
+
+    PhoneNumberNormalizerImpl normalizer
+
+    ForkJoinPool pool
+
+    Path input
+
+    Path output
+
+    def "setup"() {
+        normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setFallbackRegionCode("DE")
+        pool = new ForkJoinPool(4)
+        input = Files.createTempFile("numbers", ".csv")
+        output = Files.createTempFile("normalized", ".csv")
+    }
+
+    def "cleanup"() {
+        pool.shutdown()
+        Files.deleteIfExists(input)
+        Files.deleteIfExists(output)
+    }
+
+    def "normalizes line delimited numbers in input order across windows and chunks"() {
+        given:
+        def numbers = (0..<500).collect { ["0201 5551235", "+4930123456", "110", "Max Mustermann", "00390203556677"][it % 5] + it }
+        Files.writeString(input, numbers.join("\n") + "\n", StandardCharsets.UTF_8)
+        // small windows and chunks, so the lines are split over many of them
+        def target = new FileNormalizer(normalizer, null, FileFormat.lines(), pool, 512, 64)
+
+        when:
+        def report = target.normalize(input, output, BulkProgressListener.NONE)
+
+        then:
+        Files.readAllLines(output) == numbers.collect { it + "," + (normalizer.normalizePhoneNumber(it, "DE") ?: "") }
+        report.getRecordCount() == 500
+    }
+
+    def "maps country code and NDC columns to the device context and adds the label column"() {
+        given:
+        Files.writeString(input, "name;cc;ndc;number\r\nA;49;201;5551235\r\nB;49;30;0201 5551235\r\n\r\nC;;;5551235\r\nD;49;201\r\n", StandardCharsets.UTF_8)
+        def format = FileFormat.csv((char) ';').withNumberColumn(3).withCountryCodeColumn(1).withNationalDestinationCodeColumn(2)
+                .withHeader(true).withLineType(DeviceContextLineType.FIXEDLINE)
+        def areaLabel = new PhoneNumberAreaLabelImpl()
+        areaLabel.initFile()
+        def target = new FileNormalizer(normalizer, areaLabel, format)
+
+        when:
+        def report = target.normalize(input, output, BulkProgressListener.NONE)
+
+        then:
+        Files.readAllLines(output) == ["name;cc;ndc;number;normalized;label",
+                                       "A;49;201;5551235;+492015551235;Essen",
+                                       "B;49;30;0201 5551235;+492015551235;Essen",
+                                       "C;;;5551235;" + normalizer.normalizePhoneNumber("5551235", new DeviceContextDto(DeviceContextLineType.FIXEDLINE, DeviceContext.UNKNOWN_VALUE, DeviceContext.UNKNOWN_VALUE)) + ";",
+                                       "D;49;201;" + (normalizer.normalizePhoneNumber("", new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "201")) ?: "") + ";"]
+        report.getRecordCount() == 4
+    }
+
+    def "rejects lines longer than the window"() {
+        given:
+        Files.writeString(input, "1".repeat(100) + "\n110\n", StandardCharsets.UTF_8)
+        def target = new FileNormalizer(normalizer, null, FileFormat.lines(), pool, 64, 16)
+
+        when:
+        target.normalize(input, output, BulkProgressListener.NONE)
+
+        then:
+        thrown(IOException)
+    }
+
+}
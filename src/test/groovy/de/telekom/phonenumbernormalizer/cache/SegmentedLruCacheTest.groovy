@@ -0,0 +1,100 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.cache
+
+import spock.lang.Specification
+
+
+class SegmentedLruCacheTest extends Specification {
+
+    def "counts hits and misses"() {
+        given:
+        def target = new SegmentedLruCache<String, String>(10, 1)
+
+        when:
+        def first = target.get("a", { k -> k.toUpperCase() })
+        def second = target.get("a", { k -> throw new IllegalStateException("must be cached") })
+        def missing = target.getIfPresent("b")
+
+        then:
+        first == "A"
+        second == "A"
+        missing == null
+        def statistics = target.getStatistics()
+        statistics.getHitCount() == 1
+        statistics.getMissCount() == 2
+        statistics.getEvictionCount() == 0
+        statistics.getSize() == 1
+        Math.abs(statistics.getHitRate() - 1.0d / 3) < 1e-9
+    }
+
+    def "is bounded and evicts entries used only once before hit entries"() {
+        given:
+        def target = new SegmentedLruCache<String, String>(5, 1)
+        target.put("hot", "HOT")
+        target.getIfPresent("hot")
+
+        when:
+        (1..20).each { target.put("cold" + it, "COLD") }
+
+        then:
+        target.size() == 5
+        target.getStatistics().getEvictionCount() == 16
+        target.getIfPresent("hot") == "HOT"
+        target.getIfPresent("cold20") == "COLD"
+        target.getIfPresent("cold1") == null
+    }
+
+    def "null values are not cached"() {
+        given:
+        def target = new SegmentedLruCache<String, String>(5, 4)
+
+        when:
+        def result = target.get("a", { k -> null })
+
+        then:
+        result == null
+        target.size() == 0
+    }
+
+    def "invalidate all entries"() {
+        given:
+        def target = new SegmentedLruCache<String, String>(100, 8)
+        (1..50).each { target.put("key" + it, "value") }
+
+        when:
+        target.invalidateAll()
+
+        then:
+        target.size() == 0
+        target.getIfPresent("key1") == null
+    }
+
+    def "invalid size"(maximumSize, concurrencyLevel) {
+        when:
+        new SegmentedLruCache<String, String>(maximumSize, concurrencyLevel)
+
+        then:
+        thrown(IllegalArgumentException)
+
+        where:
+        maximumSize | concurrencyLevel
+        0           | 1
+        -1          | 1
+        1           | 0
+    }
+
+}
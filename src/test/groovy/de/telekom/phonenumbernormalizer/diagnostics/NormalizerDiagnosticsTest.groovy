@@ -0,0 +1,122 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.diagnostics
+
+import de.telekom.phonenumbernormalizer.numberplans.PhoneLibWrapper
+import spock.lang.Specification
+
+import java.time.Duration
+
+
+class NormalizerDiagnosticsTest extends Specification {
+
+    NormalizerDiagnostics target
+
+    def "setup"() {
+        target = new NormalizerDiagnostics()
+        target.setSummaryInterval(Duration.ZERO)
+    }
+
+    def "counts failures per category"() {
+        when:
+        target.record(FailureCategory.NUMBER_REJECTED, "1")
+        target.record(FailureCategory.NUMBER_REJECTED, "0049")
+        target.record(FailureCategory.E164_NUMBER_NOT_PARSEABLE, null)
+
+        then:
+        target.getCount(FailureCategory.NUMBER_REJECTED) == 2
+        target.getCount(FailureCategory.E164_NUMBER_NOT_PARSEABLE) == 1
+        target.getCount(FailureCategory.NUMBER_NOT_PARSEABLE) == 0
+        target.getCounts().get(FailureCategory.NUMBER_REJECTED) == 2
+        target.getCounts().size() == FailureCategory.values().length
+        target.getSamples(FailureCategory.E164_NUMBER_NOT_PARSEABLE).isEmpty()
+    }
+
+    def "keeps a limited number of masked samples"() {
+        when:
+        20.times { target.record(FailureCategory.NUMBER_NOT_PARSEABLE, "0049123456789012345678901") }
+
+        then:
+        def samples = target.getSamples(FailureCategory.NUMBER_NOT_PARSEABLE)
+        samples.size() >= 1
+        samples.size() <= NormalizerDiagnostics.SAMPLE_SIZE
+        samples.every { it == "0049xxxxxxxxxxxxxxxxxxxxx" }
+    }
+
+    def "samples are not masked if disabled"() {
+        given:
+        target.setMaskSamples(false)
+
+        when:
+        target.record(FailureCategory.NUMBER_NOT_PARSEABLE, "00491")
+
+        then:
+        target.getSamples(FailureCategory.NUMBER_NOT_PARSEABLE) == ["00491"]
+    }
+
+    def "mask"(String number, String expectedResult) {
+        expect:
+        NormalizerDiagnostics.mask(number) == expectedResult
+
+        where:
+        number             | expectedResult
+        ""                 | ""
+        "+49"              | "+49"
+        "+4930123456"      | "+493xxxxxxx"
+        "0203 556677"      | "0203 xxxxxx"
+    }
+
+    def "reset clears counts and samples"() {
+        given:
+        target.record(FailureCategory.NUMBER_REJECTED, "1")
+        target.logSummary()
+
+        when:
+        target.reset()
+
+        then:
+        target.getCount(FailureCategory.NUMBER_REJECTED) == 0
+        target.getSamples(FailureCategory.NUMBER_REJECTED).isEmpty()
+    }
+
+    def "failures of the library are recorded"() {
+        given:
+        def before = NormalizerDiagnostics.INSTANCE.getCount(FailureCategory.NUMBER_REJECTED)
+
+        when:
+        new PhoneLibWrapper("0049 1", "DE")
+
+        then:
+        NormalizerDiagnostics.INSTANCE.getCount(FailureCategory.NUMBER_REJECTED) == before + 1
+    }
+
+    def "diagnostics are initialized by the first failure of the library"() {
+        given: "a class loader, which has not initialized any class of the library yet"
+        def urls = System.getProperty("java.class.path").split(File.pathSeparator).collect { new File(it).toURI().toURL() } as URL[]
+        def loader = new URLClassLoader(urls, ClassLoader.getPlatformClassLoader())
+
+        when:
+        loader.loadClass(PhoneLibWrapper.class.getName()).getConstructor(String, String).newInstance("0049 1", "DE")
+
+        then:
+        def instance = loader.loadClass(NormalizerDiagnostics.class.getName()).getField("INSTANCE").get(null)
+        instance.getCount(Enum.valueOf(loader.loadClass(FailureCategory.class.getName()), "NUMBER_REJECTED")) == 1
+
+        cleanup:
+        loader?.close()
+    }
+
+}
@@ -0,0 +1,116 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.jfr
+
+import de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import jdk.jfr.Recording
+import jdk.jfr.consumer.RecordedEvent
+import jdk.jfr.consumer.RecordingFile
+import spock.lang.Specification
+
+import java.nio.file.Files
+import java.time.Duration
+
+
+class NormalizationEventTest extends Specification {
+
+    List<RecordedEvent> record(String eventName, Closure action) {
+        def recording = new Recording()
+        recording.enable(eventName).withThreshold(Duration.ZERO)
+        recording.start()
+        action.call()
+        recording.stop()
+        def file = Files.createTempFile("normalizer", ".jfr")
+        try {
+            recording.dump(file)
+            return RecordingFile.readAllEvents(file).findAll { it.getEventType().getName() == eventName }
+        } finally {
+            recording.close()
+            Files.deleteIfExists(file)
+        }
+    }
+
+    def "normalizations are recorded without the number"() {
+        given:
+        def normalizer = new PhoneNumberNormalizerImpl()
+
+        when:
+        def events = record(NormalizationEvent.NAME) {
+            normalizer.normalizePhoneNumber("556677", new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203"))
+            normalizer.normalizePhoneNumber("0203556677", "DE")
+        }
+
+        then:
+        events.size() == 2
+        events[0].getString("kind") == "NDC_EXTENDED"
+        events[0].getString("regionCode") == "DE"
+        events[0].getString("lineType") == "FIXEDLINE"
+        events[0].getInt("inputLength") == 6
+        events[1].getString("kind") == "E164"
+        events[1].getString("lineType") == null
+        events[1].getInt("inputLength") == 10
+        events.every { !it.getFields().any { field -> field.getName() == "number" } }
+    }
+
+    def "label lookups are recorded"() {
+        given:
+        def areaLabel = new PhoneNumberAreaLabelImpl()
+        areaLabel.initFile()
+
+        when:
+        def events = record(AreaLabelLookupEvent.NAME) {
+            areaLabel.getLocationByE164Number("+492015551235")
+            areaLabel.getLocationByE164Number("02015551235")
+        }
+
+        then:
+        events.size() == 2
+        events[0].getString("outcome") == "TABLE_LOOKUP"
+        events[0].getInt("countryCode") == 49
+        events[0].getBoolean("labelFound")
+        events[0].getInt("inputLength") == 13
+        events[1].getString("outcome") == "NOT_E164"
+        !events[1].getBoolean("labelFound")
+    }
+
+    def "label lookups without a recording return the same labels"() {
+        given:
+        def areaLabel = new PhoneNumberAreaLabelImpl()
+        areaLabel.initFile()
+        def numbers = ["+492015551235", "+12055550123", "+7", "+999123456", "02015551235", ""]
+
+        when:
+        def unrecorded = numbers.collect { areaLabel.getLocationByE164Number(it) }
+        def recorded = []
+        def events = record(AreaLabelLookupEvent.NAME) {
+            recorded = numbers.collect { areaLabel.getLocationByE164Number(it) }
+        }
+
+        then:
+        unrecorded == recorded
+        events.size() == numbers.size()
+    }
+
+    def "nothing is recorded without a recording"() {
+        expect:
+        !new NormalizationEvent().isEnabled()
+        !new AreaLabelLookupEvent().isEnabled()
+    }
+
+}
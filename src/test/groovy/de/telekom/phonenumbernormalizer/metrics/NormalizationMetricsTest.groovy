@@ -0,0 +1,149 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.metrics
+
+import de.telekom.phonenumbernormalizer.PhoneNumberAreaLabelImpl
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import de.telekom.phonenumbernormalizer.dto.NormalizationKind
+import spock.lang.Specification
+
+
+class NormalizationMetricsTest extends Specification {
+
+    NormalizationMetrics metrics
+
+    def "setup"() {
+        metrics = new NormalizationMetrics(1)
+    }
+
+    def "counts the outcome of each normalization"(String number, NormalizationKind expectedKind) {
+        given:
+        def normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setMetricsListener(metrics)
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+
+        when:
+        "normalize number: $number"
+        def result = normalizer.normalizePhoneNumberToResult(number, dc)
+
+        then:
+        "it should be counted as: $expectedKind"
+        result.getKind() == expectedKind
+        metrics.getNormalizationCount(expectedKind) == 1
+        metrics.getNormalizationLatencies(expectedKind).getCount() == 1
+        NormalizationKind.values().findAll { it != expectedKind }.every { metrics.getNormalizationCount(it) == 0 }
+        metrics.getParseFailureCount() == 0
+
+        where:
+        number           | expectedKind
+        "0203556677"     | NormalizationKind.E164
+        "556677"         | NormalizationKind.NDC_EXTENDED
+        "110"            | NormalizationKind.SHORT_NUMBER
+        "+49203556677"   | NormalizationKind.SPECIAL_FORMAT
+        "*61"            | NormalizationKind.SPECIAL_FORMAT
+    }
+
+    def "counts a number rejected by the parser as parse failure"() {
+        given:
+        def normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setMetricsListener(metrics)
+        def dc = new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203")
+
+        when:
+        def result = normalizer.normalizePhoneNumberToResult("00491", dc)
+
+        then:
+        metrics.getParseFailureCount() == 1
+        metrics.getNormalizationCount(result.getKind()) == 1
+    }
+
+    def "nothing is counted after the listener is removed"() {
+        given:
+        def normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setMetricsListener(metrics)
+        normalizer.setMetricsListener(null)
+
+        when:
+        normalizer.normalizePhoneNumber("0203556677", new DeviceContextDto(DeviceContextLineType.FIXEDLINE, "49", "203"))
+
+        then:
+        NormalizationKind.values().every { metrics.getNormalizationCount(it) == 0 }
+    }
+
+    def "counts the outcome of each labeling"(String number, LabelingOutcome expectedOutcome, boolean expectedFound) {
+        given:
+        def areaLabel = new PhoneNumberAreaLabelImpl()
+        areaLabel.initFile()
+        areaLabel.setMetricsListener(metrics)
+
+        when:
+        "label number: $number"
+        def label = areaLabel.getLocationByE164Number(number)
+
+        then:
+        "it should be counted as: $expectedOutcome"
+        label.isPresent() == expectedFound
+        metrics.getLabelingCount(expectedOutcome) == 1
+        metrics.getLabelFoundCount() == (expectedFound ? 1 : 0)
+        metrics.getLabelingLatencies(expectedOutcome).getCount() == 1
+
+        where:
+        number           | expectedOutcome                 | expectedFound
+        "+492015551235"  | LabelingOutcome.TABLE_LOOKUP    | true
+        "02015551235"    | LabelingOutcome.NOT_E164        | false
+        "+83"            | LabelingOutcome.REJECTED        | false
+    }
+
+    def "only counts without latency sampling"() {
+        given:
+        def counting = new NormalizationMetrics()
+        def normalizer = new PhoneNumberNormalizerImpl()
+        normalizer.setMetricsListener(counting)
+
+        when:
+        8.times { normalizer.normalizePhoneNumber("0203556677", "DE") }
+
+        then:
+        counting.getNormalizationCount(NormalizationKind.E164) == 8
+        counting.getNormalizationLatencies(NormalizationKind.E164).getCount() == 0
+    }
+
+    def "histogram estimates percentiles by power of two buckets"() {
+        given:
+        def histogram = new LatencyHistogram()
+
+        when:
+        90.times { histogram.record(100) }
+        10.times { histogram.record(10_000) }
+
+        then:
+        histogram.getCount() == 100
+        histogram.getMeanNanos() == 1090d
+        histogram.getPercentileNanos(50) == 128
+        histogram.getPercentileNanos(99) == 16_384
+        histogram.getBucketCounts().sum() == 100
+
+        when:
+        histogram.reset()
+
+        then:
+        histogram.getCount() == 0
+        histogram.getPercentileNanos(50) == 0
+    }
+
+}
@@ -0,0 +1,131 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans
+
+import de.telekom.phonenumbernormalizer.PhoneNumberNormalizerImpl
+import de.telekom.phonenumbernormalizer.diagnostics.FailureCategory
+import de.telekom.phonenumbernormalizer.diagnostics.NormalizerDiagnostics
+import de.telekom.phonenumbernormalizer.dto.DeviceContextDto
+import de.telekom.phonenumbernormalizer.dto.DeviceContextLineType
+import de.telekom.phonenumbernormalizer.numberplans.constants.DeFixedLineNumberPlan
+import spock.lang.Specification
+
+
+class DeNumberPlanFastPathTest extends Specification {
+
+    DeNumberPlanFastPath target = DeNumberPlanFastPath.getInstance()
+
+    NumberPlan numberPlan = new DeFixedLineNumberPlan()
+
+    def "normalize common german numbers"(number, ndc, expectedResult) {
+        when:
+        "fast path for number: $number with NDC: $ndc"
+        def result = target.normalize(number, ndc, numberPlan)
+
+        then:
+        "it should return: $expectedResult"
+        result == expectedResult
+
+        where:
+        number             | ndc    | expectedResult
+        // test data of de.json: 201, 202, 603, 6041, 60412 - plus mobile 15, 16, 17
+        "02015551234"      | "201"  | "+492015551234"
+        "004920155512"     | "201"  | "+4920155512"
+        "017630696544"     | "201"  | "+4917630696544"
+        "5551234"          | "201"  | "+492015551234"
+        "5551234"          | "176"  | "+491765551234"
+        "110"              | "201"  | "110"
+        "116116"           | "201"  | "116116"
+        // handed off
+        null               | "201"  | null
+        "5551234"          | "30"   | null
+        "5551234"          | "030"  | null
+        "5551234"          | null   | null
+        "0305551234"       | "201"  | null
+        "00305551234"      | "201"  | null
+        "0049305551234"    | "201"  | null
+        "00490201555"      | "201"  | null
+        "4930123456"       | "201"  | null
+        "#31#0201555"      | "201"  | null
+        "020"              | "201"  | null
+        "0201"             | "201"  | null
+        "5"                | "201"  | null
+        "0201555123456789012" | "201" | null
+    }
+
+    def "no fast path without number plan"() {
+        expect:
+        target.normalize("02015551234", "201", null) == null
+    }
+
+    def "differential mode finds no mismatch on a german corpus"() {
+        given:
+        def differential = new PhoneNumberNormalizerImpl()
+        differential.setDeFastPathMode(FastPathMode.DIFFERENTIAL)
+        def fast = new PhoneNumberNormalizerImpl()
+        fast.setDeFastPathMode(FastPathMode.ON)
+        def reference = new PhoneNumberNormalizerImpl()
+        long mismatchesBefore = target.getMismatchCount()
+        long handledBefore = target.getHandledCount()
+
+        def ndcs = ["201", "202", "603", "6041", "60412", "151", "1520", "160", "176", "179", "30", "89"]
+        def subscriberNumbers = ["1", "12", "123", "1234", "55667", "556677", "5566778", "55667788", "556677889", "5566778899", "556677889900"]
+        def specialNumbers = ["110", "112", "115", "116116", "116000", "11880", "118000", "1181", "11833", "49123", "4930123456",
+                              "0049", "00491", "004930", "00441234567", "0030123456", "000", "0", "01", "0110", "0112"]
+        def corpus = []
+        ndcs.each { ndc ->
+            subscriberNumbers.each { sn ->
+                corpus << "0" + ndc + sn
+                corpus << "0049" + ndc + sn
+                corpus << sn
+            }
+        }
+        corpus.addAll(specialNumbers)
+
+        when:
+        def differences = []
+        [DeviceContextLineType.FIXEDLINE, DeviceContextLineType.UNKNOWN, DeviceContextLineType.MOBILE, null].each { lineType ->
+            ["201", "6041", "176", "30", "030"].each { contextNdc ->
+                def dc = new DeviceContextDto(lineType, "49", contextNdc)
+                corpus.each { number ->
+                    def expected = reference.normalizePhoneNumber(number, dc)
+                    if (differential.normalizePhoneNumber(number, dc) != expected || fast.normalizePhoneNumber(number, dc) != expected) {
+                        differences << "$number $lineType $contextNdc"
+                    }
+                }
+            }
+        }
+
+        then:
+        differences == []
+        target.getMismatchCount() == mismatchesBefore
+        target.getHandledCount() > handledBefore
+    }
+
+    def "mismatch is counted and recorded by the diagnostics"() {
+        given:
+        long mismatchesBefore = target.getMismatchCount()
+        long recordedBefore = NormalizerDiagnostics.INSTANCE.getCount(FailureCategory.FAST_PATH_MISMATCH)
+
+        when:
+        target.reportMismatch("0203556677", "+49203556677", "0203556677")
+
+        then:
+        target.getMismatchCount() == mismatchesBefore + 1
+        NormalizerDiagnostics.INSTANCE.getCount(FailureCategory.FAST_PATH_MISMATCH) == recordedBefore + 1
+    }
+
+}
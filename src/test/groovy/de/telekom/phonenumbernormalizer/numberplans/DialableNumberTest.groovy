@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans
+
+import com.google.i18n.phonenumbers.PhoneNumberUtil
+import spock.lang.Specification
+
+import java.nio.ByteBuffer
+import java.nio.charset.StandardCharsets
+
+
+class DialableNumberTest extends Specification {
+
+    def "reduce and classify number"(String number, expectedNumber, expectedSpecialFormat, expectedNormalizable) {
+        given:
+
+        when: "reduce number: $number"
+        def result = DialableNumber.of(number)
+
+        then: "it should be $expectedNumber"
+        result.getNumber() == expectedNumber
+        result.isSpecialFormat() == expectedSpecialFormat
+        result.isNormalizable() == expectedNormalizable
+        if (number != null) {
+            assert result.getNumber() == PhoneNumberUtil.normalizeDiallableCharsOnly(number)
+        }
+
+        where:
+        number                    | expectedNumber       | expectedSpecialFormat | expectedNormalizable
+        null                      | null                 | false                 | false
+        ""                        | ""                   | false                 | false
+        "Max Mustermann"          | ""                   | false                 | false
+        "0040(0176) 3 0 6 9 6541" | "0040017630696541"   | false                 | true
+        "(+40)176-30696541"       | "+4017630696541"     | true                  | false
+        "**61"                    | "**61"               | true                  | false
+        "1"                       | "1"                  | false                 | true
+        "#31#0203"                | "#31#0203"           | false                 | true
+    }
+
+    def "reduce number from other sources"(String number) {
+        given:
+        byte[] bytes = ("xx" + number + "yy").getBytes(StandardCharsets.UTF_8)
+        int length = number.getBytes(StandardCharsets.UTF_8).length
+        def expected = DialableNumber.of(number)
+        def direct = ByteBuffer.allocateDirect(length).put(number.getBytes(StandardCharsets.UTF_8)).flip()
+
+        when: "reduce number: $number"
+        def results = [DialableNumber.of(new StringBuilder(number)),
+                       DialableNumber.of(bytes, 2, length),
+                       DialableNumber.of(ByteBuffer.wrap(bytes, 2, length)),
+                       DialableNumber.of(direct)]
+
+        then: "it should be the same as reducing the String"
+        results.each {
+            assert it.getNumber() == expected.getNumber()
+            assert it.isSpecialFormat() == expected.isSpecialFormat()
+            assert it.isNormalizable() == expected.isNormalizable()
+        }
+        direct.position() == 0
+
+        where:
+        number << ["", "Max Mustermann", "0040(0176) 3 0 6 9 6541", "(+40)176-30696541", "**61", "#31#0203",
+                   "\u00fc0203 \u0663 55 66 77", "0".repeat(100)]
+    }
+
+    def "already dialable String is reused"() {
+        given:
+        def number = "02035566"
+
+        expect:
+        DialableNumber.of(number).getNumber().is(number)
+    }
+
+    def "null sources"() {
+        expect:
+        DialableNumber.of((byte[]) null, 0, 0).getNumber() == null
+        DialableNumber.of((ByteBuffer) null).getNumber() == null
+    }
+
+}
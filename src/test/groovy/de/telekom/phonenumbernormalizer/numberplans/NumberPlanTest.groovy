@@ -173,6 +173,57 @@ class NumberPlanTest extends Specification {
         "3231113331" | false
     }
 
+    def "getShortNumberRule returns rule with longest prefix"(number, expectedPrefix, expectedLength) {
+        given:
+        def plan = new NumberPlan() {
+            @Override
+            protected Map<String, Integer> getShortNumberCodes() {
+                return ["118": 5, "1180": 6, "110": 3]
+            }
+        }
+
+        when:
+        "get rule for number: $number"
+        ShortNumberRule result = plan.getShortNumberRule(number)
+
+        then:
+        "it should return the rule: $expectedPrefix"
+        if (expectedPrefix == null) {
+            assert result == null
+        } else {
+            assert result.getPrefix() == expectedPrefix
+            assert result.getLength() == expectedLength
+        }
+
+        where:
+        number      | expectedPrefix | expectedLength
+        null        | null           | null
+        ""          | null           | null
+        "11"        | null           | null
+        "110"       | "110"          | 3
+        "1100"      | "110"          | 3
+        "11833"     | "118"          | 5
+        "118000"    | "1180"         | 6
+        "1180"      | "1180"         | 6
+        "118*"      | "118"          | 5
+        "*118"      | null           | null
+    }
+
+    def "validation of NumberPlan with non digit prefix"() {
+        given:
+        def plan = new NumberPlan() {
+            @Override
+            protected Map<String, Integer> getShortNumberCodes() {
+                return ["11a": 3, "222": 3]
+            }
+        }
+
+        expect:
+        !plan.isNumberPlanValid()
+        !plan.isMatchingShortNumber("11a")
+        plan.isMatchingShortNumber("222")
+    }
+
     def "validation of valid NumberPlan"() {
         given:
 
@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans
+
+import com.google.i18n.phonenumbers.NumberParseException
+import com.google.i18n.phonenumbers.PhoneNumberUtil
+import spock.lang.Specification
+
+
+class ParsePrecheckTest extends Specification {
+
+    PhoneNumberUtil phoneUtil = PhoneNumberUtil.getInstance()
+
+    def "precheck only rejects numbers, which are rejected by the parser"(String number, String regionCode, boolean expectedRejected) {
+        given:
+        def parserRejected = false
+        try {
+            phoneUtil.parse(number, regionCode)
+        } catch (NumberParseException e) {
+            parserRejected = true
+        }
+
+        when:
+        def result = ParsePrecheck.isRejectedByParser(number, regionCode)
+
+        then:
+        result == expectedRejected
+        !result || parserRejected
+
+        where:
+        number                              | regionCode | expectedRejected
+        null                                | "DE"       | true
+        "1"                                 | "DE"       | true
+        "00"                                | "DE"       | true
+        "0049"                              | "DE"       | true
+        "00491"                             | "DE"       | true
+        "0083123456"                        | "DE"       | true
+        "00999123456"                       | "DE"       | true
+        "123456789012345678901234567890"    | "DE"       | true
+        "0049123456789012345678901"         | "DE"       | true
+        "1" * 251                           | "DE"       | true
+        "0203556677"                        | "ZZ"       | true
+        "0203556677"                        | null       | true
+        "+1"                                | ""         | true
+        "+491"                              | ""         | true
+        "+0123456"                          | ""         | true
+        "+999123456"                        | ""         | true
+        "+4912345678901234567890"           | ""         | true
+        // left to the parser
+        "0203556677"                        | "DE"       | false
+        "556677"                            | "DE"       | false
+        "110"                               | "DE"       | false
+        "12"                                | "DE"       | false
+        "00012345"                          | "DE"       | false
+        "0049203556677"                     | "DE"       | false
+        "004930123456789012345"             | "DE"       | false
+        "4900" + "1" * 17                   | "DE"       | false
+        "01114253784000"                    | "US"       | false
+        "14253784000"                       | "US"       | false
+        "+49203556677"                      | ""         | false
+        "+80012345678"                      | ""         | false
+        "+49 (203) 556677"                  | ""         | false
+        "116#"                              | "DE"       | false
+    }
+
+    def "wrapper does not parse rejected numbers"() {
+        when:
+        def wrapper = new PhoneLibWrapper("0049 1", "DE")
+
+        then:
+        wrapper.isNormalizingTried()
+        wrapper.getSemiNormalizedNumber() == null
+        wrapper.getDialableNumber() == "00491"
+    }
+
+}
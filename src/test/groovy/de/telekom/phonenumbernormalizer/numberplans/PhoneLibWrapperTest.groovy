@@ -259,7 +259,7 @@ class PhoneLibWrapperTest extends Specification {
             target = new PhoneLibWrapper(number, regionCode)
 
         when: "parseNumber: $number and $regionCode"
-            def result = target.parseNumber(number, regionCode)
+            def result = target.parseNumber(number, regionCode, target.getMetadata())
 
         then: "it should normalize the number to: $expectedResult"
             result == expectedResult
@@ -0,0 +1,67 @@
+/*
+ * Copyright © 2023 Deutsche Telekom AG (opensource@telekom.de)
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package de.telekom.phonenumbernormalizer.numberplans
+
+import spock.lang.Specification
+
+
+class RegionMetadataRegistryTest extends Specification {
+
+    def "region metadata"(regionCode, known, countryCode, nationalPrefix, shortNumbers) {
+        when:
+        "get region metadata: $regionCode"
+        def result = RegionMetadataRegistry.INSTANCE.getRegionMetadata(regionCode)
+
+        then:
+        "it should be known: $known"
+        result.isKnown() == known
+        result.getCountryCode() == countryCode
+        result.getNationalPrefix() == nationalPrefix
+        result.hasNationalAccessCode() == (nationalPrefix != null)
+        result.isShortNumberMetadataAvailable() == shortNumbers
+
+        where:
+        regionCode | known | countryCode | nationalPrefix | shortNumbers
+        null       | false | 0           | null           | false
+        ""         | false | 0           | null           | false
+        "49"       | false | 0           | null           | false
+        "ZZ"       | false | 0           | null           | false
+        "DE"       | true  | 49          | "0"            | true
+        "US"       | true  | 1           | "1"            | true
+        "IT"       | true  | 39          | null           | true
+    }
+
+    def "metadata is resolved only once"() {
+        when:
+        def first = RegionMetadataRegistry.INSTANCE.getRegionMetadata("DE")
+        def second = RegionMetadataRegistry.INSTANCE.getRegionMetadata("DE")
+
+        then:
+        first.is(second)
+        first.getMetadata().is(PhoneLibWrapper.getMetadataForRegion("DE"))
+    }
+
+    def "preload ignores unknown regions"() {
+        when:
+        RegionMetadataRegistry.INSTANCE.preload(["DE", " AT ", "", null, "XX"])
+        RegionMetadataRegistry.INSTANCE.preload(null)
+
+        then:
+        noExceptionThrown()
+        RegionMetadataRegistry.INSTANCE.getRegionMetadata("AT").isKnown()
+    }
+
+}